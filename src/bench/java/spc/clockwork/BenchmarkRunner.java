@@ -0,0 +1,31 @@
+package spc.clockwork;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of the benchmark module.
+ * Runs all of the benchmarks (or those, which match the regular expression given as the first argument)
+ * with the GC profiler, so the allocation rate per operation (gc.alloc.rate.norm) is reported next to the throughput.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class BenchmarkRunner {
+
+    /** The default benchmark selection: every benchmark of the engine */
+    private static final String DEFAULT_INCLUDE = "spc\\.clockwork\\..*Benchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : DEFAULT_INCLUDE)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {}
+}
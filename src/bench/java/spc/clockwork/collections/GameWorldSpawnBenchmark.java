@@ -0,0 +1,54 @@
+package spc.clockwork.collections;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.gameobject.GameObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of spawning a burst of short-living {@link GameObject}s (like projectiles),
+ *      looking each of them up by its handle and despawning them
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameWorldSpawnBenchmark {
+
+    /** A game object without any behaviour */
+    private static final class Projectile extends GameObject {
+        private Projectile(final GameWorld gameWorld) {
+            super(null, gameWorld);
+        }
+
+        @Override
+        protected void onTerminate() {
+        }
+    }
+
+    @Param({"256", "4096"})
+    public int burst;
+
+    private GameWorld gameWorld;
+    private Projectile[] projectiles;
+
+    @Setup
+    public void setup() {
+        this.gameWorld = new GameWorld(null);
+        this.projectiles = new Projectile[this.burst];
+    }
+
+    @Benchmark
+    public int spawnLookUpDespawn() {
+        int found = 0;
+        for (int i = 0; i < this.burst; i++) this.projectiles[i] = new Projectile(this.gameWorld);
+        for (Projectile projectile : this.projectiles)
+            if (this.gameWorld.getObject(projectile.getHandle()) == projectile) found++;
+        for (Projectile projectile : this.projectiles) projectile.terminate();
+        return found;
+    }
+}
@@ -0,0 +1,78 @@
+package spc.clockwork.gameobject;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.Transformation;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a full {@link TransformHierarchy} pass, where every root has been moved,
+ *      depending on the amount of the workers (1 worker is the serial pass)
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformHierarchyBenchmark {
+
+    /** The amount of the children of the KernelObject */
+    private static final int ROOTS = 256;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"16384", "65536"})
+    public int objects;
+
+    private ForkJoinPool pool;
+    private TransformHierarchy hierarchy;
+    private int[] roots;
+    private Transformation moved;
+
+    @Setup
+    public void setup() {
+        this.pool = new ForkJoinPool(this.workers);
+        this.hierarchy = new TransformHierarchy(this.objects);
+        this.hierarchy.setPool(this.pool);
+        this.hierarchy.setParallelThreshold(TransformHierarchy.DEFAULT_PARALLEL_THRESHOLD);
+
+        final Random random = new Random(42);
+        final int[] nodes = new int[this.objects];
+        this.roots = new int[ROOTS];
+        final Transformation local = new Transformation();
+        for (int i = 0; i < this.objects; i++) {
+            nodes[i] = this.hierarchy.addNode();
+            /* THE FIRST ROOTS OBJECTS ARE THE ROOTS, EVERY OTHER ONE IS A CHILD OF AN EARLIER OBJECT */
+            if (i < ROOTS) this.roots[i] = nodes[i];
+            else this.hierarchy.setParent(nodes[i], nodes[random.nextInt(i)]);
+            local.setPosition(new Vector3f(random.nextFloat(), random.nextFloat(), random.nextFloat()));
+            local.setRotation(Quaternion.rotation(random.nextFloat() * 90f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()));
+            local.setScale(0.5f + random.nextFloat());
+            this.hierarchy.setLocal(nodes[i], local);
+        }
+        this.hierarchy.update();
+
+        this.moved = new Transformation();
+        this.moved.setPosition(new Vector3f(1.5f, -2f, 3.25f));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public TransformHierarchy update() {
+        for (int root : this.roots) this.hierarchy.setLocal(root, this.moved);
+        this.hierarchy.update();
+        return this.hierarchy;
+    }
+}
@@ -0,0 +1,61 @@
+package spc.clockwork.util.math;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link PointBatch} transformation against the point by point {@link Vector3f} one.
+ * Run with --add-modules jdk.incubator.vector (and the vector kernel on the class path) to measure the SIMD kernel.
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointBatchBenchmark {
+
+    @Param({"96", "3072"})
+    private int points;
+
+    private PointBatch batch;
+    private PointBatch destination;
+    private Vector3f[] vectors;
+    private Mat4 matrix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        this.batch = new PointBatch(this.points);
+        this.destination = new PointBatch(this.points);
+        this.vectors = new Vector3f[this.points];
+        for (int i = 0; i < this.points; i++) {
+            this.vectors[i] = new Vector3f(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            this.batch.add(this.vectors[i]);
+        }
+        this.matrix = new Mat4().translationRotateScale(
+                new Vector3f(1.5f, -2f, 3.25f),
+                Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).normalize(),
+                2.5f);
+    }
+
+    @Benchmark
+    public PointBatch batchTransform() {
+        return this.batch.transformInto(this.matrix, this.destination);
+    }
+
+    @Benchmark
+    public Vector3f[] pointByPointTransform() {
+        Vector3f[] result = new Vector3f[this.points];
+        for (int i = 0; i < this.points; i++)
+            result[i] = this.matrix.mul(this.vectors[i], 1f);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package spc.clockwork.util.math;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Transformation} combination, which is what every absolute transformation update does
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransformationBenchmark {
+
+    private Transformation parent;
+    private Transformation child;
+
+    @Setup
+    public void setup() {
+        this.parent = new Transformation();
+        this.parent.setPosition(new Vector3f(1.5f, -2f, 3.25f));
+        this.parent.setRotation(Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()));
+        this.parent.setScale(2.5f);
+        this.child = new Transformation();
+        this.child.setPosition(new Vector3f(-0.5f, 4f, 0.75f));
+        this.child.setRotation(Quaternion.rotation(-71f, new Vector3f(-0.6f, 0.1f, 0.4f).normalize()));
+    }
+
+    @Benchmark
+    public Transformation combine() {
+        return this.parent.combine(this.child);
+    }
+}
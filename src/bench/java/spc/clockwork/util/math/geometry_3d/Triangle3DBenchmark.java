@@ -0,0 +1,48 @@
+package spc.clockwork.util.math.geometry_3d;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.matrix.Matrix4f;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Triangle3D} transformation, which the hit boxes perform for every triangle of a mesh
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Triangle3DBenchmark {
+
+    private Triangle3D triangle;
+    private Matrix4f matrix;
+    private Mat4 mutableMatrix;
+
+    @Setup
+    public void setup() {
+        this.triangle = new Triangle3D(
+                new Vector3f(0f, 0f, 0f),
+                new Vector3f(1f, 0f, 0f),
+                new Vector3f(0f, 1f, 0f));
+        this.matrix = Matrix4f.newTranslationMatrix(1.5f, -2f, 3.25f)
+                .mul(Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).toRotationMatrix());
+        this.mutableMatrix = new Mat4(this.matrix);
+    }
+
+    @Benchmark
+    public Triangle3D transform() {
+        return this.triangle.transform(this.matrix);
+    }
+
+    @Benchmark
+    public Triangle3D transformMat4() {
+        return this.triangle.transform(this.mutableMatrix);
+    }
+}
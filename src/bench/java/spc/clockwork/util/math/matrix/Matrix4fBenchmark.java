@@ -0,0 +1,68 @@
+package spc.clockwork.util.math.matrix;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Matrix4f} product, inversion and matrix by vector product.
+ * The {@link Mat4} counterparts are measured next to them, so the in-place paths can be compared to the immutable ones.
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Matrix4fBenchmark {
+
+    private Matrix4f a;
+    private Matrix4f b;
+    private Vector3f vector;
+
+    private Mat4 mutableA;
+    private Mat4 mutableB;
+    private Mat4 destination;
+
+    @Setup
+    public void setup() {
+        Quaternion rotation = Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).normalize();
+        this.a = Matrix4f.newTranslationMatrix(1.5f, -2f, 3.25f)
+                .mul(rotation.toRotationMatrix())
+                .mul(Matrix4f.newScaleMatrix(2.5f));
+        this.b = Matrix4f.newPerspectiveProjectionMatrix(1.5f, 1f, 0.01f, 1000f);
+        this.vector = new Vector3f(-0.5f, 4f, 0.75f);
+        this.mutableA = new Mat4(this.a);
+        this.mutableB = new Mat4(this.b);
+        this.destination = new Mat4();
+    }
+
+    @Benchmark
+    public Matrix4f mul() {
+        return this.a.mul(this.b);
+    }
+
+    @Benchmark
+    public Matrix4f invert() {
+        return this.a.invert();
+    }
+
+    @Benchmark
+    public Vector3f mulVector() {
+        return this.a.mul(this.vector, 1f);
+    }
+
+    @Benchmark
+    public Mat4 mat4MulInto() {
+        return this.mutableA.mulInto(this.mutableB, this.destination);
+    }
+
+    @Benchmark
+    public Mat4 mat4InvertInto() {
+        return this.mutableA.invertInto(this.destination);
+    }
+}
@@ -0,0 +1,39 @@
+package spc.clockwork.util.math.vector;
+
+import org.openjdk.jmh.annotations.*;
+import spc.clockwork.util.math.matrix.Matrix4f;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link Quaternion} product and its conversion into a rotation matrix
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QuaternionBenchmark {
+
+    private Quaternion a;
+    private Quaternion b;
+
+    @Setup
+    public void setup() {
+        this.a = Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).normalize();
+        this.b = Quaternion.rotation(-71f, new Vector3f(-0.6f, 0.1f, 0.4f).normalize()).normalize();
+    }
+
+    @Benchmark
+    public Quaternion mul() {
+        return this.a.mul(this.b);
+    }
+
+    @Benchmark
+    public Matrix4f toRotationMatrix() {
+        return this.a.toRotationMatrix();
+    }
+}
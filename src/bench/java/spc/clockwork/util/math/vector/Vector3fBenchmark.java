@@ -0,0 +1,50 @@
+package spc.clockwork.util.math.vector;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the basic {@link Vector3f} operations
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Vector3fBenchmark {
+
+    private Vector3f a;
+    private Vector3f b;
+    private Quaternion rotation;
+
+    @Setup
+    public void setup() {
+        this.a = new Vector3f(1.5f, -2f, 3.25f);
+        this.b = new Vector3f(-0.5f, 4f, 0.75f);
+        this.rotation = Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).normalize();
+    }
+
+    @Benchmark
+    public Vector3f add() {
+        return this.a.add(this.b);
+    }
+
+    @Benchmark
+    public Vector3f cross() {
+        return this.a.cross(this.b);
+    }
+
+    @Benchmark
+    public Vector3f normalize() {
+        return this.a.normalize();
+    }
+
+    @Benchmark
+    public Vector3f rotate() {
+        return this.a.rotate(this.rotation);
+    }
+}
@@ -2,40 +2,56 @@ package spc.clockwork.collections;
 
 
 import com.sun.istack.internal.NotNull;
+import spc.clockwork.core.HandleAllocator;
 import spc.clockwork.core.Identifiable;
+import spc.clockwork.core.ObjectIdentifier;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
- * An abstract map- and set-based collection
+ * An abstract handle- and set-based collection
  * The GameCollections can contain only one instance of the same element
- * Each element has a unique String name
+ * The elements are stored by the handles of their {@link ObjectIdentifier}s, so the lookups by the handle
+ *      are plain array accesses.
+ * Each element has a unique String name. The names are an optional secondary index:
+ *      an element, which was added without a name, is named by its {@link ObjectIdentifier},
+ *      and this name is built only on demand.
+ * The elements are also sorted into the {@link DenseSubset}s, which are defined by the implementation.
+ * The subsets of an element are resolved once, when it is added, and its positions in them are remembered,
+ *      so the element is removed from exactly the subsets it belongs to in constant time.
+ * The subsets of an ordered collection keep the order, in which the elements were added:
+ *      a removed element leaves a hole, and the holes of a subset are compacted, when it is read next time.
  * @param <E> An element of the collection of some type
  *
  * @author wize
  * @version 0 (4 June 2018)
  */
-public abstract class AbstractGameCollection<E> {
+public abstract class AbstractGameCollection<E extends Identifiable> {
 
     /* ATTRIBUTES
     /*--------------------*/
 
-    /** A map of all items in this collection */
+    /** The initial length of the array of entries */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** A map of all explicitly named items in this collection */
     private final Map<String, E> allElements;
 
-    /** A reversed map of all keys in this collection */
-    private final Map<E, String> allElementsReverse;
+    /** The entries of the elements, indexed by the slots of their handles */
+    private Entry[] entries;
+
+    /** All elements of this collection */
+    private final DenseSubset<E> elements;
 
-    /** A set of all defined item subsets in this collection */
-    private final Collection<Collection> powerCollection;
+    /** All defined item subsets in this collection */
+    private final DenseSubset<E>[] subsets;
 
-    /** An error message, if a non-identifiable-object was added to the collection without name */
-    private static final String ERROR_ADD_WITHOUT_NAME =
-            "Error: The non-Identifiable element has been added to a collection without a name specified";
+    /** True, if the subsets keep the order, in which the elements were added */
+    private final boolean ordered;
     /*--------------------*/
 
 
@@ -44,23 +60,98 @@ public abstract class AbstractGameCollection<E> {
     /*--------------------*/
 
     /**
-     * Sets the power collection up
+     * Gets the amount of the subsets of this collection (at most 32).
+     * The method is called from the constructor, so it must not depend on the fields of the implementation.
+     * @return the amount of subsets
      */
-    protected abstract Collection<Collection> makePowerCollection();
+    protected abstract int getSubsetCount();
 
     /**
-     * Adds the provided element to a corresponding subset
+     * Resolves the subsets, which the element belongs to.
+     * The method is called once, when the element is added to the collection
      * @param element the element given
+     * @return a bit mask, where the i-th bit is set, if the element belongs to the i-th subset
+     */
+    protected abstract int getSubsetMask(E element);
+
+    /**
+     * Gets the subset with the index given
+     * @param subset the index of the subset
+     * @return the subset
      */
-    protected abstract void addElementToSubsets(E element);
+    protected final DenseSubset<E> getSubset(final int subset) {
+        final DenseSubset<E> elements = this.subsets[subset];
+        if (elements.hasHoles())
+            elements.compact((element, position) -> this.getEntry(element).positions[subset] = position);
+        return elements;
+    }
 
 
     /**
-     * Removes the element from the subsets
-     * @param element the element to remove
+     * Gets the entry, which is stored in the slot of the handle given
+     * @param handle the handle of an element
+     * @return the entry or null, if the slot is empty
+     */
+    private Entry getEntry(final long handle) {
+        final int slot = HandleAllocator.slotOf(handle);
+        return slot >= 0 && slot < this.entries.length ? this.entries[slot] : null;
+    }
+
+
+    /**
+     * Gets the entry of the element given
+     * @param element a potential element of the collection
+     * @return the entry or null, if the element is not in the collection
      */
-    private void removeElementFromSubsets(E element) {
-        this.powerCollection.forEach(set ->  set.remove(element));
+    private Entry getEntry(final E element) {
+        final Entry entry = this.getEntry(element.getObjectIdentifier().getHandle());
+        return entry != null && entry.element == element ? entry : null;
+    }
+
+
+    /**
+     * Adds the provided element to the subsets, which it belongs to
+     * @param element the element given
+     * @param entry the entry of the element
+     */
+    private void addElementToSubsets(final E element, final Entry entry) {
+        entry.position = this.elements.add(element);
+        for (int mask = entry.subsetMask; mask != 0; mask &= mask - 1) {
+            final int subset = Integer.numberOfTrailingZeros(mask);
+            entry.positions[subset] = this.subsets[subset].add(element);
+        }
+    }
+
+
+    /**
+     * Removes the element from the subsets, which it belongs to
+     * @param entry the entry of the element to remove
+     */
+    private void removeElementFromSubsets(final Entry entry) {
+        /* THE LAST ELEMENT OF A SUBSET TAKES THE FREED POSITION, UNLESS THE SUBSETS ARE ORDERED */
+        final E movedElement = this.elements.removeAt(entry.position);
+        if (movedElement != null) this.getEntry(movedElement).position = entry.position;
+        for (int mask = entry.subsetMask; mask != 0; mask &= mask - 1) {
+            final int subset = Integer.numberOfTrailingZeros(mask);
+            final int position = entry.positions[subset];
+            if (this.ordered) {
+                this.subsets[subset].clearAt(position);
+                continue;
+            }
+            final E moved = this.subsets[subset].removeAt(position);
+            if (moved != null) this.getEntry(moved).positions[subset] = position;
+        }
+    }
+
+
+    /**
+     * Removes the entry from the collection
+     * @param entry the entry to remove
+     */
+    private void removeEntry(final Entry entry) {
+        this.entries[HandleAllocator.slotOf(entry.handle)] = null;
+        if (entry.name != null) this.allElements.remove(entry.name);
+        this.removeElementFromSubsets(entry);
     }
     /*--------------------*/
 
@@ -75,7 +166,7 @@ public abstract class AbstractGameCollection<E> {
      * @return true, if such an element exists, else false
      */
     public final boolean contains(@NotNull final String name) {
-        return this.allElements.containsKey(name);
+        return this.getElement(name) != null;
     }
 
 
@@ -85,31 +176,55 @@ public abstract class AbstractGameCollection<E> {
      * @return true, if such an element exists, else false
      */
     public final boolean contains(@NotNull final E element) {
-        return this.allElementsReverse.containsKey(element);
+        return this.getEntry(element) != null;
+    }
+
+
+    /**
+     * Checks if the element with the handle given exists
+     * @param handle the handle of the element's {@link ObjectIdentifier}
+     * @return true, if such an element exists, else false
+     */
+    public final boolean contains(final long handle) {
+        return this.get(handle) != null;
     }
 
 
     /**
      * Adds an element to a collection, assigning a name to it
-     * @param name name of the instance
+     * (if another element holds the name, the name is rebound to the new element,
+     *      and the other element is named by its {@link ObjectIdentifier} from now on)
+     * @param name name of the instance or null, if the element should be named by its {@link ObjectIdentifier}
      * @param element the element to add
      */
-    public final void add(@NotNull final String name, @NotNull final E element) {
+    public final void add(final String name, @NotNull final E element) {
         if(this.contains(element)) return;
-        this.allElements.put(name, element);
-        this.allElementsReverse.put(element, name);
-        this.addElementToSubsets(element);
+        final long handle = element.getObjectIdentifier().getHandle();
+        final int slot = HandleAllocator.slotOf(handle);
+        if (slot >= this.entries.length)
+            this.entries = Arrays.copyOf(this.entries, Math.max(slot + 1, this.entries.length * 2));
+
+        /* THE SLOT MAY STILL BE HELD BY AN ELEMENT, WHOSE HANDLE HAS BEEN RELEASED BEFORE IT WAS REMOVED */
+        if (this.entries[slot] != null) this.removeEntry(this.entries[slot]);
+
+        final Entry entry = new Entry(element, handle, this.getSubsetMask(element), this.subsets.length);
+        this.entries[slot] = entry;
+        this.addElementToSubsets(element, entry);
+        if (name == null) return;
+        final E previous = this.allElements.put(name, element);
+        if (previous != null) this.getEntry(previous).name = null;
+        entry.name = name;
     }
 
 
     /**
-     * Adds an {@link Identifiable} element to a collection, assigning its id as its name
-     * @throws RuntimeException if the element given is not an {@link Identifiable}
+     * Adds an {@link Identifiable} element to a collection, naming it by its {@link ObjectIdentifier}
+     * (the name is not stored, unless the id was given explicitly)
      * @param identifiableElement the element to add
      */
     public final void add(@NotNull final E identifiableElement) {
-        if(!(identifiableElement instanceof Identifiable)) throw new RuntimeException(ERROR_ADD_WITHOUT_NAME);
-        this.add(((Identifiable) identifiableElement).getObjectIdentifier().toString(), identifiableElement);
+        final ObjectIdentifier identifier = identifiableElement.getObjectIdentifier();
+        this.add(identifier.isGenerated() ? null : identifier.toString(), identifiableElement);
     }
 
 
@@ -119,14 +234,9 @@ public abstract class AbstractGameCollection<E> {
      * @param newName the new name of a resource
      */
     public final void rename(@NotNull final String oldName, @NotNull final String newName) {
-        /* TO BE REMOVED */
-        // if (!this.allElements.containsKey(oldName)) return;
-        // this.allElements.put(newName, this.allElements.getConst(oldName));
-        // this.allElements.remove(oldName);
-        if (!this.contains(oldName) || this.contains(newName)) return;
-        E element = this.allElements.get(oldName);
-        this.allElementsReverse.replace(element, newName);
-        this.allElements.put(newName, this.allElements.remove(oldName));
+        final E element = this.getElement(oldName);
+        if (element == null || this.contains(newName)) return;
+        this.setName(element, newName);
     }
 
 
@@ -136,8 +246,11 @@ public abstract class AbstractGameCollection<E> {
      * @param newName the new name of this collection
      */
     public final void setName(@NotNull final E element, @NotNull final String newName) {
-        if (!this.contains(element) || this.contains(newName)) return;
-        this.rename(this.getNameOf(element), newName);
+        final Entry entry = this.getEntry(element);
+        if (entry == null || this.contains(newName)) return;
+        if (entry.name != null) this.allElements.remove(entry.name);
+        entry.name = newName;
+        this.allElements.put(newName, element);
     }
 
 
@@ -147,7 +260,26 @@ public abstract class AbstractGameCollection<E> {
      * @return the element required or null, if it does not exist
      */
     public final E getElement(@NotNull final String name) {
-        return this.allElements.get(name);
+        final E element = this.allElements.get(name);
+        if (element != null) return element;
+
+        /* THE NAME MAY BE THE DEFAULT ONE, WHICH IS NOT STORED */
+        final long handle = ObjectIdentifier.parse(name);
+        if (handle == HandleAllocator.NO_HANDLE) return null;
+        final E identified = this.get(handle);
+        return identified != null && identified.getObjectIdentifier().isGenerated()
+                && this.getEntry(identified).name == null ? identified : null;
+    }
+
+    /**
+     * Gets an element from the collection by its handle
+     * @param handle the handle of the element's {@link ObjectIdentifier}
+     * @return the element required or null, if it does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public final E get(final long handle) {
+        final Entry entry = this.getEntry(handle);
+        return entry != null && entry.handle == handle ? (E) entry.element : null;
     }
 
     /**
@@ -156,7 +288,9 @@ public abstract class AbstractGameCollection<E> {
      * @return the string containing a name of the element of this collection or null, if there is no such element
      */
     public final String getNameOf(@NotNull final E element) {
-        return this.allElementsReverse.get(element);
+        final Entry entry = this.getEntry(element);
+        if (entry == null) return null;
+        return entry.name != null ? entry.name : element.getObjectIdentifier().toString();
     }
 
 
@@ -165,14 +299,9 @@ public abstract class AbstractGameCollection<E> {
      * @param name the element name
      */
     public final void remove(@NotNull final String name) {
-        /* TO BE REMOVED */
-        // if (!this.contains(name)) return;
-        // this.removeElementFromSubsets(this.allElements.remove(name));
-
-        if(name == null || !this.contains(name)) return;
-        E element = this.allElements.remove(name);
-        this.allElementsReverse.remove(element);
-        this.removeElementFromSubsets(element);
+        if(name == null) return;
+        final E element = this.getElement(name);
+        if(element != null) this.remove(element);
     }
 
     /**
@@ -180,11 +309,25 @@ public abstract class AbstractGameCollection<E> {
      * @param element the element to remove
      */
     public final void remove(@NotNull final E element) {
-        /* TO BE REMOVED */
-        // if(!this.contains(element)) return;
-        // this.removeElementFromSubsets(element);
-        // this.allElements.values().remove(element);
-        this.remove(this.getNameOf(element));
+        final Entry entry = this.getEntry(element);
+        if(entry != null) this.removeEntry(entry);
+    }
+
+    /**
+     * Removes an element from the collection by its handle
+     * @param handle the handle of the element's {@link ObjectIdentifier}
+     */
+    public final void remove(final long handle) {
+        final E element = this.get(handle);
+        if(element != null) this.remove(element);
+    }
+
+    /**
+     * Gets the amount of the elements in the collection
+     * @return the size of the collection
+     */
+    public final int size() {
+        return this.elements.size();
     }
 
     /**
@@ -192,7 +335,7 @@ public abstract class AbstractGameCollection<E> {
      * @param action action to be performed for each element
      */
     public final void forEach(@NotNull final Consumer<E> action) {
-        this.allElementsReverse.keySet().forEach(action);
+        for (int i = 0; i < this.elements.size(); i++) action.accept(this.elements.get(i));
     }
 
     /**
@@ -200,7 +343,7 @@ public abstract class AbstractGameCollection<E> {
      * @return an iterator over {@link E}
      */
     public final Iterator<E> iterator() {
-        return this.allElementsReverse.keySet().iterator();
+        return this.elements.iterator();
     }
 
     /**
@@ -208,7 +351,49 @@ public abstract class AbstractGameCollection<E> {
      * @return an iterator over {@link String}
      */
     public final Iterator<String> nameIterator() {
-        return this.allElements.keySet().iterator();
+        final Iterator<E> iterator = this.iterator();
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return AbstractGameCollection.this.getNameOf(iterator.next());
+            }
+        };
+    }
+    /*--------------------*/
+
+
+
+    /* ENTRY
+    /*--------------------*/
+
+    /**
+     * An element of the collection, its name and its positions in the subsets
+     */
+    private static final class Entry {
+        /** The element */
+        private final Identifiable element;
+        /** The handle of the element, when it was added */
+        private final long handle;
+        /** The name of the element or null, if it is named by its identifier */
+        private String name;
+        /** The subsets, which the element belongs to */
+        private final int subsetMask;
+        /** The position of the element in the subset of all elements */
+        private int position;
+        /** The positions of the element in the subsets (valid only for the subsets of the mask) */
+        private final int[] positions;
+
+        private Entry(final Identifiable element, final long handle, final int subsetMask, final int subsetCount) {
+            this.element = element;
+            this.handle = handle;
+            this.subsetMask = subsetMask;
+            this.positions = new int[subsetCount];
+        }
     }
     /*--------------------*/
 
@@ -221,9 +406,22 @@ public abstract class AbstractGameCollection<E> {
      * Default empty collection constructor
      */
     public AbstractGameCollection() {
+        this(false);
+    }
+
+    /**
+     * Creates an empty collection
+     * @param ordered true, if the subsets must keep the order, in which the elements were added
+     *                (e.g. the 2d objects, which overlap in this order)
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractGameCollection(final boolean ordered) {
+        this.ordered = ordered;
         this.allElements = new HashMap<>();
-        this.allElementsReverse = new HashMap<>();
-        this.powerCollection = this.makePowerCollection();
+        this.entries = new Entry[INITIAL_CAPACITY];
+        this.elements = new DenseSubset<>();
+        this.subsets = (DenseSubset<E>[]) new DenseSubset<?>[this.getSubsetCount()];
+        for (int i = 0; i < this.subsets.length; i++) this.subsets[i] = new DenseSubset<>();
     }
     /*--------------------*/
 }
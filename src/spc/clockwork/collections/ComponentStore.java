@@ -0,0 +1,719 @@
+package spc.clockwork.collections;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.gameobject.Camera;
+import spc.clockwork.gameobject.GameObject;
+import spc.clockwork.gameobject.KernelObject;
+import spc.clockwork.gameobject.ScriptedObject;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.gameobject.hitbox.HitBox;
+import spc.clockwork.gameobject.light.Light;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.graphics.mesh.Mesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link ComponentStore} is an archetype-based storage of the per-object state of all the {@link GameObject}s.
+ *
+ * Every object belongs to an archetype, which is defined by the set of the components it has
+ *      (a signature, e.g. {@link #VISIBILITY} | {@link #TRANSFORM} | {@link #RENDERABLE}).
+ * An archetype keeps the data of its objects in contiguous per-component columns (primitive arrays),
+ *      so a {@link Query} iterates linearly over the rows of the matching archetypes,
+ *      instead of chasing the pointers of the maps and sets of the {@link GameObjectCollection}s.
+ * The rows are removed by swapping the last row into their place, and the objects refer to their rows
+ *      by stable handles.
+ *
+ * The meshes and the materials are stored as reference-counted integer ids (0 stands for none),
+ *      and the layer membership is stored as a bit mask per object, so the filters of a query are primitive comparisons.
+ * The first {@link Long#SIZE} layers get the bits of the mask; the layers, which are registered, while all the bits
+ *      are taken, keep their objects in the sets of the handles instead, so their filters are slower, but not limited.
+ * The store is shared by all of the {@link GameWorld}s (as the {@link KernelObject} and the layers are)
+ *      and is not thread safe.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class ComponentStore {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** An error message, if a handle, which does not exist, is accessed */
+    private static final String ERROR_INVALID_HANDLE =
+            "Error: The component store handle given does not exist: ";
+    /** An error message, if a component, which the object does not have, is accessed */
+    private static final String ERROR_MISSING_COMPONENT =
+            "Error: The object does not have the component required: ";
+
+    /* ---- COMPONENTS ---- */
+    /** The visibility (own and inherited one) of an object; every object has it */
+    public static final int VISIBILITY = 1;
+    /** The node of an object in the {@link spc.clockwork.gameobject.TransformHierarchy}; all but the kernel have it */
+    public static final int TRANSFORM = 1 << 1;
+    /** The mesh and the material of an {@link Entity} */
+    public static final int RENDERABLE = 1 << 2;
+    /** The radius of a {@link HitBox} (zero for the ones, which are not ellipsoids) */
+    public static final int HIT_BOX = 1 << 3;
+    /** The tag of a {@link Light} */
+    public static final int LIGHT = 1 << 4;
+    /** The tag of a {@link Camera} */
+    public static final int CAMERA = 1 << 5;
+    /** The tag of a {@link ScriptedObject} */
+    public static final int SCRIPTED = 1 << 6;
+
+    /** The handle of an object, which is not in the store (anymore) */
+    public static final int NO_HANDLE = -1;
+    /** The id of an absent mesh or material */
+    public static final int NO_ASSET = 0;
+
+    /** The single store of all of the game objects */
+    private static final ComponentStore INSTANCE = new ComponentStore();
+
+
+    /* ---- ARCHETYPES ---- */
+    /** All the archetypes created so far */
+    private Archetype[] archetypes = new Archetype[8];
+    /** The amount of the archetypes */
+    private int archetypeCount;
+
+    /* ---- HANDLES ---- */
+    /** The archetype of every handle (or null for the free handles) */
+    private Archetype[] archetypeOfHandle = new Archetype[64];
+    /** The row of every handle in its archetype */
+    private int[] rowOfHandle = new int[64];
+    /** The stack of the free handles */
+    private int[] freeHandles = new int[64];
+    /** The amount of the free handles */
+    private int freeHandleCount;
+    /** The amount of the handles ever given */
+    private int handleCount;
+
+    /* ---- ASSETS AND LAYERS ---- */
+    /** The meshes and the materials by their ids (the id 0 is reserved for none) */
+    private Object[] assets = new Object[16];
+    /** The amount of the rows, which refer to every asset id (an id is freed, when nobody refers to it) */
+    private int[] assetReferences = new int[16];
+    /** The ids of the meshes and the materials */
+    private final Map<Object, Integer> assetIds = new IdentityHashMap<>();
+    /** The stack of the free asset ids */
+    private final List<Integer> freeAssetIds = new ArrayList<>();
+    /** The amount of the asset ids ever given (including the reserved one) */
+    private int assetIdCount = 1;
+    /** The layers by their bit indices (null for the free bits) */
+    private final GameLayer[] layers = new GameLayer[Long.SIZE];
+    /** The handles of the objects of the layers, which got no bit */
+    private final Map<GameLayer, BitSet> overflowLayers = new IdentityHashMap<>();
+    /*--------------------*/
+
+
+
+    /* ARCHETYPE
+    /*--------------------*/
+
+    /**
+     * A table of all the objects, which share the same signature.
+     * The columns of the components, which are not in the signature, are not allocated.
+     */
+    private static final class Archetype {
+
+        /** The set of the components of this archetype */
+        private final int signature;
+        /** The amount of the rows */
+        private int size;
+
+        /* ---- COLUMNS ---- */
+        private GameObject[] objects;
+        private int[] handles;
+        private boolean[] visible;
+        private boolean[] inheritedVisible;
+        private long[] layerMasks;
+        private int[] transformNodes;
+        private int[] meshIds;
+        private int[] materialIds;
+        /** The radius of every hit box: x, y, z */
+        private float[] hitBoxRadii;
+
+        /**
+         * Makes sure the columns can hold one more row
+         */
+        private void grow() {
+            if (this.size < this.objects.length) return;
+            final int capacity = this.objects.length * 2;
+            this.objects = Arrays.copyOf(this.objects, capacity);
+            this.handles = Arrays.copyOf(this.handles, capacity);
+            this.visible = Arrays.copyOf(this.visible, capacity);
+            this.inheritedVisible = Arrays.copyOf(this.inheritedVisible, capacity);
+            this.layerMasks = Arrays.copyOf(this.layerMasks, capacity);
+            if (this.transformNodes != null) this.transformNodes = Arrays.copyOf(this.transformNodes, capacity);
+            if (this.meshIds != null) this.meshIds = Arrays.copyOf(this.meshIds, capacity);
+            if (this.materialIds != null) this.materialIds = Arrays.copyOf(this.materialIds, capacity);
+            if (this.hitBoxRadii != null) this.hitBoxRadii = Arrays.copyOf(this.hitBoxRadii, capacity * 3);
+        }
+
+        /**
+         * Moves the row 'from' into the row 'to' (the row 'to' is overwritten)
+         */
+        private void move(final int from, final int to) {
+            this.objects[to] = this.objects[from];
+            this.handles[to] = this.handles[from];
+            this.visible[to] = this.visible[from];
+            this.inheritedVisible[to] = this.inheritedVisible[from];
+            this.layerMasks[to] = this.layerMasks[from];
+            if (this.transformNodes != null) this.transformNodes[to] = this.transformNodes[from];
+            if (this.meshIds != null) this.meshIds[to] = this.meshIds[from];
+            if (this.materialIds != null) this.materialIds[to] = this.materialIds[from];
+            if (this.hitBoxRadii != null) System.arraycopy(this.hitBoxRadii, from * 3, this.hitBoxRadii, to * 3, 3);
+        }
+
+        /**
+         * Creates an empty archetype
+         * @param signature the set of the components of this archetype
+         */
+        private Archetype(final int signature) {
+            final int capacity = 16;
+            this.signature = signature;
+            this.objects = new GameObject[capacity];
+            this.handles = new int[capacity];
+            this.visible = new boolean[capacity];
+            this.inheritedVisible = new boolean[capacity];
+            this.layerMasks = new long[capacity];
+            if ((signature & TRANSFORM) != 0) this.transformNodes = new int[capacity];
+            if ((signature & RENDERABLE) != 0) this.meshIds = new int[capacity];
+            if ((signature & RENDERABLE) != 0) this.materialIds = new int[capacity];
+            if ((signature & HIT_BOX) != 0) this.hitBoxRadii = new float[capacity * 3];
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* QUERY
+    /*--------------------*/
+
+    /**
+     * A typed query over the store, e.g. "all the visible entities with the mesh X in the layer Y".
+     * A query is a reusable mutable filter; it is meant to be built once and executed every frame.
+     * @param <T> the type of the objects, which the query yields
+     */
+    public static final class Query<T extends GameObject> {
+
+        /** The components, which the objects must have */
+        private final int required;
+        /** If set, only the visible objects (including the inherited visibility) match */
+        private boolean visibleOnly;
+        /** If not null, only the objects with this mesh match */
+        private Mesh mesh;
+        /** If not null, only the objects with this material match */
+        private Material material;
+        /** If not null, only the objects in this layer match */
+        private GameLayer layer;
+
+        /**
+         * Creates a query over all the game objects
+         * @return a new query
+         */
+        public static Query<GameObject> all() {
+            return new Query<>(VISIBILITY);
+        }
+
+        /**
+         * Creates a query over all the entities (including the hit boxes)
+         * @return a new query
+         */
+        public static Query<Entity> entities() {
+            return new Query<>(RENDERABLE);
+        }
+
+        /**
+         * Creates a query over all the hit boxes
+         * @return a new query
+         */
+        public static Query<HitBox> hitBoxes() {
+            return new Query<>(HIT_BOX);
+        }
+
+        /**
+         * Creates a query over all the lights
+         * @return a new query
+         */
+        public static Query<Light> lights() {
+            return new Query<>(LIGHT);
+        }
+
+        /**
+         * Creates a query over all the cameras
+         * @return a new query
+         */
+        public static Query<Camera> cameras() {
+            return new Query<>(CAMERA);
+        }
+
+        /**
+         * Makes the query yield only the visible objects
+         * @return this
+         */
+        public Query<T> visible() {
+            this.visibleOnly = true;
+            return this;
+        }
+
+        /**
+         * Makes the query yield only the objects with the mesh given (requires the {@link #RENDERABLE} component)
+         * @param mesh the mesh or null to remove the filter
+         * @return this
+         */
+        public Query<T> withMesh(final Mesh mesh) {
+            this.mesh = mesh;
+            return this;
+        }
+
+        /**
+         * Makes the query yield only the objects with the material given (requires the {@link #RENDERABLE} component)
+         * @param material the material or null to remove the filter
+         * @return this
+         */
+        public Query<T> withMaterial(final Material material) {
+            this.material = material;
+            return this;
+        }
+
+        /**
+         * Makes the query yield only the objects of the layer given
+         * @param layer the layer or null to remove the filter
+         * @return this
+         */
+        public Query<T> inLayer(final GameLayer layer) {
+            this.layer = layer;
+            return this;
+        }
+
+        /**
+         * Creates a query over the objects, which have all of the components given
+         * @param required the components required
+         */
+        private Query(final int required) {
+            this.required = required;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the set of the components of the object given
+     * @param gameObject the object
+     * @return the signature of the archetype of the object
+     */
+    private static int signatureOf(final GameObject gameObject) {
+        int signature = VISIBILITY;
+        if (!(gameObject instanceof KernelObject)) signature |= TRANSFORM;
+        if (gameObject instanceof Entity) signature |= RENDERABLE;
+        if (gameObject instanceof HitBox) signature |= HIT_BOX;
+        if (gameObject instanceof Light) signature |= LIGHT;
+        if (gameObject instanceof Camera) signature |= CAMERA;
+        if (gameObject instanceof ScriptedObject) signature |= SCRIPTED;
+        return signature;
+    }
+
+    /**
+     * Gets the archetype of the signature given, creating it, if it does not exist
+     * @param signature the signature
+     * @return the archetype
+     */
+    private Archetype archetypeOf(final int signature) {
+        for (int i = 0; i < this.archetypeCount; i++)
+            if (this.archetypes[i].signature == signature) return this.archetypes[i];
+        if (this.archetypeCount == this.archetypes.length)
+            this.archetypes = Arrays.copyOf(this.archetypes, this.archetypeCount * 2);
+        return this.archetypes[this.archetypeCount++] = new Archetype(signature);
+    }
+
+    /**
+     * Gets the archetype of the handle given
+     * @param handle the handle
+     * @param component the component, which the archetype must have
+     * @return the archetype of the handle
+     */
+    private Archetype archetypeOf(final int handle, final int component) {
+        final Archetype archetype;
+        if (handle < 0 || handle >= this.handleCount || (archetype = this.archetypeOfHandle[handle]) == null)
+            throw new IllegalArgumentException(ERROR_INVALID_HANDLE + handle);
+        if ((archetype.signature & component) != component)
+            throw new IllegalArgumentException(ERROR_MISSING_COMPONENT + component);
+        return archetype;
+    }
+
+    /**
+     * Takes a reference to the asset given, registering it, if it has no id
+     * @param asset the mesh or the material (or null)
+     * @return the id of the asset
+     */
+    private int reference(final Object asset) {
+        if (asset == null) return NO_ASSET;
+        Integer id = this.assetIds.get(asset);
+        if (id == null) {
+            if (!this.freeAssetIds.isEmpty()) id = this.freeAssetIds.remove(this.freeAssetIds.size() - 1);
+            else {
+                id = this.assetIdCount++;
+                if (id == this.assets.length) {
+                    this.assets = Arrays.copyOf(this.assets, id * 2);
+                    this.assetReferences = Arrays.copyOf(this.assetReferences, id * 2);
+                }
+            }
+            this.assets[id] = asset;
+            this.assetIds.put(asset, id);
+        }
+        this.assetReferences[id]++;
+        return id;
+    }
+
+    /**
+     * Releases a reference to the asset id given, freeing the id, if nobody refers to it anymore
+     * @param id the id of the asset
+     */
+    private void release(final int id) {
+        if (id == NO_ASSET || --this.assetReferences[id] > 0) return;
+        this.assetIds.remove(this.assets[id]);
+        this.assets[id] = null;
+        this.freeAssetIds.add(id);
+    }
+
+    /**
+     * Gets the id of the asset given without registering it
+     * @param asset the mesh or the material
+     * @return the id of the asset or -1, if it has none
+     */
+    private int findIdOf(final Object asset) {
+        final Integer id = this.assetIds.get(asset);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the bit index of the layer given without registering it
+     * @param layer the layer
+     * @return the bit index of the layer or -1, if it has none
+     */
+    private int findBitOf(final GameLayer layer) {
+        for (int bit = 0; bit < this.layers.length; bit++)
+            if (this.layers[bit] == layer) return bit;
+        return -1;
+    }
+
+    /**
+     * Gets the bit index of the layer given, registering it, if it has none
+     * @param layer the layer
+     * @return the bit index of the layer or -1, if all the bits are taken or the layer is in the overflow already
+     */
+    private int bitOf(final GameLayer layer) {
+        final int bit = this.findBitOf(layer);
+        if (bit >= 0 || this.overflowLayers.containsKey(layer)) return bit;
+        for (int free = 0; free < this.layers.length; free++)
+            if (this.layers[free] == null) { this.layers[free] = layer; return free; }
+        return -1;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the store of all of the game objects
+     * @return the component store
+     */
+    public static ComponentStore get() {
+        return INSTANCE;
+    }
+
+
+    /* ---- ROWS ---- */
+
+    /**
+     * Adds a row for the object given. Is invoked by the {@link GameObject} constructor.
+     * @param gameObject the object
+     * @param transformNode the node of the object in the transform hierarchy
+     * @return the handle of the row of the object
+     */
+    public int add(@NotNull final GameObject gameObject, final int transformNode) {
+        final int handle;
+        if (this.freeHandleCount > 0) {
+            handle = this.freeHandles[--this.freeHandleCount];
+        } else {
+            handle = this.handleCount++;
+            if (handle == this.archetypeOfHandle.length) {
+                this.archetypeOfHandle = Arrays.copyOf(this.archetypeOfHandle, handle * 2);
+                this.rowOfHandle = Arrays.copyOf(this.rowOfHandle, handle * 2);
+                this.freeHandles = Arrays.copyOf(this.freeHandles, handle * 2);
+            }
+        }
+        final Archetype archetype = this.archetypeOf(signatureOf(gameObject));
+        archetype.grow();
+        final int row = archetype.size++;
+        archetype.objects[row] = gameObject;
+        archetype.handles[row] = handle;
+        archetype.visible[row] = true;
+        archetype.inheritedVisible[row] = true;
+        archetype.layerMasks[row] = 0L;
+        if (archetype.transformNodes != null) archetype.transformNodes[row] = transformNode;
+        if (archetype.meshIds != null) archetype.meshIds[row] = NO_ASSET;
+        if (archetype.materialIds != null) archetype.materialIds[row] = NO_ASSET;
+        if (archetype.hitBoxRadii != null) Arrays.fill(archetype.hitBoxRadii, row * 3, row * 3 + 3, 0f);
+        this.archetypeOfHandle[handle] = archetype;
+        this.rowOfHandle[handle] = row;
+        return handle;
+    }
+
+    /**
+     * Removes the row of a handle, moving the last row of the archetype into its place
+     * @param handle the handle
+     */
+    public void remove(final int handle) {
+        final Archetype archetype = this.archetypeOf(handle, VISIBILITY);
+        final int row = this.rowOfHandle[handle];
+        if (archetype.meshIds != null) this.release(archetype.meshIds[row]);
+        if (archetype.materialIds != null) this.release(archetype.materialIds[row]);
+        final int last = --archetype.size;
+        if (row != last) {
+            archetype.move(last, row);
+            this.rowOfHandle[archetype.handles[row]] = row;
+        }
+        archetype.objects[last] = null;
+        for (final BitSet handles : this.overflowLayers.values()) handles.clear(handle);
+        this.archetypeOfHandle[handle] = null;
+        this.freeHandles[this.freeHandleCount++] = handle;
+    }
+
+    /**
+     * Gets the amount of the objects in the store
+     * @return the amount of the objects
+     */
+    public int size() {
+        return this.handleCount - this.freeHandleCount;
+    }
+
+
+    /* ---- VISIBILITY ---- */
+
+    /**
+     * Gets the visibility of an object, which is its own visibility and the inherited one
+     * @param handle the handle of the object
+     * @return true, if the object and all of its parents are visible
+     */
+    public boolean isVisible(final int handle) {
+        final Archetype archetype = this.archetypeOf(handle, VISIBILITY);
+        final int row = this.rowOfHandle[handle];
+        return archetype.visible[row] && archetype.inheritedVisible[row];
+    }
+
+    /**
+     * Sets the own visibility of an object
+     * @param handle the handle of the object
+     * @param visible the new visibility
+     */
+    public void setVisible(final int handle, final boolean visible) {
+        this.archetypeOf(handle, VISIBILITY).visible[this.rowOfHandle[handle]] = visible;
+    }
+
+    /**
+     * Sets the visibility, which an object inherits from its parents
+     * @param handle the handle of the object
+     * @param inheritedVisible the new inherited visibility
+     */
+    public void setInheritedVisible(final int handle, final boolean inheritedVisible) {
+        this.archetypeOf(handle, VISIBILITY).inheritedVisible[this.rowOfHandle[handle]] = inheritedVisible;
+    }
+
+
+    /* ---- LAYERS ---- */
+
+    /**
+     * Adds or removes an object to or from a layer
+     * @param handle the handle of the object
+     * @param layer the layer
+     * @param inLayer true to add the object to the layer, false to remove it
+     */
+    public void setInLayer(final int handle, @NotNull final GameLayer layer, final boolean inLayer) {
+        final Archetype archetype = this.archetypeOf(handle, VISIBILITY);
+        final int row = this.rowOfHandle[handle];
+        if (inLayer) {
+            final int bit = this.bitOf(layer);
+            if (bit >= 0) archetype.layerMasks[row] |= 1L << bit;
+            else this.overflowLayers.computeIfAbsent(layer, overflowLayer -> new BitSet()).set(handle);
+        } else {
+            final int bit = this.findBitOf(layer);
+            if (bit >= 0) archetype.layerMasks[row] &= ~(1L << bit);
+            final BitSet handles = this.overflowLayers.get(layer);
+            if (handles != null) handles.clear(handle);
+        }
+    }
+
+    /**
+     * Removes all the objects from a layer and frees its bit
+     * @param layer the layer
+     */
+    public void removeLayer(@NotNull final GameLayer layer) {
+        this.overflowLayers.remove(layer);
+        final int bit = this.findBitOf(layer);
+        if (bit < 0) return;
+        final long mask = ~(1L << bit);
+        for (int i = 0; i < this.archetypeCount; i++) {
+            final Archetype archetype = this.archetypes[i];
+            for (int row = 0; row < archetype.size; row++) archetype.layerMasks[row] &= mask;
+        }
+        this.layers[bit] = null;
+    }
+
+
+    /* ---- RENDERABLE ---- */
+
+    /**
+     * Gets the mesh of an object
+     * @param handle the handle of the object
+     * @return the mesh of the object or null
+     */
+    public Mesh getMesh(final int handle) {
+        return (Mesh) this.assets[this.archetypeOf(handle, RENDERABLE).meshIds[this.rowOfHandle[handle]]];
+    }
+
+    /**
+     * Sets the mesh of an object
+     * @param handle the handle of the object
+     * @param mesh the new mesh or null
+     */
+    public void setMesh(final int handle, final Mesh mesh) {
+        final int[] meshIds = this.archetypeOf(handle, RENDERABLE).meshIds;
+        final int row = this.rowOfHandle[handle];
+        final int id = this.reference(mesh);
+        this.release(meshIds[row]);
+        meshIds[row] = id;
+    }
+
+    /**
+     * Gets the material of an object
+     * @param handle the handle of the object
+     * @return the material of the object or null
+     */
+    public Material getMaterial(final int handle) {
+        return (Material) this.assets[this.archetypeOf(handle, RENDERABLE).materialIds[this.rowOfHandle[handle]]];
+    }
+
+    /**
+     * Sets the material of an object
+     * @param handle the handle of the object
+     * @param material the new material or null
+     */
+    public void setMaterial(final int handle, final Material material) {
+        final int[] materialIds = this.archetypeOf(handle, RENDERABLE).materialIds;
+        final int row = this.rowOfHandle[handle];
+        final int id = this.reference(material);
+        this.release(materialIds[row]);
+        materialIds[row] = id;
+    }
+
+
+    /* ---- HIT BOX ---- */
+
+    /**
+     * Sets the radius of a hit box
+     * @param handle the handle of the hit box
+     * @param x the radius along the x-axis
+     * @param y the radius along the y-axis
+     * @param z the radius along the z-axis
+     */
+    public void setHitBoxRadius(final int handle, final float x, final float y, final float z) {
+        final float[] radii = this.archetypeOf(handle, HIT_BOX).hitBoxRadii;
+        final int offset = this.rowOfHandle[handle] * 3;
+        radii[offset] = x;
+        radii[offset + 1] = y;
+        radii[offset + 2] = z;
+    }
+
+
+    /* ---- TRANSFORM ---- */
+
+    /**
+     * Gets the node of an object in the transform hierarchy
+     * @param handle the handle of the object
+     * @return the node of the object
+     */
+    public int getTransformNode(final int handle) {
+        return this.archetypeOf(handle, TRANSFORM).transformNodes[this.rowOfHandle[handle]];
+    }
+
+
+    /* ---- QUERIES ---- */
+
+    /**
+     * Performs an action for every object, which matches the query.
+     * The archetypes are visited one after another and the rows of every archetype are visited linearly.
+     * The objects must not be added to or removed from the store by the action.
+     * @param query the query
+     * @param action the action
+     * @param <T> the type of the objects
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameObject> void forEach(@NotNull final Query<T> query, @NotNull final Consumer<? super T> action) {
+        /* ---- RESOLVING THE FILTERS INTO THE PRIMITIVE VALUES ---- */
+        final int meshId = query.mesh == null ? -1 : this.findIdOf(query.mesh);
+        final int materialId = query.material == null ? -1 : this.findIdOf(query.material);
+        final int layerBit = query.layer == null ? -1 : this.findBitOf(query.layer);
+        final BitSet layerHandles = query.layer == null || layerBit >= 0 ? null : this.overflowLayers.get(query.layer);
+        /* A FILTER BY AN ASSET OR A LAYER, WHICH NOBODY HAS EVER USED, MATCHES NOTHING */
+        if ((query.mesh != null && meshId < 0) || (query.material != null && materialId < 0)
+                || (query.layer != null && layerBit < 0 && layerHandles == null)) return;
+        final int required = query.required | (query.mesh != null || query.material != null ? RENDERABLE : 0);
+        final long layerMask = layerBit < 0 ? 0L : 1L << layerBit;
+
+        /* ---- LINEAR ITERATION ---- */
+        for (int i = 0; i < this.archetypeCount; i++) {
+            final Archetype archetype = this.archetypes[i];
+            if ((archetype.signature & required) != required) continue;
+            final int size = archetype.size;
+            for (int row = 0; row < size; row++) {
+                if (query.visibleOnly && !(archetype.visible[row] && archetype.inheritedVisible[row])) continue;
+                if (layerMask != 0L && (archetype.layerMasks[row] & layerMask) == 0L) continue;
+                if (layerHandles != null && !layerHandles.get(archetype.handles[row])) continue;
+                if (meshId >= 0 && archetype.meshIds[row] != meshId) continue;
+                if (materialId >= 0 && archetype.materialIds[row] != materialId) continue;
+                action.accept((T) archetype.objects[row]);
+            }
+        }
+    }
+
+    /**
+     * Counts the objects, which match the query
+     * @param query the query
+     * @return the amount of the objects
+     */
+    public int count(@NotNull final Query<?> query) {
+        final int[] count = new int[1];
+        this.forEach(query, gameObject -> count[0]++);
+        return count[0];
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty store
+     */
+    private ComponentStore() {
+    }
+    /*--------------------*/
+}
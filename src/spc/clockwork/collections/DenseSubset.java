@@ -0,0 +1,170 @@
+package spc.clockwork.collections;
+
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A subset of the elements of an {@link AbstractGameCollection}, which is stored in a dense array.
+ * The elements are removed by swapping the last element into the freed position,
+ *      so the subset is always packed and is iterated by the index without any allocations.
+ * The positions of the elements are tracked by the collection, which owns the subset.
+ * The order of the elements is not preserved on removal, unless the element is cleared instead:
+ *      a cleared element leaves a hole, and the holes are closed by {@link #compact(ObjIntConsumer)},
+ *      which moves the following elements down and keeps their order.
+ * @param <E> the type of the elements of the subset
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class DenseSubset<E> {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The initial capacity of the subset */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The elements of the subset, only the first size of them are valid */
+    private Object[] elements;
+    /** The amount of elements in the subset (including the holes) */
+    private int size;
+    /** The amount of the cleared positions, which have not been compacted yet */
+    private int holes;
+    /*--------------------*/
+
+
+
+    /* PACKAGE-PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Appends the element to the end of the subset
+     * @param element the element to append
+     * @return the position of the element
+     */
+    int add(final E element) {
+        if (this.size == this.elements.length)
+            this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
+        this.elements[this.size] = element;
+        return this.size++;
+    }
+
+    /**
+     * Removes the element at the position given, moving the last element into its place
+     * @param position the position of the element to remove
+     * @return the element, which has been moved into the position given,
+     *      or null, if the removed element was the last one
+     */
+    @SuppressWarnings("unchecked")
+    E removeAt(final int position) {
+        final int last = --this.size;
+        final Object moved = this.elements[last];
+        this.elements[last] = null;
+        if (position == last) return null;
+        this.elements[position] = moved;
+        return (E) moved;
+    }
+
+    /**
+     * Removes the element at the position given, leaving a hole, so the other elements keep their positions
+     * @param position the position of the element to remove
+     */
+    void clearAt(final int position) {
+        this.elements[position] = null;
+        this.holes++;
+    }
+
+    /**
+     * Checks if the subset has the holes, which must be compacted before it is read
+     * @return true, if some elements were cleared since the last compaction
+     */
+    boolean hasHoles() {
+        return this.holes != 0;
+    }
+
+    /**
+     * Closes the holes, moving the elements down in their order
+     * @param onMoved the action, which is given every moved element and its new position
+     */
+    @SuppressWarnings("unchecked")
+    void compact(final ObjIntConsumer<E> onMoved) {
+        int to = 0;
+        for (int from = 0; from < this.size; from++) {
+            final Object element = this.elements[from];
+            if (element == null) continue;
+            if (from != to) {
+                this.elements[to] = element;
+                onMoved.accept((E) element, to);
+            }
+            to++;
+        }
+        Arrays.fill(this.elements, to, this.size, null);
+        this.size = to;
+        this.holes = 0;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the amount of elements in the subset
+     * @return the size of the subset
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the element at the position given
+     * @param index the position of the element, from 0 (inclusive) to size() (exclusive)
+     * @return the element
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        if (index >= this.size) throw new IndexOutOfBoundsException(String.valueOf(index));
+        return (E) this.elements[index];
+    }
+
+    /**
+     * Creates an iterator over the elements of the subset (the subset must not be modified while it is iterated)
+     * @return an iterator over the elements
+     */
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < DenseSubset.this.size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                return (E) DenseSubset.this.elements[this.index++];
+            }
+        };
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty subset
+     */
+    public DenseSubset() {
+        this.elements = new Object[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+    /*--------------------*/
+}
@@ -6,16 +6,16 @@ import spc.clockwork.graphics.Material;
 import spc.clockwork.graphics.Texture;
 import spc.clockwork.graphics.mesh.Mesh;
 
-import java.util.*;
 
 
 /**
  * A collection of game resources
- * The collection is used to store the game resources in the {@link HashMap} and {@link HashSet} by categories
+ * The collection is used to store the game resources in the {@link java.util.HashMap}
+ *      and {@link DenseSubset} by categories
  * Is used for efficient random access by name and traverse
  * The collection prevents from making repetitions of the {@link GameAsset} inside
  *
- * The collection private methods "makePowerCollection()" and "addElementToSubsets()" must be reimplemented each time
+ * The collection private methods "getSubsetCount()" and "getSubsetMask()" must be reimplemented each time
  * the category set is changed.
  *
  * Please, do not forget to add/remove the corresponding getConst method to the instance of a category, when the category is
@@ -29,23 +29,16 @@ public final class GameAssetCollection extends AbstractGameCollection<GameAsset>
     /* ATTRIBUTES
     /*--------------------*/
 
-    /** A Set of all resources, that do not belong to defined below categories */
-    private final Set<GameAsset> otherResources;
-
-    /** A Set of meshes */
-    private final Set<Mesh> meshes;
-
-    /** A Set of materials */
-    private final Set<Material> materials;
-
-    /** A Set of textures */
-    private final Set<Texture> textures;
-
-
-    private static Set<GameAsset> tempResources;
-    private static Set<Mesh> tempMeshes;
-    private static Set<Material> tempMaterials;
-    private static Set<Texture> tempTextures;
+    /** The index of the subset of materials */
+    private static final int MATERIALS = 0;
+    /** The index of the subset of meshes */
+    private static final int MESHES = 1;
+    /** The index of the subset of all resources, that do not belong to the other categories */
+    private static final int OTHER_RESOURCES = 2;
+    /** The index of the subset of textures */
+    private static final int TEXTURES = 3;
+    /** The amount of subsets */
+    private static final int SUBSET_COUNT = 4;
     /*--------------------*/
 
 
@@ -54,32 +47,26 @@ public final class GameAssetCollection extends AbstractGameCollection<GameAsset>
     /*--------------------*/
 
     /**
-     * Sets the superset up
+     * Gets the amount of subsets
      */
     @Override
-    protected Collection<Collection> makePowerCollection() {
-        Collection<Collection> powerSet = new LinkedList<>();
-        powerSet.add(tempMaterials = new LinkedHashSet<>());
-        powerSet.add(tempMeshes = new LinkedHashSet<>());
-        powerSet.add(tempResources = new LinkedHashSet<>());
-        powerSet.add(tempTextures = new LinkedHashSet<>());
-        return powerSet;
+    protected int getSubsetCount() {
+        return SUBSET_COUNT;
     }
 
-
     /**
-     * Adds the provided element to a corresponding subset
+     * Resolves the subset of the provided element
      * @param element the element given
      */
     @Override
-    protected void addElementToSubsets(GameAsset element) {
+    protected int getSubsetMask(GameAsset element) {
         if(element instanceof Mesh)
-            this.meshes.add((Mesh) element);
+            return 1 << MESHES;
         else if(element instanceof Material)
-            this.materials.add((Material) element);
+            return 1 << MATERIALS;
         else if(element instanceof Texture)
-            this.textures.add((Texture) element);
-        else otherResources.add(element);
+            return 1 << TEXTURES;
+        else return 1 << OTHER_RESOURCES;
     }
     /*--------------------*/
 
@@ -157,10 +144,6 @@ public final class GameAssetCollection extends AbstractGameCollection<GameAsset>
      */
     public GameAssetCollection() {
         super();
-        this.otherResources = tempResources;
-        this.materials = tempMaterials;
-        this.meshes = tempMeshes;
-        this.textures = tempTextures;
     }
     /*--------------------*/
 }
@@ -3,11 +3,6 @@ package spc.clockwork.collections;
 
 import spc.clockwork.graphics.layer.GameLayer;
 
-import java.util.Collection;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.Set;
-
 /**
  * A collection of game layers
  *
@@ -19,11 +14,8 @@ public final class GameLayerCollection extends AbstractGameCollection<GameLayer>
     /* ATTRIBUTES
     /*--------------------*/
 
-    /** A set of layers */
-    private final Set<GameLayer> gameLayers;
-
-
-    private static Set<GameLayer> tempLayers;
+    /** The index of the subset of layers */
+    private static final int LAYERS = 0;
     /*--------------------*/
 
 
@@ -32,23 +24,21 @@ public final class GameLayerCollection extends AbstractGameCollection<GameLayer>
     /*--------------------*/
 
     /**
-     * Sets the power set up
+     * Gets the amount of subsets
      */
     @Override
-    protected Collection<Collection> makePowerCollection() {
-        Collection<Collection> powerSet = new LinkedList<>();
-        powerSet.add(tempLayers = new LinkedHashSet<>());
-        return powerSet;
+    protected int getSubsetCount() {
+        return 1;
     }
 
     /**
-     * Adds the provided element to a corresponding subset
+     * Resolves the subset of the provided element
      *
      * @param element the element given
      */
     @Override
-    protected void addElementToSubsets(GameLayer element) {
-        this.gameLayers.add(element);
+    protected int getSubsetMask(GameLayer element) {
+        return 1 << LAYERS;
     }
 
     /*--------------------*/
@@ -66,7 +56,6 @@ public final class GameLayerCollection extends AbstractGameCollection<GameLayer>
 
     public GameLayerCollection() {
         super();
-        this.gameLayers = tempLayers;
     }
     /*--------------------*/
 }
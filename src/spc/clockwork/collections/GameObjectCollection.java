@@ -6,26 +6,25 @@ import spc.clockwork.gameobject.ScriptedObject;
 import spc.clockwork.gameobject.entity.Entity;
 import spc.clockwork.gameobject.light.Light;
 
-import java.util.*;
+import java.util.Iterator;
 
 public final class GameObjectCollection extends AbstractGameCollection<GameObject> {
 
     /* ATTRIBUTES
     /*--------------------*/
 
-    private final Set<GameObject> otherObjects;
-
-    private final Set<Entity> entities;
-    private final Set<Light> lights;
-    private final Set<Camera> cameras;
-    private final Set<ScriptedObject> scriptedObjects;
-
-
-    private static Set<Entity> tempEntities;
-    private static Set<Light> tempLights;
-    private static Set<Camera> tempCameras;
-    private static Set<ScriptedObject> tempScriptedObjects;
-    private static Set<GameObject> tempOthers;
+    /** The index of the subset of entities */
+    private static final int ENTITIES = 0;
+    /** The index of the subset of lights */
+    private static final int LIGHTS = 1;
+    /** The index of the subset of cameras */
+    private static final int CAMERAS = 2;
+    /** The index of the subset of the game objects of other types */
+    private static final int OTHER_OBJECTS = 3;
+    /** The index of the subset of scripted objects (which may also belong to one of the subsets above) */
+    private static final int SCRIPTED_OBJECTS = 4;
+    /** The amount of subsets */
+    private static final int SUBSET_COUNT = 5;
     /*--------------------*/
 
 
@@ -36,46 +35,113 @@ public final class GameObjectCollection extends AbstractGameCollection<GameObjec
     /*--------------------*/
 
     /**
-     * Sets the power set up
+     * Gets the amount of subsets
      */
     @Override
-    protected Collection<Collection> makePowerCollection() {
-        Collection<Collection> powerSet = new LinkedList<>();
-        powerSet.add(tempEntities = new LinkedHashSet<>());
-        powerSet.add(tempLights = new LinkedHashSet<>());
-        powerSet.add(tempCameras = new LinkedHashSet<>());
-        powerSet.add(tempOthers = new LinkedHashSet<>());
-        powerSet.add(tempScriptedObjects = new LinkedHashSet<>());
-        return powerSet;
+    protected int getSubsetCount() {
+        return SUBSET_COUNT;
     }
 
 
     /**
-     * Adds the provided element to a corresponding subset
+     * Resolves the subsets of the provided element
      * @param element the element given
      */
     @Override
-    protected void addElementToSubsets(GameObject element) {
+    protected int getSubsetMask(GameObject element) {
+        int mask;
         if(element instanceof Entity)
-            this.entities.add((Entity) element);
+            mask = 1 << ENTITIES;
         else if(element instanceof Light)
-            this.lights.add((Light) element);
+            mask = 1 << LIGHTS;
         else if(element instanceof Camera)
-            this.cameras.add((Camera) element);
-        else otherObjects.add(element);
-
+            mask = 1 << CAMERAS;
+        else mask = 1 << OTHER_OBJECTS;
 
         if (element instanceof ScriptedObject)
-            this.scriptedObjects.add((ScriptedObject) element);
+            mask |= 1 << SCRIPTED_OBJECTS;
+        return mask;
+    }
+
+
+    /**
+     * Creates an iterator over the subset, whose elements are all of the type required
+     * @param subset the index of the subset
+     * @return an iterator over the subset
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Iterator<T> subsetIterator(final int subset) {
+        return (Iterator<T>) this.getSubset(subset).iterator();
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- INDEXED ACCESS ---- */
+
+    /**
+     * Gets the amount of instances of {@link Entity} in the collection
+     * @return the amount of entities
+     */
+    public int entityCount() {
+        return this.getSubset(ENTITIES).size();
+    }
+
+    /**
+     * Gets an instance of {@link Entity} by its index (the indices change, when the entities are removed)
+     * @param index the index from 0 (inclusive) to entityCount() (exclusive)
+     * @return the entity
+     */
+    public Entity getEntity(final int index) {
+        return (Entity) this.getSubset(ENTITIES).get(index);
+    }
+
+    /**
+     * Gets the amount of instances of {@link Light} in the collection
+     * @return the amount of lights
+     */
+    public int lightCount() {
+        return this.getSubset(LIGHTS).size();
+    }
+
+    /**
+     * Gets an instance of {@link Light} by its index (the indices change, when the lights are removed)
+     * @param index the index from 0 (inclusive) to lightCount() (exclusive)
+     * @return the light
+     */
+    public Light getLight(final int index) {
+        return (Light) this.getSubset(LIGHTS).get(index);
+    }
+
+    /**
+     * Gets the amount of instances of {@link ScriptedObject} in the collection
+     * @return the amount of scripted objects
+     */
+    public int scriptedObjectCount() {
+        return this.getSubset(SCRIPTED_OBJECTS).size();
+    }
+
+    /**
+     * Gets an instance of {@link ScriptedObject} by its index (the indices change, when the objects are removed)
+     * @param index the index from 0 (inclusive) to scriptedObjectCount() (exclusive)
+     * @return the scripted object
+     */
+    public ScriptedObject getScriptedObject(final int index) {
+        return (ScriptedObject) this.getSubset(SCRIPTED_OBJECTS).get(index);
     }
 
 
+    /* ---- ITERATORS ---- */
+
     /**
      * Creates and returns an iterator through all instances of {@link Entity} in the collection
      * @return an entity iterator
      */
     public Iterator<Entity> entityIterator() {
-        return this.entities.iterator();
+        return this.subsetIterator(ENTITIES);
     }
 
 
@@ -84,7 +150,7 @@ public final class GameObjectCollection extends AbstractGameCollection<GameObjec
      * @return a light iterator
      */
     public Iterator<Light> lightIterator() {
-        return this.lights.iterator();
+        return this.subsetIterator(LIGHTS);
     }
 
 
@@ -93,15 +159,8 @@ public final class GameObjectCollection extends AbstractGameCollection<GameObjec
      * @return a script game objects iterator
      */
     public Iterator<ScriptedObject> scriptedObjectIterator() {
-        return this.scriptedObjects.iterator();
+        return this.subsetIterator(SCRIPTED_OBJECTS);
     }
-
-    /*--------------------*/
-
-
-
-    /* PUBLIC METHODS
-    /*--------------------*/
     /*--------------------*/
 
 
@@ -114,11 +173,14 @@ public final class GameObjectCollection extends AbstractGameCollection<GameObjec
      */
     public GameObjectCollection() {
         super();
-        this.entities = tempEntities;
-        this.cameras = tempCameras;
-        this.lights = tempLights;
-        this.scriptedObjects = tempScriptedObjects;
-        this.otherObjects = tempOthers;
+    }
+
+    /**
+     * Creates an empty collection
+     * @param ordered true, if the subsets must keep the order, in which the objects were added
+     */
+    public GameObjectCollection(final boolean ordered) {
+        super(ordered);
     }
     /*--------------------*/
 }
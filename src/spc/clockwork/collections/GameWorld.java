@@ -41,6 +41,9 @@ public final class GameWorld {
     /** The reference to the window manager of Clockwork instance */
     private final WindowManager windowManager;
 
+    /** The buffer of the deferred structural changes of this {@link GameWorld} */
+    private final WorldCommandBuffer commandBuffer;
+
 
 
     /** An error message, when an object passed cannot be held in this {@link GameWorld} */
@@ -154,6 +157,48 @@ public final class GameWorld {
         return this.getGameLayerCollection().getElement(name);
     }
 
+    /**
+     * Gets the {@link GameObject}, which belongs to this {@link GameWorld}, by its handle
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the {@link GameObject}
+     * @return the element of the collection with the handle given or null,
+     *         if such a handle was not found in the set of {@link GameObject}s (or the object is terminated)
+     */
+    public final GameObject getObject(final long handle) {
+        return this.getGameObjectCollection().get(handle);
+    }
+
+    /**
+     * Gets the {@link GameAsset}, which belongs to this {@link GameWorld}, by its handle
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the {@link GameAsset}
+     * @return the element of the collection with the handle given or null,
+     *         if such a handle was not found in the set of {@link GameAsset}s (or the asset is terminated)
+     */
+    public final GameAsset getAsset(final long handle) {
+        return this.getGameAssetCollection().get(handle);
+    }
+
+    /**
+     * Gets the {@link GameLayer}, which belongs to this {@link GameWorld}, by its handle
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the {@link GameLayer}
+     * @return the element of the collection with the handle given or null,
+     *         if such a handle was not found in the set of {@link GameLayer}s (or the layer is terminated)
+     */
+    public final GameLayer getLayer(final long handle) {
+        return this.getGameLayerCollection().get(handle);
+    }
+
+    /**
+     * Gets the {@link Identifiable} object, which belongs to this {@link GameWorld}, by its handle
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the object
+     * @return the object with the handle given or null, if it is not a member of this {@link GameWorld}
+     */
+    public final Identifiable get(final long handle) {
+        Identifiable object;
+        if((object = this.getObject(handle)) != null) return object;
+        if((object = this.getAsset(handle)) != null) return object;
+        return this.getLayer(handle);
+    }
+
     /**
      * Gets a name of the object given, or null, if such an object is not a member of the collection
      * @param object the identifiable object, which could be a member of this {@link GameWorld}
@@ -172,11 +217,19 @@ public final class GameWorld {
      * @return true, if the {@link GameWorld} contains this object, else return false
      */
     public final boolean contains(@NotNull final Identifiable object) {
-        /* TO BE REMOVED */
-        // if(object instanceof GameObject) return this.getGameObjectCollection().contains((GameObject)object);
-        // if(object instanceof GameAsset) return this.getGameAssetCollection().contains((GameAsset) object);
-        // if(object instanceof GameLayer) return this.getGameLayerCollection().contains((GameLayer) object);
-        return this.getNameOf(object) != null;
+        if(object instanceof GameObject) return this.getGameObjectCollection().contains((GameObject)object);
+        if(object instanceof GameAsset) return this.getGameAssetCollection().contains((GameAsset) object);
+        if(object instanceof GameLayer) return this.getGameLayerCollection().contains((GameLayer) object);
+        return false;
+    }
+
+    /**
+     * Checks if the {@link Identifiable} object with the handle given is a member of this {@link GameWorld}
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the object
+     * @return true, if the {@link GameWorld} contains such an object, else return false
+     */
+    public final boolean contains(final long handle) {
+        return this.get(handle) != null;
     }
 
     /**
@@ -207,6 +260,35 @@ public final class GameWorld {
         return this.getGameObjectCollection().scriptedObjectIterator();
     }
 
+    /**
+     * Gets the amount of the {@link ScriptedObject}s in the world
+     * @return the amount of scripted objects
+     */
+    public final int scriptedObjectCount() {
+        return this.getGameObjectCollection().scriptedObjectCount();
+    }
+
+    /**
+     * Gets a {@link ScriptedObject} of the world by its index (the indices change, when the objects are removed)
+     * @param index the index from 0 (inclusive) to scriptedObjectCount() (exclusive)
+     * @return the scripted object
+     */
+    public final ScriptedObject getScriptedObject(final int index) {
+        return this.getGameObjectCollection().getScriptedObject(index);
+    }
+
+    /* -- COMMAND BUFFER GETTER METHODS -- */
+
+    /**
+     * Gets the buffer of the deferred structural changes of this {@link GameWorld}.
+     * The scripts should record the spawns, removals, parenting and layer changes there instead of making them
+     * directly, so they do not modify the world, while it is iterated.
+     * @return the command buffer of this
+     */
+    public final WorldCommandBuffer getCommandBuffer() {
+        return this.commandBuffer;
+    }
+
     /* -- WINDOW MANAGER GETTER METHODS -- */
 
     /**
@@ -246,12 +328,16 @@ public final class GameWorld {
     }
 
     /**
-     * Adds the given {@link Identifiable} object to the {@link GameWorld}, giving it a default name (its id)
+     * Adds the given {@link Identifiable} object to the {@link GameWorld}, giving it a default name (its id).
+     * The default name is not stored, the object is stored by its handle only.
      * @param object the object's name
      */
     public final void add(Identifiable object) {
         if(this.contains(object)) return;
-        this.add(object.getObjectIdentifier().toString(), object);
+        if(object instanceof GameObject) this.getGameObjectCollection().add((GameObject)object);
+        else if(object instanceof GameAsset) this.getGameAssetCollection().add((GameAsset)object);
+        else if(object instanceof GameLayer) this.getGameLayerCollection().add((GameLayer)object);
+        else throw new RuntimeException(ERROR_ILLEGAL_OBJECT_GIVEN + " " + object.toString());
     }
 
 
@@ -291,7 +377,7 @@ public final class GameWorld {
      * @throws NullPointerException if the layerName is not occupied by the Layer instance
      */
     public final void addToLayer(GameObject gameObject, String layerName) {
-        this.getLayer(layerName).add(gameObject.getObjectIdentifier().toString(), gameObject);
+        this.getLayer(layerName).add(gameObject);
     }
 
     /**
@@ -317,6 +403,15 @@ public final class GameWorld {
         this.remove(object);
     }
 
+    /**
+     * Terminates and removes the {@link Identifiable} object from the collection by its handle.
+     * @param handle the handle of the {@link spc.clockwork.core.ObjectIdentifier} of the object
+     */
+    public final void remove(final long handle) {
+        final Identifiable object = this.get(handle);
+        if(object != null) this.remove(object);
+    }
+
     /**
      * Terminates and removes the {@link Identifiable} object from the collection by its name.
      * @param objectName the name of the object to terminate and remove
@@ -345,6 +440,7 @@ public final class GameWorld {
         this.gameLayerCollection = new GameLayerCollection();
         this.layerRenderQueues = new HashMap<>();
         this.windowManager = windowManager;
+        this.commandBuffer = new WorldCommandBuffer();
     }
     /*--------------------*/
 }
\ No newline at end of file
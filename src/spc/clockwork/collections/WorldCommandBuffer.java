@@ -0,0 +1,320 @@
+package spc.clockwork.collections;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.GameObject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link WorldCommandBuffer} records the structural changes of a {@link GameWorld}
+ *      (spawning, removal, parenting, layers), so they could be requested while the world is iterated
+ *      (e.g. by the scripts in the middle of a tick) and from any thread.
+ *
+ * The commands are applied in one batch by {@link #apply()} at a sync point
+ *      (Clockwork calls it after the scripts of a tick have been run) in the following order:
+ *      1. the objects are spawned,
+ *      2. the parents are set,
+ *      3. the objects are added to and removed from the layers,
+ *      4. the objects are removed (terminated).
+ * The commands of the same kind are applied in the order they were recorded (by a single thread).
+ * The commands, which are recorded inside of an ordered scope ({@link #beginOrderedRecording(long)}),
+ *      are applied in the order of the scope keys instead, so the order does not depend on the thread timing;
+ *      the unordered commands go after them.
+ * So an object may be spawned, parented and put into a layer in the same batch,
+ *      and the removal of an object wins over all other commands of the batch.
+ * The hierarchy is re-sorted and the world transformations are updated only once after the batch.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class WorldCommandBuffer {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** An error message, if an ordered scope records more commands than its counter can hold */
+    private static final String ERROR_TOO_MANY_ORDERED_COMMANDS =
+            "Error: An ordered scope of the command buffer cannot record more than 2^20 commands";
+    /** An error message, if the key of an ordered scope does not fit into the order of a command */
+    private static final String ERROR_INVALID_SCOPE_KEY =
+            "Error: The key of an ordered scope must be a non-negative number below 2^43: ";
+
+    /** The kind of the command, which spawns an object */
+    private static final int SPAWN = 0;
+    /** The kind of the command, which sets the parent of an object */
+    private static final int SET_PARENT = 1;
+    /** The kind of the command, which adds an object to a layer */
+    private static final int ADD_TO_LAYER = 2;
+    /** The kind of the command, which removes an object from a layer */
+    private static final int REMOVE_FROM_LAYER = 3;
+    /** The kind of the command, which removes an object from the world */
+    private static final int REMOVE = 4;
+    /** The amount of the kinds of the commands */
+    private static final int KIND_COUNT = 5;
+
+    /** The amount of the lower bits of the order of a command, which count the commands of an ordered scope */
+    private static final int ORDER_COUNTER_BITS = 20;
+    /** The amount of the commands, which an ordered scope may record */
+    private static final long MAX_ORDERED_COMMANDS = 1L << ORDER_COUNTER_BITS;
+    /** The amount of the bits of the key of an ordered scope (a key is from 0 to 2^SCOPE_KEY_BITS, exclusive) */
+    public static final int SCOPE_KEY_BITS = Long.SIZE - 1 - ORDER_COUNTER_BITS;
+    /** The upper bound (exclusive) of the keys of the ordered scopes, so the orders stay below {@link #UNORDERED} */
+    private static final long MAX_SCOPE_KEY = 1L << SCOPE_KEY_BITS;
+    /** The order of the commands, which are recorded outside of the ordered scopes */
+    private static final long UNORDERED = Long.MAX_VALUE;
+    /** The key of the ordered scope of the current thread and the amount of commands recorded in it */
+    private static final ThreadLocal<long[]> ORDERED_SCOPE = new ThreadLocal<>();
+
+    /** The recorded commands */
+    private final ConcurrentLinkedQueue<Command> commands;
+    /** The amount of the recorded commands */
+    private final AtomicInteger size;
+    /** The commands of the batch being applied, by kind (used by the applying thread only) */
+    private final List<List<Command>> batch;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Records a command
+     * @param command the command to record
+     */
+    private void record(final Command command) {
+        final long[] scope = ORDERED_SCOPE.get();
+        /* THE COUNTER MUST NOT OVERFLOW INTO THE BITS OF THE KEY */
+        if (scope != null && scope[1] == MAX_ORDERED_COMMANDS)
+            throw new IllegalStateException(ERROR_TOO_MANY_ORDERED_COMMANDS);
+        command.order = scope == null ? UNORDERED : (scope[0] << ORDER_COUNTER_BITS) | scope[1]++;
+        this.commands.add(command);
+        this.size.incrementAndGet();
+    }
+
+    /**
+     * Applies a single command
+     * @param command the command to apply
+     */
+    @SuppressWarnings("unchecked")
+    private static void applyCommand(final Command command) {
+        switch (command.kind) {
+            case SPAWN: {
+                final Identifiable spawned = command.factory.get();
+                if (spawned == null) return;
+                if (command.name != null) spawned.setName(command.name);
+                if (command.callback != null) ((Consumer<Identifiable>) command.callback).accept(spawned);
+                return;
+            }
+            case SET_PARENT:
+                if (!command.object.isTerminated()) ((GameObject) command.object).setParent(command.parent);
+                return;
+            case ADD_TO_LAYER:
+                if (!command.object.isTerminated()) ((GameObject) command.object).addToLayer(command.name);
+                return;
+            case REMOVE_FROM_LAYER:
+                if (!command.object.isTerminated()) ((GameObject) command.object).removeFromLayer(command.name);
+                return;
+            case REMOVE:
+                command.object.terminate();
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- RECORDING ---- */
+
+    /**
+     * Records the spawn of an object. The factory is called, when the buffer is applied
+     * (so the object is constructed and added to its world at the sync point)
+     * @param factory the constructor of the object
+     * @param onSpawn an action to perform with the spawned object right after it has been constructed
+     *                (the commands it records are applied in the same batch), may be null
+     * @param <T> the type of the object
+     */
+    public <T extends Identifiable> void spawn(@NotNull final Supplier<T> factory, final Consumer<? super T> onSpawn) {
+        this.record(new Command(SPAWN, null, null, null, factory, onSpawn));
+    }
+
+    /**
+     * Records the spawn of an object. The factory is called, when the buffer is applied
+     * @param factory the constructor of the object
+     */
+    public void spawn(@NotNull final Supplier<? extends Identifiable> factory) {
+        this.spawn(factory, null);
+    }
+
+    /**
+     * Records the spawn of an object with a custom name
+     * @param name the name of the object in its world
+     * @param factory the constructor of the object
+     */
+    public void spawn(@NotNull final String name, @NotNull final Supplier<? extends Identifiable> factory) {
+        this.record(new Command(SPAWN, null, null, name, factory, null));
+    }
+
+    /**
+     * Records the removal (termination) of an object
+     * @param object the object to remove
+     */
+    public void remove(@NotNull final Identifiable object) {
+        this.record(new Command(REMOVE, object, null, null, null, null));
+    }
+
+    /**
+     * Records setting the parent of a game object
+     * @param gameObject the child
+     * @param parent the new parent or null to attach the object to the kernel
+     */
+    public void setParent(@NotNull final GameObject gameObject, final GameObject parent) {
+        this.record(new Command(SET_PARENT, gameObject, parent, null, null, null));
+    }
+
+    /**
+     * Records adding a game object to a layer
+     * @param gameObject the game object
+     * @param layerName the name of the layer
+     */
+    public void addToLayer(@NotNull final GameObject gameObject, @NotNull final String layerName) {
+        this.record(new Command(ADD_TO_LAYER, gameObject, null, layerName, null, null));
+    }
+
+    /**
+     * Records removing a game object from a layer
+     * @param gameObject the game object
+     * @param layerName the name of the layer
+     */
+    public void removeFromLayer(@NotNull final GameObject gameObject, @NotNull final String layerName) {
+        this.record(new Command(REMOVE_FROM_LAYER, gameObject, null, layerName, null, null));
+    }
+
+
+    /**
+     * Opens an ordered scope on the current thread: the commands recorded by the thread until
+     *      {@link #endOrderedRecording()} is called are applied in the order of the key
+     *      (and in the order of recording within the scope).
+     * Is used by the {@link spc.clockwork.core.ScriptScheduler} to keep the concurrently recorded commands
+     *      in a deterministic order.
+     * A scope may record at most 2^20 commands.
+     * @param key the key of the scope (a non-negative number below 2^43)
+     */
+    public static void beginOrderedRecording(final long key) {
+        if (key < 0 || key >= MAX_SCOPE_KEY) throw new IllegalArgumentException(ERROR_INVALID_SCOPE_KEY + key);
+        ORDERED_SCOPE.set(new long[]{key, 0});
+    }
+
+    /**
+     * Closes the ordered scope of the current thread
+     */
+    public static void endOrderedRecording() {
+        ORDERED_SCOPE.remove();
+    }
+
+
+    /* ---- APPLYING ---- */
+
+    /**
+     * Applies all the recorded commands in one batch.
+     * Must be called by a single thread, while the world is not iterated.
+     * The commands, recorded while the batch is applied (e.g. by the spawn actions), are applied in the next batch
+     *      of the same call, so the buffer is empty, when the method returns.
+     * @return the amount of the applied commands
+     */
+    public int apply() {
+        int applied = 0;
+        while (!this.commands.isEmpty()) {
+            /* ---- SORTING THE COMMANDS BY KIND ---- */
+            Command command;
+            boolean isOrdered = false;
+            while ((command = this.commands.poll()) != null) {
+                this.size.decrementAndGet();
+                this.batch.get(command.kind).add(command);
+                isOrdered |= command.order != UNORDERED;
+            }
+
+            /* ---- APPLYING THE COMMANDS KIND BY KIND ---- */
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                final List<Command> commands = this.batch.get(kind);
+                /* (THE SORT IS STABLE, SO THE UNORDERED COMMANDS KEEP THEIR ORDER) */
+                if (isOrdered) commands.sort(Comparator.comparingLong(c -> c.order));
+                for (int i = 0; i < commands.size(); i++) applyCommand(commands.get(i));
+                applied += commands.size();
+                commands.clear();
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the amount of the recorded commands, which have not been applied yet
+     * @return the amount of pending commands
+     */
+    public int size() {
+        return this.size.get();
+    }
+    /*--------------------*/
+
+
+
+    /* COMMAND
+    /*--------------------*/
+
+    /**
+     * A recorded structural change
+     */
+    private static final class Command {
+        /** The kind of the command */
+        private final int kind;
+        /** The object to change */
+        private final Identifiable object;
+        /** The parent to set */
+        private final GameObject parent;
+        /** The name of the spawned object or the name of the layer */
+        private final String name;
+        /** The constructor of the spawned object */
+        private final Supplier<? extends Identifiable> factory;
+        /** The action to perform with the spawned object */
+        private final Consumer<?> callback;
+        /** The order of the command in the batch */
+        private long order;
+
+        private Command(final int kind, final Identifiable object, final GameObject parent, final String name,
+                        final Supplier<? extends Identifiable> factory, final Consumer<?> callback) {
+            this.kind = kind;
+            this.object = object;
+            this.parent = parent;
+            this.name = name;
+            this.factory = factory;
+            this.callback = callback;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty buffer
+     */
+    public WorldCommandBuffer() {
+        this.commands = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.batch = new ArrayList<>(KIND_COUNT);
+        for (int kind = 0; kind < KIND_COUNT; kind++) this.batch.add(new ArrayList<>());
+    }
+    /*--------------------*/
+}
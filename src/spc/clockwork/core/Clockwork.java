@@ -2,11 +2,18 @@ package spc.clockwork.core;
 
 
 import spc.clockwork.collections.GameWorld;
-import spc.clockwork.gameobject.ScriptedObject;
-import spc.clockwork.util.timer.Timer;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.graphics.GpuResourceReclaimer;
+import spc.clockwork.graphics.RenderSnapshot;
+import spc.clockwork.graphics.RenderSnapshotBuffer;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.util.jfr.FlightRecording;
+import spc.clockwork.util.jfr.TickEvent;
+import spc.clockwork.util.timer.FixedStepClock;
 import spc.clockwork.window.WindowManager;
 
-import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.lwjgl.opengl.GL11.*;
 
@@ -18,6 +25,19 @@ import static org.lwjgl.opengl.GL11.*;
  *  1. Tick -- an update of the game state
  *  2. Set the clock -- initiate world and start the main loop
  *
+ * The frames are always rendered from the {@link RenderSnapshot}s of the world.
+ * By default the ticks and the frames are interleaved on the main thread, and the world is captured before each frame.
+ * In the threaded rendering mode the ticks run on a separate thread, which captures the world after each tick
+ *      and publishes the snapshot through a lock-free {@link RenderSnapshotBuffer},
+ *      while the main thread (which owns the GL context and the windows) polls the events and renders
+ *      the latest snapshot, so a slow frame does not delay the ticks and vice versa.
+ *
+ * In the headless mode ({@link #createHeadless(ClockworkGameLogic)} or the {@value #HEADLESS_PROPERTY}
+ *      system property) there is no display and no GL at all: the windows are not created, nothing is rendered,
+ *      and the main thread runs only the ticks and the scripts, at a fixed rate or as fast as possible
+ *      (see {@link #setTicksPerSecond(float)}). The meshes and the textures are created as CPU-side stubs,
+ *      so the same game logic runs on the dedicated servers, in the batch simulations and in the benchmarks.
+ *
  * @author wize
  * @version 0 (2018.03.26)
  */
@@ -26,17 +46,36 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
     /* ATTRIBUTES
     /*--------------------*/
 
-    /** Number of ticks per second; should be kept constant */
-    private final float TICKS_PER_SECOND;
-    /** Maximum number of frames per second */
-    private final float MAX_FRAMES_PER_SECOND;
-    /** Evaluation period */
-    private final float EVALUATION_PERIOD;
+    /** The default number of ticks per second */
+    public static final float DEFAULT_TICKS_PER_SECOND = 60f;
+    /** The default maximum number of frames per second */
+    public static final float DEFAULT_MAX_FRAMES_PER_SECOND = 60f;
+    /** The system property, which turns the headless mode on, if it is "true" */
+    public static final String HEADLESS_PROPERTY = "clockwork.headless";
+    /** Evaluation period in nanoseconds */
+    private static final long EVALUATION_PERIOD = FixedStepClock.NANOS_PER_SECOND;
 
 
     /** An error message text, if we construct the create for the second time */
     private static final String ERROR_CLOCKWORK_ALREADY_EXISTS =
             "Error: the Clockwork already exists. Returning the pointer to an existing create";
+    /** An error message text, if the tick rate given is negative */
+    private static final String ERROR_ILLEGAL_TICK_RATE =
+            "Error: the tick rate must not be negative";
+    /** An error message text, if the threaded rendering is turned on in the headless mode */
+    private static final String ERROR_HEADLESS_RENDERING =
+            "Error: nothing is rendered in the headless mode";
+    /** An error message text, if the frame rate given is negative */
+    private static final String ERROR_ILLEGAL_FRAME_RATE =
+            "Error: the maximum frame rate must not be negative";
+    /** An error message text, if the tick thread has been stopped by an exception */
+    private static final String ERROR_TICK_THREAD_FAILED =
+            "Error: the tick thread has been stopped by an exception";
+    /** An error message text, if the rendering mode is changed, while the clock is running */
+    private static final String ERROR_CLOCK_IS_RUNNING =
+            "Error: the rendering mode cannot be changed, while the clock is running";
+    /** The name of the thread, which runs the ticks in the threaded rendering mode */
+    private static final String TICK_THREAD_NAME = "Clockwork-Tick";
     /** An error message text, if we call create without construction */
     private static final String ERROR_CLOCKWORK_IS_NULL =
             "Warning: the pointer to Clockwork is null, because you did not construct the singleton yet";
@@ -44,10 +83,45 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
 
     /** A pointer to singleton */
     private static Clockwork pointerToClockwork;
+    /** Whether the engine runs without a display */
+    private static volatile boolean isHeadless = Boolean.getBoolean(HEADLESS_PROPERTY);
     /** An external {@link ClockworkGameLogic} interface implementation
      * (basically, pointer to the instance of the game that Clockwork executes)*/
     private final ClockworkGameLogic gameLogic;
     private final WindowManager windowManager;
+    /** The scheduler, which executes the scripts of the game objects */
+    private final ScriptScheduler scriptScheduler;
+    /** The clock, which counts the ticks due */
+    private final FixedStepClock tickClock;
+    /** Whether the ticks are paced by the tick clock (otherwise they run as fast as possible) */
+    private volatile boolean isTickRateLimited;
+    /** Maximum number of frames per second (zero, if the frame rate is not limited) */
+    private volatile float maxFramesPerSecond;
+    /** The minimum period between the frames in nanoseconds (zero, if the frame rate is not limited) */
+    private volatile long framePeriod;
+    /** The snapshots of the world, which are passed from the tick thread to the render thread */
+    private final RenderSnapshotBuffer renderSnapshots;
+
+    /** The time, when the tick being run (or the last one) was due (is used by the thread, which runs the ticks) */
+    private long tickTime;
+    /** The amount of ticks, which have been run since the clock was set (is used by the thread, which runs the ticks) */
+    private long tickCount;
+    /** Whether the frames are interpolated between the last two ticks */
+    private volatile boolean isInterpolating;
+
+    /** Whether the ticks run on a separate thread */
+    private volatile boolean isThreadedRendering;
+    /** Whether the clock is running */
+    private volatile boolean isTicking;
+    /** The amount of frames rendered by the main thread since the last evaluation (the threaded rendering mode) */
+    private final AtomicInteger renderedFrames;
+    /** The exception, which has stopped the tick thread, or null */
+    private volatile Throwable tickFailure;
+
+    /** The profiler of the ticks and the frames */
+    private final Profiler profiler;
+    /** The statistics of the last evaluation period (null, if there has been no evaluation yet) */
+    private volatile ClockworkStats stats;
 
     /*--------------------*/
 
@@ -60,21 +134,59 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
      * A method that performs a single onTick (i.e. an update a world state)
      */
     private void onTick() {
-        /* ---- PREPARATION ---- */
+        final Profiler profiler = this.profiler;
+        final TickEvent event = FlightRecording.AVAILABLE ? new TickEvent() : null;
+        if (event != null) event.begin();
+        final long tickStart = System.nanoTime();
+        long time = tickStart;
+
+        /* ---- POLLING EVENTS (THE MAIN THREAD POLLS THEM ITSELF IN THE THREADED RENDERING MODE) ---- */
+        if (!this.isThreadedRendering && !isHeadless) {
+            this.windowManager.pollEvents();
+            time = profiler.lap(ClockworkStats.POLL_EVENTS, time);
+        }
+
+        /* ---- TAKING OVER THE INPUT, WHICH HAS BEEN POLLED SINCE THE PREVIOUS TICK ---- */
         final int windowManagerSize = this.windowManager.size();
         for(int i = 0; i < windowManagerSize; i++) this.windowManager.getInput(i).cleanup();
-
-        /* ---- POLLING EVENTS ---- */
-        this.windowManager.pollEvents();
+        time = profiler.lap(ClockworkStats.INPUT_CLEANUP, time);
 
         /* ---- PROCESSING MAIN GAME LOGIC TICK ---- */
         this.gameLogic.onTick(this.windowManager);
+        time = profiler.lap(ClockworkStats.GAME_LOGIC, time);
 
-        /* ---- PROCESSING ALL AVAILABLE AND ACTIVE GAME OBJECT SCRIPTS ---- */
+        /* ---- PROCESSING ALL AVAILABLE AND ACTIVE GAME OBJECT SCRIPTS PHASE BY PHASE ---- */
         GameWorld gameWorld = this.gameLogic.getGameWorld();
-        Iterator<ScriptedObject> it = gameWorld.scriptedObjectIterator();
-        ScriptedObject s;
-        while(it.hasNext()) if((s = it.next()).isActive()) s.onTick();
+        this.scriptScheduler.tick(gameWorld);
+        time = profiler.lap(ClockworkStats.SCRIPTS, time);
+
+        /* ---- APPLYING THE STRUCTURAL CHANGES, WHICH WERE RECORDED BY THE SCRIPTS ---- */
+        gameWorld.getCommandBuffer().apply();
+        time = profiler.lap(ClockworkStats.COMMANDS, time);
+
+        /* ---- UPDATING ALL THE WORLD TRANSFORMATIONS IN A SINGLE PASS ---- */
+        TransformHierarchy.get().update();
+        time = profiler.lap(ClockworkStats.TRANSFORMS, time);
+
+        /* ---- PASSING THE NEW STATE OF THE WORLD TO THE RENDER THREAD ---- */
+        if (this.isThreadedRendering) {
+            this.publishSnapshot();
+            profiler.lap(ClockworkStats.CAPTURE, time);
+        }
+        profiler.lap(ClockworkStats.TICK, tickStart);
+        if (event != null) event.finish(this.tickCount++);
+    }
+
+
+    /**
+     * Captures the world into the back snapshot and publishes it
+     * (is called by the thread, which runs the ticks, between the ticks)
+     */
+    private void publishSnapshot() {
+        final RenderSnapshot snapshot = this.renderSnapshots.getBack();
+        snapshot.capture(this.gameLogic.getGameWorld(), this.windowManager.size(),
+                this.tickTime, this.tickClock.getTickPeriod());
+        this.renderSnapshots.publish();
     }
 
 
@@ -82,11 +194,33 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
      * A method that performs a single renderLayer (i.e. a single frame drawing)
      */
     private void onRender() {
-        GameWorld gameWorld = this.gameLogic.getGameWorld();
+        final Profiler profiler = this.profiler;
+        final long frameStart = System.nanoTime();
+        long time = frameStart;
+        GraphicsDevices.get().beginFrame();
+
+        /* ---- CAPTURING THE WORLD, UNLESS IT IS CAPTURED BY THE TICK THREAD ---- */
+        if (!this.isThreadedRendering) {
+            this.publishSnapshot();
+            time = profiler.lap(ClockworkStats.CAPTURE, time);
+        }
+        final RenderSnapshot snapshot = this.renderSnapshots.acquire();
+
+        /* ---- DELETING THE GPU OBJECTS OF THE TERMINATED ASSETS, WHICH THE SNAPSHOT CANNOT REFERENCE ---- */
+        GpuResourceReclaimer.get().drain(snapshot.getEpoch());
+        time = profiler.lap(ClockworkStats.RECLAIM, time);
+
+        /* ---- BLENDING THE TRANSFORMATIONS OF THE LAST TWO TICKS FOR THE CURRENT TIME ---- */
+        snapshot.interpolate(this.isInterpolating ? snapshot.getAlpha(time) : 1f);
+        time = profiler.lap(ClockworkStats.INTERPOLATE, time);
+
         for (int i = 0; i < this.windowManager.size(); i++) {
-            if(this.windowManager.getWindow(i) != null)
-                this.windowManager.getWindow(i).render(gameWorld);
+            if(this.windowManager.getWindow(i) != null) {
+                this.windowManager.getWindow(i).render(snapshot, profiler);
+                time = profiler.lap(profiler.windowSection(i), time);
+            }
         }
+        profiler.lap(ClockworkStats.FRAME, frameStart);
     }
 
 
@@ -94,10 +228,10 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
      * A method that prints statistics of Clockwork (framerate, tickrate, etc...)
      */
     private void onEvaluation(int tps, int fps) {
-        //TODO DESIGN AND IMPLEMENT FLEXIBLE EVALUATION
-        //THE CODE BELOW IS USED FOR THE DEBUG PURPOSE
-        //System.out.println("fps:" + fps);
-        //System.out.println("tps:" + tps);
+        final ClockworkStats stats = this.profiler.evaluate(tps, fps, this.tickClock.getDroppedTicks());
+        this.stats = stats;
+        this.gameLogic.onEvaluation(stats);
+        this.scriptScheduler.resetTimings();
     }
 
 
@@ -105,17 +239,139 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
      * A method that performs the termination stage of the Clockwork
      */
     private void onTermination() {
+        GpuResourceReclaimer.get().drainAll();
         windowManager.terminate();
     }
 
 
+    /**
+     * Gets the time of the next frame
+     * @param frameTime the time of the frame, which has just been rendered
+     * @return the earliest time to render the next frame (as measured by {@link System#nanoTime()})
+     */
+    private long scheduleNextFrame(final long frameTime) {
+        final long now = System.nanoTime();
+        final long nextFrameTime = frameTime + this.framePeriod;
+        /* A FRAME, WHICH IS LATE, DOES NOT MAKE THE NEXT FRAMES COME IN A BURST */
+        return now - nextFrameTime > this.framePeriod ? now : nextFrameTime;
+    }
+
+
+    /**
+     * Runs the ticks with the constant rate (or as fast as possible, if the tick rate is not limited),
+     *      until the game logic or the render loop stops the clock.
+     * Also renders the frames, if the rendering is not threaded.
+     * Between the ticks and the frames the thread is parked instead of spinning.
+     * @param rendersFrames true, if the frames are rendered by this loop
+     */
+    private void runTickLoop(final boolean rendersFrames) {
+
+        /* VARIABLE DECLARATION */
+        int tickPerSecondCounter; // HOW MANY TICKS HAPPENED SINCE THE BEGINNING OF THIS SECOND
+        int framePerSecondCounter; // HOW MANY FRAMES DRAWN SINCE THE BEGINNING OF THIS SECOND
+        long nextFrameTime; // THE EARLIEST TIME OF THE NEXT RENDER
+        long nextEvaluationTime; // THE TIME OF THE NEXT EVALUATION
+
+        /* VARIABLE ASSIGNMENT */
+        tickPerSecondCounter = 0;
+        framePerSecondCounter = 0;
+        boolean wasTickRateLimited = false;
+        nextFrameTime = System.nanoTime();
+        this.tickTime = nextFrameTime;
+        nextEvaluationTime = nextFrameTime + EVALUATION_PERIOD;
+
+
+        while (this.isTicking && gameLogic.shallTick()) {
+
+            /* TICK STAGE (THE AMOUNT OF CATCH-UP TICKS IS LIMITED BY THE CLOCK) */
+            final boolean isTickRateLimited = this.isTickRateLimited;
+            if (isTickRateLimited) {
+                /* THE TIME SPENT UNPACED MUST NOT BECOME A BACKLOG */
+                if (!wasTickRateLimited) this.tickClock.reset();
+                final int dueTicks = this.tickClock.advance();
+                final long tickPeriod = this.tickClock.getTickPeriod();
+                for (int ticks = dueTicks; ticks > 0; ticks--) {
+                    this.tickTime = this.tickClock.getLastTickTime() - (ticks - 1) * tickPeriod;
+                    onTick();
+                    tickPerSecondCounter++;
+                }
+            } else {
+                this.tickTime = System.nanoTime();
+                onTick();
+                tickPerSecondCounter++;
+            }
+            wasTickRateLimited = isTickRateLimited;
+
+
+            /* RENDERING STAGE */
+            if (rendersFrames && System.nanoTime() - nextFrameTime >= 0) {
+                this.onRender();
+                framePerSecondCounter++;
+                nextFrameTime = this.scheduleNextFrame(nextFrameTime);
+            }
+
+
+            /* EVALUATION STAGE */
+            final long now = System.nanoTime();
+            if (now - nextEvaluationTime >= 0) {
+                if (!rendersFrames) framePerSecondCounter = this.renderedFrames.getAndSet(0);
+                this.onEvaluation(tickPerSecondCounter, framePerSecondCounter);
+                nextEvaluationTime = now + EVALUATION_PERIOD;
+                framePerSecondCounter = 0;
+                tickPerSecondCounter = 0;
+            }
+
+
+            /* WAITING STAGE (THE UNPACED TICKS DO NOT WAIT AT ALL) */
+            if (!isTickRateLimited) continue;
+            long wakeUpTime = FixedStepClock.earlier(this.tickClock.getNextTickTime(), nextEvaluationTime);
+            if (rendersFrames) wakeUpTime = FixedStepClock.earlier(wakeUpTime, nextFrameTime);
+            FixedStepClock.waitUntil(wakeUpTime);
+        }
+    }
+
+
+    /**
+     * Polls the events and renders the latest published snapshots on the main thread,
+     * until the game logic stops the clock or the tick thread stops. Then waits for the tick thread to finish
+     * @param tickThread the thread, which runs the ticks
+     */
+    private void runRenderLoop(final Thread tickThread) {
+        long nextFrameTime = System.nanoTime(); // THE EARLIEST TIME OF THE NEXT RENDER
+
+        while (tickThread.isAlive() && gameLogic.shallTick()) {
+            final long time = System.nanoTime();
+            this.windowManager.pollEvents();
+            this.profiler.lap(ClockworkStats.POLL_EVENTS, time);
+            this.onRender();
+            this.renderedFrames.incrementAndGet();
+            nextFrameTime = this.scheduleNextFrame(nextFrameTime);
+            FixedStepClock.waitUntil(nextFrameTime);
+        }
+
+        /* ---- STOPPING THE TICK THREAD ---- */
+        this.isTicking = false;
+        boolean isInterrupted = false;
+        while (tickThread.isAlive()) {
+            try {
+                tickThread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) Thread.currentThread().interrupt();
+    }
+
+
     /**
      * Sets the global parameters for the engine working process
      */
     private void setGlobalParameters() {
         System.setProperty("java.awt.headless", "true");
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        if (isHeadless) return;
+        final GraphicsDevice device = GraphicsDevices.get();
+        device.enable(GL_BLEND);
+        device.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
     }
 
     /*--------------------*/
@@ -138,6 +394,27 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
     }
 
 
+    /**
+     * A method that returns or initiates Clockwork in the headless mode: without any windows, GL or rendering
+     * @param gameLogic a class that stores the game state and describes all of the actions inside it
+     * @return the first instance of Clockwork, which was created since the program beginning
+     *      (it is not made headless, if it had been created before)
+     */
+    public static Clockwork createHeadless(ClockworkGameLogic gameLogic) {
+        if (pointerToClockwork == null) isHeadless = true;
+        return create(gameLogic);
+    }
+
+
+    /**
+     * Checks, whether the engine runs without a display (the assets must not touch the GPU then)
+     * @return true, if the engine is headless, else return false
+     */
+    public static boolean isHeadless() {
+        return isHeadless;
+    }
+
+
     /**
      * A method that returns an already existing Clockwork singleton
      * @return a Clockwork singleton or null, if there is no Clockwork (will also make a warning, if so)
@@ -150,73 +427,173 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
 
 
     /**
-     * A method that starts the {@link Clockwork}'s main loop
+     * Gets the scheduler, which executes the scripts of the game objects (e.g. to turn the deterministic mode on)
+     * @return the script scheduler
      */
-    public void setTheClock() {
+    public ScriptScheduler getScriptScheduler() {
+        return this.scriptScheduler;
+    }
 
-        /* ----- INITIALIZATION STAGE ----- */
-        /* GLOBAL PARAMETERS */
-        this.setGlobalParameters();
 
-        /* CONSTANTS */
-        final float TICK_PERIOD = 1f / TICKS_PER_SECOND; // FOR SETTING TIMERS
-        final float MIN_SECONDS_TILL_NEXT_RENDER = 1f / MAX_FRAMES_PER_SECOND; // FOR SETTING TIMERS
+    /**
+     * Gets the profiler of the ticks and the frames (e.g. to add the sections of the game logic)
+     * @return the profiler
+     */
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+
 
-        /* VARIABLE DECLARATION */
-        int tickPerSecondCounter; // HOW MANY TICKS HAPPENED SINCE THE BEGINNING OF THIS SECOND
-        int framePerSecondCounter; // HOW MANY FRAMES DRAWN SINCE THE BEGINNING OF THIS SECOND
-        float tickBalanceCounter; // HOW MANY TICKS REQUIRED TO PROCESS, TO KEEP THEIR QUANTITY OVER TIME CONSTANT
-        Timer evaluationTimer; // COUNTDOWN TILL NEXT EVALUATION
-        Timer tickTimer; // COUNTDOWN TILL NEXT TICK
-        Timer renderTimer; // COUNTDOWN TILL NEXT RENDER
+    /**
+     * Gets the statistics of the last evaluation period (may be called at any time)
+     * @return the statistics or null, if there has been no evaluation yet
+     */
+    public ClockworkStats getStats() {
+        return this.stats;
+    }
 
-        /* VARIABLE ASSIGNMENT */
-        tickPerSecondCounter = 0;
-        framePerSecondCounter = 0;
-        tickBalanceCounter = 0f;
-        evaluationTimer = new Timer(EVALUATION_PERIOD);
-        tickTimer = new Timer(TICK_PERIOD);
-        renderTimer = new Timer(MIN_SECONDS_TILL_NEXT_RENDER);
 
-        /* ClockworkGameLogic */
-        gameLogic.onStart(this.windowManager);
+    /**
+     * Gets the tick rate
+     * @return the number of ticks per second or zero, if the ticks run as fast as possible
+     */
+    public float getTicksPerSecond() {
+        return this.isTickRateLimited ? this.tickClock.getTickRate() : 0f;
+    }
 
 
-        /* ----- LOOP STAGE ----- */
-        while (gameLogic.shallTick()) {
+    /**
+     * Sets the tick rate (may be called at any time)
+     * @param ticksPerSecond the number of ticks per second or zero to run the ticks as fast as possible
+     */
+    public void setTicksPerSecond(final float ticksPerSecond) {
+        if (!(ticksPerSecond >= 0f)) throw new IllegalArgumentException(ERROR_ILLEGAL_TICK_RATE);
+        if (ticksPerSecond > 0f) this.tickClock.setTickRate(ticksPerSecond);
+        this.isTickRateLimited = ticksPerSecond > 0f;
+    }
 
-            /* TICK STAGE */
-            if (tickTimer.isExpired()) {
-                tickBalanceCounter -= tickTimer.timeRemaining() * TICKS_PER_SECOND;
-                tickBalanceCounter++; // TODO: (CRUTCH FIX) FIND OUT WHY INCREMENT IS NEEDED HERE
-                tickTimer = new Timer(TICK_PERIOD);
-            }
-            while (tickBalanceCounter >= 1f) {
-                tickBalanceCounter--;
-                onTick();
-                tickPerSecondCounter++;
-            }
 
+    /**
+     * Gets the frame rate limit
+     * @return the maximum number of frames per second or zero, if the frame rate is not limited
+     */
+    public float getMaxFramesPerSecond() {
+        return this.maxFramesPerSecond;
+    }
 
-            /* RENDERING STAGE */
-            if (renderTimer.isExpired()) {
-                renderTimer = new Timer(MIN_SECONDS_TILL_NEXT_RENDER);
-                this.onRender();
-                framePerSecondCounter++;
-            }
 
+    /**
+     * Sets the frame rate limit (may be called at any time)
+     * @param maxFramesPerSecond the maximum number of frames per second or zero to render as often as possible
+     */
+    public void setMaxFramesPerSecond(final float maxFramesPerSecond) {
+        if (!(maxFramesPerSecond >= 0f)) throw new IllegalArgumentException(ERROR_ILLEGAL_FRAME_RATE);
+        this.framePeriod = maxFramesPerSecond == 0f ? 0L : FixedStepClock.periodOf(maxFramesPerSecond);
+        this.maxFramesPerSecond = maxFramesPerSecond;
+    }
+
+
+    /**
+     * Sets the maximum number of ticks, which are run in a row to catch up, when the ticks fall behind.
+     * The rest of the backlog is dropped, so the ticks never spiral
+     * @param maxCatchUpTicks the number of ticks (positive)
+     */
+    public void setMaxCatchUpTicks(final int maxCatchUpTicks) {
+        this.tickClock.setMaxCatchUpTicks(maxCatchUpTicks);
+    }
+
+
+    /**
+     * Gets the number of ticks, which have been dropped to catch up
+     * @return the number of dropped ticks
+     */
+    public long getDroppedTickCount() {
+        return this.tickClock.getDroppedTicks();
+    }
+
+
+    /**
+     * Checks, whether the frames are interpolated between the last two ticks
+     * @return true, if the frames are interpolated, else return false
+     */
+    public boolean isInterpolating() {
+        return this.isInterpolating;
+    }
+
+
+    /**
+     * Turns the interpolation of the frames on or off (may be called at any time).
+     * With the interpolation the frames are drawn one tick behind, but move smoothly,
+     *      even if the tick rate is much lower than the frame rate.
+     * Without it every frame shows the last tick as it is.
+     * The interpolation is off by default, so the games, which do not turn it on, keep their latency.
+     * @param isInterpolating true to interpolate the frames
+     */
+    public void setInterpolation(final boolean isInterpolating) {
+        this.isInterpolating = isInterpolating;
+    }
+
+
+    /**
+     * Checks, whether the ticks run on a separate thread
+     * @return true, if the rendering is threaded, else return false
+     */
+    public boolean isThreadedRendering() {
+        return this.isThreadedRendering;
+    }
 
-            /* EVALUATION STAGE */
-            if (evaluationTimer.isExpired()) {
-                this.onEvaluation(tickPerSecondCounter, framePerSecondCounter);
-                evaluationTimer = new Timer(EVALUATION_PERIOD);
-                framePerSecondCounter = 0;
-                tickPerSecondCounter = 0;
-            }
-        }
+
+    /**
+     * Turns the threaded rendering mode on or off. Must be called before the clock is set.
+     * In the threaded mode the game logic, the scripts and the evaluation run on the tick thread.
+     * They may create and terminate the meshes and the textures at any time:
+     *      their GPU objects are uploaded and deleted by the render thread, when it draws the next frames.
+     * The shader programs cannot be deferred, so they must be created in the {@link ClockworkGameLogic#onStart}
+     *      or before it (creating one on the tick thread throws an {@link IllegalStateException}).
+     * The input is polled by the main thread and is taken over by the tick thread at the beginning of each tick.
+     * @param isThreadedRendering true to run the ticks on a separate thread
+     * @throws IllegalStateException if the clock is running or the engine is headless
+     */
+    public void setThreadedRendering(final boolean isThreadedRendering) {
+        if (this.isTicking) throw new IllegalStateException(ERROR_CLOCK_IS_RUNNING);
+        if (isThreadedRendering && isHeadless) throw new IllegalStateException(ERROR_HEADLESS_RENDERING);
+        this.isThreadedRendering = isThreadedRendering;
+    }
+
+
+    /**
+     * A method that starts the {@link Clockwork}'s main loop
+     * @throws IllegalStateException if the tick thread has been stopped by an exception
+     */
+    public void setTheClock() {
+
+        /* ----- INITIALIZATION STAGE ----- */
+        /* GLOBAL PARAMETERS */
+        this.setGlobalParameters();
+
+        /* ClockworkGameLogic */
+        gameLogic.onStart(this.windowManager);
+
+
+        /* ----- LOOP STAGE ----- */
+        this.isTicking = true;
+        if (isHeadless) this.runTickLoop(false);
+        else if (this.isThreadedRendering) {
+            final Thread tickThread = new Thread(() -> {
+                try {
+                    this.runTickLoop(false);
+                } catch (Throwable e) {
+                    this.tickFailure = e;
+                }
+            }, TICK_THREAD_NAME);
+            tickThread.start();
+            this.runRenderLoop(tickThread);
+        } else this.runTickLoop(true);
+        this.isTicking = false;
 
         /* ----- TERMINATION STAGE ----- */
         this.onTermination();
+        if (this.tickFailure != null) throw new IllegalStateException(ERROR_TICK_THREAD_FAILED, this.tickFailure);
     }
 
     /*--------------------*/
@@ -234,12 +611,23 @@ public final class Clockwork { //TODO: FINISH THE CLOCKWORK
         /* -- INITIALIZING GAME LOGIC AND SINGLETON -- */
         this.gameLogic = gameLogic;
         Clockwork.pointerToClockwork = this;
-        MAX_FRAMES_PER_SECOND = 60f;
-        TICKS_PER_SECOND = 60f;
-        EVALUATION_PERIOD = 1f;
-
-        /* -- CREATING WINDOW MANAGER AND THE FIRST WINDOW WITH IT -- */
-        windowManager = new WindowManager();
+        this.tickClock = new FixedStepClock(DEFAULT_TICKS_PER_SECOND);
+        this.isTickRateLimited = true;
+        this.setMaxFramesPerSecond(DEFAULT_MAX_FRAMES_PER_SECOND);
+
+        /* -- CREATING WINDOW MANAGER AND THE FIRST WINDOW WITH IT (NO WINDOWS IN THE HEADLESS MODE) -- */
+        windowManager = new WindowManager(isHeadless);
+
+        /* -- CREATING THE SCRIPT SCHEDULER -- */
+        this.scriptScheduler = new ScriptScheduler();
+
+        /* -- CREATING THE SNAPSHOTS FOR THE RENDERING -- */
+        this.renderSnapshots = new RenderSnapshotBuffer();
+        this.renderedFrames = new AtomicInteger();
+        this.profiler = new Profiler();
+        this.isThreadedRendering = false;
+        /* THE INTERPOLATION DELAYS THE FRAMES BY A TICK, SO IT IS TURNED ON BY THE GAMES, WHICH WANT IT */
+        this.isInterpolating = false;
     }
     /*--------------------*/
 }
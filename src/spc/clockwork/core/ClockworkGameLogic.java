@@ -47,6 +47,27 @@ public interface ClockworkGameLogic {
      */
     public boolean shallTick();
 
+    /**
+     * Receives the statistics of Clockwork; is called once per evaluation period (a second).
+     * By default passes the tick and the frame rates to {@link #onEvaluation(int, int, ScriptScheduler)}
+     * @param stats the rates and the latency percentiles of every profiled section during the last period
+     */
+    public default void onEvaluation(ClockworkStats stats) {
+        this.onEvaluation(stats.getTicksPerSecond(), stats.getFramesPerSecond(), Clockwork.get().getScriptScheduler());
+    }
+
+
+    /**
+     * Receives the rates of Clockwork; is called once per evaluation period by {@link #onEvaluation(ClockworkStats)},
+     *      unless the latter is overridden
+     * @param ticksPerSecond the amount of ticks during the last period
+     * @param framesPerSecond the amount of frames during the last period
+     * @param scriptScheduler the scheduler of the scripts, which holds the time of every script phase
+     *                        during the last period
+     */
+    public default void onEvaluation(int ticksPerSecond, int framesPerSecond, ScriptScheduler scriptScheduler) {
+    }
+
 
     /*--------------------*/
 
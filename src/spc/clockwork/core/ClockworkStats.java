@@ -0,0 +1,258 @@
+package spc.clockwork.core;
+
+
+import java.util.Locale;
+
+/**
+ * {@link ClockworkStats} is the summary of an evaluation period of {@link Clockwork} (a second):
+ *      the tick and the frame rates and the latency distribution of every profiled section of the ticks and the frames.
+ *
+ * A section is a phase of a tick or of a frame, which is timed by the {@link Profiler} every time it runs.
+ * The first sections are fixed (see the constants of this class), the rest are the windows and the layers,
+ *      which are added, when they are rendered for the first time, and are found by their names.
+ * The latencies are in nanoseconds, the percentiles are overestimated by at most 1/16 of their value.
+ *
+ * The statistics are immutable and may be read by any thread.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class ClockworkStats {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /* ---- THE SECTIONS OF A TICK ---- */
+    /** The section of a whole tick */
+    public static final int TICK = 0;
+    /** The section of the cleanup of the inputs */
+    public static final int INPUT_CLEANUP = 1;
+    /** The section of the polling of the window events (is run by the render thread in the threaded mode) */
+    public static final int POLL_EVENTS = 2;
+    /** The section of {@link ClockworkGameLogic#onTick} */
+    public static final int GAME_LOGIC = 3;
+    /** The section of the scripts */
+    public static final int SCRIPTS = 4;
+    /** The section of the structural changes, which were recorded by the scripts */
+    public static final int COMMANDS = 5;
+    /** The section of the update of the world transformations */
+    public static final int TRANSFORMS = 6;
+    /** The section of the capture of the world into a snapshot (is run by a tick or by a frame) */
+    public static final int CAPTURE = 7;
+
+    /* ---- THE SECTIONS OF A FRAME ---- */
+    /** The section of a whole frame */
+    public static final int FRAME = 8;
+    /** The section of the deletion of the released GPU objects */
+    public static final int RECLAIM = 9;
+    /** The section of the interpolation of the snapshot */
+    public static final int INTERPOLATE = 10;
+
+    /** The names of the fixed sections */
+    static final String[] FIXED_SECTION_NAMES = {
+            "tick", "input cleanup", "poll events", "game logic", "scripts", "commands", "transforms", "capture",
+            "frame", "reclaim", "interpolate"
+    };
+
+    /** The amount of ticks during the period */
+    private final int ticksPerSecond;
+    /** The amount of frames during the period */
+    private final int framesPerSecond;
+    /** The amount of ticks, which have been dropped to catch up since the clock was set */
+    private final long droppedTicks;
+    /** The amount of samples, which have been lost since the clock was set, because the rings were full */
+    private final long lostSamples;
+
+    /** The names of the sections */
+    private final String[] names;
+    /** The amount of samples of every section */
+    private final long[] counts;
+    /** The median of every section */
+    private final long[] medians;
+    /** The 95th percentile of every section */
+    private final long[] p95s;
+    /** The 99th percentile of every section */
+    private final long[] p99s;
+    /** The maximum of every section */
+    private final long[] maxima;
+    /** The mean of every section */
+    private final long[] means;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the amount of ticks during the period
+     * @return the amount of ticks
+     */
+    public int getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+
+    /**
+     * Gets the amount of frames during the period
+     * @return the amount of frames
+     */
+    public int getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+
+
+    /**
+     * Gets the amount of ticks, which have been dropped to catch up since the clock was set
+     * @return the amount of dropped ticks
+     */
+    public long getDroppedTicks() {
+        return this.droppedTicks;
+    }
+
+
+    /**
+     * Gets the amount of samples, which have been lost, because a section ran too often for its ring.
+     * The percentiles of such a section are computed from its latest samples
+     * @return the amount of lost samples
+     */
+    public long getLostSamples() {
+        return this.lostSamples;
+    }
+
+
+    /**
+     * Gets the amount of sections
+     * @return the amount of sections
+     */
+    public int getSectionCount() {
+        return this.names.length;
+    }
+
+
+    /**
+     * Finds a section by its name (e.g. "window 0" or "layer main")
+     * @param name the name of the section
+     * @return the index of the section or -1, if there is no such section
+     */
+    public int indexOf(final String name) {
+        for (int i = 0; i < this.names.length; i++) if (this.names[i].equals(name)) return i;
+        return -1;
+    }
+
+
+    /**
+     * Gets the name of a section
+     * @param section the index of the section
+     * @return the name
+     */
+    public String getName(final int section) {
+        return this.names[section];
+    }
+
+
+    /**
+     * Gets the amount of times, the section has run during the period
+     * @param section the index of the section
+     * @return the amount of samples
+     */
+    public long getCount(final int section) {
+        return this.counts[section];
+    }
+
+
+    /**
+     * Gets the median latency of a section
+     * @param section the index of the section
+     * @return the latency in nanoseconds
+     */
+    public long getMedian(final int section) {
+        return this.medians[section];
+    }
+
+
+    /**
+     * Gets the 95th percentile of the latency of a section
+     * @param section the index of the section
+     * @return the latency in nanoseconds
+     */
+    public long getP95(final int section) {
+        return this.p95s[section];
+    }
+
+
+    /**
+     * Gets the 99th percentile of the latency of a section
+     * @param section the index of the section
+     * @return the latency in nanoseconds
+     */
+    public long getP99(final int section) {
+        return this.p99s[section];
+    }
+
+
+    /**
+     * Gets the maximum latency of a section
+     * @param section the index of the section
+     * @return the latency in nanoseconds
+     */
+    public long getMax(final int section) {
+        return this.maxima[section];
+    }
+
+
+    /**
+     * Gets the mean latency of a section
+     * @param section the index of the section
+     * @return the latency in nanoseconds
+     */
+    public long getMean(final int section) {
+        return this.means[section];
+    }
+
+
+    /**
+     * Formats the statistics as a table of the sections, which have run during the period (in microseconds)
+     * @return the table
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(String.format(Locale.ROOT,
+                "tps: %d, fps: %d, dropped ticks: %d, lost samples: %d%n%-24s %8s %10s %10s %10s %10s%n",
+                this.ticksPerSecond, this.framesPerSecond, this.droppedTicks, this.lostSamples,
+                "section (us)", "count", "p50", "p95", "p99", "max"));
+        for (int i = 0; i < this.names.length; i++) {
+            if (this.counts[i] == 0) continue;
+            builder.append(String.format(Locale.ROOT, "%-24s %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    this.names[i], this.counts[i], this.medians[i] / 1e3, this.p95s[i] / 1e3,
+                    this.p99s[i] / 1e3, this.maxima[i] / 1e3));
+        }
+        return builder.toString();
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates the statistics of a period; the arrays are owned by the statistics since then
+     */
+    ClockworkStats(final int ticksPerSecond, final int framesPerSecond, final long droppedTicks, final long lostSamples,
+                   final String[] names, final long[] counts,
+                   final long[] medians, final long[] p95s, final long[] p99s, final long[] maxima, final long[] means) {
+        this.ticksPerSecond = ticksPerSecond;
+        this.framesPerSecond = framesPerSecond;
+        this.droppedTicks = droppedTicks;
+        this.lostSamples = lostSamples;
+        this.names = names;
+        this.counts = counts;
+        this.medians = medians;
+        this.p95s = p95s;
+        this.p99s = p99s;
+        this.maxima = maxima;
+        this.means = means;
+    }
+    /*--------------------*/
+}
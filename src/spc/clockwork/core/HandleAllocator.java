@@ -0,0 +1,176 @@
+package spc.clockwork.core;
+
+
+import java.util.Arrays;
+
+/**
+ * A generational index allocator.
+ * A handle is a long number, whose lower 32 bits are a slot and whose higher 32 bits are the generation of the slot.
+ * A released slot is reused by the next allocation with the incremented generation,
+ *      so the handles of the released objects never match the new ones (until the generation wraps around).
+ *
+ * The allocator stores only the primitive arrays (no boxing) and is thread-safe.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class HandleAllocator {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** A handle, which is never allocated (the generations start from one) */
+    public static final long NO_HANDLE = 0L;
+
+    /** The initial capacity of the allocator */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** The allocator of the {@link ObjectIdentifier}s */
+    private static final HandleAllocator INSTANCE = new HandleAllocator(INITIAL_CAPACITY);
+
+    /** The current generation of each slot */
+    private int[] generations;
+    /** Whether the slot is allocated now */
+    private boolean[] alive;
+    /** The stack of the released slots */
+    private int[] freeSlots;
+    /** The amount of the released slots in the stack */
+    private int freeCount;
+    /** The amount of slots, that have ever been allocated */
+    private int slotCount;
+    /** The amount of currently allocated handles */
+    private int size;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Grows the slot arrays, if they are full
+     */
+    private void ensureCapacity() {
+        if (this.slotCount < this.generations.length) return;
+        final int capacity = this.generations.length * 2;
+        this.generations = Arrays.copyOf(this.generations, capacity);
+        this.alive = Arrays.copyOf(this.alive, capacity);
+        this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the allocator of the {@link ObjectIdentifier}s
+     * @return the global allocator
+     */
+    public static HandleAllocator get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Makes a handle of a slot and a generation
+     * @param slot the slot
+     * @param generation the generation
+     * @return the handle
+     */
+    public static long handleOf(final int slot, final int generation) {
+        return ((long) generation << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the slot of the handle
+     * @param handle the handle
+     * @return the slot, which is an index in the arrays of the slot-indexed structures
+     */
+    public static int slotOf(final long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * Gets the generation of the handle
+     * @param handle the handle
+     * @return the generation
+     */
+    public static int generationOf(final long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    /**
+     * Allocates a new handle, reusing the most recently released slot, if there is one
+     * @return the new handle
+     */
+    public synchronized long allocate() {
+        final int slot;
+        if (this.freeCount > 0) {
+            slot = this.freeSlots[--this.freeCount];
+        } else {
+            this.ensureCapacity();
+            slot = this.slotCount++;
+            this.generations[slot] = 1;
+        }
+        this.alive[slot] = true;
+        this.size++;
+        return handleOf(slot, this.generations[slot]);
+    }
+
+    /**
+     * Releases the handle, so its slot could be reused by another handle
+     * @param handle the handle to release
+     * @return true, if the handle was alive, else return false (the handle is already released)
+     */
+    public synchronized boolean release(final long handle) {
+        if (!this.isAlive(handle)) return false;
+        final int slot = slotOf(handle);
+        /* THE GENERATION ZERO IS SKIPPED, SO THE NO_HANDLE IS NEVER ALLOCATED */
+        if (++this.generations[slot] == 0) this.generations[slot] = 1;
+        this.alive[slot] = false;
+        this.freeSlots[this.freeCount++] = slot;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Checks, whether the handle is allocated and has not been released yet
+     * @param handle the handle to check
+     * @return true, if the handle is alive, else return false
+     */
+    public synchronized boolean isAlive(final long handle) {
+        final int slot = slotOf(handle);
+        return slot >= 0 && slot < this.slotCount
+                && this.alive[slot] && this.generations[slot] == generationOf(handle);
+    }
+
+    /**
+     * Gets the amount of currently allocated handles
+     * @return the amount of alive handles
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty allocator
+     * @param capacity the initial amount of slots
+     */
+    public HandleAllocator(final int capacity) {
+        final int initialCapacity = Math.max(capacity, 1);
+        this.generations = new int[initialCapacity];
+        this.alive = new boolean[initialCapacity];
+        this.freeSlots = new int[initialCapacity];
+        this.freeCount = 0;
+        this.slotCount = 0;
+        this.size = 0;
+    }
+    /*--------------------*/
+}
@@ -24,6 +24,13 @@ public abstract class Identifiable {
      */
     protected abstract void onTerminate();
 
+    /**
+     * Releases the engine-side state of this on the termination.
+     * Is invoked right after {@link #onTerminate()}, so it does not depend on the overrides of the latter.
+     */
+    protected void onRelease() {
+    }
+
     /**
      * Makes a new {@link ObjectIdentifier}.
      * If the id is not attached to the object, which has called this method, instantly becomes invalid
@@ -36,13 +43,6 @@ public abstract class Identifiable {
                         (new ObjectIdentifier(id.toString(), this))));
     }
 
-
-    @Override
-    protected final void finalize() throws Throwable {
-        this.terminate();
-        super.finalize();
-    }
-
     /*--------------------*/
 
 
@@ -110,6 +110,15 @@ public abstract class Identifiable {
         return this.objectIdentifier;
     }
 
+    /**
+     * Gets the handle of the {@link ObjectIdentifier} of this, which can be used for the lookups in the
+     * {@link GameWorld} instead of the name
+     * @return the handle of this
+     */
+    public final long getHandle() {
+        return this.getObjectIdentifier().getHandle();
+    }
+
     /**
      * Checks, whether this object is valid
      * @return true, if the object's {@link ObjectIdentifier} is valid and the {@link ObjectIdentifier}'s owner is this.
@@ -129,6 +138,7 @@ public abstract class Identifiable {
     public final void terminate() {
         if (this.isTerminated()) return;
         this.onTerminate();
+        this.onRelease();
         this.getObjectIdentifier().terminate();
         this.getGameWorld().remove(this);
     }
@@ -198,7 +208,7 @@ public abstract class Identifiable {
 
         /* ---- ADDING THIS TO GAME WORLD ---- */
         if(this.getGameWorld() == null) return;
-        this.getGameWorld().add(this.getObjectIdentifier().toString(), this);
+        this.getGameWorld().add(this);
     }
     /*--------------------*/
 }
\ No newline at end of file
@@ -5,7 +5,9 @@ import org.lwjgl.glfw.GLFW;
 import spc.clockwork.util.math.vector.Vector2f;
 import spc.clockwork.window.Window;
 
-import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.lwjgl.glfw.GLFW.GLFW_PRESS;
 import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
@@ -16,6 +18,11 @@ import static org.lwjgl.glfw.GLFW.GLFW_RELEASE;
  *     if any other input devices are needed.
  * Each Clockwork Input instance must be attached to the {@link spc.clockwork.window.Window} instance at the
  *     construction.
+ * The events are received by the thread, which polls them (the main one), while the state may be read by the tick
+ *     thread (see {@link Clockwork#setThreadedRendering(boolean)}), so the state is kept in thread-safe fields.
+ * The cursor movement is accumulated by the polling thread and is handed over to the tick at once by
+ *     {@link #cleanup()}, so the tick thread never writes a field, which the callbacks write,
+ *     and no movement polled between two ticks is lost or counted twice.
  * @author wize
  * @version 0 (2018.03.28)
  */
@@ -32,22 +39,25 @@ public class Input {
     private final Window window;
 
     /** Current position of the cursor */
-    private Vector2f cursorPosition;
+    private volatile Vector2f cursorPosition;
 
     /** The difference between current cursor position and its position at the previous tick */
-    private Vector2f cursorPositionOffset;
+    private volatile Vector2f cursorPositionOffset;
+
+    /** The cursor movement polled since the last tick (null, if the cursor has not moved), written by the callbacks */
+    private final AtomicReference<Vector2f> pendingCursorOffset;
 
     /** States whether the cursor is within the window */
-    private boolean isCursorInWindow;
+    private volatile boolean isCursorInWindow;
 
     /** States whether the mouse was moved during this tick */
-    private boolean mouseMoved;
+    private volatile boolean mouseMoved;
 
-    /** A {@link HashSet} of keys pressed */
-    private final HashSet<Integer> keysPressed;
+    /** A concurrent {@link Set} of keys pressed */
+    private final Set<Integer> keysPressed;
 
-    /** A {@link HashSet} of mouse buttons pressed */
-    private final HashSet<Integer> mouseButtonsPressed;
+    /** A concurrent {@link Set} of mouse buttons pressed */
+    private final Set<Integer> mouseButtonsPressed;
 
     /*--------------------*/
 
@@ -114,11 +124,11 @@ public class Input {
      * @param cursorPositionY position of cursor y
      */
     private void updateCursorPos(long windowID, double cursorPositionX, double cursorPositionY) {
-        this.mouseMoved = true;
         if(this.isInvalidInput(windowID))
             return;
         Vector2f cursorPosition = new Vector2f((float) cursorPositionX, (float) cursorPositionY);
-        this.cursorPositionOffset = cursorPosition.sub(this.getCursorPosition());
+        Vector2f offset = cursorPosition.sub(this.getCursorPosition());
+        this.pendingCursorOffset.accumulateAndGet(offset, (pending, moved) -> pending == null ? moved : pending.add(moved));
         this.cursorPosition = cursorPosition;
     }
 
@@ -247,13 +257,14 @@ public class Input {
     }
 
     /**
-     * Cleans up some things in the
-     * Sets the Input::mouseMoved to false and the offset to zero vector
-     * The method is called once per tick in its beginning
+     * Starts the input state of a tick: takes over the cursor movement, which has been polled since the previous call,
+     *     as the cursor position offset of this tick (zero and not moved, if the cursor has not moved).
+     * The method is called once per tick by the thread, which runs the ticks, after the events have been polled
      */
     public void cleanup() {
-        this.cursorPositionOffset = Vector2f.ZERO_VECTOR;
-        this.mouseMoved = false;
+        final Vector2f offset = this.pendingCursorOffset.getAndSet(null);
+        this.cursorPositionOffset = offset == null ? Vector2f.ZERO_VECTOR : offset;
+        this.mouseMoved = offset != null;
     }
 
     public void terminate() {
@@ -273,8 +284,10 @@ public class Input {
      */
     public Input(Window window) {
         this.window = window;
-        this.keysPressed = new HashSet<>();
-        this.mouseButtonsPressed = new HashSet<>();
+        this.keysPressed = ConcurrentHashMap.newKeySet();
+        this.mouseButtonsPressed = ConcurrentHashMap.newKeySet();
+        this.pendingCursorOffset = new AtomicReference<>();
+        this.cursorPositionOffset = Vector2f.ZERO_VECTOR;
 
         this.setKeyCallback();
         this.setCursorPosCallback();
@@ -1,9 +1,10 @@
 package spc.clockwork.core;
 
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Random;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -11,6 +12,10 @@ import java.util.Set;
  * (originally, an instance of {@link GameAsset} or {@link spc.clockwork.gameobject.GameObject}),
  * can be used to check the fact, whether these objects are indeed the same one.
  *
+ * Every identifier holds a handle of the {@link HandleAllocator}, which the collections use for the lookups.
+ * The generated id numbers are the handles themselves, so generating an id costs a single allocation of a slot.
+ * The ids, which were given explicitly, are kept in a set, so they do not collide with the generated ones.
+ *
  * @author wize
  * @version 0 (12 June 2018)
  */
@@ -22,14 +27,25 @@ public final class ObjectIdentifier {
     /** An identification number of this identifier */
     private final long id;
 
+    /** The handle of this identifier (equal to the id, if the id was generated) */
+    private final long handle;
+
+    /** Whether the id was generated (else it was given explicitly) */
+    private final boolean isGenerated;
+
     /** A state of the identifier's validity */
     private boolean isTerminated;
 
     /** An owner of this Identifier */
     private final Identifiable owner;
 
-    /** The global set of currently used ids */
-    private static final Set<Long> usedIDs = new HashSet<>();
+    /** The global set of currently used ids, which were given explicitly */
+    private static final Set<Long> explicitIDs = new HashSet<>();
+
+    /** The prefix of the string representation of an identifier */
+    private static final String STRING_PREFIX = "[id ";
+    /** The suffix of the string representation of an identifier */
+    private static final String STRING_SUFFIX = "]";
 
     /** An error message, if the repeated {@link ObjectIdentifier} was constructed */
     private static final String ERROR_ID_ALREADY_EXISTS =
@@ -42,16 +58,23 @@ public final class ObjectIdentifier {
     /*--------------------*/
 
     /**
-     * Generates a random long number, which does not exist in the set of the IDs used by other identifiers
-     * @return a long number, which is not used by another {@link ObjectIdentifier}
+     * Allocates a handle, which does not exist in the set of the IDs given explicitly to other identifiers
+     * @return a handle, which is not used as an id by another {@link ObjectIdentifier}
      */
     private static long generateFreeIdNumber() {
-        Random rand = new Random();
-        long id;
-        do {
-            id = rand.nextLong();
-        } while(ObjectIdentifier.usedIDs.contains(id));
-        return id;
+        final HandleAllocator allocator = HandleAllocator.get();
+        synchronized (ObjectIdentifier.explicitIDs) {
+            long handle = allocator.allocate();
+            if (ObjectIdentifier.explicitIDs.isEmpty()) return handle;
+            /* THE COLLIDING HANDLES ARE RELEASED AFTERWARDS, SO THEIR GENERATIONS ARE INCREMENTED */
+            final List<Long> collisions = new ArrayList<>();
+            while (ObjectIdentifier.explicitIDs.contains(handle)) {
+                collisions.add(handle);
+                handle = allocator.allocate();
+            }
+            for (long collision : collisions) allocator.release(collision);
+            return handle;
+        }
     }
     /*--------------------*/
 
@@ -68,6 +91,38 @@ public final class ObjectIdentifier {
         return !this.isTerminated && this.getOwner().getObjectIdentifier() == this;
     }
 
+    /**
+     * Gets the handle of this identifier, which can be used for the lookups in the collections
+     * @return the handle of the {@link HandleAllocator}
+     */
+    public long getHandle() {
+        return this.handle;
+    }
+
+    /**
+     * Checks, whether the id of this identifier was generated (i.e. is its handle)
+     * @return true, if the id was generated, else return false (the id was given explicitly)
+     */
+    public boolean isGenerated() {
+        return this.isGenerated;
+    }
+
+    /**
+     * Parses the string representation of an identifier back into the id
+     * @param string a string, which may be the result of {@link #toString()}
+     * @return the id or {@link HandleAllocator#NO_HANDLE}, if the string is not an identifier representation
+     */
+    public static long parse(final String string) {
+        if (string == null || !string.startsWith(STRING_PREFIX) || !string.endsWith(STRING_SUFFIX))
+            return HandleAllocator.NO_HANDLE;
+        try {
+            return Long.parseUnsignedLong(
+                    string.substring(STRING_PREFIX.length(), string.length() - STRING_SUFFIX.length()), 16);
+        } catch (NumberFormatException e) {
+            return HandleAllocator.NO_HANDLE;
+        }
+    }
+
     /**
      * Returns a string representation of the object. In general, the
      * {@code toString} method returns a string that
@@ -91,7 +146,7 @@ public final class ObjectIdentifier {
      */
     @Override
     public String toString() {
-        return "[id " + Long.toHexString(this.id) + "]";
+        return STRING_PREFIX + Long.toHexString(this.id) + STRING_SUFFIX;
     }
 
     /**
@@ -152,7 +207,10 @@ public final class ObjectIdentifier {
     public void terminate() {
         if (this.isTerminated) return;
         this.isTerminated = true;
-        ObjectIdentifier.usedIDs.remove(this.id);
+        if (!this.isGenerated()) synchronized (ObjectIdentifier.explicitIDs) {
+            ObjectIdentifier.explicitIDs.remove(this.id);
+        }
+        HandleAllocator.get().release(this.handle);
         this.getOwner().terminate();
     }
 
@@ -185,7 +243,10 @@ public final class ObjectIdentifier {
      * @throws RuntimeException, if the argument id is already used by another identifier
      */
     public ObjectIdentifier(Identifiable owner) {
-        this(ObjectIdentifier.generateFreeIdNumber(), owner);
+        this.owner = owner;
+        this.id = this.handle = ObjectIdentifier.generateFreeIdNumber();
+        this.isGenerated = true;
+        this.isTerminated = false;
     }
 
     /**
@@ -194,11 +255,16 @@ public final class ObjectIdentifier {
      * @throws RuntimeException, if the argument id is already used by another identifier
      */
     public ObjectIdentifier(long id, Identifiable owner) {
-        if (ObjectIdentifier.usedIDs.contains(id)) throw new RuntimeException(ERROR_ID_ALREADY_EXISTS);
+        synchronized (ObjectIdentifier.explicitIDs) {
+            if (ObjectIdentifier.explicitIDs.contains(id) || HandleAllocator.get().isAlive(id))
+                throw new RuntimeException(ERROR_ID_ALREADY_EXISTS);
+            ObjectIdentifier.explicitIDs.add(id);
+        }
         this.owner = owner;
         this.id = id;
+        this.handle = HandleAllocator.get().allocate();
+        this.isGenerated = false;
         this.isTerminated = false;
-        ObjectIdentifier.usedIDs.add(id);
     }
     /*--------------------*/
 }
@@ -0,0 +1,192 @@
+package spc.clockwork.core;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.util.timer.LatencyHistogram;
+import spc.clockwork.util.timer.SampleRing;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Profiler} times the sections of the ticks and the frames of {@link Clockwork}.
+ *
+ * A section is timed by a lap: {@code time = profiler.lap(section, time)} records the time passed since the time given
+ *      and returns the current time, so the consecutive phases are timed with a single clock read per phase.
+ * Every section has its own lock-free {@link SampleRing}, so the lap does not allocate and does not wait.
+ * Each section must be timed by a single thread at a time (the tick thread or the render thread),
+ *      while the rings are drained by the thread, which evaluates the period ({@link #evaluate}),
+ *      into a {@link LatencyHistogram}, which is summarized into the percentiles of the {@link ClockworkStats}.
+ *
+ * The fixed sections are listed in {@link ClockworkStats}; the sections of the windows and the layers are added,
+ *      when they are timed for the first time (which is the only time, they allocate).
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Profiler {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The prefix of the name of the section of a window */
+    private static final String WINDOW_SECTION_PREFIX = "window ";
+    /** The suffix of the name of the section of the buffer swap of a window */
+    private static final String SWAP_SECTION_SUFFIX = " swap";
+    /** The prefix of the name of the section of a layer */
+    private static final String LAYER_SECTION_PREFIX = "layer ";
+
+    /** The rings of the sections (is replaced, when a section is added) */
+    private volatile SampleRing[] rings;
+    /** The names of the sections (is replaced, when a section is added) */
+    private volatile String[] names;
+    /** The sections of the windows: the whole window and the swap of each window (is replaced, when grown) */
+    private volatile int[] windowSections;
+    /** The sections of the layers by the names of the layers */
+    private final ConcurrentHashMap<String, Integer> layerSections;
+    /** The histogram, which the rings are drained into (the evaluating thread only) */
+    private final LatencyHistogram histogram;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Adds the sections of a window
+     * @param window the position of the window in its manager
+     */
+    private synchronized void addWindowSections(final int window) {
+        if (2 * window < this.windowSections.length) return;
+        final int[] windowSections = Arrays.copyOf(this.windowSections, 2 * (window + 1));
+        for (int i = this.windowSections.length / 2; i <= window; i++) {
+            windowSections[2 * i] = this.section(WINDOW_SECTION_PREFIX + i);
+            windowSections[2 * i + 1] = this.section(WINDOW_SECTION_PREFIX + i + SWAP_SECTION_SUFFIX);
+        }
+        this.windowSections = windowSections;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Records the time of a section
+     * @param section the index of the section
+     * @param start the time, when the section started (as measured by {@link System#nanoTime()})
+     * @return the current time, which is the start of the next section
+     */
+    public long lap(final int section, final long start) {
+        final long now = System.nanoTime();
+        this.rings[section].add(now - start);
+        return now;
+    }
+
+
+    /**
+     * Finds a section by its name or adds it, if there is no such section
+     * @param name the name of the section
+     * @return the index of the section
+     */
+    public synchronized int section(@NotNull final String name) {
+        final String[] names = this.names;
+        for (int i = 0; i < names.length; i++) if (names[i].equals(name)) return i;
+        final SampleRing[] rings = Arrays.copyOf(this.rings, names.length + 1);
+        rings[names.length] = new SampleRing();
+        final String[] newNames = Arrays.copyOf(names, names.length + 1);
+        newNames[names.length] = name;
+        this.rings = rings;
+        this.names = newNames;
+        return names.length;
+    }
+
+
+    /**
+     * Gets the section of the rendering of a window
+     * @param window the position of the window in its manager
+     * @return the index of the section
+     */
+    public int windowSection(final int window) {
+        if (2 * window >= this.windowSections.length) this.addWindowSections(window);
+        return this.windowSections[2 * window];
+    }
+
+
+    /**
+     * Gets the section of the buffer swap of a window
+     * @param window the position of the window in its manager
+     * @return the index of the section
+     */
+    public int swapSection(final int window) {
+        if (2 * window >= this.windowSections.length) this.addWindowSections(window);
+        return this.windowSections[2 * window + 1];
+    }
+
+
+    /**
+     * Gets the section of the rendering of a layer
+     * @param layerName the name of the layer in its world
+     * @return the index of the section
+     */
+    public int layerSection(@NotNull final String layerName) {
+        final Integer section = this.layerSections.get(layerName);
+        if (section != null) return section;
+        return this.layerSections.computeIfAbsent(layerName, name -> this.section(LAYER_SECTION_PREFIX + name));
+    }
+
+
+    /**
+     * Summarizes the samples of every section, which have been recorded since the previous evaluation.
+     * Must be called by a single thread (the one, which runs the evaluation)
+     * @param ticksPerSecond the amount of ticks during the period
+     * @param framesPerSecond the amount of frames during the period
+     * @param droppedTicks the amount of ticks, which have been dropped since the clock was set
+     * @return the statistics of the period
+     */
+    public ClockworkStats evaluate(final int ticksPerSecond, final int framesPerSecond, final long droppedTicks) {
+        /* THE NAMES ARE REPLACED AFTER THE RINGS, SO THE RINGS READ AFTER THE NAMES ARE AT LEAST AS MANY */
+        final String[] names = this.names;
+        final SampleRing[] rings = this.rings;
+        final int count = names.length;
+        final long[] counts = new long[count], medians = new long[count], p95s = new long[count];
+        final long[] p99s = new long[count], maxima = new long[count], means = new long[count];
+        long lostSamples = 0;
+
+        for (int i = 0; i < count; i++) {
+            final LatencyHistogram histogram = this.histogram;
+            rings[i].drainTo(histogram);
+            lostSamples += rings[i].getLostCount();
+            counts[i] = histogram.getCount();
+            medians[i] = histogram.getValueAtPercentile(50.0);
+            p95s[i] = histogram.getValueAtPercentile(95.0);
+            p99s[i] = histogram.getValueAtPercentile(99.0);
+            maxima[i] = histogram.getMax();
+            means[i] = histogram.getMean();
+            histogram.clear();
+        }
+        return new ClockworkStats(ticksPerSecond, framesPerSecond, droppedTicks, lostSamples,
+                names, counts, medians, p95s, p99s, maxima, means);
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a profiler with the fixed sections
+     */
+    public Profiler() {
+        this.names = ClockworkStats.FIXED_SECTION_NAMES.clone();
+        this.rings = new SampleRing[this.names.length];
+        for (int i = 0; i < this.rings.length; i++) this.rings[i] = new SampleRing();
+        this.windowSections = new int[0];
+        this.layerSections = new ConcurrentHashMap<>();
+        this.histogram = new LatencyHistogram();
+    }
+    /*--------------------*/
+}
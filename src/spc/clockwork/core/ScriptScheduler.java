@@ -0,0 +1,422 @@
+package spc.clockwork.core;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.collections.WorldCommandBuffer;
+import spc.clockwork.gameobject.ScriptedObject;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.util.jfr.FlightRecording;
+import spc.clockwork.util.jfr.ScriptEvent;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@link ScriptScheduler} executes the {@link ScriptedObject}s of a {@link GameWorld} during a tick.
+ *
+ * The scripts are grouped by their phase ({@link ScriptedObject#getScriptPhase()}), and the phases are executed
+ *      one after another in ascending order.
+ * Within a phase, the {@link ScriptedObject.Access#READ_ONLY} scripts are split into the partitions of a fixed size,
+ *      which are executed concurrently by a {@link ForkJoinPool}, and then the
+ *      {@link ScriptedObject.Access#MUTATING} scripts are executed one by one on the tick thread.
+ * The {@link TransformHierarchy} is frozen, while the read-only scripts are executed (even the serial ones,
+ *      so they see the same world in either case): they read the world transformations as of the start
+ *      of the phase and cannot change the hierarchy structurally.
+ *
+ * In the deterministic mode the scripts of a phase are sorted by the handles of their objects, so the partitions
+ *      and the order within them are the same in every run, and the structural changes, which the read-only scripts
+ *      record into the {@link WorldCommandBuffer}, are applied in the order of the scripts.
+ *      So a replay of the same inputs produces the same world.
+ *
+ * The time of every phase is accumulated until {@link #resetTimings()} is called (Clockwork does it on evaluation).
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class ScriptScheduler {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The default amount of read-only scripts in a phase, starting from which they are executed concurrently */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+    /** The default amount of scripts in a partition */
+    public static final int DEFAULT_PARTITION_SIZE = 32;
+
+    /** An error message, if a non-positive size or threshold is given */
+    private static final String ERROR_ILLEGAL_SIZE =
+            "Error: The partition size and the parallel threshold must be positive";
+
+    /** An error message, if the phases of a tick do not fit into the keys of the command buffer scopes */
+    private static final String ERROR_TOO_MANY_PHASES =
+            "Error: The deterministic mode supports at most 32768 phases with active scripts per tick, got phase #";
+    /** An error message, if the scripts of a phase do not fit into the keys of the command buffer scopes */
+    private static final String ERROR_TOO_MANY_SCRIPTS =
+            "Error: The deterministic mode supports at most 2^28 active scripts per phase, got ";
+
+    /** The bits of the ordering key of a command buffer scope, which hold the rank of a script in its phase */
+    private static final int RANK_BITS = 28;
+    /** The amount of the phases of a tick, whose ordering keys fit into the keys of the command buffer scopes */
+    private static final int MAX_PHASES = 1 << (WorldCommandBuffer.SCOPE_KEY_BITS - RANK_BITS);
+
+    /** The pool, which executes the read-only scripts */
+    private ForkJoinPool pool;
+    /** Whether the scripts are executed in a reproducible order */
+    private boolean isDeterministic;
+    /** The amount of read-only scripts in a phase, starting from which they are executed concurrently */
+    private int parallelThreshold;
+    /** The amount of scripts in a partition */
+    private int partitionSize;
+
+    /** The scripts of the current tick, sorted by phase, access mode and order */
+    private ScriptedObject[] scripts;
+    /** The sorting keys of the scripts of the current tick */
+    private long[] keys;
+    /** The active scripts of the current tick in the order they have been gathered */
+    private ScriptedObject[] gathered;
+
+    /** The phases, which have been executed since the timings were reset, in ascending order */
+    private int[] phases;
+    /** The total time of each phase since the timings were reset, in nanoseconds */
+    private long[] phaseNanos;
+    /** The amount of the executions of each phase since the timings were reset */
+    private int[] phaseTicks;
+    /** The amount of the phases with the timings */
+    private int phaseCount;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Makes sure the arrays of the current tick can hold the amount of scripts given
+     * @param count the amount of scripts
+     */
+    private void ensureCapacity(final int count) {
+        if (count <= this.scripts.length) return;
+        final int capacity = Math.max(count, this.scripts.length * 2);
+        this.scripts = new ScriptedObject[capacity];
+        this.keys = new long[capacity];
+        this.gathered = new ScriptedObject[capacity];
+    }
+
+    /**
+     * Gets the handle of the object of the script, which is its deterministic order
+     * @param script the script
+     * @return the handle or the maximum long value, if the script is not an {@link Identifiable}
+     */
+    private static long handleOf(final ScriptedObject script) {
+        return script instanceof Identifiable ? ((Identifiable) script).getHandle() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Gathers the active scripts of the world into the scripts array, sorted by phase, access mode and order
+     * @param gameWorld the world
+     * @return the amount of the scripts gathered
+     */
+    private int gather(final GameWorld gameWorld) {
+        final int total = gameWorld.scriptedObjectCount();
+        this.ensureCapacity(total);
+        int count = 0;
+        for (int i = 0; i < total; i++) {
+            final ScriptedObject script = gameWorld.getScriptedObject(i);
+            if (script.isActive()) this.gathered[count++] = script;
+        }
+        if (this.isDeterministic)
+            Arrays.sort(this.gathered, 0, count, (a, b) -> Long.compareUnsigned(handleOf(a), handleOf(b)));
+
+        /* ---- THE KEY IS (PHASE, ACCESS, INDEX), SO A PRIMITIVE SORT GROUPS THE SCRIPTS ---- */
+        for (int i = 0; i < count; i++) {
+            final ScriptedObject script = this.gathered[i];
+            final long phase = script.getScriptPhase();
+            final long access = script.getScriptAccess() == ScriptedObject.Access.READ_ONLY ? 0 : 1;
+            this.keys[i] = (phase << 32) | (access << 31) | i;
+        }
+        Arrays.sort(this.keys, 0, count);
+        for (int i = 0; i < count; i++) this.scripts[i] = this.gathered[(int) (this.keys[i] & 0x7FFFFFFFL)];
+        Arrays.fill(this.gathered, 0, count, null);
+        return count;
+    }
+
+    /**
+     * Gets the phase of the sorting key
+     * @param key the key
+     * @return the phase
+     */
+    private static int phaseOf(final long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Checks, whether the sorting key belongs to a mutating script
+     * @param key the key
+     * @return true, if the script is mutating, else return false
+     */
+    private static boolean isMutating(final long key) {
+        return (key & 0x80000000L) != 0;
+    }
+
+    /**
+     * Executes a single script, if it has not been terminated by another script
+     * @param script the script
+     * @param phaseIndex the index of the phase in the tick
+     * @param rank the index of the script within the phase
+     */
+    private void run(final ScriptedObject script, final int phaseIndex, final int rank) {
+        if (script instanceof Identifiable && ((Identifiable) script).isTerminated()) return;
+        final ScriptEvent event = FlightRecording.AVAILABLE ? new ScriptEvent() : null;
+        if (event != null) event.begin();
+        if (!this.isDeterministic) {
+            script.onTick();
+            if (event != null) event.finish(script, phaseIndex);
+            return;
+        }
+        WorldCommandBuffer.beginOrderedRecording(((long) phaseIndex << RANK_BITS) | rank);
+        try {
+            script.onTick();
+        } finally {
+            WorldCommandBuffer.endOrderedRecording();
+        }
+        if (event != null) event.finish(script, phaseIndex);
+    }
+
+    /**
+     * Executes the scripts of the range one by one
+     */
+    private void runRange(final int from, final int to, final int phaseFrom, final int phaseIndex) {
+        for (int i = from; i < to; i++) this.run(this.scripts[i], phaseIndex, i - phaseFrom);
+    }
+
+    /**
+     * Adds the time of a phase to the timings
+     * @param phase the phase
+     * @param nanos the time of the phase
+     */
+    private void recordTiming(final int phase, final long nanos) {
+        int index = Arrays.binarySearch(this.phases, 0, this.phaseCount, phase);
+        if (index < 0) {
+            index = -index - 1;
+            if (this.phaseCount == this.phases.length) {
+                this.phases = Arrays.copyOf(this.phases, this.phaseCount * 2);
+                this.phaseNanos = Arrays.copyOf(this.phaseNanos, this.phaseCount * 2);
+                this.phaseTicks = Arrays.copyOf(this.phaseTicks, this.phaseCount * 2);
+            }
+            System.arraycopy(this.phases, index, this.phases, index + 1, this.phaseCount - index);
+            System.arraycopy(this.phaseNanos, index, this.phaseNanos, index + 1, this.phaseCount - index);
+            System.arraycopy(this.phaseTicks, index, this.phaseTicks, index + 1, this.phaseCount - index);
+            this.phases[index] = phase;
+            this.phaseNanos[index] = 0;
+            this.phaseTicks[index] = 0;
+            this.phaseCount++;
+        }
+        this.phaseNanos[index] += nanos;
+        this.phaseTicks[index]++;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Executes the active scripts of the world phase by phase
+     * @param gameWorld the world, whose scripts are executed
+     * @throws IllegalArgumentException in the deterministic mode, if there are more than 32768 phases
+     *      with active scripts or more than 2^28 active scripts in a phase
+     */
+    public void tick(@NotNull final GameWorld gameWorld) {
+        final int count = this.gather(gameWorld);
+        int phaseIndex = 0;
+        for (int from = 0; from < count; phaseIndex++) {
+            final long start = System.nanoTime();
+            final int phase = phaseOf(this.keys[from]);
+
+            /* ---- FINDING THE END OF THE PHASE AND THE FIRST MUTATING SCRIPT IN IT ---- */
+            int to = from, mutating = -1;
+            while (to < count && phaseOf(this.keys[to]) == phase) {
+                if (mutating < 0 && isMutating(this.keys[to])) mutating = to;
+                to++;
+            }
+            if (mutating < 0) mutating = to;
+
+            /* ---- THE ORDERING KEYS OF THE PHASES MUST NOT OVERLAP ---- */
+            if (this.isDeterministic) {
+                if (phaseIndex >= MAX_PHASES) throw new IllegalArgumentException(ERROR_TOO_MANY_PHASES + phaseIndex);
+                if (to - from > 1 << RANK_BITS) throw new IllegalArgumentException(ERROR_TOO_MANY_SCRIPTS + (to - from));
+            }
+
+            /* ---- READ-ONLY SCRIPTS ---- */
+            if (mutating > from) {
+                final TransformHierarchy hierarchy = TransformHierarchy.get();
+                hierarchy.freeze();
+                try {
+                    if (mutating - from >= this.parallelThreshold && this.pool.getParallelism() > 1)
+                        this.pool.invoke(new PartitionTask(from, mutating, from, phaseIndex));
+                    else this.runRange(from, mutating, from, phaseIndex);
+                } finally {
+                    hierarchy.thaw();
+                }
+            }
+
+            /* ---- MUTATING SCRIPTS ---- */
+            this.runRange(mutating, to, from, phaseIndex);
+
+            this.recordTiming(phase, System.nanoTime() - start);
+            from = to;
+        }
+        Arrays.fill(this.scripts, 0, count, null);
+    }
+
+    /**
+     * Gets the amount of the phases, which have been executed since the timings were reset
+     * @return the amount of phases
+     */
+    public int getPhaseCount() {
+        return this.phaseCount;
+    }
+
+    /**
+     * Gets a phase, which has been executed since the timings were reset
+     * @param index the index of the phase from 0 (inclusive) to getPhaseCount() (exclusive), in ascending order
+     * @return the phase
+     */
+    public int getPhase(final int index) {
+        return this.phases[index];
+    }
+
+    /**
+     * Gets the total time of a phase since the timings were reset
+     * @param index the index of the phase from 0 (inclusive) to getPhaseCount() (exclusive)
+     * @return the time in nanoseconds
+     */
+    public long getPhaseNanos(final int index) {
+        return this.phaseNanos[index];
+    }
+
+    /**
+     * Gets the amount of the executions of a phase since the timings were reset
+     * @param index the index of the phase from 0 (inclusive) to getPhaseCount() (exclusive)
+     * @return the amount of ticks, in which the phase had active scripts
+     */
+    public int getPhaseTicks(final int index) {
+        return this.phaseTicks[index];
+    }
+
+    /**
+     * Forgets the timings of the phases
+     */
+    public void resetTimings() {
+        this.phaseCount = 0;
+    }
+
+    /**
+     * Sets the pool, which executes the read-only scripts
+     * @param pool the pool
+     */
+    public void setPool(@NotNull final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Turns the deterministic mode on or off
+     * @param isDeterministic true to execute the scripts in a reproducible order
+     */
+    public void setDeterministic(final boolean isDeterministic) {
+        this.isDeterministic = isDeterministic;
+    }
+
+    /**
+     * Checks, whether the deterministic mode is on
+     * @return true, if the scripts are executed in a reproducible order, else return false
+     */
+    public boolean isDeterministic() {
+        return this.isDeterministic;
+    }
+
+    /**
+     * Sets the amount of read-only scripts in a phase, starting from which they are executed concurrently
+     * @param parallelThreshold the threshold (a positive number)
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        if (parallelThreshold <= 0) throw new IllegalArgumentException(ERROR_ILLEGAL_SIZE);
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the amount of scripts in a partition of the read-only scripts
+     * @param partitionSize the size (a positive number)
+     */
+    public void setPartitionSize(final int partitionSize) {
+        if (partitionSize <= 0) throw new IllegalArgumentException(ERROR_ILLEGAL_SIZE);
+        this.partitionSize = partitionSize;
+    }
+    /*--------------------*/
+
+
+
+    /* PARTITION TASK
+    /*--------------------*/
+
+    /**
+     * Executes a range of the read-only scripts of a phase, splitting it at the partition boundaries,
+     *      so the partitions do not depend on the amount of workers
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int phaseFrom;
+        private final int phaseIndex;
+
+        private PartitionTask(final int from, final int to, final int phaseFrom, final int phaseIndex) {
+            this.from = from;
+            this.to = to;
+            this.phaseFrom = phaseFrom;
+            this.phaseIndex = phaseIndex;
+        }
+
+        @Override
+        protected void compute() {
+            final int size = ScriptScheduler.this.partitionSize;
+            final int partitions = (this.to - this.from + size - 1) / size;
+            if (partitions <= 1) {
+                ScriptScheduler.this.runRange(this.from, this.to, this.phaseFrom, this.phaseIndex);
+                return;
+            }
+            final int middle = this.from + (partitions / 2) * size;
+            invokeAll(new PartitionTask(this.from, middle, this.phaseFrom, this.phaseIndex),
+                    new PartitionTask(middle, this.to, this.phaseFrom, this.phaseIndex));
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a scheduler, which uses the common pool and is not deterministic
+     */
+    public ScriptScheduler() {
+        this.pool = ForkJoinPool.commonPool();
+        this.isDeterministic = false;
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.partitionSize = DEFAULT_PARTITION_SIZE;
+        this.scripts = new ScriptedObject[0];
+        this.keys = new long[0];
+        this.gathered = new ScriptedObject[0];
+        this.phases = new int[4];
+        this.phaseNanos = new long[4];
+        this.phaseTicks = new int[4];
+        this.phaseCount = 0;
+    }
+    /*--------------------*/
+}
@@ -2,6 +2,7 @@ package spc.clockwork.gameobject;
 
 
 import spc.clockwork.collections.GameWorld;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.util.math.matrix.Matrix4f;
 
 /**
@@ -36,6 +37,15 @@ public class Camera extends GameObject {
         return this.getAbsoluteTransformation().getViewMatrix();
     }
 
+    /**
+     * Gets the absolute view matrix of this as a mutable matrix, which is updated in place.
+     * The matrix returned is owned by the absolute transformation and must not be modified.
+     * @return the absolute view matrix of this
+     */
+    public final Mat4 getAbsoluteViewMat4() {
+        return this.getAbsoluteTransformation().getViewMat4();
+    }
+
     /**
      * Sets this camera as the main camera for the layer with the name given
      * @param layerName the name of the layer
@@ -2,15 +2,19 @@ package spc.clockwork.gameobject;
 
 
 import com.sun.istack.internal.NotNull;
+import spc.clockwork.collections.ComponentStore;
 import spc.clockwork.collections.GameObjectCollection;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.core.Identifiable;
-import spc.clockwork.util.TemporaryStorage;
 import spc.clockwork.util.math.Transformation;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.util.math.matrix.Matrix4f;
 import spc.clockwork.util.math.vector.Quaternion;
 import spc.clockwork.util.math.vector.Vector3f;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * A {@link GameObject} class is a class of {@link Identifiable} objects that represent distinguishable
@@ -18,6 +22,8 @@ import spc.clockwork.util.math.vector.Vector3f;
  * Every {@link GameObject} has its own local and absolute {@link Transformation}, parent and children set-like-collection.
  * The objects can be visible or invisible.
  * The parent-child relation makes the child to inherit the position and visibility of its parent.
+ * The absolute transformation is kept in the {@link TransformHierarchy}
+ * and the rest of the per-object state in the {@link ComponentStore}.
  *
  * @author wize
  * @version 1 (28 June 2018)
@@ -38,21 +44,19 @@ public abstract class GameObject extends Identifiable {
     /** The transformation of this GameObject */
     private final Transformation transformation;
 
-    /** The absolute transformation storage of this GameObject */
-    private final TemporaryStorage<Transformation> absoluteTransformationStorage = new TemporaryStorage<Transformation>() {
-        @Override
-        protected Transformation getUpdatedElement() {
-            if(GameObject.this instanceof KernelObject) return new Transformation();
-            return GameObject.this.getParentAbsoluteTransformation().combine(GameObject.this.getTransformation());
-        }
-    };
+    /** The node of this GameObject in the {@link TransformHierarchy} (the KernelObject has none) */
+    private int hierarchyNode;
+
+    /** The absolute transformation of this GameObject, which is copied out of the {@link TransformHierarchy} */
+    private final Transformation absoluteTransformation;
 
+    /** The stamp of the world transformation, which the absolute transformation was last copied from */
+    private long absoluteTransformationStamp;
 
 
-    /** The 'visible' parameter of this object */
-    private boolean visible;
-    /** The AND of 'visible' parameters of all the parents of this object */
-    private boolean inheritedVisible;
+
+    /** The handle of the row of this GameObject in the {@link ComponentStore} (which holds its visibility) */
+    private int componentHandle;
 
     /*--------------------*/
 
@@ -101,6 +105,22 @@ public abstract class GameObject extends Identifiable {
         this.detachChildren();
     }
 
+    /**
+     * Detaches the children left and releases the node of this in the {@link TransformHierarchy}
+     * and the row of this in the {@link ComponentStore}
+     */
+    @Override
+    protected final void onRelease() {
+        if(this.componentHandle == ComponentStore.NO_HANDLE) return;
+        final List<GameObject> children = new ArrayList<>();
+        this.children.forEach(children::add);
+        children.forEach(child -> child.setParent(null));
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE) TransformHierarchy.get().removeNode(this.hierarchyNode);
+        this.hierarchyNode = TransformHierarchy.NO_NODE;
+        ComponentStore.get().remove(this.componentHandle);
+        this.componentHandle = ComponentStore.NO_HANDLE;
+    }
+
     /* ---- PROTECTED METHODS ---- */
     /**
      * Gets the transformation of this object.
@@ -117,11 +137,37 @@ public abstract class GameObject extends Identifiable {
      * Gets the absolute transformation of this object.
      * This protected method allows subclasses to access and mutate the data of the {@link Transformation} directly
      * in order to construct more complex ways of transforming the game object, than the default {@link GameObject}
-     * methods allow
+     * methods allow.
+     * While the {@link TransformHierarchy} is frozen for the read-only scripts, a new copy is returned every time,
+     * so the concurrent scripts do not share the cached one.
      * @return the transformation of this
      */
     protected final Transformation getAbsoluteTransformation() {
-        return this.absoluteTransformationStorage.getElement();
+        if(this.hierarchyNode == TransformHierarchy.NO_NODE) return this.absoluteTransformation;
+        final TransformHierarchy hierarchy = TransformHierarchy.get();
+        if(hierarchy.isFrozen()) {
+            final Transformation frozenTransformation = new Transformation();
+            hierarchy.copyWorld(this.hierarchyNode, frozenTransformation);
+            return frozenTransformation;
+        }
+        final long stamp = hierarchy.resolve(this.hierarchyNode);
+        if(stamp != this.absoluteTransformationStamp) {
+            hierarchy.copyWorld(this.hierarchyNode, this.absoluteTransformation);
+            this.absoluteTransformationStamp = stamp;
+        }
+        return this.absoluteTransformation;
+    }
+
+    /**
+     * Gets the stamp of the absolute transformation of this object,
+     *      which changes every time the absolute transformation does (including the movement of the parents)
+     * @return the stamp of the absolute transformation
+     */
+    protected final long getAbsoluteTransformationStamp() {
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE && TransformHierarchy.get().isFrozen())
+            return TransformHierarchy.get().resolve(this.hierarchyNode);
+        this.getAbsoluteTransformation();
+        return this.absoluteTransformationStamp;
     }
 
     /**
@@ -153,17 +199,18 @@ public abstract class GameObject extends Identifiable {
      * Fetches the inherited visible from parent by means of calling this.getParent().getVisible()
      */
     private void setInheritedVisible() {
-        this.inheritedVisible = this.getInheritedVisible();
+        if(this.componentHandle == ComponentStore.NO_HANDLE) return;
+        ComponentStore.get().setInheritedVisible(this.componentHandle, this.getInheritedVisible());
     }
 
     /**
-     * Recursively traverses this and the children of this, invoking the setAbsoluteTransformation() of this
-     * The method updates the absolute transformation for every child of this
+     * Passes the local transformation of this to the {@link TransformHierarchy}.
+     * The absolute transformations of this and of the children of this are recomputed there lazily.
      */
     private void onTransformationChange() {
         this.onMovement();
-        this.absoluteTransformationStorage.setOutdated();
-        this.children.forEach(GameObject::onTransformationChange);
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE)
+            TransformHierarchy.get().setLocal(this.hierarchyNode, this.transformation);
     }
 
     /**
@@ -239,6 +286,15 @@ public abstract class GameObject extends Identifiable {
         return this.getAbsoluteTransformation().getModelMatrix();
     }
 
+    /**
+     * Gets the absolute model matrix of this as a mutable matrix, which is updated in place.
+     * The matrix returned is owned by the absolute transformation and must not be modified.
+     * @return the absolute model matrix of this
+     */
+    public final Mat4 getAbsoluteModelMat4() {
+        return this.getAbsoluteTransformation().getModelMat4();
+    }
+
     /**
      * Gets the absolute position of this
      * @return an absolute position of this
@@ -271,6 +327,52 @@ public abstract class GameObject extends Identifiable {
         return this.getAbsoluteTransformation().getLocalForwardDirection();
     }
 
+    /**
+     * Copies the absolute transformations of this at the end of the tick before the last one and of the last tick
+     *      (px, py, pz, qx, qy, qz, qw, s each), which the frames are interpolated between
+     * @param destination the array to copy into ({@link TransformHierarchy#TICK_STATES_LENGTH} floats)
+     * @param offset the offset in the array
+     */
+    public final void copyTickStates(final float[] destination, final int offset) {
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE) {
+            TransformHierarchy.get().copyTickStates(this.hierarchyNode, destination, offset);
+            return;
+        }
+        final Transformation absolute = this.getAbsoluteTransformation();
+        final Vector3f position = absolute.getPosition();
+        final Quaternion rotation = absolute.getRotation();
+        for(int state = offset; state < offset + TransformHierarchy.TICK_STATES_LENGTH; state += 8) {
+            destination[state] = position.x();
+            destination[state + 1] = position.y();
+            destination[state + 2] = position.z();
+            destination[state + 3] = rotation.x();
+            destination[state + 4] = rotation.y();
+            destination[state + 5] = rotation.z();
+            destination[state + 6] = rotation.w();
+            destination[state + 7] = absolute.getScale();
+        }
+    }
+
+    /**
+     * Makes this and the children of this skip the interpolation of the frames until the next tick,
+     *      so a jump (e.g. a teleport) is drawn at once instead of as a sweep across the scene
+     */
+    public final void resetInterpolation() {
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE) TransformHierarchy.get().snap(this.hierarchyNode);
+        this.children.forEach(GameObject::resetInterpolation);
+    }
+
+
+
+    /* -- COMPONENT STORE -- */
+    /**
+     * Gets the handle of the row of this object in the {@link ComponentStore}
+     * @return the handle or {@link ComponentStore#NO_HANDLE}, if this object has been terminated
+     */
+    public final int getComponentHandle() {
+        return this.componentHandle;
+    }
+
 
 
     /* -- VISIBILITY -- */
@@ -279,7 +381,7 @@ public abstract class GameObject extends Identifiable {
      * @return true, if the object (and also all its parents) is visible, else false
      */
     public final boolean getVisible() {
-        return this.visible && this.inheritedVisible;
+        return this.componentHandle != ComponentStore.NO_HANDLE && ComponentStore.get().isVisible(this.componentHandle);
     }
 
 
@@ -298,6 +400,8 @@ public abstract class GameObject extends Identifiable {
         if(this.getParent() != null) this.getParent().removeChild(this);
         this.parent = parent;
         this.parent.addChild(this);
+        if(this.hierarchyNode != TransformHierarchy.NO_NODE)
+            TransformHierarchy.get().setParent(this.hierarchyNode, parent.hierarchyNode);
         this.onTransformationChange();
         this.onVisibleChange();
     }
@@ -359,6 +463,7 @@ public abstract class GameObject extends Identifiable {
      */
     public final void setScale(float scale) {
         this.getTransformation().setScale(scale);
+        this.onTransformationChange();
     }
 
 
@@ -415,7 +520,7 @@ public abstract class GameObject extends Identifiable {
      * @param absoluteDirection the absolute vector of the object's direction
      */
     public final void setAbsoluteDirection(Vector3f absoluteDirection) {
-        this.setDirection(this.getParentAbsoluteTransformation().getAntiModelMatrix().mul(absoluteDirection, 0f));
+        this.setDirection(this.getParentAbsoluteTransformation().getAntiModelMat4().mul(absoluteDirection, 0f));
     }
 
     /**
@@ -423,7 +528,7 @@ public abstract class GameObject extends Identifiable {
      * @param absolutePosition the object's absolute position
      */
     public final void setAbsolutePosition(Vector3f absolutePosition) {
-        this.setPosition(this.getParentAbsoluteTransformation().getAntiModelMatrix().mul(absolutePosition, 1f));
+        this.setPosition(this.getParentAbsoluteTransformation().getAntiModelMat4().mul(absolutePosition, 1f));
     }
 
     /**
@@ -442,7 +547,8 @@ public abstract class GameObject extends Identifiable {
      * @param visible the new value of visible
      */
     public final void setVisible(boolean visible) {
-        this.visible = visible;
+        if(this.componentHandle == ComponentStore.NO_HANDLE) return;
+        ComponentStore.get().setVisible(this.componentHandle, visible);
         this.onVisibleChange();
     }
 
@@ -463,6 +569,9 @@ public abstract class GameObject extends Identifiable {
         super(id, gameWorld);
         this.children = new GameObjectCollection();
         this.transformation = new Transformation();
+        this.absoluteTransformation = new Transformation();
+        this.hierarchyNode = this instanceof KernelObject ? TransformHierarchy.NO_NODE : TransformHierarchy.get().addNode();
+        this.componentHandle = ComponentStore.get().add(this, this.hierarchyNode);
         this.setParent(KernelObject.get());
         this.setVisible(true);
     }
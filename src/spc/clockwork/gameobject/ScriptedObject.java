@@ -38,4 +38,46 @@ public interface ScriptedObject {
      * @return true, if the script should be executed, else return false
      */
     boolean isActive();
+
+
+    /**
+     * Gets the phase of the script.
+     * The scripts of a phase are all executed before any script of the next phase (the phases go in ascending order)
+     * @return the phase of the script, 0 by default
+     */
+    default int getScriptPhase() {
+        return 0;
+    }
+
+
+    /**
+     * Gets the access mode of the script, which tells whether it may be executed concurrently with other scripts
+     * @return the access mode of the script, {@link Access#MUTATING} by default
+     */
+    default Access getScriptAccess() {
+        return Access.MUTATING;
+    }
+
+
+    /**
+     * The access of a script to the world
+     */
+    enum Access {
+        /**
+         * The script reads the world and changes only its own object (e.g. its transformation or visibility).
+         * It records the structural changes (spawns, removals, parenting, layers) into the
+         * {@link spc.clockwork.collections.WorldCommandBuffer} of the world.
+         * Such scripts of the same phase are executed concurrently, while the {@link TransformHierarchy} is frozen:
+         * they see the absolute transformations as of the start of the phase (even their own ones),
+         * and a structural change of the hierarchy (e.g. constructing a game object) throws.
+         * The caches of the other objects (e.g. the matrices of their hit boxes) must not be used.
+         */
+        READ_ONLY,
+
+        /**
+         * The script may change anything. Such scripts are executed one by one on the tick thread
+         * after the read-only scripts of the same phase.
+         */
+        MUTATING
+    }
 }
@@ -0,0 +1,838 @@
+package spc.clockwork.gameobject;
+
+
+import spc.clockwork.util.math.Transformation;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@link TransformHierarchy} is a flat, index-based storage of the local and world transformations
+ *      of all the {@link GameObject}s.
+ *
+ * Every object owns a node (a stable integer handle), which is mapped onto a slot.
+ * The slots are kept in the topological order (every parent comes before its children)
+ *      in primitive arrays, so all of the world transformations can be computed in a single linear pass.
+ * Instead of walking the children on every change, a change only raises the dirty bit of the node changed.
+ * Every computed world transformation receives a new stamp, and every slot remembers the stamp of the parent
+ *      it was computed from, so a child is outdated whenever it is dirty or its parent has been recomputed since.
+ *
+ * A new object is appended as a root of its own, and a released slot is left as a tombstone,
+ *      which the passes skip, so spawning and despawning neither reorder nor reallocate the slots.
+ * The slots are put back into the order (into the spare arrays, which are swapped with the used ones)
+ *      only when a reparenting breaks the topological order, when the tombstones exceed a share of the slots,
+ *      or when the subtrees are not contiguous anymore and the pass is about to be split between the workers.
+ *
+ * Between the passes, a single node can be resolved on demand, which only walks its chain of ancestors.
+ * The hierarchy is not thread safe and belongs to the tick thread, unless it is frozen ({@link #freeze()}):
+ *      then the world transformations are only read, so they may be read by many threads,
+ *      and every thread may change the local transformations of its own nodes.
+ *
+ * At the end of every pass the world transformations are copied aside, so the world transformations
+ *      of the last two ticks are kept for the render interpolation ({@link #copyTickStates}).
+ *
+ * The subtrees of the different roots (the children of the {@link KernelObject}) are independent
+ *      and occupy contiguous ranges of slots, so above the parallel threshold the pass is split
+ *      between the workers of a {@link ForkJoinPool} by the groups of whole subtrees.
+ * Every slot is computed by exactly the same arithmetic in both cases, so the results are bit-identical.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class TransformHierarchy {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** An error message, if a node, which does not exist, is accessed */
+    private static final String ERROR_INVALID_NODE =
+            "Error: The transform hierarchy node given does not exist: ";
+    /** An error message, if the hierarchy is changed structurally, while it is frozen */
+    private static final String ERROR_FROZEN =
+            "Error: The transform hierarchy is frozen for the read-only scripts, " +
+                    "record the structural changes into the WorldCommandBuffer instead";
+
+    /** The parent index of a root (an object, which is a child of the {@link KernelObject}) */
+    public static final int NO_PARENT = -1;
+    /** The node index of an object, which does not belong to the hierarchy (i.e. the {@link KernelObject}) */
+    public static final int NO_NODE = -1;
+
+    /** The amount of floats per slot in the local and world transformation arrays: px, py, pz, qx, qy, qz, qw, s */
+    private static final int TRS_STRIDE = 8;
+    /** The amount of floats per slot in the world matrix array: the top three rows of a 4x4 matrix */
+    private static final int MATRIX_STRIDE = 12;
+    /** The amount of floats of the tick states of a node: the previous and the current world transformations */
+    public static final int TICK_STATES_LENGTH = 2 * TRS_STRIDE;
+    /** The initial capacity of the hierarchy */
+    private static final int INITIAL_CAPACITY = 64;
+    /** The amount of the released slots, below which the slots are never compacted */
+    private static final int MIN_RELEASED_TO_COMPACT = 64;
+    /** The slots are compacted, when the released ones are at least the 1 / COMPACTION_DIVISOR of all the slots */
+    private static final int COMPACTION_DIVISOR = 4;
+    /** The default amount of slots, starting from which the pass is split between the workers */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    /** The single hierarchy of all the game objects (as well as the {@link KernelObject} is single) */
+    private static final TransformHierarchy INSTANCE = new TransformHierarchy(INITIAL_CAPACITY);
+
+
+    /* ---- NODES ---- */
+    /** The slot of every node (or -1 for the free nodes) */
+    private int[] slotOfNode;
+    /** The stack of the free node handles */
+    private int[] freeNodes;
+    /** The amount of the free node handles */
+    private int freeNodeCount;
+    /** The amount of node handles ever given */
+    private int nodeCount;
+
+    /* ---- SLOTS ---- */
+    /** The node of every slot (or -1 for the released slots) */
+    private int[] nodeOfSlot;
+    /** The slot of the parent of every slot (or {@link #NO_PARENT}) */
+    private int[] parentSlot;
+    /** The local transformation of every slot */
+    private float[] local;
+    /** The world transformation of every slot */
+    private float[] world;
+    /** The world model matrix of every slot */
+    private float[] worldMatrix;
+    /** The world transformation of every slot at the end of the tick before the last one */
+    private float[] previousWorld;
+    /** The world transformation of every slot at the end of the last tick */
+    private float[] currentWorld;
+    /** The flag of every slot, which has no tick states yet (the slot must not be interpolated) */
+    private boolean[] snapped;
+    /** The amount of the snapped slots */
+    private int snapCount;
+    /** The dirty bit of every slot: the local transformation or the parent has been changed */
+    private boolean[] dirty;
+    /** The stamp of the world transformation of every slot */
+    private long[] worldStamp;
+    /** The stamp of the parent world transformation, which the world transformation of every slot was computed from */
+    private long[] parentStampSeen;
+    /** The amount of the slots in use (including the released ones, which are not compacted yet) */
+    private int slotCount;
+    /** The amount of the released slots (the tombstones), which are not compacted yet */
+    private int releasedCount;
+
+    /* ---- SPARE SLOTS (THE SLOTS ARE PERMUTED INTO THEM, AND THEN THEY ARE SWAPPED WITH THE ONES ABOVE) ---- */
+    private int[] spareNodeOfSlot = new int[0];
+    private int[] spareParentSlot;
+    private float[] spareLocal;
+    private float[] spareWorld;
+    private float[] spareWorldMatrix;
+    private float[] sparePreviousWorld;
+    private float[] spareCurrentWorld;
+    private boolean[] spareSnapped;
+    private boolean[] spareDirty;
+    private long[] spareWorldStamp;
+    private long[] spareParentStampSeen;
+
+    /** The last stamp given */
+    private long lastStamp;
+    /** The flag, which tells that the slots are not in the topological order anymore */
+    private boolean orderOutdated;
+    /** The flag, which tells that the subtrees of the roots are not contiguous anymore (the order still holds) */
+    private boolean rangesOutdated;
+    /** The amount of the times the slots have been put into the order */
+    private int rebuildCount;
+    /** Whether the world transformations are frozen for the concurrent readers */
+    private boolean frozen;
+
+    /* ---- ROOT SUBTREES ---- */
+    /** The first slot of the subtree of every root, followed by the slot count (valid while the order is) */
+    private int[] rootStart = new int[1];
+    /** The amount of the roots */
+    private int rootCount;
+
+    /* ---- PARALLELISM ---- */
+    /** The pool of the workers to compute the world transformations with */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    /** The amount of slots, starting from which a group of subtrees is split between the workers */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /* ---- SCRATCH ---- */
+    /** A stack of slots for resolving a single node */
+    private int[] chain = new int[16];
+    /** The scratch arrays of the reordering: the children of the slots, their ranges, the order and the stack */
+    private int[] childStart = new int[0], childFill, children, order, stack, newSlotOf;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Makes sure the slot arrays can hold the amount of slots given
+     * @param capacity the required capacity
+     */
+    private void ensureSlotCapacity(final int capacity) {
+        if (capacity <= this.nodeOfSlot.length) return;
+        final int newCapacity = Math.max(capacity, this.nodeOfSlot.length * 2);
+        this.nodeOfSlot = Arrays.copyOf(this.nodeOfSlot, newCapacity);
+        this.parentSlot = Arrays.copyOf(this.parentSlot, newCapacity);
+        this.local = Arrays.copyOf(this.local, newCapacity * TRS_STRIDE);
+        this.world = Arrays.copyOf(this.world, newCapacity * TRS_STRIDE);
+        this.worldMatrix = Arrays.copyOf(this.worldMatrix, newCapacity * MATRIX_STRIDE);
+        this.previousWorld = Arrays.copyOf(this.previousWorld, newCapacity * TRS_STRIDE);
+        this.currentWorld = Arrays.copyOf(this.currentWorld, newCapacity * TRS_STRIDE);
+        this.snapped = Arrays.copyOf(this.snapped, newCapacity);
+        this.dirty = Arrays.copyOf(this.dirty, newCapacity);
+        this.worldStamp = Arrays.copyOf(this.worldStamp, newCapacity);
+        this.parentStampSeen = Arrays.copyOf(this.parentStampSeen, newCapacity);
+    }
+
+    /**
+     * Gets the slot of the node given
+     * @param node the node
+     * @return the slot of the node
+     */
+    private int slotOf(final int node) {
+        final int slot;
+        if (node < 0 || node >= this.nodeCount || (slot = this.slotOfNode[node]) < 0)
+            throw new IllegalArgumentException(ERROR_INVALID_NODE + node);
+        return slot;
+    }
+
+    /**
+     * Checks whether the world transformation of a slot must be recomputed,
+     *      assuming that the parent of the slot is up-to-date
+     * @param slot the slot
+     * @return true, if the world transformation is outdated, else return false
+     */
+    private boolean isOutdated(final int slot) {
+        if (this.dirty[slot]) return true;
+        final int parent = this.parentSlot[slot];
+        return parent != NO_PARENT && this.parentStampSeen[slot] != this.worldStamp[parent];
+    }
+
+    /**
+     * Recomputes the world transformation of a slot out of its local transformation
+     *      and the world transformation of its parent (which must be up-to-date).
+     * The arithmetic is the same as the one of {@link Transformation#combine(Transformation)},
+     *      so the results are identical to the ones of combining the transformations object by object.
+     * @param slot the slot
+     * @param stamp the stamp to give to the new world transformation
+     */
+    private void computeWorld(final int slot, final long stamp) {
+        final float[] local = this.local;
+        final float[] world = this.world;
+        final float[] matrix = this.worldMatrix;
+        final int parent = this.parentSlot[slot];
+
+        /* ---- THE PARENT WORLD TRANSFORMATION (THE IDENTITY ONE FOR THE ROOTS) ---- */
+        float m00 = 1f, m01 = 0f, m02 = 0f, m03 = 0f;
+        float m10 = 0f, m11 = 1f, m12 = 0f, m13 = 0f;
+        float m20 = 0f, m21 = 0f, m22 = 1f, m23 = 0f;
+        float pqx = 0f, pqy = 0f, pqz = 0f, pqw = 1f, ps = 1f;
+        if (parent != NO_PARENT) {
+            final int pm = parent * MATRIX_STRIDE;
+            m00 = matrix[pm];     m01 = matrix[pm + 1]; m02 = matrix[pm + 2];  m03 = matrix[pm + 3];
+            m10 = matrix[pm + 4]; m11 = matrix[pm + 5]; m12 = matrix[pm + 6];  m13 = matrix[pm + 7];
+            m20 = matrix[pm + 8]; m21 = matrix[pm + 9]; m22 = matrix[pm + 10]; m23 = matrix[pm + 11];
+            final int pw = parent * TRS_STRIDE;
+            pqx = world[pw + 3]; pqy = world[pw + 4]; pqz = world[pw + 5]; pqw = world[pw + 6];
+            ps = world[pw + 7];
+            /* THE PARENT ROTATION IS RE-NORMALIZED, AS SETTING IT ON A TRANSFORMATION DOES */
+            final float length = length(pqx, pqy, pqz, pqw);
+            if (length != 1f) { pqx /= length; pqy /= length; pqz /= length; pqw /= length; }
+        }
+
+        /* ---- THE LOCAL TRANSFORMATION ---- */
+        final int l = slot * TRS_STRIDE;
+        final float lx = local[l], ly = local[l + 1], lz = local[l + 2];
+        final float lqx = local[l + 3], lqy = local[l + 4], lqz = local[l + 5], lqw = local[l + 6];
+        final float ls = local[l + 7];
+
+        /* ---- COMBINING ---- */
+        final float px = m00 * lx + m01 * ly + m02 * lz + m03;
+        final float py = m10 * lx + m11 * ly + m12 * lz + m13;
+        final float pz = m20 * lx + m21 * ly + m22 * lz + m23;
+        float qx = pqx * lqw + pqw * lqx + pqy * lqz - pqz * lqy;
+        float qy = pqy * lqw + pqw * lqy + pqz * lqx - pqx * lqz;
+        float qz = pqz * lqw + pqw * lqz + pqx * lqy - pqy * lqx;
+        float qw = pqw * lqw - pqx * lqx - pqy * lqy - pqz * lqz;
+        final float length = length(qx, qy, qz, qw);
+        if (length != 1f) { qx /= length; qy /= length; qz /= length; qw /= length; }
+        final float s = ps * ls;
+
+        final int w = slot * TRS_STRIDE;
+        world[w] = px;  world[w + 1] = py; world[w + 2] = pz;
+        world[w + 3] = qx; world[w + 4] = qy; world[w + 5] = qz; world[w + 6] = qw;
+        world[w + 7] = s;
+
+        /* ---- THE WORLD MATRIX (SAME AS Mat4.translationRotateScale) ---- */
+        final float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+        final float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+        final float xw = qx * qw, yw = qy * qw, zw = qz * qw;
+        final int m = slot * MATRIX_STRIDE;
+        matrix[m] = (1f - 2f * (yy + zz)) * s; matrix[m + 1] = 2f * (xy - zw) * s;
+        matrix[m + 2] = 2f * (xz + yw) * s;       matrix[m + 3] = px;
+        matrix[m + 4] = 2f * (xy + zw) * s;       matrix[m + 5] = (1f - 2f * (xx + zz)) * s;
+        matrix[m + 6] = 2f * (yz - xw) * s;       matrix[m + 7] = py;
+        matrix[m + 8] = 2f * (xz - yw) * s;       matrix[m + 9] = 2f * (yz + xw) * s;
+        matrix[m + 10] = (1f - 2f * (xx + yy)) * s; matrix[m + 11] = pz;
+
+        this.dirty[slot] = false;
+        this.parentStampSeen[slot] = parent == NO_PARENT ? 0L : this.worldStamp[parent];
+        this.worldStamp[slot] = stamp;
+    }
+
+    /**
+     * Computes the length of a quaternion the same way {@link Quaternion#normalize()} does
+     */
+    private static float length(final float x, final float y, final float z, final float w) {
+        float sum = 0f;
+        sum += x * x;
+        sum += y * y;
+        sum += z * z;
+        sum += w * w;
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * Brings the world transformations of a range of slots up-to-date.
+     * The range must consist of whole subtrees (or the parents must be up-to-date already).
+     * @param from the first slot of the range
+     * @param to the slot after the last one of the range
+     * @param stampBase the stamp, after which the stamps of the pass are reserved
+     */
+    private void updateRange(final int from, final int to, final long stampBase) {
+        for (int slot = from; slot < to; slot++)
+            if (this.isOutdated(slot)) this.computeWorld(slot, stampBase + slot + 1);
+    }
+
+    /**
+     * Checks whether the released slots are to be compacted
+     * @return true, if the tombstones exceed their share of the slots
+     */
+    private boolean isCompactionDue() {
+        return this.releasedCount >= MIN_RELEASED_TO_COMPACT
+                && this.releasedCount * COMPACTION_DIVISOR >= this.slotCount;
+    }
+
+    /**
+     * Makes sure the spare slot arrays and the scratch arrays of the reordering match the capacity of the slots
+     */
+    private void ensureSpareCapacity() {
+        final int capacity = this.nodeOfSlot.length;
+        if (this.spareNodeOfSlot.length == capacity) return;
+        this.spareNodeOfSlot = new int[capacity];
+        this.spareParentSlot = new int[capacity];
+        this.spareLocal = new float[capacity * TRS_STRIDE];
+        this.spareWorld = new float[capacity * TRS_STRIDE];
+        this.spareWorldMatrix = new float[capacity * MATRIX_STRIDE];
+        this.sparePreviousWorld = new float[capacity * TRS_STRIDE];
+        this.spareCurrentWorld = new float[capacity * TRS_STRIDE];
+        this.spareSnapped = new boolean[capacity];
+        this.spareDirty = new boolean[capacity];
+        this.spareWorldStamp = new long[capacity];
+        this.spareParentStampSeen = new long[capacity];
+        this.childStart = new int[capacity + 1];
+        this.childFill = new int[capacity];
+        this.children = new int[capacity];
+        this.order = new int[capacity];
+        this.stack = new int[capacity];
+        this.newSlotOf = new int[capacity];
+    }
+
+    /**
+     * Puts the slots into the depth-first pre-order (so every subtree occupies a contiguous range of slots)
+     *      and drops the released ones.
+     * The slots are permuted into the spare arrays, which are swapped with the used ones then,
+     *      so the reordering does not allocate, unless the capacity has grown since the last one
+     */
+    private void rebuildOrder() {
+        this.ensureSpareCapacity();
+        final int count = this.slotCount;
+        final int[] childStart = this.childStart;
+        final int[] childFill = this.childFill;
+        final int[] children = this.children;
+        final int[] order = this.order;
+        final int[] stack = this.stack;
+        final int[] newSlotOf = this.newSlotOf;
+
+        /* ---- COUNTING THE CHILDREN OF EVERY LIVE SLOT ---- */
+        Arrays.fill(childStart, 0, count + 1, 0);
+        for (int slot = 0; slot < count; slot++)
+            if (this.nodeOfSlot[slot] >= 0 && this.parentSlot[slot] != NO_PARENT)
+                childStart[this.parentSlot[slot] + 1]++;
+        for (int slot = 0; slot < count; slot++) childStart[slot + 1] += childStart[slot];
+        System.arraycopy(childStart, 0, childFill, 0, count);
+        for (int slot = 0; slot < count; slot++)
+            if (this.nodeOfSlot[slot] >= 0 && this.parentSlot[slot] != NO_PARENT)
+                children[childFill[this.parentSlot[slot]]++] = slot;
+
+        /* ---- DEPTH-FIRST PRE-ORDER TRAVERSAL FROM THE ROOTS ---- */
+        int ordered = 0;
+        int roots = 0;
+        for (int root = 0; root < count; root++) {
+            if (this.nodeOfSlot[root] < 0 || this.parentSlot[root] != NO_PARENT) continue;
+            if (roots + 1 >= this.rootStart.length) this.rootStart = Arrays.copyOf(this.rootStart, (roots + 1) * 2);
+            this.rootStart[roots++] = ordered;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                final int slot = stack[--top];
+                order[ordered++] = slot;
+                /* THE CHILDREN ARE PUSHED IN THE REVERSED ORDER TO BE VISITED IN THE ORIGINAL ONE */
+                for (int child = childStart[slot + 1] - 1; child >= childStart[slot]; child--)
+                    stack[top++] = children[child];
+            }
+        }
+
+        this.rootStart[roots] = ordered;
+        this.rootCount = roots;
+
+        /* ---- PERMUTING THE SLOTS INTO THE SPARE ARRAYS ---- */
+        for (int slot = 0; slot < ordered; slot++) newSlotOf[order[slot]] = slot;
+        final int[] nodeOfSlot = this.spareNodeOfSlot;
+        final int[] parentSlot = this.spareParentSlot;
+        final float[] local = this.spareLocal;
+        final float[] world = this.spareWorld;
+        final float[] worldMatrix = this.spareWorldMatrix;
+        final float[] previousWorld = this.sparePreviousWorld;
+        final float[] currentWorld = this.spareCurrentWorld;
+        final boolean[] snapped = this.spareSnapped;
+        final boolean[] dirty = this.spareDirty;
+        final long[] worldStamp = this.spareWorldStamp;
+        final long[] parentStampSeen = this.spareParentStampSeen;
+        for (int slot = 0; slot < ordered; slot++) {
+            final int old = order[slot];
+            nodeOfSlot[slot] = this.nodeOfSlot[old];
+            parentSlot[slot] = this.parentSlot[old] == NO_PARENT ? NO_PARENT : newSlotOf[this.parentSlot[old]];
+            System.arraycopy(this.local, old * TRS_STRIDE, local, slot * TRS_STRIDE, TRS_STRIDE);
+            System.arraycopy(this.world, old * TRS_STRIDE, world, slot * TRS_STRIDE, TRS_STRIDE);
+            System.arraycopy(this.worldMatrix, old * MATRIX_STRIDE, worldMatrix, slot * MATRIX_STRIDE, MATRIX_STRIDE);
+            System.arraycopy(this.previousWorld, old * TRS_STRIDE, previousWorld, slot * TRS_STRIDE, TRS_STRIDE);
+            System.arraycopy(this.currentWorld, old * TRS_STRIDE, currentWorld, slot * TRS_STRIDE, TRS_STRIDE);
+            snapped[slot] = this.snapped[old];
+            dirty[slot] = this.dirty[old];
+            worldStamp[slot] = this.worldStamp[old];
+            parentStampSeen[slot] = this.parentStampSeen[old];
+            this.slotOfNode[nodeOfSlot[slot]] = slot;
+        }
+
+        /* ---- SWAPPING THE SPARE ARRAYS WITH THE USED ONES ---- */
+        this.spareNodeOfSlot = this.nodeOfSlot;
+        this.spareParentSlot = this.parentSlot;
+        this.spareLocal = this.local;
+        this.spareWorld = this.world;
+        this.spareWorldMatrix = this.worldMatrix;
+        this.sparePreviousWorld = this.previousWorld;
+        this.spareCurrentWorld = this.currentWorld;
+        this.spareSnapped = this.snapped;
+        this.spareDirty = this.dirty;
+        this.spareWorldStamp = this.worldStamp;
+        this.spareParentStampSeen = this.parentStampSeen;
+        this.nodeOfSlot = nodeOfSlot;
+        this.parentSlot = parentSlot;
+        this.local = local;
+        this.world = world;
+        this.worldMatrix = worldMatrix;
+        this.previousWorld = previousWorld;
+        this.currentWorld = currentWorld;
+        this.snapped = snapped;
+        this.dirty = dirty;
+        this.worldStamp = worldStamp;
+        this.parentStampSeen = parentStampSeen;
+        this.slotCount = ordered;
+        this.releasedCount = 0;
+        this.orderOutdated = false;
+        this.rangesOutdated = false;
+        this.rebuildCount++;
+
+        /* ---- RECOUNTING THE SNAPPED SLOTS (THE RELEASED ONES HAVE BEEN DROPPED) ---- */
+        this.snapCount = 0;
+        for (int slot = 0; slot < ordered; slot++) if (snapped[slot]) this.snapCount++;
+    }
+
+    /**
+     * Makes sure the hierarchy is not frozen, before it is changed structurally
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) throw new IllegalStateException(ERROR_FROZEN);
+    }
+
+    /**
+     * Keeps the world transformations of the pass, which has just finished, as the current tick states,
+     *      and the current ones as the previous tick states.
+     * The snapped slots get the same previous and current states.
+     */
+    private void keepTickStates() {
+        final float[] previousWorld = this.previousWorld;
+        this.previousWorld = this.currentWorld;
+        this.currentWorld = previousWorld;
+        System.arraycopy(this.world, 0, this.currentWorld, 0, this.slotCount * TRS_STRIDE);
+        if (this.snapCount == 0) return;
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (!this.snapped[slot]) continue;
+            System.arraycopy(this.world, slot * TRS_STRIDE, this.previousWorld, slot * TRS_STRIDE, TRS_STRIDE);
+            this.snapped[slot] = false;
+        }
+        this.snapCount = 0;
+    }
+    /*--------------------*/
+
+
+
+    /* PACKAGE-PRIVATE METHODS (USED BY THE GAME OBJECTS)
+    /*--------------------*/
+
+    /**
+     * Adds a new root node with the identity local transformation
+     * @return the handle of the new node
+     */
+    int addNode() {
+        this.checkNotFrozen();
+        final int node;
+        if (this.freeNodeCount > 0) {
+            node = this.freeNodes[--this.freeNodeCount];
+        } else {
+            node = this.nodeCount++;
+            if (node >= this.slotOfNode.length) {
+                this.slotOfNode = Arrays.copyOf(this.slotOfNode, this.slotOfNode.length * 2);
+                this.freeNodes = Arrays.copyOf(this.freeNodes, this.freeNodes.length * 2);
+            }
+        }
+        /* A NEW SLOT IS APPENDED, SO THE TOPOLOGICAL ORDER IS PRESERVED */
+        this.ensureSlotCapacity(this.slotCount + 1);
+        final int slot = this.slotCount++;
+        this.slotOfNode[node] = slot;
+        this.nodeOfSlot[slot] = node;
+        this.parentSlot[slot] = NO_PARENT;
+        final int l = slot * TRS_STRIDE;
+        Arrays.fill(this.local, l, l + TRS_STRIDE, 0f);
+        this.local[l + 6] = 1f;
+        this.local[l + 7] = 1f;
+        this.dirty[slot] = true;
+        this.worldStamp[slot] = 0L;
+        this.parentStampSeen[slot] = 0L;
+        this.snapped[slot] = true;
+        this.snapCount++;
+        /* THE NEW ROOT IS A SUBTREE OF ITS OWN, WHICH IS APPENDED AFTER THE LAST ONE, SO THE RANGES ARE PRESERVED */
+        if (this.rootCount + 2 > this.rootStart.length)
+            this.rootStart = Arrays.copyOf(this.rootStart, (this.rootCount + 2) * 2);
+        this.rootStart[++this.rootCount] = this.slotCount;
+        return node;
+    }
+
+    /**
+     * Makes the node skip the interpolation until the end of the next pass (e.g. after a teleport)
+     * @param node the node
+     */
+    void snap(final int node) {
+        this.checkNotFrozen();
+        final int slot = this.slotOf(node);
+        if (this.snapped[slot]) return;
+        this.snapped[slot] = true;
+        this.snapCount++;
+    }
+
+    /**
+     * Releases a node. The node must not have any children by this moment.
+     * Its slot is left as a tombstone, which the passes skip, until the slots are compacted
+     * @param node the node to release
+     */
+    void removeNode(final int node) {
+        this.checkNotFrozen();
+        final int slot = this.slotOf(node);
+        this.nodeOfSlot[slot] = -1;
+        this.parentSlot[slot] = NO_PARENT;
+        this.dirty[slot] = false;
+        this.slotOfNode[node] = -1;
+        this.freeNodes[this.freeNodeCount++] = node;
+        this.releasedCount++;
+    }
+
+    /**
+     * Sets the parent of a node
+     * @param node the node
+     * @param parentNode the new parent node or {@link #NO_NODE}, if the node becomes a root
+     */
+    void setParent(final int node, final int parentNode) {
+        this.checkNotFrozen();
+        final int slot = this.slotOf(node);
+        final int parent = parentNode == NO_NODE ? NO_PARENT : this.slotOf(parentNode);
+        if (this.parentSlot[slot] == parent) return;
+        this.parentSlot[slot] = parent;
+        this.dirty[slot] = true;
+        /* THE DESCENDANTS OF THE NODE COME AFTER IT, SO THE ORDER ONLY BREAKS, IF THE NEW PARENT COMES AFTER IT */
+        if (parent > slot) this.orderOutdated = true;
+        /* THE SUBTREES ARE NOT CONTIGUOUS ANYMORE, WHICH ONLY MATTERS TO THE PARALLEL PASS */
+        this.rangesOutdated = true;
+    }
+
+    /**
+     * Copies the local transformation of a node into the hierarchy and marks the node dirty
+     * @param node the node
+     * @param transformation the new local transformation of the node
+     */
+    void setLocal(final int node, final Transformation transformation) {
+        final int l = this.slotOf(node) * TRS_STRIDE;
+        final Vector3f position = transformation.getPosition();
+        final Quaternion rotation = transformation.getRotation();
+        this.local[l] = position.x();
+        this.local[l + 1] = position.y();
+        this.local[l + 2] = position.z();
+        this.local[l + 3] = rotation.x();
+        this.local[l + 4] = rotation.y();
+        this.local[l + 5] = rotation.z();
+        this.local[l + 6] = rotation.w();
+        this.local[l + 7] = transformation.getScale();
+        this.dirty[l / TRS_STRIDE] = true;
+    }
+
+    /**
+     * Copies the world transformation of a node (which must be resolved) into the transformation given
+     * @param node the node
+     * @param destination the transformation to copy into
+     */
+    void copyWorld(final int node, final Transformation destination) {
+        final int w = this.slotOf(node) * TRS_STRIDE;
+        final float[] world = this.world;
+        destination.set(
+                new Vector3f(world[w], world[w + 1], world[w + 2]),
+                new Quaternion(world[w + 3], world[w + 4], world[w + 5], world[w + 6]),
+                world[w + 7]);
+    }
+
+    /**
+     * Copies the world transformations of a node at the end of the tick before the last one and of the last tick
+     *      (px, py, pz, qx, qy, qz, qw, s each).
+     * A node, which has been added or snapped since the last pass, gets its world transformation as both states.
+     * @param node the node
+     * @param destination the array to copy into ({@link #TICK_STATES_LENGTH} floats)
+     * @param offset the offset in the array
+     */
+    void copyTickStates(final int node, final float[] destination, final int offset) {
+        int slot = this.slotOf(node);
+        if (this.snapped[slot]) {
+            this.resolve(node);
+            slot = this.slotOf(node);
+            final int w = slot * TRS_STRIDE;
+            System.arraycopy(this.world, w, destination, offset, TRS_STRIDE);
+            System.arraycopy(this.world, w, destination, offset + TRS_STRIDE, TRS_STRIDE);
+            return;
+        }
+        final int w = slot * TRS_STRIDE;
+        System.arraycopy(this.previousWorld, w, destination, offset, TRS_STRIDE);
+        System.arraycopy(this.currentWorld, w, destination, offset + TRS_STRIDE, TRS_STRIDE);
+    }
+
+    /**
+     * Gets the amount of the times the slots have been put into the order (and compacted)
+     * @return the amount of the reorderings
+     */
+    int getRebuildCount() {
+        return this.rebuildCount;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the hierarchy of all of the game objects
+     * @return the transform hierarchy
+     */
+    public static TransformHierarchy get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Brings every world transformation up-to-date in a single linear pass over the slots
+     *      and keeps them as the tick states of the tick, which has just finished.
+     * Is performed by the engine once per tick.
+     */
+    public void update() {
+        this.refresh();
+        this.keepTickStates();
+    }
+
+    /**
+     * Brings every world transformation up-to-date in a single linear pass over the slots
+     *      without finishing the tick (the tick states stay as they are)
+     */
+    public void refresh() {
+        this.checkNotFrozen();
+        final boolean mayRunParallel = this.slotCount >= this.parallelThreshold && this.pool.getParallelism() >= 2;
+        if (this.orderOutdated || (mayRunParallel && this.rangesOutdated) || this.isCompactionDue())
+            this.rebuildOrder();
+        /* EVERY SLOT GETS ITS OWN STAMP OUT OF THE RANGE RESERVED FOR THE PASS */
+        final long stampBase = this.lastStamp;
+        this.lastStamp += this.slotCount;
+        if (!mayRunParallel || this.slotCount < this.parallelThreshold || this.rootCount < 2)
+            this.updateRange(0, this.slotCount, stampBase);
+        else
+            this.pool.invoke(new SubtreeUpdate(0, this.rootCount, stampBase));
+    }
+
+    /**
+     * Brings every world transformation up-to-date and freezes them until {@link #thaw()} is called.
+     * While the hierarchy is frozen, {@link #resolve(int)} does not recompute anything, so the readers
+     *      of all the threads see the world transformations as they were, when the hierarchy was frozen,
+     *      and the structural changes (adding, removing, parenting and snapping the nodes) throw.
+     * The local transformations may still be set, and they are applied by the first pass after the thaw.
+     */
+    public void freeze() {
+        this.refresh();
+        this.frozen = true;
+    }
+
+    /**
+     * Lets the world transformations be recomputed and the hierarchy be changed again
+     */
+    public void thaw() {
+        this.frozen = false;
+    }
+
+    /**
+     * Checks whether the hierarchy is frozen
+     * @return true, if the world transformations are only read, else return false
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Sets the pool of the workers to compute the world transformations with
+     * @param pool the pool
+     */
+    public void setPool(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the amount of slots, starting from which the pass is split between the workers
+     * @param parallelThreshold the threshold (the pass is always serial, if it is Integer.MAX_VALUE)
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+
+    /**
+     * Brings the world transformation of a single node up-to-date, walking only its chain of ancestors
+     * (while the hierarchy is frozen, the node is up-to-date as of the freeze and is not recomputed)
+     * @param node the node
+     * @return the stamp of the world transformation of the node, which changes every time it is recomputed
+     */
+    public long resolve(final int node) {
+        if (this.frozen) return this.worldStamp[this.slotOf(node)];
+        /* ---- COLLECTING THE CHAIN OF ANCESTORS ---- */
+        int length = 0;
+        for (int slot = this.slotOf(node); slot != NO_PARENT; slot = this.parentSlot[slot]) {
+            if (length == this.chain.length) this.chain = Arrays.copyOf(this.chain, length * 2);
+            this.chain[length++] = slot;
+        }
+        /* ---- RESOLVING FROM THE ROOT DOWN ---- */
+        for (int i = length - 1; i >= 0; i--)
+            if (this.isOutdated(this.chain[i])) this.computeWorld(this.chain[i], ++this.lastStamp);
+        return this.worldStamp[this.chain[0]];
+    }
+
+    /**
+     * Copies the world model matrix of a node into the matrix given. The node must be resolved.
+     * @param node the node
+     * @param destination the matrix to copy into
+     * @return destination
+     */
+    public Mat4 getWorldMatrix(final int node, final Mat4 destination) {
+        final int m = this.slotOf(node) * MATRIX_STRIDE;
+        final float[] e = this.worldMatrix;
+        return destination.set(
+                e[m],     e[m + 1], e[m + 2],  e[m + 3],
+                e[m + 4], e[m + 5], e[m + 6],  e[m + 7],
+                e[m + 8], e[m + 9], e[m + 10], e[m + 11],
+                0f,       0f,       0f,        1f
+        );
+    }
+
+    /**
+     * Gets the amount of nodes in the hierarchy
+     * @return the amount of nodes
+     */
+    public int size() {
+        return this.nodeCount - this.freeNodeCount;
+    }
+    /*--------------------*/
+
+
+
+    /* PARALLEL PASS
+    /*--------------------*/
+
+    /**
+     * Updates a group of the whole root subtrees, splitting it in halves while it is above the parallel threshold
+     */
+    private final class SubtreeUpdate extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The first root of the group */
+        private final int fromRoot;
+        /** The root after the last one of the group */
+        private final int toRoot;
+        /** The stamp, after which the stamps of the pass are reserved */
+        private final long stampBase;
+
+        @Override
+        protected void compute() {
+            final int[] rootStart = TransformHierarchy.this.rootStart;
+            if (this.toRoot - this.fromRoot < 2
+                    || rootStart[this.toRoot] - rootStart[this.fromRoot] < TransformHierarchy.this.parallelThreshold) {
+                TransformHierarchy.this.updateRange(rootStart[this.fromRoot], rootStart[this.toRoot], this.stampBase);
+                return;
+            }
+            /* SPLITTING BY THE SLOTS RATHER THAN BY THE ROOTS, SO THE HALVES ARE OF A SIMILAR WORK */
+            final int middleSlot = (rootStart[this.fromRoot] + rootStart[this.toRoot]) >>> 1;
+            int middle = Arrays.binarySearch(rootStart, this.fromRoot, this.toRoot, middleSlot);
+            if (middle < 0) middle = -middle - 1;
+            middle = Math.max(this.fromRoot + 1, Math.min(this.toRoot - 1, middle));
+            invokeAll(
+                    new SubtreeUpdate(this.fromRoot, middle, this.stampBase),
+                    new SubtreeUpdate(middle, this.toRoot, this.stampBase));
+        }
+
+        SubtreeUpdate(final int fromRoot, final int toRoot, final long stampBase) {
+            this.fromRoot = fromRoot;
+            this.toRoot = toRoot;
+            this.stampBase = stampBase;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty hierarchy
+     * @param capacity the initial capacity
+     */
+    TransformHierarchy(final int capacity) {
+        this.slotOfNode = new int[capacity];
+        this.freeNodes = new int[capacity];
+        this.nodeOfSlot = new int[capacity];
+        this.parentSlot = new int[capacity];
+        this.local = new float[capacity * TRS_STRIDE];
+        this.world = new float[capacity * TRS_STRIDE];
+        this.worldMatrix = new float[capacity * MATRIX_STRIDE];
+        this.previousWorld = new float[capacity * TRS_STRIDE];
+        this.currentWorld = new float[capacity * TRS_STRIDE];
+        this.snapped = new boolean[capacity];
+        this.dirty = new boolean[capacity];
+        this.worldStamp = new long[capacity];
+        this.parentStampSeen = new long[capacity];
+    }
+    /*--------------------*/
+}
@@ -1,5 +1,6 @@
 package spc.clockwork.gameobject.entity;
 
+import spc.clockwork.collections.ComponentStore;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.gameobject.GameObject;
 import spc.clockwork.graphics.Material;
@@ -9,6 +10,7 @@ import spc.clockwork.util.math.vector.Vector3f;
 
 /**
  * Entity -- is a {@link GameObject} that has a model and material
+ * The mesh and the material are kept in the {@link ComponentStore}
  * @author wize
  * @version 0 (2018.03.29)
  */
@@ -22,9 +24,6 @@ public class Entity extends GameObject {
             Vector3f.VECTOR_111,
             Material.PolygonMode.FILL,
             "DEFAULT MATERIAL");
-
-    private Mesh mesh;
-    private Material material;
     /*--------------------*/
 
 
@@ -52,7 +51,8 @@ public class Entity extends GameObject {
      * @return Object's {@link Mesh}
      */
     public Mesh getMesh() {
-        return this.mesh;
+        return this.getComponentHandle() == ComponentStore.NO_HANDLE ? null
+                : ComponentStore.get().getMesh(this.getComponentHandle());
     }
 
 
@@ -61,7 +61,8 @@ public class Entity extends GameObject {
      * @return Object's {@link Material}
      */
     public Material getMaterial() {
-        return this.material;
+        return this.getComponentHandle() == ComponentStore.NO_HANDLE ? null
+                : ComponentStore.get().getMaterial(this.getComponentHandle());
     }
 
 
@@ -98,7 +99,7 @@ public class Entity extends GameObject {
      */
     public void setMesh(Mesh mesh) {
         if(this.getMesh() != null && this.getMesh().isTemporary()) this.getMesh().terminate();
-        this.mesh = mesh;
+        if(this.getComponentHandle() != ComponentStore.NO_HANDLE) ComponentStore.get().setMesh(this.getComponentHandle(), mesh);
     }
 
 
@@ -108,7 +109,8 @@ public class Entity extends GameObject {
      */
     public void setMaterial(Material material) {
         if(this.getMaterial() != null && this.getMaterial().isTemporary()) this.getMaterial().terminate();
-        this.material = material;
+        if(this.getComponentHandle() != ComponentStore.NO_HANDLE)
+            ComponentStore.get().setMaterial(this.getComponentHandle(), material);
     }
 
     /*--------------------*/
@@ -1,17 +1,21 @@
 package spc.clockwork.gameobject.hitbox;
 
 import com.sun.istack.internal.NotNull;
+import spc.clockwork.collections.ComponentStore;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.gameobject.GameObject;
 import spc.clockwork.graphics.mesh.Meshes;
 import spc.clockwork.util.ObjDecoder;
 import spc.clockwork.util.TemporaryStorage;
+import spc.clockwork.util.jfr.FlightRecording;
+import spc.clockwork.util.jfr.CollisionQueryEvent;
+import spc.clockwork.util.math.PointBatch;
 import spc.clockwork.util.math.geometry_3d.Triangle3D;
-import spc.clockwork.util.math.matrix.Matrix4f;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.util.math.vector.Vector3f;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import static spc.clockwork.gameobject.hitbox.CollisionAlgorithms.getEllipsoidIntoTrianglePenetration;
 
@@ -31,6 +35,10 @@ public class EllipsoidBox extends HitBox {
     /* ATTRIBUTES
     /*--------------------*/
 
+    /* ---- THE KINDS OF THE QUERIES, AS THEY ARE RECORDED BY THE COLLISION QUERY EVENTS ---- */
+    private static final String QUERY_COLLIDES = "collides";
+    private static final String QUERY_COLLIDE_AND_SLIDE = "collideAndSlide";
+
     /** The radius of the ellipsoid in the parent space */
     private final Vector3f radius;
 
@@ -38,29 +46,45 @@ public class EllipsoidBox extends HitBox {
      * The storage of the matrix, which stretches the parent space such that the ellipsoid becomes a unit
      *  sphere in the center of the space
      */
-    private final TemporaryStorage<Matrix4f> ellipsoidSpaceMatrix = new TemporaryStorage<Matrix4f>() {
+    private final TemporaryStorage<Mat4> ellipsoidSpaceMatrix = new TemporaryStorage<Mat4>() {
         @Override
-        protected Matrix4f getUpdatedElement() {
+        protected Mat4 getUpdatedElement() {
             Vector3f radius = EllipsoidBox.this.getRadius();
-            return Matrix4f.newScaleMatrix(1f/radius.x(), 1f/radius.y(), 1f/radius.z());
+            return EllipsoidBox.this.ellipsoidSpaceMat4.scaling(1f/radius.x(), 1f/radius.y(), 1f/radius.z());
         }
     };
 
 
     /**
      * The storage of the matrix, which transforms vectors from the absolute space to the ellipsoid space
-     * Must be updated each ellipsoid box movement
+     * Must be updated each time the absolute transformation changes
      */
-    private final TemporaryStorage<Matrix4f> absoluteToEllipsoidSpaceMatrix = new TemporaryStorage<Matrix4f>() {
+    private final TemporaryStorage<Mat4> absoluteToEllipsoidSpaceMatrix = new TemporaryStorage<Mat4>() {
         @Override
-        protected Matrix4f getUpdatedElement() {
-            return EllipsoidBox.this.ellipsoidSpaceMatrix.getElement()
-                    .mul(EllipsoidBox.this.getAbsoluteTransformation().getAntiModelMatrix());
+        protected Mat4 getUpdatedElement() {
+            return EllipsoidBox.this.ellipsoidSpaceMatrix.getElement().mulInto(
+                    EllipsoidBox.this.getAbsoluteTransformation().getAntiModelMat4(),
+                    EllipsoidBox.this.absoluteToEllipsoidSpaceMat4);
         }
     };
 
-    /** A matrix that translates from 'movement' to 'velocity' vector format */
-    private static final Matrix4f movementToVelocityMatrix = Matrix4f.newScaleMatrix(-1f, -1f, 1f);
+    /** The stamp of the absolute transformation, which the absolute-to-ellipsoid space matrix was computed for */
+    private long absoluteToEllipsoidSpaceStamp = -1L;
+
+    /* ---- MATRICES UPDATED IN PLACE ---- */
+    private final Mat4 ellipsoidSpaceMat4 = new Mat4();
+    private final Mat4 absoluteToEllipsoidSpaceMat4 = new Mat4();
+    /** A scratch matrix for the transformations from the other boxes into the ellipsoid space */
+    private final Mat4 toEllipsoidSpaceMat4 = new Mat4();
+
+    /* ---- BATCH BUFFERS ---- */
+    /** The triangle corners of the mesh box being processed, transformed into the ellipsoid space */
+    private final PointBatch transformedCorners = new PointBatch();
+    /** The bounds of the points being checked {minX, minY, minZ, maxX, maxY, maxZ} */
+    private final float[] boundsBuffer = new float[6];
+
+    /** A matrix that translates from 'movement' to 'velocity' vector format (must not be modified) */
+    private static final Mat4 movementToVelocityMatrix = new Mat4().scaling(-1f, -1f, 1f);
     /*--------------------*/
 
 
@@ -69,20 +93,75 @@ public class EllipsoidBox extends HitBox {
     /*--------------------*/
     /* ---- HELPING METHODS ---- */
     /**
-     * Gets all triangles from all of the mesh boxes given by an iterator,
-     *      transforms them into the ellipsoid space and returns them as an instance of a {@link LinkedList}
+     * Gets the matrix, which transforms vectors from the absolute space to the ellipsoid space.
+     * The matrix is recomputed whenever the absolute transformation changes (including the movement of the parents).
+     * @return the absolute-to-ellipsoid space matrix
+     */
+    private Mat4 getAbsoluteToEllipsoidSpaceMatrix() {
+        final long stamp = this.getAbsoluteTransformationStamp();
+        if (stamp != this.absoluteToEllipsoidSpaceStamp) {
+            this.absoluteToEllipsoidSpaceMatrix.setOutdated();
+            this.absoluteToEllipsoidSpaceStamp = stamp;
+        }
+        return this.absoluteToEllipsoidSpaceMatrix.getElement();
+    }
+
+    /**
+     * Transforms all the triangle corners of the mesh box into the ellipsoid space at once
+     * @param box the mesh box
+     * @return the batch of the transformed corners (three per triangle),
+     *      or null if the bounds of the whole mesh do not reach the ellipsoid
+     */
+    private PointBatch transformTriangleCorners(@NotNull final MeshBox box) {
+        final PointBatch corners = box.getTriangleCorners();
+        if (corners.size() == 0) return null;
+        final Mat4 toEllipsoidSpace = this.getAbsoluteToEllipsoidSpaceMatrix()
+                .mulInto(box.getAbsoluteModelMat4(), this.toEllipsoidSpaceMat4);
+        corners.transformInto(toEllipsoidSpace, this.transformedCorners);
+        return this.reachesEllipsoid(this.transformedCorners, 0, this.transformedCorners.size())
+                ? this.transformedCorners : null;
+    }
+
+    /**
+     * Checks whether the bounds of a range of points in the ellipsoid space reach the ellipsoid
+     *      (i.e. overlap the cube, which the unit sphere is inscribed into).
+     * The points, which bounds do not, cannot collide with the ellipsoid.
+     * @param points the batch of points in the ellipsoid space
+     * @param from the first point of the range
+     * @param count the amount of points in the range
+     * @return true, if the collision is possible, else return false
+     */
+    private boolean reachesEllipsoid(@NotNull final PointBatch points, final int from, final int count) {
+        final float[] bounds = points.bounds(from, count, this.boundsBuffer);
+        return bounds[0] <= 1f && bounds[3] >= -1f
+                && bounds[1] <= 1f && bounds[4] >= -1f
+                && bounds[2] <= 1f && bounds[5] >= -1f;
+    }
+
+    /**
+     * Constructs a triangle out of three consequent points of the batch
+     * @param corners the batch of the triangle corners
+     * @param first the index of the first corner
+     * @return a new triangle
+     */
+    private static Triangle3D triangleOf(@NotNull final PointBatch corners, final int first) {
+        return new Triangle3D(corners.toVector3f(first), corners.toVector3f(first + 1), corners.toVector3f(first + 2));
+    }
+
+    /**
+     * Gets the triangles of all of the mesh boxes given by an iterator, which can collide with this,
+     *      transformed into the ellipsoid space. The triangles that are too far from the ellipsoid are skipped.
      * @param meshBoxIterator an iterator that provides the mesh boxes to collect triangles from
-     * @return a list of all triangles in the ellipsoid space
+     * @return a list of all triangles in the ellipsoid space, which may collide with the ellipsoid
      */
-    private LinkedList<Triangle3D> getTransformedTriangles(@NotNull final Iterator<MeshBox> meshBoxIterator) {
-        MeshBox box;
-        LinkedList<Triangle3D> listOfTransformedTriangles = new LinkedList<>();
+    private ArrayList<Triangle3D> getTransformedTriangles(@NotNull final Iterator<MeshBox> meshBoxIterator) {
+        ArrayList<Triangle3D> listOfTransformedTriangles = new ArrayList<>();
         while(meshBoxIterator.hasNext()) {
-            box = meshBoxIterator.next();
-            Iterator<Triangle3D> triangleIterator = box.triangleIterator();
-            Matrix4f toEllipsoidSpace = absoluteToEllipsoidSpaceMatrix.getElement().mul(box.getAbsoluteModelMatrix());
-            while(triangleIterator.hasNext())
-                listOfTransformedTriangles.add(triangleIterator.next().transform(toEllipsoidSpace));
+            final PointBatch corners = this.transformTriangleCorners(meshBoxIterator.next());
+            if (corners == null) continue;
+            for (int i = 0; i < corners.size(); i += 3)
+                if (this.reachesEllipsoid(corners, i, 3))
+                    listOfTransformedTriangles.add(triangleOf(corners, i));
         }
         return listOfTransformedTriangles;
     }
@@ -92,10 +171,10 @@ public class EllipsoidBox extends HitBox {
      * @param pointOvView point of view
      * @return the matrix that translates the vectors from the point of view to the ellipsoid space
      */
-    private Matrix4f pointOfViewToEllipsoidTranslation(@NotNull final GameObject pointOvView) {
+    private Mat4 pointOfViewToEllipsoidTranslation(@NotNull final GameObject pointOvView) {
         //todo: fix the method: the absolute model matrix is used instead of the absolute view one
-        return this.absoluteToEllipsoidSpaceMatrix.getElement()
-                .mul(pointOvView.getAbsoluteModelMatrix())
+        return this.getAbsoluteToEllipsoidSpaceMatrix()
+                .mulInto(pointOvView.getAbsoluteModelMat4(), this.toEllipsoidSpaceMat4)
                 .mul(EllipsoidBox.movementToVelocityMatrix); // crutch
     }
 
@@ -107,17 +186,20 @@ public class EllipsoidBox extends HitBox {
      * @return true, if the collision between the {@link MeshBox} and this {@link EllipsoidBox} exists, else return false
      */
     private boolean collides(@NotNull final MeshBox hitBox) {
-        final Iterator<Triangle3D> iterator =
-                hitBox.triangleIterator();
-        final Matrix4f meshBoxToEllipsoidSpaceMatrix =
-                this.ellipsoidSpaceMatrix.getElement() // FROM ELLIPSOID BOX TO ELLIPSOID SPACE
-                        .mul(this.getAbsoluteTransformation().getAntiModelMatrix() // FROM ABSOLUTE SPACE TO ELLIPSOID BOX
-                        .mul(hitBox.getAbsoluteModelMatrix())); // FROM MESH BOX TO ABSOLUTE SPACE
-        while(iterator.hasNext())
-            if (getEllipsoidIntoTrianglePenetration(
-                    iterator.next().transform(meshBoxToEllipsoidSpaceMatrix),
-                    true) != null) return true;
-        return false;
+        final CollisionQueryEvent event = FlightRecording.AVAILABLE ? new CollisionQueryEvent() : null;
+        if (event != null) event.begin();
+        final PointBatch corners = this.transformTriangleCorners(hitBox);
+        int trianglesTested = 0;
+        boolean collided = false;
+        if (corners != null) {
+            for (int i = 0; i < corners.size() && !collided; i += 3) {
+                if (!this.reachesEllipsoid(corners, i, 3)) continue;
+                trianglesTested++;
+                collided = getEllipsoidIntoTrianglePenetration(triangleOf(corners, i), true) != null;
+            }
+        }
+        if (event != null) event.finish(QUERY_COLLIDES, trianglesTested, collided);
+        return collided;
     }
 
 
@@ -130,7 +212,6 @@ public class EllipsoidBox extends HitBox {
     protected void onMovement() {
         super.onMovement();
         if (this.ellipsoidSpaceMatrix != null) this.ellipsoidSpaceMatrix.setOutdated();
-        if (this.absoluteToEllipsoidSpaceMatrix != null) this.absoluteToEllipsoidSpaceMatrix.setOutdated();
     }
     /*--------------------*/
 
@@ -159,13 +240,21 @@ public class EllipsoidBox extends HitBox {
     public Vector3f collideAndSlide(@NotNull final Iterator<MeshBox> boxesToCollide,
                                     @NotNull final GameObject pointOfView,
                                     final boolean cullBackFaces) {
-        final Iterator<Triangle3D> iterator = this.getTransformedTriangles(boxesToCollide).iterator();
+        final CollisionQueryEvent event = FlightRecording.AVAILABLE ? new CollisionQueryEvent() : null;
+        if (event != null) event.begin();
+        final ArrayList<Triangle3D> triangles = this.getTransformedTriangles(boxesToCollide);
+        final Iterator<Triangle3D> iterator = triangles.iterator();
         Vector3f penetration = Vector3f.ZERO_VECTOR;
         Vector3f temp;
+        boolean collided = false;
         while(iterator.hasNext()) {
             temp = CollisionAlgorithms.getEllipsoidIntoTrianglePenetration(iterator.next(), cullBackFaces);
-            if(temp != null) penetration = penetration.add(temp);
+            if(temp != null) {
+                penetration = penetration.add(temp);
+                collided = true;
+            }
         }
+        if (event != null) event.finish(QUERY_COLLIDE_AND_SLIDE, triangles.size(), collided);
         return pointOfViewToEllipsoidTranslation(pointOfView).invert().mul(penetration.negate(), 1f).negate();
     }
 
@@ -190,6 +279,7 @@ public class EllipsoidBox extends HitBox {
     public EllipsoidBox(@NotNull final GameWorld gameWorld, @NotNull final Vector3f radius) {
         super(gameWorld);
         this.radius = radius;
+        ComponentStore.get().setHitBoxRadius(this.getComponentHandle(), radius.x(), radius.y(), radius.z());
         try {
             this.setMesh(
                     ObjDecoder.loadMesh(
@@ -5,6 +5,7 @@ import com.sun.istack.internal.NotNull;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.graphics.mesh.Mesh;
 import spc.clockwork.graphics.mesh.TriangleSetMesh;
+import spc.clockwork.util.math.PointBatch;
 import spc.clockwork.util.math.geometry_3d.Triangle3D;
 
 import java.util.Iterator;
@@ -39,6 +40,14 @@ public final class MeshBox extends HitBox {
     public Iterator<Triangle3D> triangleIterator() {
         return ((TriangleSetMesh)this.getMesh()).triangleIterator();
     }
+
+    /**
+     * Gets the corners of the mesh triangles in the space of the mesh (three points per triangle)
+     * @return the batch of the triangle corners, which must not be modified
+     */
+    public PointBatch getTriangleCorners() {
+        return ((TriangleSetMesh)this.getMesh()).getTriangleCorners();
+    }
     /*--------------------*/
 
 
@@ -21,8 +21,11 @@ public class SphereBox extends EllipsoidBox {
      * @return true, if the collision exists, else return false
      */
     private boolean collides(@NotNull final SphereBox sphere) {
-        return this.getAbsolutePosition().negate().add(sphere.getAbsolutePosition()).length()
-                <= this.getAbsoluteRadius() + sphere.getAbsoluteRadius();
+        final Vector3f a = this.getAbsolutePosition();
+        final Vector3f b = sphere.getAbsolutePosition();
+        final float dx = b.x() - a.x(), dy = b.y() - a.y(), dz = b.z() - a.z();
+        final float radii = this.getAbsoluteRadius() + sphere.getAbsoluteRadius();
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz) <= radii;
     }
     /*--------------------*/
 
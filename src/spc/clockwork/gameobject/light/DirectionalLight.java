@@ -17,7 +17,7 @@ public final class DirectionalLight extends Light {
      * Default constructor with zero relative direction, unit intensity and white color
      */
     public DirectionalLight(GameWorld gameWorld) {
-        super(gameWorld);
+        super(gameWorld, DIRECTIONAL);
     }
     /*--------------------*/
 }
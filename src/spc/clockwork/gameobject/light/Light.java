@@ -13,6 +13,7 @@ import spc.clockwork.util.math.vector.Vector3f;
  *
  * The light is an abstract class of 3 kinds of concrete classes. Each of the subclasses is treated differently by the
  * renderer system, though from the Java's point of view, they are almost same.
+ * The renderer tells them apart by their kind ({@link #getKind()}), which is given by the subclass on construction.
  *
  * The class has 1 static component -- the color of a GLOBAL AMBIENT LIGHT
  * Global ambient light -- is a light that goes from everywhere to everywhere -- the 'background light' of the world
@@ -23,6 +24,16 @@ import spc.clockwork.util.math.vector.Vector3f;
 public abstract class Light extends GameObject {
     /* ATTRIBUTES
     /*--------------------*/
+    /* ---- KINDS OF LIGHTS ---- */
+    /** The kind of a {@link PointLight} */
+    public static final int POINT = 0;
+    /** The kind of a {@link DirectionalLight} */
+    public static final int DIRECTIONAL = 1;
+    /** The kind of a {@link SpotLight} */
+    public static final int SPOT = 2;
+    /** The kind of a light, which is not supported by the renderer */
+    public static final int UNKNOWN = -1;
+
     /* ---- DEFAULT PARAMETERS ---- */
     /** Default light color */
     protected static final Vector3f DEFAULT_COLOR = Vector3f.VECTOR_111;
@@ -32,6 +43,8 @@ public abstract class Light extends GameObject {
     protected static final Attenuation DEFAULT_ATTENUATION = new Attenuation();
 
     /* ---- LIGHT OBJECT PARAMETERS ---- */
+    /** The kind of the light, which is fixed by its class (is classified once, when the light is created) */
+    private final int kind;
     /** The light's color */
     private Vector3f color;
     /** The light's intensity */
@@ -64,6 +77,14 @@ public abstract class Light extends GameObject {
     /*--------------------*/
 
     /* ---- LIGHT OBJECT GETTERS ---- */
+    /**
+     * Gets the kind of the light, so the renderer does not have to classify the light by its class
+     * @return {@link #POINT}, {@link #DIRECTIONAL}, {@link #SPOT} or {@link #UNKNOWN}
+     */
+    public int getKind() {
+        return this.kind;
+    }
+
     /**
      * Gets the light color
      * @return the color of the light
@@ -123,15 +144,27 @@ public abstract class Light extends GameObject {
     /*--------------------*/
 
     /**
-     * A constructor that creates an empty object with random id and default parameters
+     * A constructor that creates an empty object of a kind with random id and default parameters
      *
      * @param gameWorld the game world to attach this object to
+     * @param kind the kind of the light ({@link #POINT}, {@link #DIRECTIONAL}, {@link #SPOT} or {@link #UNKNOWN})
      */
-    public Light(GameWorld gameWorld) {
+    protected Light(GameWorld gameWorld, int kind) {
         super(null, gameWorld);
+        this.kind = kind;
         this.setColor(DEFAULT_COLOR);
         this.setIntensity(DEFAULT_INTENSITY);
     }
+
+    /**
+     * A constructor that creates an empty object with random id and default parameters,
+     * which is not supported by the renderer ({@link #UNKNOWN})
+     *
+     * @param gameWorld the game world to attach this object to
+     */
+    public Light(GameWorld gameWorld) {
+        this(gameWorld, UNKNOWN);
+    }
     /*--------------------*/
 }
 
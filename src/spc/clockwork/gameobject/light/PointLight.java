@@ -73,7 +73,7 @@ public final class PointLight extends Light {
      * Constructs a {@link PointLight} with white color, default attenuation and unit intensity
      */
     public PointLight(GameWorld gameWorld) {
-        super(gameWorld);
+        super(gameWorld, POINT);
         this.setDefaultAttenuation();
     }
     /*--------------------*/
@@ -99,7 +99,7 @@ public final class SpotLight extends Light {
      * Constructs the light with white color, unit intensity, [0,0,-1] direction, default cone angle, default attenuation
      */
     public SpotLight(GameWorld gameWorld) {
-        super(gameWorld);
+        super(gameWorld, SPOT);
         this.setDefaultAttenuation();
         this.setConeAngle(DEFAULT_CONE_ANGLE);
     }
@@ -0,0 +1,351 @@
+package spc.clockwork.graphics;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.util.jfr.FlightRecording;
+import spc.clockwork.util.jfr.GpuResourceCreateEvent;
+import spc.clockwork.util.jfr.GpuResourceDeleteEvent;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * {@link GpuResourceReclaimer} deletes the GPU objects (buffers, vertex arrays, textures) of the assets.
+ *
+ * An asset registers its GPU objects with {@link #track}, and gets a {@link Tracker}.
+ * When the asset is terminated, it releases the tracker, and the GPU objects are put into a lock-free queue.
+ * If the asset becomes unreachable without being terminated, its tracker (a phantom reference) is enqueued
+ *      by the garbage collector instead, so the GPU objects are not leaked.
+ * The GL calls are made only by {@link #drain()}, which is invoked by the render thread once per frame
+ *      and deletes at most a budget of the GPU objects in a few bulk calls.
+ * So any thread may terminate an asset, and no GL call is ever made without the GL context.
+ * When the frames are rendered from the {@link RenderSnapshot}s, the render thread passes the epoch of its snapshot
+ *      to {@link #drain(long)}, so the GPU objects, which may still be referenced by the snapshot, are kept.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class GpuResourceReclaimer {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The kind of a GPU buffer */
+    public static final int BUFFER = 0;
+    /** The kind of a GPU vertex array */
+    public static final int VERTEX_ARRAY = 1;
+    /** The kind of a GPU texture */
+    public static final int TEXTURE = 2;
+    /** The amount of kinds */
+    private static final int KIND_COUNT = 3;
+
+    /** The default amount of GPU objects to delete in a frame */
+    public static final int DEFAULT_BUDGET = 256;
+
+    /** An error message, if the budget given is not positive */
+    private static final String ERROR_ILLEGAL_BUDGET =
+            "Error: The reclamation budget must be positive";
+
+    /** The reclaimer of the Clockwork assets */
+    private static final GpuResourceReclaimer INSTANCE = new GpuResourceReclaimer();
+
+    /** The released trackers, whose GPU objects are waiting to be deleted */
+    private final ConcurrentLinkedQueue<Tracker> released;
+    /** The queue of the trackers of the assets, which have been collected without termination */
+    private final ReferenceQueue<Object> collected;
+    /** The trackers, which have not been released yet (the phantom references must stay reachable) */
+    private final Set<Tracker> tracked;
+
+    /** The amount of GPU objects in the released queue */
+    private final AtomicInteger pendingCount;
+    /** The amount of GPU objects deleted so far */
+    private final AtomicLong reclaimedCount;
+    /** The amount of trackers, that were enqueued by the garbage collector */
+    private final AtomicLong collectedCount;
+
+    /** The current reclamation epoch (advanced by each capture of a {@link RenderSnapshot}) */
+    private final AtomicLong epoch;
+
+    /** The maximum amount of GPU objects to delete in a single drain */
+    private volatile int budget;
+
+    /** The names of the GPU objects to delete in the current drain, by kind (the render thread only) */
+    private final int[][] batch;
+    /** The amount of names in the batch, by kind */
+    private final int[] batchSize;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Moves the trackers, which have been enqueued by the garbage collector, into the released queue
+     */
+    private void pollCollected() {
+        Reference<?> reference;
+        while ((reference = this.collected.poll()) != null) {
+            if (((Tracker) reference).release()) this.collectedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds the GPU objects of the tracker to the batch
+     * @param tracker the released tracker
+     */
+    private void addToBatch(final Tracker tracker) {
+        for (int i = 0; i < tracker.names.length; i++) {
+            final int kind = tracker.kinds[i];
+            if (this.batchSize[kind] == this.batch[kind].length)
+                this.batch[kind] = Arrays.copyOf(this.batch[kind], this.batch[kind].length * 2);
+            this.batch[kind][this.batchSize[kind]++] = tracker.names[i];
+        }
+    }
+
+    /**
+     * Deletes the GPU objects of the batch and empties it
+     */
+    private void deleteBatch() {
+        final GpuResourceDeleteEvent event = FlightRecording.AVAILABLE ? new GpuResourceDeleteEvent() : null;
+        if (event != null) event.begin();
+        final GraphicsDevice device = GraphicsDevices.get();
+        if (this.batchSize[BUFFER] > 0)
+            device.deleteBuffers(Arrays.copyOf(this.batch[BUFFER], this.batchSize[BUFFER]));
+        if (this.batchSize[VERTEX_ARRAY] > 0)
+            device.deleteVertexArrays(Arrays.copyOf(this.batch[VERTEX_ARRAY], this.batchSize[VERTEX_ARRAY]));
+        if (this.batchSize[TEXTURE] > 0)
+            device.deleteTextures(Arrays.copyOf(this.batch[TEXTURE], this.batchSize[TEXTURE]));
+        if (event != null)
+            event.finish(this.batchSize[BUFFER], this.batchSize[VERTEX_ARRAY], this.batchSize[TEXTURE]);
+        Arrays.fill(this.batchSize, 0);
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the reclaimer of the Clockwork assets
+     * @return the reclaimer instance
+     */
+    public static GpuResourceReclaimer get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts tracking the GPU objects of the owner
+     * @param owner the asset, which owns the GPU objects
+     * @param kinds the kinds of the GPU objects ({@link #BUFFER}, {@link #VERTEX_ARRAY} or {@link #TEXTURE})
+     * @param names the names of the GPU objects (as they were generated by the GL)
+     * @return the tracker, which must be released, when the owner is terminated
+     */
+    public Tracker track(@NotNull final Object owner, @NotNull final int[] kinds, @NotNull final int[] names) {
+        final Tracker tracker = new Tracker(owner, this, kinds.clone(), names.clone());
+        this.tracked.add(tracker);
+        if (FlightRecording.AVAILABLE) new GpuResourceCreateEvent().finish(kinds);
+        return tracker;
+    }
+
+    /**
+     * Starts tracking a texture of the owner
+     * @param owner the asset, which owns the texture
+     * @param texture the name of the texture
+     * @return the tracker, which must be released, when the owner is terminated
+     */
+    public Tracker trackTexture(@NotNull final Object owner, final int texture) {
+        return this.track(owner, new int[]{TEXTURE}, new int[]{texture});
+    }
+
+    /**
+     * Deletes the released GPU objects.
+     * Must be called by the render thread (with the GL context), is called by Clockwork once per frame.
+     * The objects of a single tracker are always deleted together, so the budget may be slightly exceeded.
+     * @return the amount of GPU objects deleted
+     */
+    public int drain() {
+        return this.drain(Long.MAX_VALUE);
+    }
+
+    /**
+     * Deletes the GPU objects, which have been released before the epoch given.
+     * Must be called by the render thread (with the GL context).
+     * The queue is drained in the order of release, and the drain stops at the first object of a later epoch.
+     * @param epoch the epoch of the snapshot, which is being rendered
+     * @return the amount of GPU objects deleted
+     */
+    public int drain(final long epoch) {
+        this.pollCollected();
+        final int budget = this.budget;
+        int deleted = 0;
+        Tracker tracker;
+        while (deleted < budget && (tracker = this.released.peek()) != null && tracker.epoch < epoch) {
+            this.released.poll();
+            this.addToBatch(tracker);
+            deleted += tracker.names.length;
+        }
+        if (deleted == 0) return 0;
+        this.deleteBatch();
+        this.pendingCount.addAndGet(-deleted);
+        this.reclaimedCount.addAndGet(deleted);
+        return deleted;
+    }
+
+    /**
+     * Deletes all the released GPU objects regardless of the budget (e.g. before the GL context is destroyed)
+     * @return the amount of GPU objects deleted
+     */
+    public int drainAll() {
+        int deleted = 0, step;
+        while ((step = this.drain()) > 0) deleted += step;
+        return deleted;
+    }
+
+    /**
+     * Advances the reclamation epoch. Is called, when a {@link RenderSnapshot} is captured
+     * @return the new epoch
+     */
+    public long advanceEpoch() {
+        return this.epoch.incrementAndGet();
+    }
+
+    /**
+     * Gets the amount of the GPU objects, which have been released, but have not been deleted yet
+     * @return the amount of pending GPU objects
+     */
+    public int getPendingCount() {
+        return this.pendingCount.get();
+    }
+
+    /**
+     * Gets the amount of the GPU objects, which have been deleted
+     * @return the amount of reclaimed GPU objects
+     */
+    public long getReclaimedCount() {
+        return this.reclaimedCount.get();
+    }
+
+    /**
+     * Gets the amount of the assets, which were garbage collected without being terminated
+     * @return the amount of collected assets
+     */
+    public long getCollectedCount() {
+        return this.collectedCount.get();
+    }
+
+    /**
+     * Gets the amount of the assets, whose GPU objects are still in use
+     * @return the amount of tracked assets
+     */
+    public int getTrackedCount() {
+        return this.tracked.size();
+    }
+
+    /**
+     * Gets the maximum amount of GPU objects to delete in a frame
+     * @return the budget
+     */
+    public int getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Sets the maximum amount of GPU objects to delete in a frame
+     * @param budget the budget (a positive number)
+     */
+    public void setBudget(final int budget) {
+        if (budget <= 0) throw new IllegalArgumentException(ERROR_ILLEGAL_BUDGET);
+        this.budget = budget;
+    }
+    /*--------------------*/
+
+
+
+    /* TRACKER
+    /*--------------------*/
+
+    /**
+     * The GPU objects of an asset.
+     * The tracker does not reference the asset, so the asset can be collected.
+     */
+    public static final class Tracker extends PhantomReference<Object> {
+        /** The reclaimer, which deletes the GPU objects */
+        private final GpuResourceReclaimer reclaimer;
+        /** The kinds of the GPU objects */
+        private final int[] kinds;
+        /** The names of the GPU objects */
+        private final int[] names;
+        /** Whether the GPU objects have been released */
+        private final AtomicBoolean isReleased;
+        /** The reclamation epoch, in which the GPU objects were released */
+        private volatile long epoch;
+
+        private Tracker(final Object owner, final GpuResourceReclaimer reclaimer,
+                        final int[] kinds, final int[] names) {
+            super(owner, reclaimer.collected);
+            this.reclaimer = reclaimer;
+            this.kinds = kinds;
+            this.names = names;
+            this.isReleased = new AtomicBoolean(false);
+        }
+
+        /**
+         * Puts the GPU objects into the deletion queue. May be called from any thread, does nothing after the first call
+         * @return true, if the objects have been released by this call, else return false
+         */
+        public boolean release() {
+            if (!this.isReleased.compareAndSet(false, true)) return false;
+            this.clear();
+            this.reclaimer.tracked.remove(this);
+            this.reclaimer.pendingCount.addAndGet(this.names.length);
+            this.epoch = this.reclaimer.epoch.get();
+            this.reclaimer.released.add(this);
+            return true;
+        }
+
+        /**
+         * Checks, whether the GPU objects have been released
+         * @return true, if they have been released, else return false
+         */
+        public boolean isReleased() {
+            return this.isReleased.get();
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a reclaimer with the default budget
+     */
+    private GpuResourceReclaimer() {
+        this.released = new ConcurrentLinkedQueue<>();
+        this.collected = new ReferenceQueue<>();
+        this.tracked = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        this.pendingCount = new AtomicInteger();
+        this.reclaimedCount = new AtomicLong();
+        this.collectedCount = new AtomicLong();
+        this.epoch = new AtomicLong();
+        this.budget = DEFAULT_BUDGET;
+        this.batch = new int[KIND_COUNT][DEFAULT_BUDGET];
+        this.batchSize = new int[KIND_COUNT];
+    }
+    /*--------------------*/
+}
@@ -3,6 +3,7 @@ package spc.clockwork.graphics;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.core.GameAsset;
 import spc.clockwork.graphics.mesh.Mesh;
+import spc.clockwork.graphics.device.GraphicsDevices;
 import spc.clockwork.util.math.vector.Vector3f;
 
 import static org.lwjgl.opengl.GL11.*;
@@ -87,7 +88,7 @@ public final class Material extends GameAsset {
                 mode = GL_POINT;
                 break;
         }
-        glPolygonMode(GL_FRONT_AND_BACK, mode);
+        GraphicsDevices.get().polygonMode(GL_FRONT_AND_BACK, mode);
     }
     public Vector3f getAmbientColor() {
         return ambientColor;
@@ -102,6 +103,14 @@ public final class Material extends GameAsset {
         return texture;
     }
 
+    /**
+     * Checks, whether the material may be transparent, so it must be drawn after the opaque ones (back to front)
+     * @return true, if the material has a texture with an alpha channel, else return false
+     */
+    public boolean isTransparent() {
+        return this.texture != null && this.texture.hasAlpha();
+    }
+
     public Vector3f getDiffuseColor() {
         return diffuseColor;
     }
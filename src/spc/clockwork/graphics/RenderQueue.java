@@ -0,0 +1,224 @@
+package spc.clockwork.graphics;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.core.HandleAllocator;
+import spc.clockwork.graphics.mesh.Mesh;
+import spc.clockwork.util.math.matrix.Mat4;
+
+/**
+ * {@link RenderQueue} is the order, in which a {@link RenderSystem} draws the captured entities of a layer.
+ *
+ * Every entity gets a 64-bit key, and the entities are sorted by their keys (as unsigned numbers),
+ *      so the entities, which share the GPU state, are drawn in a row and the state is changed only between the runs.
+ * The key of an opaque entity is (from the highest bit to the lowest):
+ *      [0] [shader: 4] [polygon mode: 2] [texture: 14] [material: 14] [mesh: 14] [depth: 15],
+ *      so the opaque entities are grouped by the state and drawn front to back within a group.
+ * The key of a transparent entity (see {@link Material#isTransparent()}) is
+ *      [1] [inverted depth: 31] [0: 32],
+ *      so the transparent entities are drawn after the opaque ones, back to front.
+ * The sort is stable, so the entities with equal keys are drawn in the order of the layer.
+ *
+ * The ids of the assets in the keys are the slots of their handles, which may collide for a great amount of assets;
+ *      a collision breaks the grouping of the colliding assets only, since the system compares the assets themselves.
+ * The depth is the distance from the camera along its view direction, which is quantized by its float bits,
+ *      so it has the relative precision of the float mantissa bits, which fit into its field.
+ *
+ * The queue reuses its arrays, so it does not allocate, unless a layer gets more entities than ever before.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class RenderQueue {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /* ---- THE LAYOUT OF THE KEY ---- */
+    /** The bit of the transparent entities */
+    private static final long TRANSPARENT_BIT = 1L << 63;
+    /** The shift of the shader kind */
+    private static final int SHADER_SHIFT = 59;
+    /** The mask of the shader kind */
+    private static final int SHADER_MASK = (1 << 4) - 1;
+    /** The shift of the polygon mode */
+    private static final int POLYGON_MODE_SHIFT = 57;
+    /** The mask of the polygon mode */
+    private static final int POLYGON_MODE_MASK = (1 << 2) - 1;
+    /** The shift of the texture id */
+    private static final int TEXTURE_SHIFT = 43;
+    /** The shift of the material id */
+    private static final int MATERIAL_SHIFT = 29;
+    /** The shift of the mesh id */
+    private static final int MESH_SHIFT = 15;
+    /** The mask of the id of an asset */
+    private static final int ASSET_MASK = (1 << 14) - 1;
+    /** The amount of bits of the depth of an opaque entity */
+    private static final int DEPTH_BITS = 15;
+    /** The shift of the depth of a transparent entity */
+    private static final int TRANSPARENT_DEPTH_SHIFT = 32;
+    /** The largest depth of a transparent entity */
+    private static final long TRANSPARENT_DEPTH_MASK = (1L << 31) - 1;
+
+    /** The amount of queued entities */
+    private int size;
+    /** The keys of the entities of the layer */
+    private long[] keys;
+    /** The entities of the layer in the order of their keys */
+    private int[] order;
+    /** The scratch space of the sort */
+    private int[] scratch;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the id of an asset in a key
+     * @param handle the handle of the asset
+     * @return the id of the asset (never 0)
+     */
+    private static long idOf(final long handle) {
+        return HandleAllocator.slotOf(handle) % ASSET_MASK + 1;
+    }
+
+
+    /**
+     * Gets the distance of an entity from the camera along the view direction
+     * @param view the view matrix of the camera
+     * @param model the model matrix of the entity
+     * @return the non-negative distance of the origin of the entity
+     */
+    private static float depthOf(final Mat4 view, final Mat4 model) {
+        final float z = view.m20 * model.m03 + view.m21 * model.m13 + view.m22 * model.m23 + view.m23;
+        return z < 0f ? -z : 0f;
+    }
+
+
+    /**
+     * Computes the key of an entity
+     * @param shaderKind the kind of the shader of the layer
+     * @param material the material of the entity
+     * @param mesh the mesh of the entity
+     * @param depth the distance of the entity from the camera
+     * @return the key
+     */
+    private static long keyOf(final int shaderKind, final Material material, final Mesh mesh, final float depth) {
+        /* THE FLOAT BITS OF A NON-NEGATIVE FLOAT ARE ORDERED AS THE FLOATS ARE */
+        final int depthBits = Float.floatToIntBits(depth);
+        if (material.isTransparent())
+            return TRANSPARENT_BIT | (TRANSPARENT_DEPTH_MASK - depthBits) << TRANSPARENT_DEPTH_SHIFT;
+
+        final Texture texture = material.getTexture();
+        return (long) (shaderKind & SHADER_MASK) << SHADER_SHIFT
+                | (long) (material.getPolygonMode().ordinal() & POLYGON_MODE_MASK) << POLYGON_MODE_SHIFT
+                | (texture == null ? 0L : idOf(texture.getHandle())) << TEXTURE_SHIFT
+                | idOf(material.getHandle()) << MATERIAL_SHIFT
+                | idOf(mesh.getHandle()) << MESH_SHIFT
+                | depthBits >>> (Integer.SIZE - 1 - DEPTH_BITS);
+    }
+
+
+    /**
+     * Sorts the order of the entities by their keys (a stable bottom-up merge sort)
+     */
+    private void sort() {
+        int[] from = this.order, to = this.scratch;
+        for (int width = 1; width < this.size; width *= 2) {
+            for (int low = 0; low < this.size; low += 2 * width) {
+                final int middle = Math.min(low + width, this.size), high = Math.min(low + 2 * width, this.size);
+                int left = low, right = middle, out = low;
+                while (left < middle && right < high)
+                    to[out++] = Long.compareUnsigned(this.keys[from[right]], this.keys[from[left]]) < 0 ?
+                            from[right++] : from[left++];
+                while (left < middle) to[out++] = from[left++];
+                while (right < high) to[out++] = from[right++];
+            }
+            final int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        this.order = from;
+        this.scratch = to;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Queues the entities of a captured layer
+     * @param layer the captured layer
+     * @param shaderKind the kind of the shader, which renders the layer (the lowest 4 bits are used)
+     * @param sorted true, if the entities are sorted by their keys,
+     *               false, if they are drawn in the order of the layer (e.g. the overlapping 2d objects)
+     */
+    public void build(@NotNull final RenderSnapshot.LayerView layer, final int shaderKind, final boolean sorted) {
+        this.size = layer.entityCount();
+        if (this.order.length < this.size) {
+            final int capacity = Math.max(this.size, 2 * this.order.length);
+            this.keys = new long[capacity];
+            this.order = new int[capacity];
+            this.scratch = new int[capacity];
+        }
+
+        final Mat4 view = layer.getViewMatrix();
+        for (int i = 0; i < this.size; i++) {
+            this.order[i] = i;
+            this.keys[i] = sorted ?
+                    keyOf(shaderKind, layer.getMaterial(i), layer.getMesh(i), depthOf(view, layer.getModelMatrix(i))) :
+                    0L;
+        }
+        if (sorted) this.sort();
+    }
+
+
+    /**
+     * Gets the amount of queued entities
+     * @return the amount of entities
+     */
+    public int size() {
+        return this.size;
+    }
+
+
+    /**
+     * Gets an entity of the layer by its position in the queue
+     * @param position the position in the queue
+     * @return the index of the entity in the captured layer
+     */
+    public int entityAt(final int position) {
+        return this.order[position];
+    }
+
+
+    /**
+     * Gets the key of an entity by its position in the queue
+     * @param position the position in the queue
+     * @return the key of the entity
+     */
+    public long keyAt(final int position) {
+        return this.keys[this.order[position]];
+    }
+
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty queue
+     */
+    public RenderQueue() {
+        this.keys = new long[0];
+        this.order = new int[0];
+        this.scratch = new int[0];
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,607 @@
+package spc.clockwork.graphics;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.gameobject.Camera;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.gameobject.light.DirectionalLight;
+import spc.clockwork.gameobject.light.Light;
+import spc.clockwork.gameobject.light.PointLight;
+import spc.clockwork.gameobject.light.SpotLight;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.graphics.mesh.Mesh;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Vec3;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * {@link RenderSnapshot} is a copy of everything the render thread needs to draw a frame of a {@link GameWorld}:
+ *      the layers of each window in their rendering order, the view matrices of their main cameras,
+ *      the data of their lights and the model matrices, meshes and materials of their visible entities.
+ *
+ * A snapshot is captured by the tick thread right after a tick ({@link #capture(GameWorld, int, long, long)})
+ *      and is not changed after it has been published by a {@link RenderSnapshotBuffer},
+ *      so the render thread never reads the game objects, which are being updated by the next tick.
+ *
+ * The transformations are captured as they were at the end of the last two ticks, and the matrices and the lights
+ *      are blended between them by the render thread for every frame ({@link #interpolate(float)}):
+ *      the positions and the scales are lerped and the rotations are nlerped (slerped, if they are far apart).
+ * So the frames are drawn one tick behind the simulation, but move smoothly at any frame rate.
+ * The assets (meshes, materials, textures) and the layers are shared, not copied.
+ * The snapshot reuses its matrices and arrays, so capturing does not allocate, once the capacities are reached.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class RenderSnapshot {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The initial amount of entities of a layer, the arrays are grown on demand */
+    private static final int INITIAL_ENTITY_CAPACITY = 64;
+    /** The initial amount of lights of a layer, the arrays are grown on demand */
+    private static final int INITIAL_LIGHT_CAPACITY = 8;
+
+    /** An error message, if the Entity has no Material */
+    private static final String ERROR_ENTITY_HAS_NO_MATERIAL =
+            "Error: Entity has no Material at all: ";
+    /** An error message, if the Entity has no Mesh */
+    private static final String ERROR_ENTITY_HAS_NO_MESH =
+            "Error: Entity has no Mesh at all: ";
+
+    /** The dot product of two rotations, above which they are nlerped instead of slerped */
+    private static final float NLERP_THRESHOLD = 0.9995f;
+
+
+    /** The reclamation epoch, in which the snapshot was captured (zero, if it has never been captured) */
+    private long epoch;
+    /** The time, when the captured tick was due (as measured by {@link System#nanoTime()}) */
+    private long tickTime;
+    /** The tick period of the captured tick in nanoseconds */
+    private long tickPeriod;
+    /** The blended transformation (px, py, pz, qx, qy, qz, qw, s), which is reused by the render thread */
+    private final float[] blended = new float[TransformHierarchy.TICK_STATES_LENGTH / 2];
+    /** The layers of all windows */
+    private LayerView[] layers;
+    /** The amount of the captured layers */
+    private int layerCount;
+    /** The end of the layers of each window in the layer array */
+    private int[] windowLayerEnds;
+    /** The amount of the captured windows */
+    private int windowCount;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Takes the next layer view of the pool
+     * @return the view to fill
+     */
+    private LayerView nextLayer() {
+        if (this.layerCount == this.layers.length) {
+            this.layers = Arrays.copyOf(this.layers, this.layers.length * 2);
+        }
+        if (this.layers[this.layerCount] == null) this.layers[this.layerCount] = new LayerView();
+        return this.layers[this.layerCount++];
+    }
+
+
+    /**
+     * Copies a layer into the view
+     * @param name the name of the layer in its world
+     * @param layer the layer to copy
+     * @param view the view
+     */
+    private void captureLayer(final String name, final GameLayer layer, final LayerView view) {
+        view.clear();
+        view.name = name;
+        view.layer = layer;
+        view.isVisible = layer.getVisible();
+        if (!view.isVisible) return;
+
+        /* ---- CAMERA ---- */
+        final Camera camera = layer.getMainCamera();
+        view.hasCamera = camera != null;
+        if (view.hasCamera) camera.copyTickStates(view.cameraStates, 0);
+
+        /* ---- LIGHTS ---- */
+        final int lightCount = layer.lightCount();
+        for (int i = 0; i < lightCount; i++) view.nextLight().set(layer.getLight(i));
+
+        /* ---- ENTITIES IN THE ORDER OF THE LAYER (THE UNSORTED LAYERS ARE DRAWN IN THIS ORDER) ---- */
+        final int entityCount = layer.entityCount();
+        for (int i = 0; i < entityCount; i++) this.captureEntity(layer.getEntity(i), view);
+    }
+
+
+    /**
+     * Copies an entity into a layer, if it is visible (by its own and its inherited visibility in the store)
+     * @param entity the entity
+     * @param view the view of the layer
+     */
+    private void captureEntity(final Entity entity, final LayerView view) {
+        if (!entity.getVisible()) return;
+        if (!entity.hasMaterial() || !entity.hasMesh()) {
+            if (!entity.hasMaterial()) System.err.println(ERROR_ENTITY_HAS_NO_MATERIAL + "\n" + entity.toString());
+            if (!entity.hasMesh()) System.err.println(ERROR_ENTITY_HAS_NO_MESH + "\n" + entity.toString());
+            return;
+        }
+        view.addEntity(entity.getMesh(), entity.getMaterial());
+        entity.copyTickStates(view.entityStates, (view.entityCount - 1) * TransformHierarchy.TICK_STATES_LENGTH);
+    }
+
+
+    /**
+     * Blends the tick states (px, py, pz, qx, qy, qz, qw, s twice) into {@link #blended}
+     * @param states the array of the tick states
+     * @param offset the offset of the tick states in the array
+     * @param alpha the blend factor: zero for the previous state, one for the current one
+     */
+    private void blend(final float[] states, final int offset, final float alpha) {
+        final float[] blended = this.blended;
+        final int current = offset + blended.length;
+
+        /* ---- POSITION AND SCALE ---- */
+        blended[0] = states[offset] + (states[current] - states[offset]) * alpha;
+        blended[1] = states[offset + 1] + (states[current + 1] - states[offset + 1]) * alpha;
+        blended[2] = states[offset + 2] + (states[current + 2] - states[offset + 2]) * alpha;
+        blended[7] = states[offset + 7] + (states[current + 7] - states[offset + 7]) * alpha;
+
+        /* ---- ROTATION (ALONG THE SHORTEST ARC) ---- */
+        final float ax = states[offset + 3], ay = states[offset + 4], az = states[offset + 5], aw = states[offset + 6];
+        float bx = states[current + 3], by = states[current + 4], bz = states[current + 5], bw = states[current + 6];
+        float cos = ax * bx + ay * by + az * bz + aw * bw;
+        if (cos < 0f) {
+            bx = -bx; by = -by; bz = -bz; bw = -bw;
+            cos = -cos;
+        }
+        float weightA = 1f - alpha, weightB = alpha;
+        if (cos < NLERP_THRESHOLD) {
+            final double angle = Math.acos(cos);
+            final double sin = Math.sin(angle);
+            weightA = (float) (Math.sin((1.0 - alpha) * angle) / sin);
+            weightB = (float) (Math.sin(alpha * angle) / sin);
+        }
+        final float x = ax * weightA + bx * weightB, y = ay * weightA + by * weightB;
+        final float z = az * weightA + bz * weightB, w = aw * weightA + bw * weightB;
+        final float length = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+        if (length == 0f) {
+            System.arraycopy(states, current + 3, blended, 3, 4);
+            return;
+        }
+        blended[3] = x / length;
+        blended[4] = y / length;
+        blended[5] = z / length;
+        blended[6] = w / length;
+    }
+
+
+    /**
+     * Blends the light into its position and direction
+     * @param light the light view
+     * @param alpha the blend factor
+     */
+    private void interpolateLight(final LightView light, final float alpha) {
+        this.blend(light.states, 0, alpha);
+        final float[] b = this.blended;
+        final float x = b[3], y = b[4], z = b[5], w = b[6];
+        light.position.set(b[0], b[1], b[2]);
+        /* THE FORWARD DIRECTION IS -Z OF THE ROTATION */
+        light.direction.set(-2f * (x * z + y * w), -2f * (y * z - x * w), -(1f - 2f * (x * x + y * y)));
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Copies the renderable state of the world into this snapshot, replacing its previous contents.
+     * Must be called by the thread, which updates the world (after the world transformations have been updated)
+     * @param gameWorld the world to copy
+     * @param windowCount the amount of windows to capture the layers for
+     * @param tickTime the time, when the last tick was due (as measured by {@link System#nanoTime()})
+     * @param tickPeriod the tick period in nanoseconds
+     */
+    public void capture(@NotNull final GameWorld gameWorld, final int windowCount,
+                        final long tickTime, final long tickPeriod) {
+        this.epoch = GpuResourceReclaimer.get().advanceEpoch();
+        this.tickTime = tickTime;
+        this.tickPeriod = tickPeriod;
+        final int previousLayerCount = this.layerCount;
+        this.layerCount = 0;
+        if (this.windowLayerEnds.length < windowCount) this.windowLayerEnds = new int[windowCount];
+        this.windowCount = windowCount;
+
+        for (int window = 0; window < windowCount; window++) {
+            final Iterator<String> renderingQueue = gameWorld.layerQueueIterator(window);
+            while (renderingQueue.hasNext()) {
+                final String name = renderingQueue.next();
+                final GameLayer layer = gameWorld.getLayer(name);
+                if (layer != null) this.captureLayer(name, layer, this.nextLayer());
+            }
+            this.windowLayerEnds[window] = this.layerCount;
+        }
+
+        /* ---- THE UNUSED VIEWS MUST NOT KEEP THE TERMINATED ASSETS REACHABLE ---- */
+        for (int i = this.layerCount; i < previousLayerCount; i++) this.layers[i].clear();
+    }
+
+
+    /**
+     * Computes the blend factor of a frame, which is drawn at the time given:
+     *      the part of the tick period, which has passed since the captured tick was due
+     * @param time the time of the frame (as measured by {@link System#nanoTime()})
+     * @return the blend factor between zero and one (one, if the snapshot has never been captured)
+     */
+    public float getAlpha(final long time) {
+        if (this.tickPeriod <= 0L) return 1f;
+        final float alpha = (float) ((double) (time - this.tickTime) / this.tickPeriod);
+        return alpha < 0f ? 0f : Math.min(alpha, 1f);
+    }
+
+
+    /**
+     * Blends the view matrices, the model matrices and the lights between the last two captured ticks.
+     * Must be called by the thread, which renders the snapshot, before the snapshot is rendered
+     * @param alpha the blend factor: zero for the tick before the last one, one for the last tick
+     */
+    public void interpolate(final float alpha) {
+        final float[] b = this.blended;
+        for (int i = 0; i < this.layerCount; i++) {
+            final LayerView view = this.layers[i];
+            if (!view.isVisible) continue;
+
+            /* ---- CAMERA ---- */
+            if (view.hasCamera) {
+                this.blend(view.cameraStates, 0, alpha);
+                view.viewMatrix.inverseTranslationRotation(b[0], b[1], b[2], b[3], b[4], b[5], b[6]);
+            } else {
+                view.viewMatrix.identity();
+            }
+
+            /* ---- LIGHTS ---- */
+            for (int light = 0; light < view.lightCount; light++) this.interpolateLight(view.lights[light], alpha);
+
+            /* ---- ENTITIES ---- */
+            for (int entity = 0; entity < view.entityCount; entity++) {
+                this.blend(view.entityStates, entity * TransformHierarchy.TICK_STATES_LENGTH, alpha);
+                view.modelMatrices[entity].translationRotateScale(
+                        b[0], b[1], b[2], b[3], b[4], b[5], b[6], b[7], b[7], b[7]);
+            }
+        }
+    }
+
+
+    /**
+     * Gets the reclamation epoch of the snapshot (the epochs grow with each capture).
+     * The GPU objects released before this epoch are not referenced by the snapshot.
+     * @return the epoch or zero, if the snapshot has never been captured
+     */
+    public long getEpoch() {
+        return this.epoch;
+    }
+
+
+    /**
+     * Gets the amount of layers of the window
+     * @param window the position of the window in its manager
+     * @return the amount of layers to render in the window
+     */
+    public int layerCount(final int window) {
+        if (window >= this.windowCount) return 0;
+        return window == 0 ? this.windowLayerEnds[0] : this.windowLayerEnds[window] - this.windowLayerEnds[window - 1];
+    }
+
+
+    /**
+     * Gets a layer of the window
+     * @param window the position of the window in its manager
+     * @param index the index of the layer in the rendering order of the window
+     * @return the layer view
+     */
+    public LayerView getLayer(final int window, final int index) {
+        return this.layers[(window == 0 ? 0 : this.windowLayerEnds[window - 1]) + index];
+    }
+    /*--------------------*/
+
+
+
+    /* LAYER VIEW
+    /*--------------------*/
+
+    /**
+     * The captured state of a {@link GameLayer}
+     */
+    public static final class LayerView {
+        /** The name of the layer in its world */
+        private String name;
+        /** The layer (its render system and rendering parameters are used by the render thread) */
+        private GameLayer layer;
+        /** Whether the layer is visible */
+        private boolean isVisible;
+        /** Whether the layer has a main camera */
+        private boolean hasCamera;
+        /** The tick states of the main camera of the layer */
+        private final float[] cameraStates = new float[TransformHierarchy.TICK_STATES_LENGTH];
+        /** The interpolated view matrix of the main camera of the layer (the identity, if there is no camera) */
+        private final Mat4 viewMatrix = new Mat4();
+
+        /** The meshes of the entities */
+        private Mesh[] meshes = new Mesh[INITIAL_ENTITY_CAPACITY];
+        /** The materials of the entities */
+        private Material[] materials = new Material[INITIAL_ENTITY_CAPACITY];
+        /** The tick states of the entities */
+        private float[] entityStates = new float[INITIAL_ENTITY_CAPACITY * TransformHierarchy.TICK_STATES_LENGTH];
+        /** The interpolated model matrices of the entities */
+        private Mat4[] modelMatrices = new Mat4[INITIAL_ENTITY_CAPACITY];
+        /** The amount of the entities */
+        private int entityCount;
+
+        /** The lights of the layer */
+        private LightView[] lights = new LightView[INITIAL_LIGHT_CAPACITY];
+        /** The amount of the lights */
+        private int lightCount;
+
+        private LayerView() {}
+
+        /**
+         * Empties the view, dropping the references to the layer and the assets
+         */
+        private void clear() {
+            Arrays.fill(this.meshes, 0, this.entityCount, null);
+            Arrays.fill(this.materials, 0, this.entityCount, null);
+            this.name = null;
+            this.layer = null;
+            this.entityCount = 0;
+            this.lightCount = 0;
+        }
+
+        /**
+         * Adds an entity to the view (its tick states are copied by the caller)
+         * @param mesh the mesh of the entity
+         * @param material the material of the entity
+         */
+        private void addEntity(final Mesh mesh, final Material material) {
+            if (this.entityCount == this.meshes.length) {
+                final int capacity = this.meshes.length * 2;
+                this.meshes = Arrays.copyOf(this.meshes, capacity);
+                this.materials = Arrays.copyOf(this.materials, capacity);
+                this.entityStates = Arrays.copyOf(this.entityStates, capacity * TransformHierarchy.TICK_STATES_LENGTH);
+                this.modelMatrices = Arrays.copyOf(this.modelMatrices, capacity);
+            }
+            if (this.modelMatrices[this.entityCount] == null) this.modelMatrices[this.entityCount] = new Mat4();
+            this.meshes[this.entityCount] = mesh;
+            this.materials[this.entityCount] = material;
+            this.entityCount++;
+        }
+
+        /**
+         * Takes the next light view of the pool
+         * @return the view to fill
+         */
+        private LightView nextLight() {
+            if (this.lightCount == this.lights.length) this.lights = Arrays.copyOf(this.lights, this.lights.length * 2);
+            if (this.lights[this.lightCount] == null) this.lights[this.lightCount] = new LightView();
+            return this.lights[this.lightCount++];
+        }
+
+        /**
+         * Gets the layer
+         * @return the layer, which was captured
+         */
+        public GameLayer getLayer() {
+            return this.layer;
+        }
+
+        /**
+         * Gets the name of the layer
+         * @return the name of the layer in its world, as it was captured
+         */
+        public String getLayerName() {
+            return this.name;
+        }
+
+        /**
+         * Checks, whether the layer was visible
+         * @return true, if the layer must be rendered, else return false
+         */
+        public boolean isVisible() {
+            return this.isVisible;
+        }
+
+        /**
+         * Gets the interpolated view matrix of the main camera of the layer
+         * @return the view matrix
+         */
+        public Mat4 getViewMatrix() {
+            return this.viewMatrix;
+        }
+
+        /**
+         * Gets the amount of the visible entities of the layer
+         * @return the amount of entities
+         */
+        public int entityCount() {
+            return this.entityCount;
+        }
+
+        /**
+         * Gets the mesh of an entity
+         * @param entity the index of the entity
+         * @return the mesh
+         */
+        public Mesh getMesh(final int entity) {
+            return this.meshes[entity];
+        }
+
+        /**
+         * Gets the material of an entity
+         * @param entity the index of the entity
+         * @return the material
+         */
+        public Material getMaterial(final int entity) {
+            return this.materials[entity];
+        }
+
+        /**
+         * Gets the interpolated model matrix of an entity
+         * @param entity the index of the entity
+         * @return the model matrix
+         */
+        public Mat4 getModelMatrix(final int entity) {
+            return this.modelMatrices[entity];
+        }
+
+        /**
+         * Gets the amount of the lights of the layer
+         * @return the amount of lights
+         */
+        public int lightCount() {
+            return this.lightCount;
+        }
+
+        /**
+         * Gets a light of the layer
+         * @param light the index of the light
+         * @return the light view
+         */
+        public LightView getLight(final int light) {
+            return this.lights[light];
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* LIGHT VIEW
+    /*--------------------*/
+
+    /**
+     * The captured state of a {@link Light} in the world space
+     */
+    public static final class LightView {
+        /** The kind of a {@link PointLight} */
+        public static final int POINT = Light.POINT;
+        /** The kind of a {@link DirectionalLight} */
+        public static final int DIRECTIONAL = Light.DIRECTIONAL;
+        /** The kind of a {@link SpotLight} */
+        public static final int SPOT = Light.SPOT;
+        /** The kind of a light, which is not supported by the shaders */
+        public static final int UNKNOWN = Light.UNKNOWN;
+
+        /** The kind of the light */
+        private int kind;
+        /** The tick states of the light */
+        private final float[] states = new float[TransformHierarchy.TICK_STATES_LENGTH];
+        /** The interpolated absolute position of the light */
+        private final Vec3 position = new Vec3();
+        /** The interpolated absolute direction of the light */
+        private final Vec3 direction = new Vec3();
+        /** The color of the light */
+        private final Vec3 color = new Vec3();
+        /** The intensity of the light */
+        private float intensity;
+        /** The attenuation of the light (point and spot lights) */
+        private float constantAttenuation, linearAttenuation, exponentAttenuation;
+        /** The cosine of the cone angle (spot lights) */
+        private float cosOfConeAngle;
+
+        private LightView() {}
+
+        /**
+         * Copies the light
+         * @param light the light to copy
+         */
+        private void set(final Light light) {
+            light.copyTickStates(this.states, 0);
+            this.color.set(light.getColor());
+            this.intensity = light.getIntensity();
+            this.kind = light.getKind();
+            switch (this.kind) {
+                case POINT:
+                    final PointLight pointLight = (PointLight) light;
+                    this.constantAttenuation = pointLight.getConstAttenuation();
+                    this.linearAttenuation = pointLight.getLinAttenuation();
+                    this.exponentAttenuation = pointLight.getExptAttenuation();
+                    break;
+                case SPOT:
+                    final SpotLight spotLight = (SpotLight) light;
+                    this.constantAttenuation = spotLight.getConstAttenuation();
+                    this.linearAttenuation = spotLight.getLinAttenuation();
+                    this.exponentAttenuation = spotLight.getExptAttenuation();
+                    this.cosOfConeAngle = (float) Math.cos(Math.toRadians(spotLight.getConeAngle()));
+                    break;
+            }
+        }
+
+        /** @return the kind of the light ({@link #POINT}, {@link #DIRECTIONAL}, {@link #SPOT} or {@link #UNKNOWN}) */
+        public int getKind() {
+            return this.kind;
+        }
+
+        /** @return the absolute position of the light */
+        public Vec3 getPosition() {
+            return this.position;
+        }
+
+        /** @return the absolute direction of the light */
+        public Vec3 getDirection() {
+            return this.direction;
+        }
+
+        /** @return the color of the light */
+        public Vec3 getColor() {
+            return this.color;
+        }
+
+        /** @return the intensity of the light */
+        public float getIntensity() {
+            return this.intensity;
+        }
+
+        /** @return the constant attenuation of the light */
+        public float getConstAttenuation() {
+            return this.constantAttenuation;
+        }
+
+        /** @return the linear attenuation of the light */
+        public float getLinAttenuation() {
+            return this.linearAttenuation;
+        }
+
+        /** @return the exponent attenuation of the light */
+        public float getExptAttenuation() {
+            return this.exponentAttenuation;
+        }
+
+        /** @return the cosine of the cone angle of the spot light */
+        public float getCosOfConeAngle() {
+            return this.cosOfConeAngle;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty snapshot
+     */
+    public RenderSnapshot() {
+        this.layers = new LayerView[4];
+        this.windowLayerEnds = new int[1];
+    }
+    /*--------------------*/
+}
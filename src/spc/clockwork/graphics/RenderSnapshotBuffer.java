@@ -0,0 +1,97 @@
+package spc.clockwork.graphics;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free triple buffer of {@link RenderSnapshot}s, which passes the snapshots from the tick thread
+ *      to the render thread.
+ *
+ * The producer (the tick thread) captures the world into the back snapshot and publishes it, swapping it with
+ *      the middle one. The consumer (the render thread) acquires the latest published snapshot, swapping its
+ *      front snapshot with the middle one, if a newer one has been published since the last acquisition.
+ * The swaps are single atomic exchanges of the middle index, so neither thread ever waits for the other:
+ *      the producer overwrites the snapshots, which have not been consumed, and the consumer keeps rendering
+ *      its front snapshot, until a newer one is published.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class RenderSnapshotBuffer {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The bits of the middle state, which hold the index of the middle snapshot */
+    private static final int INDEX_MASK = 0b11;
+    /** The bit of the middle state, which is set, if the middle snapshot has not been acquired yet */
+    private static final int FRESH = 0b100;
+
+    /** The snapshots */
+    private final RenderSnapshot[] snapshots;
+    /** The index of the middle snapshot and the {@link #FRESH} bit */
+    private final AtomicInteger middle;
+    /** The index of the snapshot, which is being captured (the producer only) */
+    private int back;
+    /** The index of the snapshot, which is being rendered (the consumer only) */
+    private int front;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the snapshot to capture the world into. Must be called by the producer only
+     * @return the back snapshot
+     */
+    public RenderSnapshot getBack() {
+        return this.snapshots[this.back];
+    }
+
+
+    /**
+     * Publishes the back snapshot, so it could be acquired by the consumer. Must be called by the producer only
+     */
+    public void publish() {
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+    }
+
+
+    /**
+     * Gets the latest published snapshot. Must be called by the consumer only.
+     * The snapshot stays unchanged, until the next call of this method.
+     * @return the front snapshot (an empty one, if nothing has been published yet)
+     */
+    public RenderSnapshot acquire() {
+        if ((this.middle.get() & FRESH) != 0) this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+        return this.snapshots[this.front];
+    }
+
+
+    /**
+     * Checks, whether a snapshot has been published since the last acquisition
+     * @return true, if the next {@link #acquire()} returns a newer snapshot, else return false
+     */
+    public boolean hasFresh() {
+        return (this.middle.get() & FRESH) != 0;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a buffer of three empty snapshots
+     */
+    public RenderSnapshotBuffer() {
+        this.snapshots = new RenderSnapshot[]{new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+    /*--------------------*/
+}
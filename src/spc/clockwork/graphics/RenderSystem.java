@@ -1,21 +1,19 @@
 package spc.clockwork.graphics;
 
 import com.sun.istack.internal.NotNull;
-import spc.clockwork.gameobject.Camera;
-import spc.clockwork.gameobject.entity.Entity;
-import spc.clockwork.gameobject.light.Light;
-import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
 import spc.clockwork.graphics.mesh.Mesh;
 import spc.clockwork.graphics.shader.*;
-import spc.clockwork.util.math.vector.Vector3f;
-
-import java.util.Iterator;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Vec3;
 
 import static org.lwjgl.opengl.GL11.*;
 
 /**
  * A class that is responsible to draw objects by means of using {@link spc.clockwork.graphics.shader.ShaderProgram}
- * {@link RenderSystem} gets a {@link spc.clockwork.gameobject.GameObject} and creates vectors and matrices out of them
+ * {@link RenderSystem} gets the entities of a layer, as they were captured by a {@link RenderSnapshot},
+ * and uploads their matrices and materials into the shader
  * {@link RenderSystem} is owned by each {@link spc.clockwork.window.Window}.
  *
  * This class is complete, however, if there are brand new kinds of GameObjects, inheritance is possible
@@ -33,22 +31,30 @@ public class RenderSystem {
             "Error: RenderSystem class does not know this shader. " +
                     "You have to modify the renderLayer methods in order to support this shader." +
                     "\nShader type: ";
-    /** An error message, if the game world has no camera */
-    private final String ERROR_GW_HAS_NO_CAMERA =
-            "Error: The GameObjectCollectionOld provided has no Camera and thus cannot be rendered";
-    /** An error message, if the Entity has no Material */
-    private final String ERROR_ENTITY_HAS_NO_MATERIAL =
-            "Error: Entity has no Material at all: ";
-    /** An error message, if the Entity has no Mesh */
-    private final String ERROR_ENTITY_HAS_NO_MESH =
-            "Error: Entity has no Mesh at all: ";
+
+
+    /* ---- THE KINDS OF THE SHADERS, WHICH ARE KNOWN TO THE SYSTEM ---- */
+    /** The shader is unknown */
+    private static final int UNKNOWN_SHADER = 0;
+    /** {@link BasicShader} */
+    private static final int BASIC_SHADER = 1;
+    /** {@link BasicPerspectiveShader} */
+    private static final int BASIC_PERSPECTIVE_SHADER = 2;
+    /** {@link PhongShader} */
+    private static final int PHONG_SHADER = 3;
+    /** {@link HUDShader} */
+    private static final int HUD_SHADER = 4;
 
 
     /** A personal {@link ShaderProgram} of this object */
     private final ShaderProgram shaderProgram;
+    /** The kind of the shader program of this object */
+    private final int shaderKind;
+    /** The order, in which the entities of a layer are drawn */
+    private final RenderQueue renderQueue;
 
     /** A clear color of this rendering */
-    private Vector3f clearColor;
+    private final Vec3 clearColor = new Vec3();
     /** An alpha chanel of clear color of this rendering */
     private float clearColorAlpha;
 
@@ -61,114 +67,41 @@ public class RenderSystem {
     /*--------------------*/
 
     /**
-     * Renders the mesh of the entity after the shader uniforms were set up
-     * @param mesh a mesh to render
-     */
-    private void renderMesh(Mesh mesh) {
-        mesh.render();
-    }
-
-    /* ----- SHADER PROCESSING ----- */
-
-    /**
-     * Processes the entity using {@link BasicShader}.
-     * @param entity An entity to getConst mesh
-     * @throws ClassCastException the exception will be thrown, if the system's shader is not {@link BasicShader}
-     */
-    private void processWithBasicShader(Entity entity) throws ClassCastException {
-        BasicShader program = (BasicShader) shaderProgram;
-        this.renderMesh(entity.getMesh());
-    }
-
-
-    /**
-     * Processes the entity using {@link BasicPerspectiveShader}.
-     * @param camera A camera to set view matrix
-     * @param entity An entity to set model matrix and to getConst mesh and material from
-     * @throws ClassCastException will be thrown, if the system's shader is not {@link BasicPerspectiveShader}
-     */
-    private void processWithBasicPerspectiveShader(Camera camera, Entity entity) throws ClassCastException {
-        BasicPerspectiveShader program = (BasicPerspectiveShader) shaderProgram;
-        program.setModelViewMatrix(camera, entity);
-        program.setMeshColor(entity);
-        program.setHasTexture(entity);
-        program.setTextureSampler(entity);
-        if (entity.hasTexture()) entity.getMaterial().getTexture().bind();
-        this.renderMesh(entity.getMesh());
-        if (entity.hasTexture()) entity.getMaterial().getTexture().unbind();
-    }
-
-
-    /**
-     * Processes the entity using {@link PhongShader}
-     * @param camera A camera to set view matrix
-     * @param entity An entity to set model matrix and to getConst mesh and material from
-     * @param lights An iterator of lights. The lights provided will influence the object's image.
-     * @throws ClassCastException will be thrown, if the system's shader is not {@link PhongShader}
+     * Gets the kind of a shader program (the exact class of the program must be known to the system)
+     * @param shaderProgram the shader program
+     * @return the kind of the shader
      */
-    private void processWithPhongShader(Camera camera, Entity entity, Iterator<Light> lights)
-            throws ClassCastException {
-        PhongShader program = (PhongShader) shaderProgram;
-        program.setLocalUniforms(camera, entity, lights);
-        if (entity.hasTexture()) entity.getMaterial().getTexture().bind();
-        this.renderMesh(entity.getMesh());
-        if (entity.hasTexture()) entity.getMaterial().getTexture().unbind();
+    private static int kindOf(ShaderProgram shaderProgram) {
+        final Class<?> type = shaderProgram.getClass();
+        if (type == BasicShader.class) return BASIC_SHADER;
+        if (type == BasicPerspectiveShader.class) return BASIC_PERSPECTIVE_SHADER;
+        if (type == PhongShader.class) return PHONG_SHADER;
+        if (type == HUDShader.class) return HUD_SHADER;
+        return UNKNOWN_SHADER;
     }
 
 
     /**
-     * Processes the entity using {@link HUDShader}
-     * @param entity An entity to render
-     * @throws ClassCastException will be thrown, if the system's shader is not {@link HUDShader}
+     * Sets up the uniforms of a single captured entity (the uniforms of the layer must have been set up)
+     * @param viewMatrix the view matrix of the camera
+     * @param modelMatrix the model matrix of the entity
+     * @param material the material of the entity
      */
-    private void processWithHUDShader(Entity entity) throws ClassCastException{
-        HUDShader program = (HUDShader) shaderProgram;
-        program.setLocalUniforms(entity);
-        if (entity.hasTexture()) entity.getMaterial().getTexture().bind();
-        this.renderMesh(entity.getMesh());
-        if (entity.hasTexture()) entity.getMaterial().getTexture().unbind();
-    }
-
-    /* ----- OTHER ----- */
-
-    /**
-     * Checks, what kind of shader program this object operates
-     * @param c class of the ShaderProgram
-     * @return true, if it belongs to the same class as argument, false otherwise
-     */
-    private boolean shaderProgramIs(Class c) {
-        return (this.shaderProgram.getClass().getCanonicalName().equals(c.getCanonicalName()));
-    }
-
-
-    /**
-     * Renders the single entity using the shaderProgram, which was given
-     * @param entity a single entity to renderLayer
-     */
-    private void renderEntity(Camera camera, Entity entity, Iterator<Light> lights) {
-        /* ---- Checking entity visibility ---- */
-        if(entity.getVisible()) {
-            /* ---- Checking entity correctness ---- */
-            if(entity.hasMaterial() && entity.hasMesh()) {
-                /* ---- Choosing render methods and rendering shader ---- */
-
-                /* -- Methods -- */
-                entity.getMaterial().setupPolygonMode();
-
-                /* -- Shader -- */
-                if (this.shaderProgramIs(BasicShader.class))
-                    this.processWithBasicShader(entity);
-                else if (this.shaderProgramIs(BasicPerspectiveShader.class))
-                    this.processWithBasicPerspectiveShader(camera, entity);
-                else if (this.shaderProgramIs(PhongShader.class))
-                    this.processWithPhongShader(camera, entity, lights);
-                else if (this.shaderProgramIs(HUDShader.class))
-                    this.processWithHUDShader(entity);
-                else System.err.println(ERROR_UNKNOWN_SHADER_TYPE + this.shaderProgram.getClass().getCanonicalName());
-            } else {
-                if(!entity.hasMaterial()) System.err.println(ERROR_ENTITY_HAS_NO_MATERIAL + "\n" + entity.toString());
-                if(!entity.hasMesh()) System.err.println(ERROR_ENTITY_HAS_NO_MESH + "\n" + entity.toString());
-            }
+    private void setEntityUniforms(Mat4 viewMatrix, Mat4 modelMatrix, Material material) {
+        switch (this.shaderKind) {
+            case BASIC_PERSPECTIVE_SHADER:
+                final BasicPerspectiveShader basicPerspectiveShader = (BasicPerspectiveShader) this.shaderProgram;
+                basicPerspectiveShader.setModelViewMatrix(viewMatrix, modelMatrix);
+                basicPerspectiveShader.setMeshColor(material);
+                basicPerspectiveShader.setHasTexture(material);
+                basicPerspectiveShader.setTextureSampler(material);
+                break;
+            case PHONG_SHADER:
+                ((PhongShader) this.shaderProgram).setLocalUniforms(viewMatrix, modelMatrix, material);
+                break;
+            case HUD_SHADER:
+                ((HUDShader) this.shaderProgram).setLocalUniforms(modelMatrix, material);
+                break;
         }
     }
 
@@ -187,7 +120,7 @@ public class RenderSystem {
      * @param alpha alpha channel (value range from 0f to 1f)
      */
     public void setClearColor(float red, float green, float blue, float alpha) {
-        this.clearColor = new Vector3f(red, green, blue);
+        this.clearColor.set(red, green, blue);
         this.clearColorAlpha = alpha;
     }
 
@@ -208,30 +141,73 @@ public class RenderSystem {
      * Is called before every frame renderLayer.
      */
     public void clearFrame() {
-        glClearColor(this.clearColor.x(), this.clearColor.y(), this.clearColor.z(), this.clearColorAlpha);
-        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+        final GraphicsDevice device = GraphicsDevices.get();
+        device.clearColor(this.clearColor.x, this.clearColor.y, this.clearColor.z, this.clearColorAlpha);
+        device.clear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
     }
 
 
     /**
      * The method, which is called by {@link spc.clockwork.graphics.layer.GameLayer},
-     * gets the {@link GameLayer}, which contains {@link spc.clockwork.gameobject.GameObject}s,
+     * gets the {@link RenderSnapshot.LayerView}, which contains the captured entities of the layer,
      * and creates an image out of them. This method is called at each frame.
-     * @param layer the layer to render
+     * @param layer the captured layer to render
+     * @return the amount of entities drawn
      */
-    public void renderLayer(@NotNull final GameLayer layer) {
+    public int renderLayer(@NotNull final RenderSnapshot.LayerView layer) {
+
+        if (this.shaderKind == UNKNOWN_SHADER) {
+            System.err.println(ERROR_UNKNOWN_SHADER_TYPE + this.shaderProgram.getClass().getCanonicalName());
+            return 0;
+        }
 
         /* ---- Setting things up ---- */
         this.shaderProgram.bind();
         this.shaderProgram.setGlobalUniforms();
+        if (this.shaderKind == PHONG_SHADER) ((PhongShader) this.shaderProgram).setLightUniforms(layer);
+
+        /* ---- Sorting Entities (THE OVERLAPPING 2D OBJECTS ARE DRAWN IN THE ORDER OF THE LAYER) ---- */
+        final RenderQueue queue = this.renderQueue;
+        queue.build(layer, this.shaderKind, this.shaderKind != HUD_SHADER);
+
+        /* ---- Rendering Entities (THE STATE IS CHANGED ONLY, WHEN IT DIFFERS FROM THE PREVIOUS ENTITY) ---- */
+        final Mat4 viewMatrix = layer.getViewMatrix();
+        Material.PolygonMode polygonMode = null;
+        Texture texture = null;
+        Mesh mesh = null;
+        boolean meshBound = false;
+        int draws = 0;
+        for (int i = 0; i < queue.size(); i++) {
+            final int entity = queue.entityAt(i);
+            final Material material = layer.getMaterial(entity);
+            final Mesh entityMesh = layer.getMesh(entity);
+
+            if (material.getPolygonMode() != polygonMode) {
+                polygonMode = material.getPolygonMode();
+                material.setupPolygonMode();
+            }
+            if (material.getTexture() != texture) {
+                if (material.hasTexture()) material.getTexture().bind();
+                else texture.unbind();
+                texture = material.getTexture();
+            }
+            this.setEntityUniforms(viewMatrix, layer.getModelMatrix(entity), material);
 
-        /* ---- Rendering Entities ---- */
-        Iterator<Entity> entities = layer.entityIterator();
-        while (entities.hasNext())
-            this.renderEntity(layer.getMainCamera(), entities.next(), layer.lightIterator());
+            if (entityMesh != mesh) {
+                if (meshBound) mesh.unbind();
+                mesh = entityMesh;
+                meshBound = mesh.bind();
+            }
+            if (!meshBound) continue;
+            mesh.draw();
+            draws++;
+        }
 
         /* ---- Cleaning up ---- */
+        if (meshBound) mesh.unbind();
+        if (texture != null) texture.unbind();
         this.shaderProgram.unbind();
+        return draws;
     }
 
 
@@ -255,6 +231,8 @@ public class RenderSystem {
      */
     public RenderSystem(ShaderProgram shaderProgram) {
         this.shaderProgram = shaderProgram;
+        this.shaderKind = kindOf(shaderProgram);
+        this.renderQueue = new RenderQueue();
         this.setClearColor(0f,0f,0f,1f);
     }
 
@@ -2,21 +2,31 @@ package spc.clockwork.graphics;
 
 import de.matthiasmann.twl.utils.PNGDecoder;
 import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Clockwork;
 import spc.clockwork.core.GameAsset;
 import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.util.jfr.AssetLoadEvent;
+import spc.clockwork.util.jfr.FlightRecording;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL30.glGenerateMipmap;
 
 /**
  * An immutable class that gets, decodes (with the help of a side library) a PNG image and loads it into the GPU
  * memory, providing a pointer to it. Can be assigned to the {@link Material} in order to be rendered on the
  * {@link Entity}
  *
+ * A texture, which is constructed off the thread of the GL context (e.g. by the tick thread in the threaded
+ * rendering mode), keeps its decoded image, until the render thread binds it for the first time.
+ *
+ * In the headless mode ({@link Clockwork#isHeadless()}) the image is decoded for its size only
+ * and nothing is loaded into the GPU.
+ *
  * @author wize
  * @version 1 (4 June 2018)
  */
@@ -25,8 +35,23 @@ public class Texture extends GameAsset {
     /* ATTRIBUTES
     /*--------------------*/
 
-    /** A pointer to the texture in the GPU */
-    private final int id;
+    /** A pointer to the texture in the GPU (zero, until the texture is sent to the GPU) */
+    private int id;
+
+    /** The tracker of the texture in the GPU (null, until the texture is sent to the GPU) */
+    private GpuResourceReclaimer.Tracker gpuTracker;
+
+    /** Whether the texture is a headless stub, which is never sent to the GPU */
+    private final boolean isStub;
+
+    /** Whether the texture has been sent to the GPU */
+    private volatile boolean isUploaded;
+
+    /** The decoded image, which waits to be sent to the GPU (null, once it has been sent) */
+    private ByteBuffer pendingImage;
+
+    /** The type of the asset, as it is recorded by the {@link AssetLoadEvent} */
+    private static final String ASSET_TYPE_TEXTURE = "texture";
 
 
     /* ---- GLOBAL TEXTURE PARAMETERS ---- */
@@ -50,6 +75,9 @@ public class Texture extends GameAsset {
 
     /** Texture height in pixels */
     private final int heigt;
+
+    /** Whether the image has any pixel, which is not fully opaque */
+    private final boolean hasAlpha;
     /*--------------------*/
 
 
@@ -63,8 +91,50 @@ public class Texture extends GameAsset {
      * (e.g. making an off-heap memory cleanup)
      */
     @Override
-    protected void onTerminate() {
-        glDeleteTextures(this.id);
+    protected synchronized void onTerminate() {
+        /* THE TEXTURE IS DELETED BY THE RENDER THREAD IN THE NEXT FRAME */
+        if (this.gpuTracker != null) this.gpuTracker.release();
+        this.pendingImage = null;
+    }
+
+
+    /**
+     * Sends the decoded image to the GPU, unless it has been sent or the texture has been terminated.
+     * Must be called by the thread of the GL context.
+     * @return true, if the texture is in the GPU, else return false (the texture has been terminated)
+     */
+    private synchronized boolean upload() {
+        if (this.isUploaded) return true;
+        if (this.isTerminated()) return false;
+        final ByteBuffer imageBuffer = this.pendingImage;
+
+        /* ---- Creating a texture instance in the GPU ---- */
+        final GraphicsDevice device = GraphicsDevices.get();
+        this.id = device.genTexture();
+        this.gpuTracker = GpuResourceReclaimer.get().trackTexture(this, this.id);
+
+        /* ---- Binding the texture and buffering the image into GPU ---- */
+        device.bindTexture(GL_TEXTURE_2D, this.id);
+        device.pixelStore(GL_UNPACK_ALIGNMENT, 1);
+        device.texImage2D(
+                GL_TEXTURE_2D,
+                DEFAULT_MIPMAP_REDUCTION,
+                DEFAULT_INTERNAL_IMAGE_FORMAT,
+                this.width,
+                this.heigt,
+                DEFAULT_IMAGE_BORDER,
+                DEFAULT_IMAGE_FORMAT,
+                DEFAULT_ELEMENT_TYPE,
+                imageBuffer
+        );
+
+        /* ---- Setting up the texture rendering properties ---- */
+        //glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST); //TODO: Find out what this is for
+        //glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST); //TODO: Find out what this is for
+        device.generateMipmap(GL_TEXTURE_2D);
+        this.pendingImage = null;
+        this.isUploaded = true;
+        return true;
     }
     /*--------------------*/
 
@@ -81,7 +151,10 @@ public class Texture extends GameAsset {
             System.err.println("Warning, this texture was terminated");
             return;
         }
-        glBindTexture(GL_TEXTURE_2D, this.id);
+        if (this.isStub) return;
+        /* THE TEXTURE, WHICH HAS BEEN CONSTRUCTED OFF THE RENDER THREAD, IS SENT TO THE GPU, WHEN IT IS FIRST BOUND */
+        if (!this.isUploaded && !this.upload()) return;
+        GraphicsDevices.get().bindTexture(GL_TEXTURE_2D, this.id);
     }
 
 
@@ -89,10 +162,20 @@ public class Texture extends GameAsset {
      * Unbinds the texture from the GPU
      */
     public void unbind() {
-        if (this.isTerminated()) {
+        if (this.isTerminated() || !this.isUploaded) {
             return;
         }
-        glBindTexture(GL_TEXTURE_2D, 0);
+        GraphicsDevices.get().bindTexture(GL_TEXTURE_2D, 0);
+    }
+
+
+    /**
+     * Checks, whether the image has an alpha channel or a transparent color,
+     *      so the texture must be drawn after the opaque geometry (back to front)
+     * @return true, if the texture may be transparent, else return false
+     */
+    public boolean hasAlpha() {
+        return this.hasAlpha;
     }
 
 
@@ -136,6 +219,8 @@ public class Texture extends GameAsset {
                       String filename,
                       String description) throws IOException {
         super(gameWorld, classPath, filename, description);
+        final AssetLoadEvent event = FlightRecording.AVAILABLE ? new AssetLoadEvent() : null;
+        if (event != null) event.begin();
 
         /* ---- Creating an instance of decoder and binding an image to it ---- */
         PNGDecoder image = new PNGDecoder(inputStream);
@@ -143,34 +228,24 @@ public class Texture extends GameAsset {
         /* ---- Filling in some parameters of the object ---- */
         this.width = image.getWidth();
         this.heigt = image.getHeight();
+        this.hasAlpha = image.hasAlpha();
+
+        /* ---- A HEADLESS STUB KEEPS THE SIZE ONLY ---- */
+        this.isStub = Clockwork.isHeadless();
+        if (this.isStub) {
+            if (event != null) event.finish(ASSET_TYPE_TEXTURE, filename, 0L);
+            return;
+        }
 
         /* ---- Buffering an image into a ByteBuffer ---- */
         ByteBuffer imageBuffer = ByteBuffer.allocateDirect(BYTES_PER_PIXEL * image.getWidth() * image.getHeight());
         image.decode(imageBuffer, image.getWidth() * BYTES_PER_PIXEL, PNGDecoder.Format.RGBA);
         imageBuffer.flip();
 
-        /* ---- Creating a texture instance in the GPU ---- */
-        this.id = glGenTextures();
-
-        /* ---- Binding the texture and buffering the image into GPU ---- */
-        glBindTexture(GL_TEXTURE_2D, this.id);
-        glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
-        glTexImage2D(
-                GL_TEXTURE_2D,
-                DEFAULT_MIPMAP_REDUCTION,
-                DEFAULT_INTERNAL_IMAGE_FORMAT,
-                image.getWidth(),
-                image.getHeight(),
-                DEFAULT_IMAGE_BORDER,
-                DEFAULT_IMAGE_FORMAT,
-                DEFAULT_ELEMENT_TYPE,
-                imageBuffer
-        );
-
-        /* ---- Setting up the texture rendering properties ---- */
-        //glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST); //TODO: Find out what this is for
-        //glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST); //TODO: Find out what this is for
-        glGenerateMipmap(GL_TEXTURE_2D);
+        /* ---- THE TEXTURE IS CREATED IN THE GPU ONLY BY THE THREAD OF THE GL CONTEXT ---- */
+        this.pendingImage = imageBuffer;
+        if (GraphicsDevices.isContextThread()) this.upload();
+        if (event != null) event.finish(ASSET_TYPE_TEXTURE, filename, imageBuffer.capacity());
 
     }
     /*--------------------*/
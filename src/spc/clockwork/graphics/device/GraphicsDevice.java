@@ -0,0 +1,419 @@
+package spc.clockwork.graphics.device;
+
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * {@link GraphicsDevice} is the set of the GPU calls, which the render path of Clockwork is made of:
+ *      the buffers, the vertex arrays, the textures, the shader programs, the uniforms, the fixed function state
+ *      and the draw calls. The methods follow the OpenGL functions of the same names and take the same GL enums.
+ *
+ * The assets, the shaders, the layers and the render systems never call the GL directly, but through the device
+ *      of {@link GraphicsDevices#get()}, which is the {@link LwjglGraphicsDevice} by default.
+ * The {@link RecordingGraphicsDevice} replaces the GPU by a log of the calls and the counts of the state changes
+ *      and of the draw calls per frame, so the render path can be run and measured without a GPU.
+ *
+ * The methods are called by the thread, which owns the context (the render thread),
+ *      except for the creation of the assets, which happens where the assets are constructed.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public interface GraphicsDevice {
+
+    /* ---- FRAMES ---- */
+
+    /**
+     * Marks the beginning of a frame. Is called by Clockwork before every frame
+     */
+    void beginFrame();
+
+
+    /* ---- CONTEXTS ---- */
+
+    /**
+     * Makes the context of a window current on the calling thread (glfwMakeContextCurrent)
+     * @param context the GLFW handle of the window
+     */
+    void makeContextCurrent(long context);
+
+    /**
+     * Forgets the context of a window, which is about to be destroyed (makes no GL call),
+     *      so a window, which gets the same handle later, does not inherit anything, which was kept for the context
+     * @param context the GLFW handle of the window
+     */
+    void forgetContext(long context);
+
+
+    /* ---- BUFFERS ---- */
+
+    /**
+     * Creates a buffer (glGenBuffers)
+     * @return the name of the buffer
+     */
+    int genBuffer();
+
+    /**
+     * Binds a buffer to a target (glBindBuffer)
+     * @param target the target, e.g. GL_ARRAY_BUFFER
+     * @param buffer the name of the buffer or zero to unbind
+     */
+    void bindBuffer(int target, int buffer);
+
+    /**
+     * Fills the buffer bound to the target with floats (glBufferData)
+     * @param target the target of the buffer
+     * @param data the data
+     * @param usage the usage hint, e.g. GL_STATIC_DRAW
+     */
+    void bufferData(int target, float[] data, int usage);
+
+    /**
+     * Fills the buffer bound to the target with integers (glBufferData)
+     * @param target the target of the buffer
+     * @param data the data
+     * @param usage the usage hint, e.g. GL_STATIC_DRAW
+     */
+    void bufferData(int target, int[] data, int usage);
+
+    /**
+     * Fills the buffer bound to the target with bytes (glBufferData)
+     * @param target the target of the buffer
+     * @param data the data (from its position to its limit)
+     * @param usage the usage hint, e.g. GL_DYNAMIC_DRAW
+     */
+    void bufferData(int target, ByteBuffer data, int usage);
+
+    /**
+     * Binds a buffer to a target and to an indexed binding point of the target (glBindBufferBase)
+     * @param target the indexed target, e.g. GL_UNIFORM_BUFFER
+     * @param index the binding point
+     * @param buffer the name of the buffer or zero to unbind
+     */
+    void bindBufferBase(int target, int index, int buffer);
+
+    /**
+     * Deletes the buffers (glDeleteBuffers)
+     * @param buffers the names of the buffers
+     */
+    void deleteBuffers(int[] buffers);
+
+
+    /* ---- VERTEX ARRAYS ---- */
+
+    /**
+     * Creates a vertex array (glGenVertexArrays)
+     * @return the name of the vertex array
+     */
+    int genVertexArray();
+
+    /**
+     * Binds a vertex array (glBindVertexArray)
+     * @param vertexArray the name of the vertex array or zero to unbind
+     */
+    void bindVertexArray(int vertexArray);
+
+    /**
+     * Describes an attribute of the bound vertex array, which is read from the bound array buffer
+     *      (glVertexAttribPointer)
+     * @param index the location of the attribute
+     * @param size the amount of components (1 to 4)
+     * @param type the type of the components, e.g. GL_FLOAT
+     * @param normalized whether the fixed point values are normalized
+     * @param stride the byte offset between the consecutive attributes
+     * @param pointer the byte offset of the first attribute in the buffer
+     */
+    void vertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer);
+
+    /**
+     * Enables an attribute of the bound vertex array (glEnableVertexAttribArray)
+     * @param index the location of the attribute
+     */
+    void enableVertexAttribArray(int index);
+
+    /**
+     * Disables an attribute of the bound vertex array (glDisableVertexAttribArray)
+     * @param index the location of the attribute
+     */
+    void disableVertexAttribArray(int index);
+
+    /**
+     * Deletes the vertex arrays (glDeleteVertexArrays)
+     * @param vertexArrays the names of the vertex arrays
+     */
+    void deleteVertexArrays(int[] vertexArrays);
+
+
+    /* ---- TEXTURES ---- */
+
+    /**
+     * Creates a texture (glGenTextures)
+     * @return the name of the texture
+     */
+    int genTexture();
+
+    /**
+     * Selects the texture unit, which the textures are bound to (glActiveTexture)
+     * @param unit the unit, e.g. GL_TEXTURE0
+     */
+    void activeTexture(int unit);
+
+    /**
+     * Binds a texture to a target of the active texture unit (glBindTexture)
+     * @param target the target, e.g. GL_TEXTURE_2D
+     * @param texture the name of the texture or zero to unbind
+     */
+    void bindTexture(int target, int texture);
+
+    /**
+     * Sets a pixel storage mode (glPixelStorei)
+     * @param parameter the parameter, e.g. GL_UNPACK_ALIGNMENT
+     * @param value the value
+     */
+    void pixelStore(int parameter, int value);
+
+    /**
+     * Fills the texture bound to the target with an image (glTexImage2D)
+     * @param target the target of the texture
+     * @param level the mipmap level
+     * @param internalFormat the format of the texture
+     * @param width the width of the image
+     * @param height the height of the image
+     * @param border the border (zero)
+     * @param format the format of the pixels
+     * @param type the type of the pixel components
+     * @param pixels the pixels
+     */
+    void texImage2D(int target, int level, int internalFormat, int width, int height, int border,
+                    int format, int type, ByteBuffer pixels);
+
+    /**
+     * Generates the mipmaps of the texture bound to the target (glGenerateMipmap)
+     * @param target the target of the texture
+     */
+    void generateMipmap(int target);
+
+    /**
+     * Deletes the textures (glDeleteTextures)
+     * @param textures the names of the textures
+     */
+    void deleteTextures(int[] textures);
+
+
+    /* ---- SHADER PROGRAMS ---- */
+
+    /**
+     * Creates a shader program (glCreateProgram)
+     * @return the name of the program or zero, if it could not be created
+     */
+    int createProgram();
+
+    /**
+     * Creates a shader (glCreateShader)
+     * @param type the type, e.g. GL_VERTEX_SHADER
+     * @return the name of the shader or zero, if it could not be created
+     */
+    int createShader(int type);
+
+    /**
+     * Sets the source of a shader (glShaderSource)
+     * @param shader the name of the shader
+     * @param source the source code
+     */
+    void shaderSource(int shader, CharSequence source);
+
+    /**
+     * Compiles a shader (glCompileShader)
+     * @param shader the name of the shader
+     */
+    void compileShader(int shader);
+
+    /**
+     * Gets a parameter of a shader (glGetShaderi)
+     * @param shader the name of the shader
+     * @param parameter the parameter, e.g. GL_COMPILE_STATUS
+     * @return the value
+     */
+    int getShaderi(int shader, int parameter);
+
+    /**
+     * Gets the information log of a shader (glGetShaderInfoLog)
+     * @param shader the name of the shader
+     * @return the log
+     */
+    String getShaderInfoLog(int shader);
+
+    /**
+     * Attaches a shader to a program (glAttachShader)
+     * @param program the name of the program
+     * @param shader the name of the shader
+     */
+    void attachShader(int program, int shader);
+
+    /**
+     * Detaches a shader from a program (glDetachShader)
+     * @param program the name of the program
+     * @param shader the name of the shader
+     */
+    void detachShader(int program, int shader);
+
+    /**
+     * Links a program (glLinkProgram)
+     * @param program the name of the program
+     */
+    void linkProgram(int program);
+
+    /**
+     * Validates a program (glValidateProgram)
+     * @param program the name of the program
+     */
+    void validateProgram(int program);
+
+    /**
+     * Gets a parameter of a program (glGetProgrami)
+     * @param program the name of the program
+     * @param parameter the parameter, e.g. GL_LINK_STATUS
+     * @return the value
+     */
+    int getProgrami(int program, int parameter);
+
+    /**
+     * Gets the information log of a program (glGetProgramInfoLog)
+     * @param program the name of the program
+     * @return the log
+     */
+    String getProgramInfoLog(int program);
+
+    /**
+     * Makes a program the current one (glUseProgram)
+     * @param program the name of the program or zero to unbind
+     */
+    void useProgram(int program);
+
+    /**
+     * Deletes a program (glDeleteProgram)
+     * @param program the name of the program
+     */
+    void deleteProgram(int program);
+
+
+    /* ---- UNIFORMS ---- */
+
+    /**
+     * Gets the location of a uniform of a linked program (glGetUniformLocation)
+     * @param program the name of the program
+     * @param name the name of the uniform
+     * @return the location or -1, if there is no such active uniform
+     */
+    int getUniformLocation(int program, CharSequence name);
+
+    /**
+     * Gets the index of a uniform block of a linked program (glGetUniformBlockIndex)
+     * @param program the name of the program
+     * @param name the name of the block
+     * @return the index or GL_INVALID_INDEX (-1), if there is no such active block
+     */
+    int getUniformBlockIndex(int program, CharSequence name);
+
+    /**
+     * Assigns a uniform block of a program to a binding point of the uniform buffers (glUniformBlockBinding)
+     * @param program the name of the program
+     * @param blockIndex the index of the block
+     * @param binding the binding point
+     */
+    void uniformBlockBinding(int program, int blockIndex, int binding);
+
+    /**
+     * Sets an integer uniform of the current program (glUniform1i)
+     * @param location the location of the uniform
+     * @param value the value
+     */
+    void uniform1i(int location, int value);
+
+    /**
+     * Sets a float uniform of the current program (glUniform1f)
+     * @param location the location of the uniform
+     * @param value the value
+     */
+    void uniform1f(int location, float value);
+
+    /**
+     * Sets a 3d vector uniform of the current program (glUniform3f)
+     * @param location the location of the uniform
+     * @param x the first component
+     * @param y the second component
+     * @param z the third component
+     */
+    void uniform3f(int location, float x, float y, float z);
+
+    /**
+     * Sets a 4*4 matrix uniform of the current program (glUniformMatrix4fv)
+     * @param location the location of the uniform
+     * @param transpose whether the matrix is given in the row major order
+     * @param value the buffer of the 16 elements of the matrix (from its position to its limit)
+     */
+    void uniformMatrix4fv(int location, boolean transpose, FloatBuffer value);
+
+
+    /* ---- FIXED FUNCTION STATE ---- */
+
+    /**
+     * Enables a capability (glEnable)
+     * @param capability the capability, e.g. GL_CULL_FACE
+     */
+    void enable(int capability);
+
+    /**
+     * Disables a capability (glDisable)
+     * @param capability the capability, e.g. GL_CULL_FACE
+     */
+    void disable(int capability);
+
+    /**
+     * Sets the faces to cull (glCullFace)
+     * @param mode the faces, e.g. GL_BACK
+     */
+    void cullFace(int mode);
+
+    /**
+     * Sets the rasterization mode of the polygons (glPolygonMode)
+     * @param face the faces, e.g. GL_FRONT_AND_BACK
+     * @param mode the mode, e.g. GL_FILL
+     */
+    void polygonMode(int face, int mode);
+
+    /**
+     * Sets the blending factors (glBlendFunc)
+     * @param sourceFactor the factor of the source color
+     * @param destinationFactor the factor of the destination color
+     */
+    void blendFunc(int sourceFactor, int destinationFactor);
+
+    /**
+     * Sets the color, which the color buffer is cleared with (glClearColor)
+     * @param red the red channel
+     * @param green the green channel
+     * @param blue the blue channel
+     * @param alpha the alpha channel
+     */
+    void clearColor(float red, float green, float blue, float alpha);
+
+    /**
+     * Clears the buffers of the frame (glClear)
+     * @param mask the buffers, e.g. GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT
+     */
+    void clear(int mask);
+
+
+    /* ---- DRAWING ---- */
+
+    /**
+     * Draws the primitives of the bound vertex array by the indices of its element buffer (glDrawElements)
+     * @param mode the kind of the primitives, e.g. GL_TRIANGLES
+     * @param count the amount of indices
+     * @param type the type of the indices, e.g. GL_UNSIGNED_INT
+     * @param indices the byte offset of the first index in the element buffer
+     */
+    void drawElements(int mode, int count, int type, long indices);
+}
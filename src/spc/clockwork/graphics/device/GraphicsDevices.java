@@ -0,0 +1,82 @@
+package spc.clockwork.graphics.device;
+
+
+import com.sun.istack.internal.NotNull;
+
+/**
+ * {@link GraphicsDevices} holds the {@link GraphicsDevice}, which the render path of Clockwork calls.
+ * It is the {@link LwjglGraphicsDevice} behind a {@link StateCachingGraphicsDevice} by default,
+ *      so the redundant state changes never reach the driver; the tests and the tools may set another one
+ *      (e.g. a {@link RecordingGraphicsDevice}) before any asset or shader is created.
+ * It also knows the thread, which the GL context is current on, so the assets, which are created by another thread,
+ *      may defer their GPU objects to the render thread.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class GraphicsDevices {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The current device */
+    private static volatile GraphicsDevice device = new StateCachingGraphicsDevice(LwjglGraphicsDevice.get());
+
+    /** The thread, which the GL context is current on (null, until a context is made current) */
+    private static volatile Thread contextThread;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the current device
+     * @return the device
+     */
+    public static GraphicsDevice get() {
+        return device;
+    }
+
+
+    /**
+     * Sets the current device
+     * @param device the device to make calls to
+     */
+    public static void set(@NotNull final GraphicsDevice device) {
+        GraphicsDevices.device = device;
+    }
+
+
+    /**
+     * Sets the thread, which the GL context has been made current on
+     * @param thread the thread of the GL context
+     */
+    public static void setContextThread(final Thread thread) {
+        GraphicsDevices.contextThread = thread;
+    }
+
+
+    /**
+     * Checks whether the calling thread may make the calls to the device
+     * @return true, if no context has been made current yet (e.g. in the tests) or the caller is the thread of it
+     */
+    public static boolean isContextThread() {
+        final Thread thread = contextThread;
+        return thread == null || thread == Thread.currentThread();
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * A static class cannot be instantiated
+     */
+    private GraphicsDevices() {
+    }
+    /*--------------------*/
+}
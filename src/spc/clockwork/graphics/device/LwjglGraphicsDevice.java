@@ -0,0 +1,337 @@
+package spc.clockwork.graphics.device;
+
+
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * {@link LwjglGraphicsDevice} is the {@link GraphicsDevice}, which forwards every call to the OpenGL through LWJGL.
+ * It has no state of its own, so a single instance serves every context.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class LwjglGraphicsDevice implements GraphicsDevice {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The device instance */
+    private static final LwjglGraphicsDevice INSTANCE = new LwjglGraphicsDevice();
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the device
+     * @return the device instance
+     */
+    public static LwjglGraphicsDevice get() {
+        return INSTANCE;
+    }
+
+
+    @Override
+    public void beginFrame() {
+        /* ---- THE GL NEEDS NO PREPARATION ---- */
+    }
+
+
+    /* ---- CONTEXTS ---- */
+    @Override
+    public void makeContextCurrent(final long context) {
+        GLFW.glfwMakeContextCurrent(context);
+    }
+
+
+    @Override
+    public void forgetContext(final long context) {
+        /* ---- THE GL KEEPS NOTHING, WHICH OUTLIVES THE WINDOW ---- */
+    }
+
+
+    /* ---- BUFFERS ---- */
+    @Override
+    public int genBuffer() {
+        return GL15.glGenBuffers();
+    }
+
+    @Override
+    public void bindBuffer(final int target, final int buffer) {
+        GL15.glBindBuffer(target, buffer);
+    }
+
+    @Override
+    public void bufferData(final int target, final float[] data, final int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final int[] data, final int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final ByteBuffer data, final int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void bindBufferBase(final int target, final int index, final int buffer) {
+        GL30.glBindBufferBase(target, index, buffer);
+    }
+
+    @Override
+    public void deleteBuffers(final int[] buffers) {
+        GL15.glDeleteBuffers(buffers);
+    }
+
+
+    /* ---- VERTEX ARRAYS ---- */
+    @Override
+    public int genVertexArray() {
+        return GL30.glGenVertexArrays();
+    }
+
+    @Override
+    public void bindVertexArray(final int vertexArray) {
+        GL30.glBindVertexArray(vertexArray);
+    }
+
+    @Override
+    public void vertexAttribPointer(final int index, final int size, final int type, final boolean normalized,
+                                    final int stride, final long pointer) {
+        GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void enableVertexAttribArray(final int index) {
+        GL20.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void disableVertexAttribArray(final int index) {
+        GL20.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void deleteVertexArrays(final int[] vertexArrays) {
+        GL30.glDeleteVertexArrays(vertexArrays);
+    }
+
+
+    /* ---- TEXTURES ---- */
+    @Override
+    public int genTexture() {
+        return GL11.glGenTextures();
+    }
+
+    @Override
+    public void activeTexture(final int unit) {
+        GL13.glActiveTexture(unit);
+    }
+
+    @Override
+    public void bindTexture(final int target, final int texture) {
+        GL11.glBindTexture(target, texture);
+    }
+
+    @Override
+    public void pixelStore(final int parameter, final int value) {
+        GL11.glPixelStorei(parameter, value);
+    }
+
+    @Override
+    public void texImage2D(final int target, final int level, final int internalFormat, final int width,
+                           final int height, final int border, final int format, final int type,
+                           final ByteBuffer pixels) {
+        GL11.glTexImage2D(target, level, internalFormat, width, height, border, format, type, pixels);
+    }
+
+    @Override
+    public void generateMipmap(final int target) {
+        GL30.glGenerateMipmap(target);
+    }
+
+    @Override
+    public void deleteTextures(final int[] textures) {
+        GL11.glDeleteTextures(textures);
+    }
+
+
+    /* ---- SHADER PROGRAMS ---- */
+    @Override
+    public int createProgram() {
+        return GL20.glCreateProgram();
+    }
+
+    @Override
+    public int createShader(final int type) {
+        return GL20.glCreateShader(type);
+    }
+
+    @Override
+    public void shaderSource(final int shader, final CharSequence source) {
+        GL20.glShaderSource(shader, source);
+    }
+
+    @Override
+    public void compileShader(final int shader) {
+        GL20.glCompileShader(shader);
+    }
+
+    @Override
+    public int getShaderi(final int shader, final int parameter) {
+        return GL20.glGetShaderi(shader, parameter);
+    }
+
+    @Override
+    public String getShaderInfoLog(final int shader) {
+        return GL20.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void attachShader(final int program, final int shader) {
+        GL20.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void detachShader(final int program, final int shader) {
+        GL20.glDetachShader(program, shader);
+    }
+
+    @Override
+    public void linkProgram(final int program) {
+        GL20.glLinkProgram(program);
+    }
+
+    @Override
+    public void validateProgram(final int program) {
+        GL20.glValidateProgram(program);
+    }
+
+    @Override
+    public int getProgrami(final int program, final int parameter) {
+        return GL20.glGetProgrami(program, parameter);
+    }
+
+    @Override
+    public String getProgramInfoLog(final int program) {
+        return GL20.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public void useProgram(final int program) {
+        GL20.glUseProgram(program);
+    }
+
+    @Override
+    public void deleteProgram(final int program) {
+        GL20.glDeleteProgram(program);
+    }
+
+
+    /* ---- UNIFORMS ---- */
+    @Override
+    public int getUniformLocation(final int program, final CharSequence name) {
+        return GL20.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int getUniformBlockIndex(final int program, final CharSequence name) {
+        return GL31.glGetUniformBlockIndex(program, name);
+    }
+
+    @Override
+    public void uniformBlockBinding(final int program, final int blockIndex, final int binding) {
+        GL31.glUniformBlockBinding(program, blockIndex, binding);
+    }
+
+    @Override
+    public void uniform1i(final int location, final int value) {
+        GL20.glUniform1i(location, value);
+    }
+
+    @Override
+    public void uniform1f(final int location, final float value) {
+        GL20.glUniform1f(location, value);
+    }
+
+    @Override
+    public void uniform3f(final int location, final float x, final float y, final float z) {
+        GL20.glUniform3f(location, x, y, z);
+    }
+
+    @Override
+    public void uniformMatrix4fv(final int location, final boolean transpose, final FloatBuffer value) {
+        GL20.glUniformMatrix4fv(location, transpose, value);
+    }
+
+
+    /* ---- FIXED FUNCTION STATE ---- */
+    @Override
+    public void enable(final int capability) {
+        GL11.glEnable(capability);
+    }
+
+    @Override
+    public void disable(final int capability) {
+        GL11.glDisable(capability);
+    }
+
+    @Override
+    public void cullFace(final int mode) {
+        GL11.glCullFace(mode);
+    }
+
+    @Override
+    public void polygonMode(final int face, final int mode) {
+        GL11.glPolygonMode(face, mode);
+    }
+
+    @Override
+    public void blendFunc(final int sourceFactor, final int destinationFactor) {
+        GL11.glBlendFunc(sourceFactor, destinationFactor);
+    }
+
+    @Override
+    public void clearColor(final float red, final float green, final float blue, final float alpha) {
+        GL11.glClearColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void clear(final int mask) {
+        GL11.glClear(mask);
+    }
+
+
+    /* ---- DRAWING ---- */
+    @Override
+    public void drawElements(final int mode, final int count, final int type, final long indices) {
+        GL11.glDrawElements(mode, count, type, indices);
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates the device
+     */
+    private LwjglGraphicsDevice() {
+    }
+    /*--------------------*/
+}
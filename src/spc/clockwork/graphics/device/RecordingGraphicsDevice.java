@@ -0,0 +1,684 @@
+package spc.clockwork.graphics.device;
+
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+
+/**
+ * {@link RecordingGraphicsDevice} is a {@link GraphicsDevice} without a GPU: it records the calls instead of making them.
+ *
+ * Every call is counted by its kind ({@link Call}) and by its category ({@link Category}) for the current frame
+ *      (since the last {@link #beginFrame()}) and in total. The device shadows the bound objects and the fixed function
+ *      state, so the state changes, which set the value, that is already set, are counted as redundant.
+ * The calls may also be logged as text (see {@link #setLogging(boolean)}).
+ * The objects are named by a counter, every shader compiles, every program links, and every uniform is active,
+ *      so the assets and the shaders are created as usual, and a scene can be rendered on the CPU,
+ *      while the tests assert the amounts of the draw calls and of the binds.
+ *
+ * The device is not thread safe.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class RecordingGraphicsDevice implements GraphicsDevice {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The value of the GL_TRUE, which every status query returns */
+    private static final int STATUS_OK = 1;
+    /** The amount of bits of the location of an attribute in the key of its state */
+    private static final int ATTRIBUTE_BITS = 8;
+    /** The amount of bits of the target of a texture in the key of its state */
+    private static final int TEXTURE_TARGET_BITS = 16;
+    /** The amount of bits of the target of a buffer in the key of its indexed binding */
+    private static final int BUFFER_TARGET_BITS = 16;
+
+    /** The amount of calls of every kind in the current frame */
+    private final long[] frameCounts;
+    /** The amount of calls of every kind since the device was created or reset */
+    private final long[] totalCounts;
+    /** The amount of calls of every category in the current frame */
+    private final long[] frameCategoryCounts;
+    /** The amount of redundant state changes in the current frame */
+    private long frameRedundantCount;
+    /** The amount of indices drawn in the current frame */
+    private long frameIndexCount;
+    /** The amount of frames begun */
+    private long frameCount;
+
+    /** The shadowed state: the value by the key of the state (see {@link #stateKey}) */
+    private final Map<Long, Long> state;
+    /** The locations of the uniforms by the program and the name */
+    private final Map<Integer, Map<String, Integer>> uniformLocations;
+    /** The indices of the uniform blocks by the program and the name */
+    private final Map<Integer, Map<String, Integer>> uniformBlockIndices;
+    /** The last name given to an object */
+    private int lastName;
+    /** The bound vertex array (the enabled attributes belong to it) */
+    private int boundVertexArray;
+    /** The index of the active texture unit (the bound textures belong to it) */
+    private int activeTextureUnit;
+
+    /** The log of the calls */
+    private final List<String> log;
+    /** Whether the calls are logged */
+    private boolean isLogging;
+    /*--------------------*/
+
+
+
+    /* CALLS
+    /*--------------------*/
+
+    /**
+     * The category of a call
+     */
+    public enum Category {
+        /** The creation, the filling and the deletion of the GPU objects */
+        RESOURCE,
+        /** The queries of the GPU objects */
+        QUERY,
+        /** The binding of a GPU object (a buffer, a vertex array, a texture or a program) */
+        BIND,
+        /** The change of the fixed function state */
+        STATE,
+        /** The upload of a uniform */
+        UNIFORM,
+        /** The clearing of the frame */
+        CLEAR,
+        /** A draw call */
+        DRAW
+    }
+
+
+    /**
+     * The kind of a call (a method of the {@link GraphicsDevice})
+     */
+    public enum Call {
+        MAKE_CONTEXT_CURRENT(Category.BIND),
+        FORGET_CONTEXT(Category.RESOURCE),
+        GEN_BUFFER(Category.RESOURCE),
+        BIND_BUFFER(Category.BIND),
+        BUFFER_DATA(Category.RESOURCE),
+        BIND_BUFFER_BASE(Category.BIND),
+        DELETE_BUFFERS(Category.RESOURCE),
+        GEN_VERTEX_ARRAY(Category.RESOURCE),
+        BIND_VERTEX_ARRAY(Category.BIND),
+        VERTEX_ATTRIB_POINTER(Category.RESOURCE),
+        ENABLE_VERTEX_ATTRIB_ARRAY(Category.STATE),
+        DISABLE_VERTEX_ATTRIB_ARRAY(Category.STATE),
+        DELETE_VERTEX_ARRAYS(Category.RESOURCE),
+        GEN_TEXTURE(Category.RESOURCE),
+        ACTIVE_TEXTURE(Category.STATE),
+        BIND_TEXTURE(Category.BIND),
+        PIXEL_STORE(Category.STATE),
+        TEX_IMAGE_2D(Category.RESOURCE),
+        GENERATE_MIPMAP(Category.RESOURCE),
+        DELETE_TEXTURES(Category.RESOURCE),
+        CREATE_PROGRAM(Category.RESOURCE),
+        CREATE_SHADER(Category.RESOURCE),
+        SHADER_SOURCE(Category.RESOURCE),
+        COMPILE_SHADER(Category.RESOURCE),
+        GET_SHADER(Category.QUERY),
+        GET_SHADER_INFO_LOG(Category.QUERY),
+        ATTACH_SHADER(Category.RESOURCE),
+        DETACH_SHADER(Category.RESOURCE),
+        LINK_PROGRAM(Category.RESOURCE),
+        VALIDATE_PROGRAM(Category.RESOURCE),
+        GET_PROGRAM(Category.QUERY),
+        GET_PROGRAM_INFO_LOG(Category.QUERY),
+        USE_PROGRAM(Category.BIND),
+        DELETE_PROGRAM(Category.RESOURCE),
+        GET_UNIFORM_LOCATION(Category.QUERY),
+        GET_UNIFORM_BLOCK_INDEX(Category.QUERY),
+        UNIFORM_BLOCK_BINDING(Category.RESOURCE),
+        UNIFORM_1I(Category.UNIFORM),
+        UNIFORM_1F(Category.UNIFORM),
+        UNIFORM_3F(Category.UNIFORM),
+        UNIFORM_MATRIX_4FV(Category.UNIFORM),
+        ENABLE(Category.STATE),
+        DISABLE(Category.STATE),
+        CULL_FACE(Category.STATE),
+        POLYGON_MODE(Category.STATE),
+        BLEND_FUNC(Category.STATE),
+        CLEAR_COLOR(Category.STATE),
+        CLEAR(Category.CLEAR),
+        DRAW_ELEMENTS(Category.DRAW);
+
+        /** The category of the call */
+        private final Category category;
+
+        Call(final Category category) {
+            this.category = category;
+        }
+
+        /**
+         * Gets the category of the call
+         * @return the category
+         */
+        public Category getCategory() {
+            return this.category;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Counts a call and logs it, if the logging is on
+     * @param call the kind of the call
+     * @param arguments the arguments of the call (are formatted only, if the logging is on)
+     */
+    private void record(final Call call, final Object... arguments) {
+        this.frameCounts[call.ordinal()]++;
+        this.totalCounts[call.ordinal()]++;
+        this.frameCategoryCounts[call.getCategory().ordinal()]++;
+        if (this.isLogging) this.log.add(call + Arrays.toString(arguments));
+    }
+
+
+    /**
+     * Gets the key of a shadowed state
+     * @param kind the kind of the call, which sets the state (the enabling calls for the capabilities)
+     * @param target the target of the state (e.g. the buffer target or the capability)
+     * @return the key
+     */
+    private static long stateKey(final Call kind, final int target) {
+        return ((long) kind.ordinal() << 32) | (target & 0xFFFFFFFFL);
+    }
+
+
+    /**
+     * Counts a state change and checks, whether it sets the value, which is already set
+     * @param call the kind of the call
+     * @param key the key of the state
+     * @param value the new value of the state
+     * @param arguments the arguments of the call
+     */
+    private void recordState(final Call call, final long key, final long value, final Object... arguments) {
+        this.record(call, arguments);
+        final Long previous = this.state.put(key, value);
+        if (previous != null && previous == value) this.frameRedundantCount++;
+    }
+
+
+    /**
+     * Gets the key of the enabled state of an attribute of the bound vertex array
+     * @param index the location of the attribute
+     * @return the key
+     */
+    private long attributeKey(final int index) {
+        return stateKey(Call.ENABLE_VERTEX_ATTRIB_ARRAY, (this.boundVertexArray << ATTRIBUTE_BITS) | index);
+    }
+
+
+    /**
+     * Gives a name to a new object
+     * @return the name (never zero)
+     */
+    private int nextName() {
+        return ++this.lastName;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the amount of calls of a kind in the current frame
+     * @param call the kind of the calls
+     * @return the amount of calls
+     */
+    public long getCount(final Call call) {
+        return this.frameCounts[call.ordinal()];
+    }
+
+
+    /**
+     * Gets the amount of calls of a category in the current frame
+     * @param category the category of the calls
+     * @return the amount of calls
+     */
+    public long getCount(final Category category) {
+        return this.frameCategoryCounts[category.ordinal()];
+    }
+
+
+    /**
+     * Gets the amount of calls of a kind since the device was created or reset
+     * @param call the kind of the calls
+     * @return the amount of calls
+     */
+    public long getTotalCount(final Call call) {
+        return this.totalCounts[call.ordinal()];
+    }
+
+
+    /**
+     * Gets the amount of draw calls in the current frame
+     * @return the amount of draw calls
+     */
+    public long getDrawCount() {
+        return this.getCount(Category.DRAW);
+    }
+
+
+    /**
+     * Gets the amount of the indices drawn in the current frame
+     * @return the amount of indices
+     */
+    public long getIndexCount() {
+        return this.frameIndexCount;
+    }
+
+
+    /**
+     * Gets the amount of the binds and the changes of the fixed function state in the current frame
+     * @return the amount of state changes
+     */
+    public long getStateChangeCount() {
+        return this.getCount(Category.BIND) + this.getCount(Category.STATE);
+    }
+
+
+    /**
+     * Gets the amount of the state changes in the current frame, which set the value, that was already set
+     * @return the amount of redundant state changes
+     */
+    public long getRedundantStateChangeCount() {
+        return this.frameRedundantCount;
+    }
+
+
+    /**
+     * Gets the amount of frames begun
+     * @return the amount of frames
+     */
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+
+    /**
+     * Gets the log of the calls
+     * @return the calls, which were made, while the logging was on, formatted as text
+     */
+    public List<String> getLog() {
+        return Collections.unmodifiableList(this.log);
+    }
+
+
+    /**
+     * Turns the logging of the calls on or off
+     * @param isLogging whether the calls are logged
+     */
+    public void setLogging(final boolean isLogging) {
+        this.isLogging = isLogging;
+    }
+
+
+    /**
+     * Forgets the counts, the log and the shadowed state (the names of the objects keep growing)
+     */
+    public void reset() {
+        Arrays.fill(this.frameCounts, 0L);
+        Arrays.fill(this.totalCounts, 0L);
+        Arrays.fill(this.frameCategoryCounts, 0L);
+        this.frameRedundantCount = 0L;
+        this.frameIndexCount = 0L;
+        this.frameCount = 0L;
+        this.state.clear();
+        this.boundVertexArray = 0;
+        this.activeTextureUnit = 0;
+        this.log.clear();
+    }
+
+
+    @Override
+    public void beginFrame() {
+        Arrays.fill(this.frameCounts, 0L);
+        Arrays.fill(this.frameCategoryCounts, 0L);
+        this.frameRedundantCount = 0L;
+        this.frameIndexCount = 0L;
+        this.frameCount++;
+    }
+
+
+    /* ---- CONTEXTS ---- */
+    @Override
+    public void makeContextCurrent(final long context) {
+        this.recordState(Call.MAKE_CONTEXT_CURRENT, stateKey(Call.MAKE_CONTEXT_CURRENT, 0), context, context);
+    }
+
+
+    @Override
+    public void forgetContext(final long context) {
+        this.record(Call.FORGET_CONTEXT, context);
+        /* ---- MAKING A NEW CONTEXT WITH THE SAME HANDLE CURRENT IS NOT REDUNDANT ---- */
+        this.state.remove(stateKey(Call.MAKE_CONTEXT_CURRENT, 0), context);
+    }
+
+
+    /* ---- BUFFERS ---- */
+    @Override
+    public int genBuffer() {
+        final int buffer = this.nextName();
+        this.record(Call.GEN_BUFFER, buffer);
+        return buffer;
+    }
+
+    @Override
+    public void bindBuffer(final int target, final int buffer) {
+        this.recordState(Call.BIND_BUFFER, stateKey(Call.BIND_BUFFER, target), buffer, target, buffer);
+    }
+
+    @Override
+    public void bufferData(final int target, final float[] data, final int usage) {
+        this.record(Call.BUFFER_DATA, target, data.length, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final int[] data, final int usage) {
+        this.record(Call.BUFFER_DATA, target, data.length, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final ByteBuffer data, final int usage) {
+        this.record(Call.BUFFER_DATA, target, data.remaining(), usage);
+    }
+
+    @Override
+    public void bindBufferBase(final int target, final int index, final int buffer) {
+        this.recordState(Call.BIND_BUFFER_BASE,
+                stateKey(Call.BIND_BUFFER_BASE, (index << BUFFER_TARGET_BITS) | target),
+                buffer, target, index, buffer);
+        /* ---- THE BUFFER IS ALSO BOUND TO THE GENERIC BINDING POINT OF THE TARGET ---- */
+        this.state.put(stateKey(Call.BIND_BUFFER, target), (long) buffer);
+    }
+
+    @Override
+    public void deleteBuffers(final int[] buffers) {
+        this.record(Call.DELETE_BUFFERS, Arrays.toString(buffers));
+    }
+
+
+    /* ---- VERTEX ARRAYS ---- */
+    @Override
+    public int genVertexArray() {
+        final int vertexArray = this.nextName();
+        this.record(Call.GEN_VERTEX_ARRAY, vertexArray);
+        return vertexArray;
+    }
+
+    @Override
+    public void bindVertexArray(final int vertexArray) {
+        this.recordState(Call.BIND_VERTEX_ARRAY, stateKey(Call.BIND_VERTEX_ARRAY, 0), vertexArray, vertexArray);
+        this.boundVertexArray = vertexArray;
+    }
+
+    @Override
+    public void vertexAttribPointer(final int index, final int size, final int type, final boolean normalized,
+                                    final int stride, final long pointer) {
+        this.record(Call.VERTEX_ATTRIB_POINTER, index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void enableVertexAttribArray(final int index) {
+        this.recordState(Call.ENABLE_VERTEX_ATTRIB_ARRAY, this.attributeKey(index), 1L, index);
+    }
+
+    @Override
+    public void disableVertexAttribArray(final int index) {
+        this.recordState(Call.DISABLE_VERTEX_ATTRIB_ARRAY, this.attributeKey(index), 0L, index);
+    }
+
+    @Override
+    public void deleteVertexArrays(final int[] vertexArrays) {
+        this.record(Call.DELETE_VERTEX_ARRAYS, Arrays.toString(vertexArrays));
+    }
+
+
+    /* ---- TEXTURES ---- */
+    @Override
+    public int genTexture() {
+        final int texture = this.nextName();
+        this.record(Call.GEN_TEXTURE, texture);
+        return texture;
+    }
+
+    @Override
+    public void activeTexture(final int unit) {
+        this.recordState(Call.ACTIVE_TEXTURE, stateKey(Call.ACTIVE_TEXTURE, 0), unit, unit);
+        this.activeTextureUnit = unit - GL_TEXTURE0;
+    }
+
+    @Override
+    public void bindTexture(final int target, final int texture) {
+        this.recordState(Call.BIND_TEXTURE,
+                stateKey(Call.BIND_TEXTURE, (this.activeTextureUnit << TEXTURE_TARGET_BITS) | target),
+                texture, target, texture);
+    }
+
+    @Override
+    public void pixelStore(final int parameter, final int value) {
+        this.recordState(Call.PIXEL_STORE, stateKey(Call.PIXEL_STORE, parameter), value, parameter, value);
+    }
+
+    @Override
+    public void texImage2D(final int target, final int level, final int internalFormat, final int width,
+                           final int height, final int border, final int format, final int type,
+                           final ByteBuffer pixels) {
+        this.record(Call.TEX_IMAGE_2D, target, level, width, height);
+    }
+
+    @Override
+    public void generateMipmap(final int target) {
+        this.record(Call.GENERATE_MIPMAP, target);
+    }
+
+    @Override
+    public void deleteTextures(final int[] textures) {
+        this.record(Call.DELETE_TEXTURES, Arrays.toString(textures));
+    }
+
+
+    /* ---- SHADER PROGRAMS ---- */
+    @Override
+    public int createProgram() {
+        final int program = this.nextName();
+        this.record(Call.CREATE_PROGRAM, program);
+        return program;
+    }
+
+    @Override
+    public int createShader(final int type) {
+        final int shader = this.nextName();
+        this.record(Call.CREATE_SHADER, type, shader);
+        return shader;
+    }
+
+    @Override
+    public void shaderSource(final int shader, final CharSequence source) {
+        this.record(Call.SHADER_SOURCE, shader, source.length());
+    }
+
+    @Override
+    public void compileShader(final int shader) {
+        this.record(Call.COMPILE_SHADER, shader);
+    }
+
+    @Override
+    public int getShaderi(final int shader, final int parameter) {
+        this.record(Call.GET_SHADER, shader, parameter);
+        return STATUS_OK;
+    }
+
+    @Override
+    public String getShaderInfoLog(final int shader) {
+        this.record(Call.GET_SHADER_INFO_LOG, shader);
+        return "";
+    }
+
+    @Override
+    public void attachShader(final int program, final int shader) {
+        this.record(Call.ATTACH_SHADER, program, shader);
+    }
+
+    @Override
+    public void detachShader(final int program, final int shader) {
+        this.record(Call.DETACH_SHADER, program, shader);
+    }
+
+    @Override
+    public void linkProgram(final int program) {
+        this.record(Call.LINK_PROGRAM, program);
+    }
+
+    @Override
+    public void validateProgram(final int program) {
+        this.record(Call.VALIDATE_PROGRAM, program);
+    }
+
+    @Override
+    public int getProgrami(final int program, final int parameter) {
+        this.record(Call.GET_PROGRAM, program, parameter);
+        return STATUS_OK;
+    }
+
+    @Override
+    public String getProgramInfoLog(final int program) {
+        this.record(Call.GET_PROGRAM_INFO_LOG, program);
+        return "";
+    }
+
+    @Override
+    public void useProgram(final int program) {
+        this.recordState(Call.USE_PROGRAM, stateKey(Call.USE_PROGRAM, 0), program, program);
+    }
+
+    @Override
+    public void deleteProgram(final int program) {
+        this.record(Call.DELETE_PROGRAM, program);
+    }
+
+
+    /* ---- UNIFORMS ---- */
+    @Override
+    public int getUniformLocation(final int program, final CharSequence name) {
+        this.record(Call.GET_UNIFORM_LOCATION, program, name);
+        final Map<String, Integer> locations = this.uniformLocations.computeIfAbsent(program, p -> new HashMap<>());
+        return locations.computeIfAbsent(name.toString(), n -> locations.size());
+    }
+
+    @Override
+    public int getUniformBlockIndex(final int program, final CharSequence name) {
+        this.record(Call.GET_UNIFORM_BLOCK_INDEX, program, name);
+        final Map<String, Integer> indices = this.uniformBlockIndices.computeIfAbsent(program, p -> new HashMap<>());
+        return indices.computeIfAbsent(name.toString(), n -> indices.size());
+    }
+
+    @Override
+    public void uniformBlockBinding(final int program, final int blockIndex, final int binding) {
+        this.record(Call.UNIFORM_BLOCK_BINDING, program, blockIndex, binding);
+    }
+
+    @Override
+    public void uniform1i(final int location, final int value) {
+        this.record(Call.UNIFORM_1I, location, value);
+    }
+
+    @Override
+    public void uniform1f(final int location, final float value) {
+        this.record(Call.UNIFORM_1F, location, value);
+    }
+
+    @Override
+    public void uniform3f(final int location, final float x, final float y, final float z) {
+        this.record(Call.UNIFORM_3F, location, x, y, z);
+    }
+
+    @Override
+    public void uniformMatrix4fv(final int location, final boolean transpose, final FloatBuffer value) {
+        this.record(Call.UNIFORM_MATRIX_4FV, location, transpose);
+    }
+
+
+    /* ---- FIXED FUNCTION STATE ---- */
+    @Override
+    public void enable(final int capability) {
+        this.recordState(Call.ENABLE, stateKey(Call.ENABLE, capability), 1L, capability);
+    }
+
+    @Override
+    public void disable(final int capability) {
+        this.recordState(Call.DISABLE, stateKey(Call.ENABLE, capability), 0L, capability);
+    }
+
+    @Override
+    public void cullFace(final int mode) {
+        this.recordState(Call.CULL_FACE, stateKey(Call.CULL_FACE, 0), mode, mode);
+    }
+
+    @Override
+    public void polygonMode(final int face, final int mode) {
+        this.recordState(Call.POLYGON_MODE, stateKey(Call.POLYGON_MODE, face), mode, face, mode);
+    }
+
+    @Override
+    public void blendFunc(final int sourceFactor, final int destinationFactor) {
+        this.recordState(Call.BLEND_FUNC, stateKey(Call.BLEND_FUNC, 0),
+                ((long) sourceFactor << 32) | (destinationFactor & 0xFFFFFFFFL), sourceFactor, destinationFactor);
+    }
+
+    @Override
+    public void clearColor(final float red, final float green, final float blue, final float alpha) {
+        this.record(Call.CLEAR_COLOR, red, green, blue, alpha);
+    }
+
+    @Override
+    public void clear(final int mask) {
+        this.record(Call.CLEAR, mask);
+    }
+
+
+    /* ---- DRAWING ---- */
+    @Override
+    public void drawElements(final int mode, final int count, final int type, final long indices) {
+        this.record(Call.DRAW_ELEMENTS, mode, count, type, indices);
+        this.frameIndexCount += count;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a device, which does not log the calls
+     */
+    public RecordingGraphicsDevice() {
+        this.frameCounts = new long[Call.values().length];
+        this.totalCounts = new long[Call.values().length];
+        this.frameCategoryCounts = new long[Category.values().length];
+        this.state = new HashMap<>();
+        this.uniformLocations = new HashMap<>();
+        this.uniformBlockIndices = new HashMap<>();
+        this.log = new ArrayList<>();
+    }
+    /*--------------------*/
+}
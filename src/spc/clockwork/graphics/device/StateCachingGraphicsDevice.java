@@ -0,0 +1,607 @@
+package spc.clockwork.graphics.device;
+
+
+import com.sun.istack.internal.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+
+/**
+ * {@link StateCachingGraphicsDevice} is a {@link GraphicsDevice}, which shadows the GL state of every context
+ *      and forwards a state change to another device only, if it changes the value, which is set in the context.
+ *
+ * The shadowed state is the current context, the used program, the bound vertex array,
+ *      the active texture unit and the 2d texture of each of the first {@value #TEXTURE_UNITS} units,
+ *      the polygon mode of both faces, the culled face, the blend function
+ *      and whether the face culling, the blending and the depth test are enabled.
+ * The rest of the calls (the buffers, the uniforms, the draws, etc.) are always forwarded.
+ *
+ * A context is shadowed since it is made current through the device for the first time, and its state is unknown,
+ *      except for the active unit, which is GL_TEXTURE0, unless the unit is changed through the device.
+ * If the GL state is changed past the device (e.g. by a library, which calls the GL directly),
+ *      the shadow of the current context must be forgotten by {@link #invalidate()}.
+ * The deletion of a bound texture or vertex array unbinds them in the shadow, as it does in the GL.
+ * The shadow of a context is dropped by {@link #forgetContext(long)}, before its window is destroyed,
+ *      because GLFW may give the same handle to a window created later.
+ *
+ * The device counts the state changes, which it forwards (issued) and which it skips (elided),
+ *      for the current frame (since the last {@link #beginFrame()}) and in total.
+ * The device is not thread safe: it must be called by the render thread only.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class StateCachingGraphicsDevice implements GraphicsDevice {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The amount of texture units, which are shadowed */
+    public static final int TEXTURE_UNITS = 32;
+
+    /** The value of a state, which is not known */
+    private static final int UNKNOWN = -1;
+    /** The handle of the context, which has not been made current through the device */
+    private static final long NO_CONTEXT = 0L;
+
+    /** The device, which the calls are forwarded to */
+    private final GraphicsDevice device;
+    /** The shadows of the contexts by their handles */
+    private final Map<Long, ContextState> contexts;
+    /** The current context */
+    private long context;
+    /** The shadow of the current context */
+    private ContextState state;
+
+    /** The amount of the state changes forwarded in the current frame */
+    private long frameIssuedCount;
+    /** The amount of the state changes skipped in the current frame */
+    private long frameElidedCount;
+    /** The amount of the state changes forwarded since the device was created */
+    private long totalIssuedCount;
+    /** The amount of the state changes skipped since the device was created */
+    private long totalElidedCount;
+    /*--------------------*/
+
+
+
+    /* CONTEXT STATE
+    /*--------------------*/
+
+    /**
+     * The shadowed state of a context
+     */
+    private static final class ContextState {
+        /** The used program */
+        private int program;
+        /** The bound vertex array */
+        private int vertexArray;
+        /** The index of the active texture unit */
+        private int activeUnit;
+        /** The 2d texture of each texture unit */
+        private final int[] textures = new int[TEXTURE_UNITS];
+        /** The polygon mode of both faces */
+        private int polygonMode;
+        /** The culled face */
+        private int cullFace;
+        /** The source factor of the blend function */
+        private int blendSourceFactor;
+        /** The destination factor of the blend function */
+        private int blendDestinationFactor;
+        /** Whether the face culling is enabled (1), disabled (0) or unknown */
+        private int cullFaceEnabled;
+        /** Whether the blending is enabled (1), disabled (0) or unknown */
+        private int blendEnabled;
+        /** Whether the depth test is enabled (1), disabled (0) or unknown */
+        private int depthTestEnabled;
+
+        /**
+         * Forgets the whole state
+         */
+        private void invalidate() {
+            this.program = UNKNOWN;
+            this.vertexArray = UNKNOWN;
+            this.activeUnit = UNKNOWN;
+            Arrays.fill(this.textures, UNKNOWN);
+            this.polygonMode = UNKNOWN;
+            this.cullFace = UNKNOWN;
+            this.blendSourceFactor = UNKNOWN;
+            this.blendDestinationFactor = UNKNOWN;
+            this.cullFaceEnabled = UNKNOWN;
+            this.blendEnabled = UNKNOWN;
+            this.depthTestEnabled = UNKNOWN;
+        }
+
+        /**
+         * Creates the state of a context, which is unknown except for the active texture unit
+         */
+        private ContextState() {
+            this.invalidate();
+            this.activeUnit = 0;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Counts a state change and checks, whether it must be forwarded
+     * @param current the shadowed value of the state
+     * @param value the new value of the state
+     * @return true, if the value differs from the shadowed one (or the latter is unknown), else return false
+     */
+    private boolean changes(final int current, final int value) {
+        if (current == value && current != UNKNOWN) {
+            this.frameElidedCount++;
+            this.totalElidedCount++;
+            return false;
+        }
+        this.frameIssuedCount++;
+        this.totalIssuedCount++;
+        return true;
+    }
+
+
+    /**
+     * Enables or disables a capability, skipping the shadowed capabilities, which are already in the state
+     * @param capability the capability
+     * @param enabled 1 to enable, 0 to disable
+     */
+    private void setCapability(final int capability, final int enabled) {
+        final ContextState state = this.state;
+        switch (capability) {
+            case GL_CULL_FACE:
+                if (!this.changes(state.cullFaceEnabled, enabled)) return;
+                state.cullFaceEnabled = enabled;
+                break;
+            case GL_BLEND:
+                if (!this.changes(state.blendEnabled, enabled)) return;
+                state.blendEnabled = enabled;
+                break;
+            case GL_DEPTH_TEST:
+                if (!this.changes(state.depthTestEnabled, enabled)) return;
+                state.depthTestEnabled = enabled;
+                break;
+        }
+        if (enabled == 1) this.device.enable(capability);
+        else this.device.disable(capability);
+    }
+
+
+    /**
+     * Checks, whether a name is in the array of the names
+     * @param names the names
+     * @param name the name
+     * @return true, if the array contains the name, else return false
+     */
+    private static boolean contains(final int[] names, final int name) {
+        for (final int n : names) if (n == name) return true;
+        return false;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the device, which the calls are forwarded to
+     * @return the device
+     */
+    public GraphicsDevice getDevice() {
+        return this.device;
+    }
+
+
+    /**
+     * Forgets the shadowed state of the current context, so the next change of every state is forwarded.
+     * Must be called, after the GL state has been changed past the device
+     */
+    public void invalidate() {
+        this.state.invalidate();
+    }
+
+
+    /**
+     * Gets the amount of the state changes, which have been forwarded in the current frame
+     * @return the amount of issued state changes
+     */
+    public long getIssuedCount() {
+        return this.frameIssuedCount;
+    }
+
+
+    /**
+     * Gets the amount of the state changes, which have been skipped in the current frame,
+     *      because they would have set the value, which was already set
+     * @return the amount of elided state changes
+     */
+    public long getElidedCount() {
+        return this.frameElidedCount;
+    }
+
+
+    /**
+     * Gets the amount of the state changes, which have been forwarded since the device was created
+     * @return the amount of issued state changes
+     */
+    public long getTotalIssuedCount() {
+        return this.totalIssuedCount;
+    }
+
+
+    /**
+     * Gets the amount of the state changes, which have been skipped since the device was created
+     * @return the amount of elided state changes
+     */
+    public long getTotalElidedCount() {
+        return this.totalElidedCount;
+    }
+
+
+    @Override
+    public void beginFrame() {
+        this.frameIssuedCount = 0L;
+        this.frameElidedCount = 0L;
+        this.device.beginFrame();
+    }
+
+
+    /* ---- CONTEXTS ---- */
+    @Override
+    public void makeContextCurrent(final long context) {
+        if (context == this.context && context != NO_CONTEXT) {
+            this.frameElidedCount++;
+            this.totalElidedCount++;
+            return;
+        }
+        this.frameIssuedCount++;
+        this.totalIssuedCount++;
+        this.device.makeContextCurrent(context);
+        this.context = context;
+        this.state = this.contexts.computeIfAbsent(context, c -> new ContextState());
+    }
+
+
+    @Override
+    public void forgetContext(final long context) {
+        this.device.forgetContext(context);
+        if (context == NO_CONTEXT) return;
+        this.contexts.remove(context);
+        if (context != this.context) return;
+        /* ---- A DESTROYED CURRENT CONTEXT LEAVES NO CONTEXT CURRENT ---- */
+        this.context = NO_CONTEXT;
+        this.state = new ContextState();
+        this.contexts.put(NO_CONTEXT, this.state);
+    }
+
+
+    /* ---- BUFFERS ---- */
+    @Override
+    public int genBuffer() {
+        return this.device.genBuffer();
+    }
+
+    @Override
+    public void bindBuffer(final int target, final int buffer) {
+        this.device.bindBuffer(target, buffer);
+    }
+
+    @Override
+    public void bufferData(final int target, final float[] data, final int usage) {
+        this.device.bufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final int[] data, final int usage) {
+        this.device.bufferData(target, data, usage);
+    }
+
+    @Override
+    public void bufferData(final int target, final ByteBuffer data, final int usage) {
+        this.device.bufferData(target, data, usage);
+    }
+
+    @Override
+    public void bindBufferBase(final int target, final int index, final int buffer) {
+        this.device.bindBufferBase(target, index, buffer);
+    }
+
+    @Override
+    public void deleteBuffers(final int[] buffers) {
+        this.device.deleteBuffers(buffers);
+    }
+
+
+    /* ---- VERTEX ARRAYS ---- */
+    @Override
+    public int genVertexArray() {
+        return this.device.genVertexArray();
+    }
+
+    @Override
+    public void bindVertexArray(final int vertexArray) {
+        if (!this.changes(this.state.vertexArray, vertexArray)) return;
+        this.device.bindVertexArray(vertexArray);
+        this.state.vertexArray = vertexArray;
+    }
+
+    @Override
+    public void vertexAttribPointer(final int index, final int size, final int type, final boolean normalized,
+                                    final int stride, final long pointer) {
+        this.device.vertexAttribPointer(index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void enableVertexAttribArray(final int index) {
+        this.device.enableVertexAttribArray(index);
+    }
+
+    @Override
+    public void disableVertexAttribArray(final int index) {
+        this.device.disableVertexAttribArray(index);
+    }
+
+    @Override
+    public void deleteVertexArrays(final int[] vertexArrays) {
+        this.device.deleteVertexArrays(vertexArrays);
+        if (contains(vertexArrays, this.state.vertexArray)) this.state.vertexArray = 0;
+    }
+
+
+    /* ---- TEXTURES ---- */
+    @Override
+    public int genTexture() {
+        return this.device.genTexture();
+    }
+
+    @Override
+    public void activeTexture(final int unit) {
+        final int index = unit - GL_TEXTURE0;
+        if (index < 0 || index >= TEXTURE_UNITS) {
+            /* ---- THE UNIT IS NOT SHADOWED, SO THE BINDINGS ARE UNKNOWN UNTIL A SHADOWED UNIT IS ACTIVE ---- */
+            this.device.activeTexture(unit);
+            this.state.activeUnit = UNKNOWN;
+            return;
+        }
+        if (!this.changes(this.state.activeUnit, index)) return;
+        this.device.activeTexture(unit);
+        this.state.activeUnit = index;
+    }
+
+    @Override
+    public void bindTexture(final int target, final int texture) {
+        final int unit = this.state.activeUnit;
+        if (target != GL_TEXTURE_2D || unit == UNKNOWN) {
+            this.device.bindTexture(target, texture);
+            return;
+        }
+        if (!this.changes(this.state.textures[unit], texture)) return;
+        this.device.bindTexture(target, texture);
+        this.state.textures[unit] = texture;
+    }
+
+    @Override
+    public void pixelStore(final int parameter, final int value) {
+        this.device.pixelStore(parameter, value);
+    }
+
+    @Override
+    public void texImage2D(final int target, final int level, final int internalFormat, final int width,
+                           final int height, final int border, final int format, final int type,
+                           final ByteBuffer pixels) {
+        this.device.texImage2D(target, level, internalFormat, width, height, border, format, type, pixels);
+    }
+
+    @Override
+    public void generateMipmap(final int target) {
+        this.device.generateMipmap(target);
+    }
+
+    @Override
+    public void deleteTextures(final int[] textures) {
+        this.device.deleteTextures(textures);
+        final int[] bound = this.state.textures;
+        for (int unit = 0; unit < bound.length; unit++) if (contains(textures, bound[unit])) bound[unit] = 0;
+    }
+
+
+    /* ---- SHADER PROGRAMS ---- */
+    @Override
+    public int createProgram() {
+        return this.device.createProgram();
+    }
+
+    @Override
+    public int createShader(final int type) {
+        return this.device.createShader(type);
+    }
+
+    @Override
+    public void shaderSource(final int shader, final CharSequence source) {
+        this.device.shaderSource(shader, source);
+    }
+
+    @Override
+    public void compileShader(final int shader) {
+        this.device.compileShader(shader);
+    }
+
+    @Override
+    public int getShaderi(final int shader, final int parameter) {
+        return this.device.getShaderi(shader, parameter);
+    }
+
+    @Override
+    public String getShaderInfoLog(final int shader) {
+        return this.device.getShaderInfoLog(shader);
+    }
+
+    @Override
+    public void attachShader(final int program, final int shader) {
+        this.device.attachShader(program, shader);
+    }
+
+    @Override
+    public void detachShader(final int program, final int shader) {
+        this.device.detachShader(program, shader);
+    }
+
+    @Override
+    public void linkProgram(final int program) {
+        this.device.linkProgram(program);
+    }
+
+    @Override
+    public void validateProgram(final int program) {
+        this.device.validateProgram(program);
+    }
+
+    @Override
+    public int getProgrami(final int program, final int parameter) {
+        return this.device.getProgrami(program, parameter);
+    }
+
+    @Override
+    public String getProgramInfoLog(final int program) {
+        return this.device.getProgramInfoLog(program);
+    }
+
+    @Override
+    public void useProgram(final int program) {
+        if (!this.changes(this.state.program, program)) return;
+        this.device.useProgram(program);
+        this.state.program = program;
+    }
+
+    @Override
+    public void deleteProgram(final int program) {
+        this.device.deleteProgram(program);
+        /* ---- A PROGRAM IN USE IS DELETED, WHEN IT IS NOT USED ANYMORE, SO ITS NAME MAY BE REUSED LATER ---- */
+        if (this.state.program == program) this.state.program = UNKNOWN;
+    }
+
+
+    /* ---- UNIFORMS ---- */
+    @Override
+    public int getUniformLocation(final int program, final CharSequence name) {
+        return this.device.getUniformLocation(program, name);
+    }
+
+    @Override
+    public int getUniformBlockIndex(final int program, final CharSequence name) {
+        return this.device.getUniformBlockIndex(program, name);
+    }
+
+    @Override
+    public void uniformBlockBinding(final int program, final int blockIndex, final int binding) {
+        this.device.uniformBlockBinding(program, blockIndex, binding);
+    }
+
+    @Override
+    public void uniform1i(final int location, final int value) {
+        this.device.uniform1i(location, value);
+    }
+
+    @Override
+    public void uniform1f(final int location, final float value) {
+        this.device.uniform1f(location, value);
+    }
+
+    @Override
+    public void uniform3f(final int location, final float x, final float y, final float z) {
+        this.device.uniform3f(location, x, y, z);
+    }
+
+    @Override
+    public void uniformMatrix4fv(final int location, final boolean transpose, final FloatBuffer value) {
+        this.device.uniformMatrix4fv(location, transpose, value);
+    }
+
+
+    /* ---- FIXED FUNCTION STATE ---- */
+    @Override
+    public void enable(final int capability) {
+        this.setCapability(capability, 1);
+    }
+
+    @Override
+    public void disable(final int capability) {
+        this.setCapability(capability, 0);
+    }
+
+    @Override
+    public void cullFace(final int mode) {
+        if (!this.changes(this.state.cullFace, mode)) return;
+        this.device.cullFace(mode);
+        this.state.cullFace = mode;
+    }
+
+    @Override
+    public void polygonMode(final int face, final int mode) {
+        if (face != GL_FRONT_AND_BACK) {
+            this.device.polygonMode(face, mode);
+            this.state.polygonMode = UNKNOWN;
+            return;
+        }
+        if (!this.changes(this.state.polygonMode, mode)) return;
+        this.device.polygonMode(face, mode);
+        this.state.polygonMode = mode;
+    }
+
+    @Override
+    public void blendFunc(final int sourceFactor, final int destinationFactor) {
+        final ContextState state = this.state;
+        final int current = state.blendSourceFactor == sourceFactor ? state.blendDestinationFactor : UNKNOWN;
+        if (!this.changes(current, destinationFactor)) return;
+        this.device.blendFunc(sourceFactor, destinationFactor);
+        state.blendSourceFactor = sourceFactor;
+        state.blendDestinationFactor = destinationFactor;
+    }
+
+    @Override
+    public void clearColor(final float red, final float green, final float blue, final float alpha) {
+        this.device.clearColor(red, green, blue, alpha);
+    }
+
+    @Override
+    public void clear(final int mask) {
+        this.device.clear(mask);
+    }
+
+
+    /* ---- DRAWING ---- */
+    @Override
+    public void drawElements(final int mode, final int count, final int type, final long indices) {
+        this.device.drawElements(mode, count, type, indices);
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a device, which shadows the state of the contexts and forwards the calls to another device
+     * @param device the device to forward the calls to
+     */
+    public StateCachingGraphicsDevice(@NotNull final GraphicsDevice device) {
+        this.device = device;
+        this.contexts = new HashMap<>();
+        this.context = NO_CONTEXT;
+        this.state = new ContextState();
+        this.contexts.put(NO_CONTEXT, this.state);
+    }
+    /*--------------------*/
+}
@@ -1,14 +1,19 @@
 package spc.clockwork.graphics.layer;
 
 
+import spc.clockwork.collections.ComponentStore;
 import spc.clockwork.collections.GameObjectCollection;
 import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Clockwork;
 import spc.clockwork.core.Identifiable;
 import spc.clockwork.gameobject.Camera;
 import spc.clockwork.gameobject.GameObject;
 import spc.clockwork.gameobject.entity.Entity;
 import spc.clockwork.gameobject.light.Light;
+import spc.clockwork.graphics.RenderSnapshot;
 import spc.clockwork.graphics.RenderSystem;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
 import spc.clockwork.util.math.vector.Vector3f;
 
 import java.util.Iterator;
@@ -125,21 +130,22 @@ public abstract class GameLayer extends Identifiable {
      * Sets the face culling for this layer up
      */
     private void setupCulling() {
+        final GraphicsDevice device = GraphicsDevices.get();
         if (this.faceCullingParameter == FaceCullingParameter.NONE) {
-            glDisable(GL_CULL_FACE);
+            device.disable(GL_CULL_FACE);
             return;
         }
 
-        glEnable(GL_CULL_FACE);
+        device.enable(GL_CULL_FACE);
         switch(this.faceCullingParameter) {
             case FRONT:
-                glCullFace(GL_FRONT);
+                device.cullFace(GL_FRONT);
                 break;
             case BACK:
-                glCullFace(GL_BACK);
+                device.cullFace(GL_BACK);
                 break;
             case FRONT_AND_BACK:
-                glCullFace(GL_FRONT_AND_BACK);
+                device.cullFace(GL_FRONT_AND_BACK);
                 break;
             case NONE:
                 throw new IllegalStateException();
@@ -152,7 +158,7 @@ public abstract class GameLayer extends Identifiable {
      */
     @Override
     protected void onTerminate() {
-
+        ComponentStore.get().removeLayer(this);
     }
 
 
@@ -183,10 +189,12 @@ public abstract class GameLayer extends Identifiable {
 
     /**
      * A method that inits the rendering of the layer
+     * @param view the state of this layer, as it was captured after the last tick
+     * @return the amount of entities drawn
      */
-    public final void render() {
+    public final int render(RenderSnapshot.LayerView view) {
         /* ---- CHECKING, IF THE LAYER IS NOT HIDDEN ---- */
-        if (!this.getVisible()) return;
+        if (!view.isVisible()) return 0;
 
         /* ---- SETTING FACE CULLING UP ---- */
         this.setupCulling();
@@ -194,7 +202,7 @@ public abstract class GameLayer extends Identifiable {
         /* ---- CHECKING IF THE RENDERING SYSTEM EXISTS ---- */
         if (renderSystem == null) {
             System.err.println(ERROR_RENDER_SYSTEM_IS_NULL + "\nLayer: " + this.toString());
-            return;
+            return 0;
         }
 
         /* ---- CHECKING IF THE LAYER MUST CLEAR COLOR BEFORE RENDER ---- */
@@ -202,15 +210,18 @@ public abstract class GameLayer extends Identifiable {
 
         /* ---- CHECKING, IF THE LAYER MUST CLEAR DEPTH BEFORE RENDER ---- */
         if (this.dimensionParameter == DimensionParameter.FIRST_IN_DIMENSION
-                || this.dimensionParameter == DimensionParameter.UNIQUE_IN_DIMENSION) glClear(GL_DEPTH_BUFFER_BIT);
+                || this.dimensionParameter == DimensionParameter.UNIQUE_IN_DIMENSION)
+            GraphicsDevices.get().clear(GL_DEPTH_BUFFER_BIT);
 
 
         /* ---- RENDERING LAYER ---- */
-        this.renderSystem.renderLayer(this);
+        final int draws = this.renderSystem.renderLayer(view);
 
         /* ---- CHECKING, IF THE LAYER MUST CLEAR DEPTH AFTER RENDER ---- */
         if (this.dimensionParameter == DimensionParameter.LAST_IN_DIMENSION
-                || this.dimensionParameter == DimensionParameter.UNIQUE_IN_DIMENSION) glClear(GL_DEPTH_BUFFER_BIT);
+                || this.dimensionParameter == DimensionParameter.UNIQUE_IN_DIMENSION)
+            GraphicsDevices.get().clear(GL_DEPTH_BUFFER_BIT);
+        return draws;
     }
 
 
@@ -271,6 +282,19 @@ public abstract class GameLayer extends Identifiable {
      */
     public final void add(String name, GameObject gameObject) {
         this.gameObjectCollection.add(name, gameObject);
+        if(gameObject.getComponentHandle() != ComponentStore.NO_HANDLE)
+            ComponentStore.get().setInLayer(gameObject.getComponentHandle(), this, true);
+    }
+
+
+    /**
+     * Adds a GameObject to this Layer with its default name (its id)
+     * @param gameObject an instance of a {@link GameObject}
+     */
+    public final void add(GameObject gameObject) {
+        this.gameObjectCollection.add(gameObject);
+        if(gameObject.getComponentHandle() != ComponentStore.NO_HANDLE)
+            ComponentStore.get().setInLayer(gameObject.getComponentHandle(), this, true);
     }
 
 
@@ -279,7 +303,8 @@ public abstract class GameLayer extends Identifiable {
      * @param name a name of the game object
      */
     public final void remove(String name) {
-        this.gameObjectCollection.remove(name);
+        final GameObject gameObject = this.gameObjectCollection.getElement(name);
+        if(gameObject != null) this.remove(gameObject);
     }
 
 
@@ -289,6 +314,8 @@ public abstract class GameLayer extends Identifiable {
      */
     public final void remove(GameObject gameObject) {
         this.gameObjectCollection.remove(gameObject);
+        if(gameObject.getComponentHandle() != ComponentStore.NO_HANDLE)
+            ComponentStore.get().setInLayer(gameObject.getComponentHandle(), this, false);
     }
 
 
@@ -334,6 +361,45 @@ public abstract class GameLayer extends Identifiable {
     }
 
 
+    /**
+     * Gets the amount of instances of {@link Entity} in this layer
+     * @return the amount of entities
+     */
+    public final int entityCount() {
+        return this.gameObjectCollection.entityCount();
+    }
+
+
+    /**
+     * Gets an instance of {@link Entity} of this layer by its index
+     * (the entities are indexed in the order, in which they were added to the layer)
+     * @param index the index from 0 (inclusive) to entityCount() (exclusive)
+     * @return the entity
+     */
+    public final Entity getEntity(final int index) {
+        return this.gameObjectCollection.getEntity(index);
+    }
+
+
+    /**
+     * Gets the amount of instances of {@link Light} in this layer
+     * @return the amount of lights
+     */
+    public final int lightCount() {
+        return this.gameObjectCollection.lightCount();
+    }
+
+
+    /**
+     * Gets an instance of {@link Light} of this layer by its index
+     * @param index the index from 0 (inclusive) to lightCount() (exclusive)
+     * @return the light
+     */
+    public final Light getLight(final int index) {
+        return this.gameObjectCollection.getLight(index);
+    }
+
+
     /**
      * Main {@link Camera} getter
      * @return the main camera of this layer
@@ -370,8 +436,10 @@ public abstract class GameLayer extends Identifiable {
         this.dimensionParameter = dimensionParameter;
         this.faceCullingParameter = faceCullingParameter;
         this.clearsFrameBeforeRender = clearsFrameBeforeRender;
-        this.gameObjectCollection = new GameObjectCollection();
-        this.renderSystem = constructDefaultRenderSystem();
+        /* THE ENTITIES ARE DRAWN IN THE ORDER OF THE LAYER, UNLESS THE RENDER SYSTEM SORTS THEM */
+        this.gameObjectCollection = new GameObjectCollection(true);
+        /* THERE ARE NO SHADERS IN THE HEADLESS MODE, THE LAYER ONLY GROUPS THE OBJECTS THERE */
+        this.renderSystem = Clockwork.isHeadless() ? null : constructDefaultRenderSystem();
         this.visible = true;
     }
     /*--------------------*/
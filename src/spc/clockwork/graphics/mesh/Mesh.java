@@ -1,20 +1,21 @@
 package spc.clockwork.graphics.mesh;
 
 
-import org.lwjgl.system.MemoryUtil;
 import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Clockwork;
 import spc.clockwork.core.GameAsset;
 import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.GpuResourceReclaimer;
 import spc.clockwork.graphics.RenderSystem;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
 
-import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
-
-import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL15.*;
-import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL30.*;
-import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
 
 /**
  * {@link Mesh} is a set of vertices that forms a model of the {@link Entity}
@@ -34,6 +35,13 @@ import static org.lwjgl.system.MemoryUtil.memFree;
  * When the model is not required anymore. It is reasonable to clear the occupied GPU memory with the method provided in
  * this class;
  *
+ * A mesh, which is constructed off the thread of the GL context (e.g. by the tick thread in the threaded rendering
+ * mode), keeps its geometry, until the render thread binds it for the first time and sends it to the GPU.
+ *
+ * In the headless mode ({@link Clockwork#isHeadless()}) the mesh is a CPU-side stub: nothing is sent to the GPU
+ * and the mesh is never rendered, while the geometry is still used by the subclasses
+ * (e.g. the triangles of a {@link TriangleSetMesh} for the collisions).
+ *
  * @author wize
  * @version 2 (4 June 2018)
  */
@@ -51,21 +59,31 @@ public class Mesh extends GameAsset {
 
     /* ---- GENERAL MESH STATE ---- */
     /** Pointer to vertex buffer object of the mesh, which stores positions */
-    private final int positionsVBO;
+    private int positionsVBO;
     /** Pointer to texture coordinate vertex buffer object */
-    private final int textureCoordinatesVBO;
+    private int textureCoordinatesVBO;
     /** Pointer to vertex buffer object of the mesh, which stores normals */
-    private final int normalsVBO;
+    private int normalsVBO;
     /** Pointer to vertex buffer object of the mesh, which stores indices */
-    private final int indicesVBO;
+    private int indicesVBO;
     /** Pointer to vertex array object of the mesh */
-    private final int VAO;
+    private int VAO;
     /** Size of the mesh */
     private final int vertexCount;
     /** Starting index of the mesh drawing process (used in glDrawArrays/glDrawElements) */
     private static final int STARTING_DRAW_INDEX = 0;
     /* States, whether the mesh is deleted or not */
-    private boolean isDeleted;
+    private volatile boolean isDeleted;
+    /** Whether the mesh is a headless stub, which is never sent to the GPU */
+    private final boolean isStub;
+    /** Whether the mesh has been sent to the GPU */
+    private volatile boolean isUploaded;
+    /** The tracker of the GPU objects of the mesh (null, until the mesh is sent to the GPU) */
+    private GpuResourceReclaimer.Tracker gpuTracker;
+    /** The geometry, which waits to be sent to the GPU (null, once it has been sent) */
+    private float[] pendingPositions, pendingTextureCoordinates, pendingNormals;
+    /** The indices, which wait to be sent to the GPU (null, once they have been sent) */
+    private int[] pendingIndices;
 
 
     /* ---- POSITIONS ATTRIBUTE PARAMETERS ---- */
@@ -121,22 +139,14 @@ public class Mesh extends GameAsset {
     /*--------------------*/
     /**
      * Deletes the mesh from the GPU memory.
+     * The VBOs and the VAO are deleted by the render thread in the next frame (see {@link GpuResourceReclaimer})
      */
-    private void delete() {
+    private synchronized void delete() {
         if(this.isDeleted) return;
         this.isDeleted = true;
-
-        /* ---- DELETING VBOs ---- */
-        glDeleteBuffers(new int[]{
-                this.positionsVBO,
-                this.textureCoordinatesVBO,
-                this.normalsVBO,
-                this.indicesVBO,
-        });
-
-
-        /* ---- DELETING VAO ---- */
-        glDeleteVertexArrays(VAO);
+        if (this.gpuTracker != null) this.gpuTracker.release();
+        this.pendingPositions = this.pendingTextureCoordinates = this.pendingNormals = null;
+        this.pendingIndices = null;
     }
 
     @Override
@@ -144,6 +154,118 @@ public class Mesh extends GameAsset {
         this.delete();
     }
 
+    /**
+     * Sends the geometry of the mesh to the GPU, unless it has been sent or the mesh has been deleted.
+     * Must be called by the thread of the GL context.
+     * @return true, if the mesh is in the GPU, else return false (the mesh has been deleted)
+     */
+    private synchronized boolean upload() {
+        if (this.isUploaded) return true;
+        if (this.isDeleted) return false;
+        final float[] positions = this.pendingPositions;
+        final float[] textureCoordinates = this.pendingTextureCoordinates;
+        final float[] normals = this.pendingNormals;
+        final int[] indices = this.pendingIndices;
+
+        /* ---- GPU OBJECTS CREATION (NO VERTEX ARRAY MAY BE BOUND, WHILE THE INDEX BUFFER IS FILLED) ---- */
+        final GraphicsDevice device = GraphicsDevices.get();
+        device.bindVertexArray(0);
+        /* -- VAO -- */
+        this.VAO = device.genVertexArray();
+        /* -- positionsVBO -- */
+        this.positionsVBO = device.genBuffer();
+        /* -- textureCoordinatesVBO -- */
+        this.textureCoordinatesVBO = device.genBuffer();
+        /* -- normalsVBO -- */
+        this.normalsVBO = device.genBuffer();
+        /* -- indicesVBO -- */
+        this.indicesVBO = device.genBuffer();
+        /* -- tracking -- */
+        this.gpuTracker = GpuResourceReclaimer.get().track(this,
+                new int[]{
+                        GpuResourceReclaimer.VERTEX_ARRAY,
+                        GpuResourceReclaimer.BUFFER,
+                        GpuResourceReclaimer.BUFFER,
+                        GpuResourceReclaimer.BUFFER,
+                        GpuResourceReclaimer.BUFFER},
+                new int[]{
+                        this.VAO,
+                        this.positionsVBO,
+                        this.textureCoordinatesVBO,
+                        this.normalsVBO,
+                        this.indicesVBO});
+
+
+
+        /* ---- BUFFERING DATA INTO VBOs ---- */
+        /* -- positionsVBO -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.positionsVBO);
+        device.bufferData(GL_ARRAY_BUFFER, positions, GL_STATIC_DRAW);
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- textureCoordinatesVBO -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.textureCoordinatesVBO);
+        device.bufferData(GL_ARRAY_BUFFER, textureCoordinates, GL_STATIC_DRAW);
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- normalsVBO -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.normalsVBO);
+        device.bufferData(GL_ARRAY_BUFFER, normals, GL_STATIC_DRAW);
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- indicesVBO -- */
+        device.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indicesVBO);
+        device.bufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+        device.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+
+
+        /* ---- VAO ATTRIBUTES SETUP ---- */
+        /* -- binding VAO -- */
+        device.bindVertexArray(VAO);
+        /* -- setting positions -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.positionsVBO);
+        device.vertexAttribPointer(
+                VAO_POSITIONS_LOCATION,
+                VAO_POSITIONS_SIZE,
+                VAO_POSITIONS_TYPE,
+                VAO_POSITIONS_NORMALIZED,
+                VAO_POSITIONS_STRIDE,
+                VAO_POSITIONS_POINTER_TO_FIRST
+        );
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- setting textureCoordinates -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.textureCoordinatesVBO);
+        device.vertexAttribPointer(
+                VAO_TEXTURE_COORDINATES_LOCATION,
+                VAO_TEXTURE_COORDINATES_SIZE,
+                VAO_TEXTURE_COORDINATES_TYPE,
+                VAO_TEXTURE_COORDINATES_NORMALIZED,
+                VAO_TEXTURE_COORDINATES_STRIDE,
+                VAO_TEXTURE_COORDINATES_POINTER_TO_FIRST
+        );
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- setting normals -- */
+        device.bindBuffer(GL_ARRAY_BUFFER, this.normalsVBO);
+        device.vertexAttribPointer(
+                VAO_NORMALS_LOCATION,
+                VAO_NORMALS_SIZE,
+                VAO_NORMALS_TYPE,
+                VAO_NORMALS_NORMALIZED,
+                VAO_NORMALS_STRIDE,
+                VAO_NORMALS_POINTER_TO_FIRST
+        );
+        device.bindBuffer(GL_ARRAY_BUFFER, 0);
+        /* -- binding the index buffer and activating the attributes (the VAO keeps them) -- */
+        device.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indicesVBO);
+        device.enableVertexAttribArray(VAO_POSITIONS_LOCATION);
+        device.enableVertexAttribArray(VAO_TEXTURE_COORDINATES_LOCATION);
+        device.enableVertexAttribArray(VAO_NORMALS_LOCATION);
+        /* -- unbinding VAO -- */
+        device.bindVertexArray(0);
+
+        this.pendingPositions = this.pendingTextureCoordinates = this.pendingNormals = null;
+        this.pendingIndices = null;
+        this.isUploaded = true;
+        return true;
+    }
+
     /*--------------------*/
 
 
@@ -152,47 +274,50 @@ public class Mesh extends GameAsset {
     /*--------------------*/
 
     /**
-     * Draws this mesh.
-     * Warning: this method must be called only by the {@link RenderSystem}, because it uses off-heap memory allocation
-     * and may crush the app, if used incorrectly
+     * Binds the vertex array of this mesh, which keeps the index buffer and the activated attributes,
+     *      so the mesh can be drawn several times in a row without rebinding.
+     * Warning: this method must be called only by the {@link RenderSystem}
+     * @return true, if the mesh is bound and can be drawn, else return false (the mesh is deleted or is a stub)
      */
-    public void render() {
+    public boolean bind() {
         if (this.isDeleted()) {
             System.err.println(WARNING_MESH_DELETED);
-            return;
+            return false;
         }
+        if (this.isStub()) return false;
+        /* THE MESH, WHICH HAS BEEN CONSTRUCTED OFF THE RENDER THREAD, IS SENT TO THE GPU, WHEN IT IS FIRST DRAWN */
+        if (!this.isUploaded && !this.upload()) return false;
 
-
-        /* ---- BINDING VAO ---- */
-        glBindVertexArray(VAO);
-
-
-        /* ---- BINDING IDX VBO ---- */
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indicesVBO);
-
-
-        /* ---- ACTIVATING ATTRIBUTES ---- */
-        glEnableVertexAttribArray(VAO_POSITIONS_LOCATION);
-        glEnableVertexAttribArray(VAO_TEXTURE_COORDINATES_LOCATION);
-        glEnableVertexAttribArray(VAO_NORMALS_LOCATION);
-
-
-        /* ---- DRAWING ELEMENTS ---- */
-        glDrawElements(GL_TRIANGLES, this.getVertexCount(), GL_UNSIGNED_INT, STARTING_DRAW_INDEX);
+        GraphicsDevices.get().bindVertexArray(VAO);
+        return true;
+    }
 
 
-        /* ---- UNBINDING IDX VBO ---- */
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
+    /**
+     * Draws this mesh, which must have been bound by {@link #bind()}
+     */
+    public void draw() {
+        GraphicsDevices.get().drawElements(GL_TRIANGLES, this.getVertexCount(), GL_UNSIGNED_INT, STARTING_DRAW_INDEX);
+    }
 
 
-        /* ---- DEACTIVATING ATTRIBUTES ---- */
-        glDisableVertexAttribArray(VAO_POSITIONS_LOCATION);
-        glDisableVertexAttribArray(VAO_TEXTURE_COORDINATES_LOCATION);
-        glDisableVertexAttribArray(VAO_NORMALS_LOCATION);
+    /**
+     * Unbinds the vertex array of this mesh, which must have been bound by {@link #bind()}
+     */
+    public void unbind() {
+        GraphicsDevices.get().bindVertexArray(0);
+    }
 
 
-        /* ---- UNBINDING VAO ---- */
-        glBindVertexArray(0);
+    /**
+     * Draws this mesh.
+     * Warning: this method must be called only by the {@link RenderSystem}, because it uses off-heap memory allocation
+     * and may crush the app, if used incorrectly
+     */
+    public void render() {
+        if (!this.bind()) return;
+        this.draw();
+        this.unbind();
     }
 
 
@@ -204,6 +329,14 @@ public class Mesh extends GameAsset {
         return this.vertexCount;
     }
 
+    /**
+     * Checks, whether the Mesh is a headless stub, which has not been sent to the GPU
+     * @return true, if the mesh is a stub, false otherwise
+     */
+    public boolean isStub() {
+        return this.isStub;
+    }
+
     /**
      * Checks, whether the Mesh was deleted from the GPU memory
      * @return true, if it was deleted, false otherwise
@@ -267,89 +400,16 @@ public class Mesh extends GameAsset {
         this.vertexCount = indices.length;
 
 
-        /* ---- GPU OBJECTS CREATION ---- */
-        /* -- VAO -- */
-        this.VAO = glGenVertexArrays();
-        /* -- positionsVBO -- */
-        this.positionsVBO = glGenBuffers();
-        /* -- textureCoordinatesVBO -- */
-        this.textureCoordinatesVBO = glGenBuffers();
-        /* -- normalsVBO -- */
-        this.normalsVBO = glGenBuffers();
-        /* -- indicesVBO -- */
-        this.indicesVBO = glGenBuffers();
-
+        /* ---- A HEADLESS STUB HAS NO GPU OBJECTS ---- */
+        this.isStub = Clockwork.isHeadless();
+        if (this.isStub) return;
 
-
-        /* ---- BUFFERING DATA INTO VBOs ---- */
-        /* -- positionsVBO -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.positionsVBO);
-        FloatBuffer positionsBuffer = MemoryUtil.memAllocFloat(positions.length);
-        positionsBuffer.put(positions).flip();
-        glBufferData(GL_ARRAY_BUFFER, positionsBuffer, GL_STATIC_DRAW);
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        memFree(positionsBuffer);
-        /* -- textureCoordinatesVBO -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.textureCoordinatesVBO);
-        FloatBuffer textureCoordinatesBuffer = MemoryUtil.memAllocFloat(textureCoordinates.length);
-        textureCoordinatesBuffer.put(textureCoordinates).flip();
-        glBufferData(GL_ARRAY_BUFFER, textureCoordinatesBuffer, GL_STATIC_DRAW);
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        memFree(textureCoordinatesBuffer);
-        /* -- normalsVBO -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.normalsVBO);
-        FloatBuffer normalsBuffer = MemoryUtil.memAllocFloat(normals.length);
-        normalsBuffer.put(normals).flip();
-        glBufferData(GL_ARRAY_BUFFER, normalsBuffer, GL_STATIC_DRAW);
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        memFree(normalsBuffer);
-        /* -- indicesVBO -- */
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indicesVBO);
-        IntBuffer indicesBuffer = MemoryUtil.memAllocInt(indices.length);
-        indicesBuffer.put(indices).flip();
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, indicesBuffer, GL_STATIC_DRAW);
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, 0);
-        memFree(indicesBuffer);
-
-
-        /* ---- VAO ATTRIBUTES SETUP ---- */
-        /* -- binding VAO -- */
-        glBindVertexArray(VAO);
-        /* -- setting positions -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.positionsVBO);
-        glVertexAttribPointer(
-                VAO_POSITIONS_LOCATION,
-                VAO_POSITIONS_SIZE,
-                VAO_POSITIONS_TYPE,
-                VAO_POSITIONS_NORMALIZED,
-                VAO_POSITIONS_STRIDE,
-                VAO_POSITIONS_POINTER_TO_FIRST
-        );
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        /* -- setting textureCoordinates -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.textureCoordinatesVBO);
-        glVertexAttribPointer(
-                VAO_TEXTURE_COORDINATES_LOCATION,
-                VAO_TEXTURE_COORDINATES_SIZE,
-                VAO_TEXTURE_COORDINATES_TYPE,
-                VAO_TEXTURE_COORDINATES_NORMALIZED,
-                VAO_TEXTURE_COORDINATES_STRIDE,
-                VAO_TEXTURE_COORDINATES_POINTER_TO_FIRST
-        );
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        /* -- setting normals -- */
-        glBindBuffer(GL_ARRAY_BUFFER, this.normalsVBO);
-        glVertexAttribPointer(
-                VAO_NORMALS_LOCATION,
-                VAO_NORMALS_SIZE,
-                VAO_NORMALS_TYPE,
-                VAO_NORMALS_NORMALIZED,
-                VAO_NORMALS_STRIDE,
-                VAO_NORMALS_POINTER_TO_FIRST
-        );
-        glBindBuffer(GL_ARRAY_BUFFER, 0);
-        /* -- unbinding VAO -- */
-        glBindVertexArray(0);
+        /* ---- THE GPU OBJECTS ARE CREATED ONLY BY THE THREAD OF THE GL CONTEXT ---- */
+        this.pendingPositions = positions;
+        this.pendingTextureCoordinates = textureCoordinates;
+        this.pendingNormals = normals;
+        this.pendingIndices = indices;
+        if (GraphicsDevices.isContextThread()) this.upload();
     }
     /*--------------------*/
 }
@@ -2,6 +2,7 @@ package spc.clockwork.graphics.mesh;
 
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.core.GameAsset;
+import spc.clockwork.util.math.PointBatch;
 import spc.clockwork.util.math.geometry_3d.Triangle3D;
 import spc.clockwork.util.math.vector.Vector3f;
 
@@ -26,6 +27,9 @@ public class TriangleSetMesh extends Mesh {
 
     /** A set of triangles of the mesh */
     private final Set<Triangle3D> triangleSet;
+
+    /** The corners of the triangles (three points per triangle, in the order of the triangle set iteration) */
+    private final PointBatch triangleCorners;
     /*--------------------*/
 
 
@@ -64,6 +68,21 @@ public class TriangleSetMesh extends Mesh {
         }
         return set;
     }
+
+    /**
+     * Collects the corners of the triangles into a batch, three points per triangle
+     * @param triangleSet the triangles
+     * @return the batch of the triangle corners
+     */
+    private static PointBatch createTriangleCorners(Set<Triangle3D> triangleSet) {
+        PointBatch corners = new PointBatch(triangleSet.size() * 3);
+        for (Triangle3D triangle : triangleSet) {
+            corners.add(triangle.a());
+            corners.add(triangle.b());
+            corners.add(triangle.c());
+        }
+        return corners;
+    }
     /*--------------------*/
 
 
@@ -78,6 +97,16 @@ public class TriangleSetMesh extends Mesh {
     public Iterator<Triangle3D> triangleIterator() {
         return this.triangleSet.iterator();
     }
+
+    /**
+     * Gets the corners of the triangles of this mesh as a batch (three points per triangle,
+     *      in the same order as the {@link #triangleIterator()} provides the triangles).
+     * The batch is shared and must not be modified.
+     * @return the batch of the triangle corners
+     */
+    public PointBatch getTriangleCorners() {
+        return this.triangleCorners;
+    }
     /*--------------------*/
 
 
@@ -124,6 +153,7 @@ public class TriangleSetMesh extends Mesh {
         super(gameWorld, positions, textureCoordinates, normals, indices, classPath, filePath, description);
         try {
             this.triangleSet = createTriangleSet(positions, indices);
+            this.triangleCorners = createTriangleCorners(this.triangleSet);
         } catch(Exception e) {
             this.onTerminate();
             throw new Exception(ERROR_CANNOT_CREATE_TRIANGLE_SET);
@@ -1,8 +1,7 @@
 package spc.clockwork.graphics.shader;
 
-import spc.clockwork.gameobject.Camera;
-import spc.clockwork.gameobject.entity.Entity;
-import spc.clockwork.util.math.matrix.Matrix4f;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.util.math.matrix.Mat4;
 
 /**
  * A basic perspective shader that creates a single-colored objects in a 3d space from the camera perspective.
@@ -31,6 +30,17 @@ public final class BasicPerspectiveShader extends ShaderProgram {
     private static final float Z_FAR = 1000f;
     private final float ASPECT_RATIO;
 
+    /* ---- REUSABLE UNIFORM VALUES ---- */
+    private final Mat4 projectionMatrix = new Mat4();
+    private final Mat4 modelViewMatrix = new Mat4();
+
+    /* ---- UNIFORMS (ARE CREATED BY THE SUPER CONSTRUCTOR) ---- */
+    private Mat4Uniform projectionMatrixUniform;
+    private Mat4Uniform modelViewMatrixUniform;
+    private Vec3Uniform meshColorUniform;
+    private IntUniform hasTextureUniform;
+    private IntUniform textureSamplerUniform;
+
     /*--------------------*/
 
 
@@ -45,41 +55,15 @@ public final class BasicPerspectiveShader extends ShaderProgram {
     /*--------------------*/
 
     /**
-     * Creates uniforms
-     * You have to use the static methods glUniform..() from org.lwjgl.opengl.GL20
-     * in order to set the uniforms
+     * Creates the handles of the uniforms
      */
     @Override
     protected void createUniforms() {
-        try {
-            this.createUniform("projectionMatrix");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        try {
-            this.createUniform("modelViewMatrix");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        try {
-            this.createUniform("meshColor");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        try {
-            this.createUniform("hasTexture");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        try {
-            this.createUniform("textureSampler");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        this.projectionMatrixUniform = this.createMat4Uniform("projectionMatrix");
+        this.modelViewMatrixUniform = this.createMat4Uniform("modelViewMatrix");
+        this.meshColorUniform = this.createVec3Uniform("meshColor");
+        this.hasTextureUniform = this.createIntUniform("hasTexture");
+        this.textureSamplerUniform = this.createIntUniform("textureSampler");
     }
 
 
@@ -88,53 +72,44 @@ public final class BasicPerspectiveShader extends ShaderProgram {
      */
     @Override
     public void setGlobalUniforms() {
-        Matrix4f mat = Matrix4f.newPerspectiveProjectionMatrix(ASPECT_RATIO, FIELD_OF_VIEW, Z_NEAR, Z_FAR);
-
-        this.setUniform(
-                "projectionMatrix",
-                mat
-        );
+        this.projectionMatrixUniform.set(this.projectionMatrix);
     }
 
 
     /**
      * Sets the model view matrix
-     * @param camera camera
-     * @param entity entity
+     * @param viewMatrix the view matrix of the camera
+     * @param modelMatrix the model matrix of the entity
      */
-    public void setModelViewMatrix(Camera camera, Entity entity) {
-        Matrix4f mat = Matrix4f.newModelViewMatrix(camera, entity);
-        this.setUniform(
-                "modelViewMatrix",
-                mat
-        );
+    public void setModelViewMatrix(Mat4 viewMatrix, Mat4 modelMatrix) {
+        this.modelViewMatrixUniform.set(viewMatrix.mulInto(modelMatrix, this.modelViewMatrix));
     }
 
 
     /**
      * Sets the meshColor for the entity
-     * @param entity
+     * @param material the material of the entity
      */
-    public void setMeshColor(Entity entity) {
-        this.setUniform("meshColor", entity.getMaterial().getAmbientColor());
+    public void setMeshColor(Material material) {
+        this.meshColorUniform.set(material.getAmbientColor());
     }
 
 
     /**
      * Sets the hasTexture for the entity
-     * @param entity entity
+     * @param material the material of the entity
      */
-    public void setHasTexture(Entity entity) {
-        this.setUniform("hasTexture", entity.hasTexture());
+    public void setHasTexture(Material material) {
+        this.hasTextureUniform.set(material.hasTexture());
     }
 
 
     /**
      * Sets the textureSampler for the entity
-     * @param entity entity
+     * @param material the material of the entity
      */
-    public void setTextureSampler(Entity entity) {
-        this.setUniform("textureSampler", false); //todo: understand why the value is always zero
+    public void setTextureSampler(Material material) {
+        this.textureSamplerUniform.set(0); //todo: understand why the value is always zero
     }
 
     /*--------------------*/
@@ -147,6 +122,7 @@ public final class BasicPerspectiveShader extends ShaderProgram {
     public BasicPerspectiveShader(float aspectRatio) throws Exception {
         super(BasicPerspectiveShader.VERTEX_PATH, BasicPerspectiveShader.FRAGMENT_PATH);
         this.ASPECT_RATIO = aspectRatio;
+        this.projectionMatrix.perspective(aspectRatio, FIELD_OF_VIEW, Z_NEAR, Z_FAR);
     }
 
     /*--------------------*/
@@ -0,0 +1,60 @@
+package spc.clockwork.graphics.shader;
+
+
+import spc.clockwork.graphics.device.GraphicsDevice;
+
+/**
+ * A handle of a float uniform of a {@link ShaderProgram}, whose location is resolved, when it is created.
+ * The handle keeps the last value uploaded, and a value equal to it is not uploaded again
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class FloatUniform {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The device of the program */
+    private final GraphicsDevice device;
+    /** The location of the uniform in the program */
+    private final int location;
+    /** The last value uploaded */
+    private float value;
+    /** Whether a value has been uploaded */
+    private boolean isUploaded;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Uploads the value into the uniform (the program must be bound)
+     * @param value the value
+     */
+    public void set(final float value) {
+        if (this.isUploaded && value == this.value) return;
+        this.device.uniform1f(this.location, value);
+        this.value = value;
+        this.isUploaded = true;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the uniform of a program
+     * @param program the program
+     * @param name the name of the uniform
+     */
+    FloatUniform(final ShaderProgram program, final String name) {
+        this.device = program.device;
+        this.location = program.locationOf(name);
+    }
+    /*--------------------*/
+}
@@ -1,8 +1,8 @@
 package spc.clockwork.graphics.shader;
 
 
-import spc.clockwork.gameobject.entity.Entity;
-import spc.clockwork.util.math.matrix.Matrix4f;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.window.Window;
 
 /**
@@ -38,6 +38,16 @@ public final class HUDShader extends ShaderProgram {
 
     /** This top */
     private final float top;
+
+    /** The orthographic projection matrix, which only depends on the bounds of this */
+    private final Mat4 projectionMatrix = new Mat4();
+
+    /** The projection model matrix of the entity being processed */
+    private final Mat4 projectionModelMatrix = new Mat4();
+
+    /* -- UNIFORMS (ARE CREATED BY THE SUPER CONSTRUCTOR) -- */
+    private Mat4Uniform projectionModelMatrixUniform;
+    private MaterialUniform materialUniform;
     /*--------------------*/
 
 
@@ -46,24 +56,12 @@ public final class HUDShader extends ShaderProgram {
     /*--------------------*/
 
     /**
-     * Creates uniforms
-     * You have to use the static methods glUniform..() from org.lwjgl.opengl.GL20
-     * in order to set the uniforms
+     * Creates the handles of the uniforms
      */
     @Override
     protected void createUniforms() {
-        try {
-            this.createUniform("projectionModelMatrix");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-
-        try {
-            this.createMaterialUniform("entityMaterial");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        this.projectionModelMatrixUniform = this.createMat4Uniform("projectionModelMatrix");
+        this.materialUniform = this.createMaterialUniform("entityMaterial");
     }
     /*--------------------*/
 
@@ -82,15 +80,11 @@ public final class HUDShader extends ShaderProgram {
 
     /**
      * Local uniforms setter
+     * @param modelMatrix the model matrix of the entity
+     * @param material the material of the entity
      */
-    public void setLocalUniforms(Entity entity) {
-        this.setUniform(
-                "projectionModelMatrix",
-                Matrix4f.newOrthographicProjectionMatrix(
-                        this.left, this.right, this.bottom, this.top, HUDShader.Z_FAR,  HUDShader.Z_NEAR)
-                        //.mul(Matrix4f.newModelMatrix(entity))
-                        .mul(entity.getAbsoluteModelMatrix())
-        );
+    public void setLocalUniforms(Mat4 modelMatrix, Material material) {
+        this.projectionModelMatrixUniform.set(this.projectionMatrix.mulInto(modelMatrix, this.projectionModelMatrix));
 
         // this.setUniform(
         //         "projectionModelMatrix",
@@ -99,8 +93,7 @@ public final class HUDShader extends ShaderProgram {
         //                         this.left, this.right, this.bottom, this.top, HUDShader.Z_FAR,  HUDShader.Z_NEAR))
         // );
 
-        this.setUniform("entityMaterial",
-                entity.getMaterial());
+        this.materialUniform.set(material);
     }
     /*--------------------*/
 
@@ -138,6 +131,7 @@ public final class HUDShader extends ShaderProgram {
         this.top = top;
         this.bottom = bottom;
         this.right = right;
+        this.projectionMatrix.orthographic(left, right, bottom, top, HUDShader.Z_FAR, HUDShader.Z_NEAR);
     }
     /*--------------------*/
 }
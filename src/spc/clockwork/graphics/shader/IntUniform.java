@@ -0,0 +1,71 @@
+package spc.clockwork.graphics.shader;
+
+
+import spc.clockwork.graphics.device.GraphicsDevice;
+
+/**
+ * A handle of an integer uniform of a {@link ShaderProgram} (an int, a bool or a sampler),
+ *      whose location is resolved, when it is created.
+ * The handle keeps the last value uploaded, and a value equal to it is not uploaded again
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class IntUniform {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The device of the program */
+    private final GraphicsDevice device;
+    /** The location of the uniform in the program */
+    private final int location;
+    /** The last value uploaded */
+    private int value;
+    /** Whether a value has been uploaded */
+    private boolean isUploaded;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Uploads the value into the uniform (the program must be bound)
+     * @param value the value
+     */
+    public void set(final int value) {
+        if (this.isUploaded && value == this.value) return;
+        this.device.uniform1i(this.location, value);
+        this.value = value;
+        this.isUploaded = true;
+    }
+
+
+    /**
+     * Uploads the boolean into the uniform (the function casts false into 0 and true into 1).
+     * ATTENTION: In the shader part the zero and one are casted to false and true back.
+     * @param value the value
+     */
+    public void set(final boolean value) {
+        this.set(value ? 1 : 0);
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the uniform of a program
+     * @param program the program
+     * @param name the name of the uniform
+     */
+    IntUniform(final ShaderProgram program, final String name) {
+        this.device = program.device;
+        this.location = program.locationOf(name);
+    }
+    /*--------------------*/
+}
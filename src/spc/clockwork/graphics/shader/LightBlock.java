@@ -0,0 +1,225 @@
+package spc.clockwork.graphics.shader;
+
+
+import org.lwjgl.BufferUtils;
+import spc.clockwork.graphics.RenderSnapshot;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Vec3;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * A handle of the light uniform block of a {@link ShaderProgram} and of the uniform buffer, which backs it.
+ *
+ * The lights of a layer are packed by the std140 rules into a direct buffer and uploaded by a single call,
+ *      so the lights are transformed into the view space and uploaded once per layer and frame,
+ *      while the draws of the entities only bind the program, which reads the block.
+ * The layout of the block (the offsets in bytes), which must match the declaration in the shader:
+ *      vec3 ambientLightColor @0; int directionalLightCount @12; int pointLightCount @16; int spotLightCount @20;
+ *      DirectionalLight directionalLights[] @32 (stride 32): direction @0, intensity @12, color @16;
+ *      PointLight pointLights[] (stride 48): position @0, intensity @12, color @16,
+ *          constantAttenuation @28, linearAttenuation @32, exponentAttenuation @36;
+ *      SpotLight spotLights[] (stride 64): position @0, intensity @12, color @16, constantAttenuation @28,
+ *          coneDirection @32, cosOfConeAngle @44, linearAttenuation @48, exponentAttenuation @52.
+ * The elements above the counts are not read by the shader, so they are left as they are.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class LightBlock {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The binding point of the uniform buffers, which the block is assigned to */
+    public static final int BINDING = 0;
+
+    /* ---- THE STD140 LAYOUT OF THE BLOCK ---- */
+    private static final int AMBIENT_LIGHT_COLOR_OFFSET = 0;
+    private static final int DIRECTIONAL_LIGHT_COUNT_OFFSET = 12;
+    private static final int POINT_LIGHT_COUNT_OFFSET = 16;
+    private static final int SPOT_LIGHT_COUNT_OFFSET = 20;
+    private static final int DIRECTIONAL_LIGHTS_OFFSET = 32;
+    private static final int DIRECTIONAL_LIGHT_STRIDE = 32;
+    private static final int POINT_LIGHT_STRIDE = 48;
+    private static final int SPOT_LIGHT_STRIDE = 64;
+
+    /* ---- THE STD140 LAYOUT OF THE LIGHTS ---- */
+    private static final int POSITION_OFFSET = 0;
+    private static final int DIRECTION_OFFSET = 0;
+    private static final int INTENSITY_OFFSET = 12;
+    private static final int COLOR_OFFSET = 16;
+    private static final int CONSTANT_ATTENUATION_OFFSET = 28;
+    private static final int POINT_LINEAR_ATTENUATION_OFFSET = 32;
+    private static final int POINT_EXPONENT_ATTENUATION_OFFSET = 36;
+    private static final int CONE_DIRECTION_OFFSET = 32;
+    private static final int COS_OF_CONE_ANGLE_OFFSET = 44;
+    private static final int SPOT_LINEAR_ATTENUATION_OFFSET = 48;
+    private static final int SPOT_EXPONENT_ATTENUATION_OFFSET = 52;
+
+    /** The device, which the buffer was created on */
+    private final GraphicsDevice device;
+    /** The uniform buffer */
+    private final int buffer;
+    /** The contents of the block */
+    private final ByteBuffer data;
+    /** The maximum amounts of the lights of each kind, which are declared in the shader */
+    private final int maxDirectionalLights, maxPointLights, maxSpotLights;
+    /** The offsets of the arrays of the point and the spot lights */
+    private final int pointLightsOffset, spotLightsOffset;
+    /** A reusable vector, which the positions and the directions are transformed into */
+    private final Vec3 vectorBuffer = new Vec3();
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Puts a 3d vector into the block
+     * @param offset the offset of the vector
+     * @param x the first component
+     * @param y the second component
+     * @param z the third component
+     */
+    private void putVec3(final int offset, final float x, final float y, final float z) {
+        this.data.putFloat(offset, x);
+        this.data.putFloat(offset + Float.BYTES, y);
+        this.data.putFloat(offset + 2 * Float.BYTES, z);
+    }
+
+
+    /**
+     * Puts a 3d vector into the block
+     * @param offset the offset of the vector
+     * @param vector the vector
+     */
+    private void putVec3(final int offset, final Vec3 vector) {
+        this.putVec3(offset, vector.x, vector.y, vector.z);
+    }
+
+
+    /**
+     * Puts the fields, which every light has, into the block
+     * @param offset the offset of the light
+     * @param light the light
+     */
+    private void putColorAndIntensity(final int offset, final RenderSnapshot.LightView light) {
+        this.putVec3(offset + COLOR_OFFSET, light.getColor());
+        this.data.putFloat(offset + INTENSITY_OFFSET, light.getIntensity());
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Packs the lights of a layer into the block and uploads it
+     * (the lights of the unsupported kinds, the lights without intensity and the lights above the limits are skipped)
+     * WARNING: THE POSITIONS AND THE DIRECTIONS OF THE LIGHTS ARE PASSED IN VIEW COORDINATES
+     * @param layer the captured layer, whose lights are uploaded in the view space of its camera
+     * @param ambientLightColor the color of the global ambient light
+     */
+    public void set(final RenderSnapshot.LayerView layer, final Vector3f ambientLightColor) {
+        final Mat4 viewMatrix = layer.getViewMatrix();
+        int directionalLightCount = 0;
+        int pointLightCount = 0;
+        int spotLightCount = 0;
+
+        final int lightCount = layer.lightCount();
+        for (int i = 0; i < lightCount; i++) {
+            final RenderSnapshot.LightView light = layer.getLight(i);
+            if (light.getIntensity() <= 0f) continue;
+            switch (light.getKind()) {
+                case RenderSnapshot.LightView.DIRECTIONAL: {
+                    if (directionalLightCount == this.maxDirectionalLights) break;
+                    final int offset = DIRECTIONAL_LIGHTS_OFFSET + directionalLightCount++ * DIRECTIONAL_LIGHT_STRIDE;
+                    this.putVec3(offset + DIRECTION_OFFSET,
+                            viewMatrix.transformDirection(light.getDirection(), this.vectorBuffer));
+                    this.putColorAndIntensity(offset, light);
+                    break;
+                }
+                case RenderSnapshot.LightView.POINT: {
+                    if (pointLightCount == this.maxPointLights) break;
+                    final int offset = this.pointLightsOffset + pointLightCount++ * POINT_LIGHT_STRIDE;
+                    this.putVec3(offset + POSITION_OFFSET,
+                            viewMatrix.transformPosition(light.getPosition(), this.vectorBuffer));
+                    this.putColorAndIntensity(offset, light);
+                    this.data.putFloat(offset + CONSTANT_ATTENUATION_OFFSET, light.getConstAttenuation());
+                    this.data.putFloat(offset + POINT_LINEAR_ATTENUATION_OFFSET, light.getLinAttenuation());
+                    this.data.putFloat(offset + POINT_EXPONENT_ATTENUATION_OFFSET, light.getExptAttenuation());
+                    break;
+                }
+                case RenderSnapshot.LightView.SPOT: {
+                    if (spotLightCount == this.maxSpotLights) break;
+                    final int offset = this.spotLightsOffset + spotLightCount++ * SPOT_LIGHT_STRIDE;
+                    this.putVec3(offset + POSITION_OFFSET,
+                            viewMatrix.transformPosition(light.getPosition(), this.vectorBuffer));
+                    this.putVec3(offset + CONE_DIRECTION_OFFSET,
+                            viewMatrix.transformDirection(light.getDirection(), this.vectorBuffer));
+                    this.putColorAndIntensity(offset, light);
+                    this.data.putFloat(offset + COS_OF_CONE_ANGLE_OFFSET, light.getCosOfConeAngle());
+                    this.data.putFloat(offset + CONSTANT_ATTENUATION_OFFSET, light.getConstAttenuation());
+                    this.data.putFloat(offset + SPOT_LINEAR_ATTENUATION_OFFSET, light.getLinAttenuation());
+                    this.data.putFloat(offset + SPOT_EXPONENT_ATTENUATION_OFFSET, light.getExptAttenuation());
+                    break;
+                }
+            }
+        }
+
+        this.putVec3(AMBIENT_LIGHT_COLOR_OFFSET, ambientLightColor.x(), ambientLightColor.y(), ambientLightColor.z());
+        this.data.putInt(DIRECTIONAL_LIGHT_COUNT_OFFSET, directionalLightCount);
+        this.data.putInt(POINT_LIGHT_COUNT_OFFSET, pointLightCount);
+        this.data.putInt(SPOT_LIGHT_COUNT_OFFSET, spotLightCount);
+
+        /* ---- THE BUFFER IS RESPECIFIED, SO THE DRIVER DOES NOT WAIT FOR THE DRAWS OF THE PREVIOUS LAYER ---- */
+        this.device.bindBufferBase(GL_UNIFORM_BUFFER, BINDING, this.buffer);
+        this.device.bufferData(GL_UNIFORM_BUFFER, this.data, GL_DYNAMIC_DRAW);
+    }
+
+
+    /**
+     * Deletes the uniform buffer
+     */
+    public void terminate() {
+        this.device.deleteBuffers(new int[]{this.buffer});
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the block of a program, assigns it to the {@link #BINDING} and creates its buffer
+     * @param program the program
+     * @param name the name of the block
+     * @param maxDirectionalLights the size of the array of the directional lights, which is declared in the shader
+     * @param maxPointLights the size of the array of the point lights, which is declared in the shader
+     * @param maxSpotLights the size of the array of the spot lights, which is declared in the shader
+     */
+    LightBlock(final ShaderProgram program, final String name,
+               final int maxDirectionalLights, final int maxPointLights, final int maxSpotLights) {
+        this.device = program.device;
+        this.maxDirectionalLights = maxDirectionalLights;
+        this.maxPointLights = maxPointLights;
+        this.maxSpotLights = maxSpotLights;
+        this.pointLightsOffset = DIRECTIONAL_LIGHTS_OFFSET + maxDirectionalLights * DIRECTIONAL_LIGHT_STRIDE;
+        this.spotLightsOffset = this.pointLightsOffset + maxPointLights * POINT_LIGHT_STRIDE;
+        this.data = BufferUtils.createByteBuffer(this.spotLightsOffset + maxSpotLights * SPOT_LIGHT_STRIDE);
+
+        final int blockIndex = program.blockIndexOf(name);
+        if (blockIndex >= 0) this.device.uniformBlockBinding(program.id, blockIndex, BINDING);
+        this.buffer = this.device.genBuffer();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,84 @@
+package spc.clockwork.graphics.shader;
+
+
+import org.lwjgl.BufferUtils;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.util.math.matrix.Mat4;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A handle of a 4*4 float matrix uniform of a {@link ShaderProgram}, whose location is resolved, when it is created.
+ * The matrix is uploaded through a direct buffer of the handle, so setting the uniform does not allocate.
+ * The buffer keeps the last matrix uploaded, and a matrix equal to it is not uploaded again
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Mat4Uniform {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The device of the program */
+    private final GraphicsDevice device;
+    /** The location of the uniform in the program */
+    private final int location;
+    /** The buffer, which the matrix is dumped into before being uploaded */
+    private final FloatBuffer buffer;
+    /** Whether the buffer holds the value of the uniform */
+    private boolean isUploaded;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Checks, whether the buffer holds the matrix
+     * @param value the matrix
+     * @return true, if every element of the matrix equals the one in the buffer, else return false
+     */
+    private boolean holds(final Mat4 value) {
+        final FloatBuffer b = this.buffer;
+        return b.get(0) == value.m00 && b.get(1) == value.m10 && b.get(2) == value.m20 && b.get(3) == value.m30
+                && b.get(4) == value.m01 && b.get(5) == value.m11 && b.get(6) == value.m21 && b.get(7) == value.m31
+                && b.get(8) == value.m02 && b.get(9) == value.m12 && b.get(10) == value.m22 && b.get(11) == value.m32
+                && b.get(12) == value.m03 && b.get(13) == value.m13 && b.get(14) == value.m23 && b.get(15) == value.m33;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Uploads the matrix into the uniform (the program must be bound)
+     * @param value the matrix
+     */
+    public void set(final Mat4 value) {
+        if (this.isUploaded && this.holds(value)) return;
+        this.device.uniformMatrix4fv(this.location, false, value.dumpColumnMajor(this.buffer));
+        this.isUploaded = true;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the uniform of a program
+     * @param program the program
+     * @param name the name of the uniform
+     */
+    Mat4Uniform(final ShaderProgram program, final String name) {
+        this.device = program.device;
+        this.location = program.locationOf(name);
+        this.buffer = BufferUtils.createFloatBuffer(16);
+    }
+    /*--------------------*/
+}
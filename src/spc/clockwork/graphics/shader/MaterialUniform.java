@@ -0,0 +1,74 @@
+package spc.clockwork.graphics.shader;
+
+
+import spc.clockwork.graphics.Material;
+
+/**
+ * A handle of a {@link Material} struct uniform of a {@link ShaderProgram}:
+ *      the handles of its fields are resolved, when it is created.
+ * A {@link Material} is immutable, so the material, which has been uploaded last, is not uploaded again,
+ *      and the fields of another material, which equal the uploaded ones, are skipped by the field handles
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class MaterialUniform {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    private final Vec3Uniform ambientColor;
+    private final Vec3Uniform diffuseColor;
+    private final Vec3Uniform specularColor;
+    private final FloatUniform specularPower;
+    private final FloatUniform reflectance;
+    private final IntUniform textureSampler;
+    private final IntUniform hasTexture;
+    /** The material, which has been uploaded last */
+    private Material material;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Uploads the material into the uniform (the program must be bound)
+     * @param value the material
+     */
+    public void set(final Material value) {
+        if (value == this.material) return;
+        this.material = value;
+        this.ambientColor.set(value.getAmbientColor());
+        this.diffuseColor.set(value.getDiffuseColor());
+        this.specularColor.set(value.getSpecularColor());
+        this.specularPower.set(value.getSpecularPower());
+        this.reflectance.set(value.getReflectance());
+        //todo: the system does not support several textures, fix this
+        this.textureSampler.set(0);
+        this.hasTexture.set(value.hasTexture());
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the uniform of a program
+     * @param program the program
+     * @param name the name of the uniform
+     */
+    MaterialUniform(final ShaderProgram program, final String name) {
+        this.ambientColor = new Vec3Uniform(program, name + ".ambientColor");
+        this.diffuseColor = new Vec3Uniform(program, name + ".diffuseColor");
+        this.specularColor = new Vec3Uniform(program, name + ".specularColor");
+        this.specularPower = new FloatUniform(program, name + ".specularPower");
+        this.reflectance = new FloatUniform(program, name + ".reflectance");
+        this.textureSampler = new IntUniform(program, name + ".textureSampler");
+        this.hasTexture = new IntUniform(program, name + ".hasTexture");
+    }
+    /*--------------------*/
+}
@@ -1,14 +1,10 @@
 package spc.clockwork.graphics.shader;
 
-import spc.clockwork.gameobject.Camera;
-import spc.clockwork.gameobject.entity.Entity;
-import spc.clockwork.gameobject.light.DirectionalLight;
 import spc.clockwork.gameobject.light.Light;
 import spc.clockwork.gameobject.light.PointLight;
-import spc.clockwork.gameobject.light.SpotLight;
-import spc.clockwork.util.math.matrix.Matrix4f;
-
-import java.util.Iterator;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.graphics.RenderSnapshot;
+import spc.clockwork.util.math.matrix.Mat4;
 
 /**
  * A ShaderProgram that simulates light reflectance from the objects.
@@ -34,6 +30,18 @@ public final class PhongShader extends ShaderProgram {
     private static final float FIELD_OF_VIEW = (float)Math.toRadians(60);
     private static final float Z_NEAR = 0.01f;
     private static final float Z_FAR = 1000f;
+
+    /* -- REUSABLE UNIFORM VALUES -- */
+    /** The projection matrix, which only depends on the constant projection parameters */
+    private final Mat4 projectionMatrix = new Mat4();
+    /** The model view matrix of the entity being processed */
+    private final Mat4 modelViewMatrix = new Mat4();
+
+    /* -- UNIFORMS (ARE CREATED BY THE SUPER CONSTRUCTOR) -- */
+    private Mat4Uniform projectionMatrixUniform;
+    private Mat4Uniform modelViewMatrixUniform;
+    private MaterialUniform materialUniform;
+    private LightBlock lightBlock;
     /*--------------------*/
 
 
@@ -41,44 +49,20 @@ public final class PhongShader extends ShaderProgram {
     /* PRIVATE METHODS
     /*--------------------*/
     /**
-     * Creates uniforms
-     * You have to use the static methods glUniform..() from org.lwjgl.opengl.GL20
-     * in order to set the uniforms
+     * Creates the handles of the uniforms
      */
     @Override
     protected void createUniforms() {
         /* ---- Creating matrices ---- */
-        try {
-            this.createUniform("projectionMatrix");
-        } catch (Exception e) {
-            //System.err.println(ERROR_FAILED_TO_CREATE_UNIFORM_TYPE + "projectionMatrix");
-            e.printStackTrace();
-        }
-
-        try {
-            this.createUniform("modelViewMatrix");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
+        this.projectionMatrixUniform = this.createMat4Uniform("projectionMatrix");
+        this.modelViewMatrixUniform = this.createMat4Uniform("modelViewMatrix");
 
         /* ---- Creating material ---- */
-        try {
-            this.createMaterialUniform("entityMaterial");
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
+        this.materialUniform = this.createMaterialUniform("entityMaterial");
 
         /* ---- Creating light(s) ---- */
-        try {
-            this.createUniform("ambientLightColor");
-            this.createPointLightUniformsArray("pointLights", MAX_AMOUNT_OF_POINT_LIGHTS);
-            this.createDirLightUniformsArray("directionalLights", MAX_AMOUNT_OF_DIR_LIGHTS);
-            this.createSpotLightUniformArray("spotLights", MAX_AMOUNT_OF_SPOT_LIGHTS);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        this.lightBlock = this.createLightBlock("LightBlock",
+                MAX_AMOUNT_OF_DIR_LIGHTS, MAX_AMOUNT_OF_POINT_LIGHTS, MAX_AMOUNT_OF_SPOT_LIGHTS);
     }
 
 
@@ -87,8 +71,7 @@ public final class PhongShader extends ShaderProgram {
      */
     @Override
     public void setGlobalUniforms() {
-        setUniform("projectionMatrix",
-                Matrix4f.newPerspectiveProjectionMatrix(aspectRatio, FIELD_OF_VIEW, Z_NEAR, Z_FAR));
+        this.projectionMatrixUniform.set(this.projectionMatrix);
     }
     /*--------------------*/
 
@@ -98,48 +81,39 @@ public final class PhongShader extends ShaderProgram {
     /*--------------------*/
 
     /**
-     * Sets local uniforms of this shader for this entity and point lights
-     * @param camera {@link Camera} instance
-     * @param entity {@link Entity} instance
-     * @param lights {@link Light} instance iterator
+     * Uploads the lights of a layer into the light block of this shader, which is read by every entity of the layer
+     * (the lights of the unsupported kinds and the lights above the limits are skipped)
+     * @param layer the captured layer, whose lights are uploaded in the view space of its camera
+     */
+    public void setLightUniforms(RenderSnapshot.LayerView layer) {
+        this.lightBlock.set(layer, Light.getGlobalAmbientColor());
+    }
+
+
+    /**
+     * Sets local uniforms of this shader for an entity
+     * @param viewMatrix the view matrix of the camera
+     * @param modelMatrix the model matrix of the entity
+     * @param material the material of the entity
      */
-    public void setLocalUniforms(Camera camera, Entity entity, Iterator<Light> lights) {
-
-        /* -- SETTING LIGHT UNIFORMS -- */
-        PointLight[] pointLights = new PointLight[MAX_AMOUNT_OF_POINT_LIGHTS];
-        DirectionalLight[] directionalLights = new DirectionalLight[MAX_AMOUNT_OF_DIR_LIGHTS];
-        SpotLight[] spotLights = new SpotLight[MAX_AMOUNT_OF_SPOT_LIGHTS];
-
-        int pointLightIterator = 0;
-        int dirLightIterator = 0;
-        int spotLightIterator = 0;
-
-        while (lights.hasNext()) {
-            Light light = lights.next();
-            if(light.getClass().getCanonicalName().equals(PointLight.class.getCanonicalName())) {
-                if (pointLightIterator < MAX_AMOUNT_OF_POINT_LIGHTS)
-                    pointLights[pointLightIterator++] = (PointLight) light;
-            } else if(light.getClass().getCanonicalName().equals(DirectionalLight.class.getCanonicalName())) {
-                if (dirLightIterator < MAX_AMOUNT_OF_DIR_LIGHTS)
-                    directionalLights[dirLightIterator++] = (DirectionalLight) light;
-            } else if(light.getClass().getCanonicalName().equals(SpotLight.class.getCanonicalName())) {
-                if (spotLightIterator < MAX_AMOUNT_OF_SPOT_LIGHTS)
-                    spotLights[spotLightIterator++] = (SpotLight) light;
-            }
-        }
-
-        setUniform("directionalLights", camera, directionalLights);
-        setUniform("pointLights", camera, pointLights);
-        setUniform("spotLights", camera, spotLights);
-        setUniform("ambientLightColor", Light.getGlobalAmbientColor());
+    public void setLocalUniforms(Mat4 viewMatrix, Mat4 modelMatrix, Material material) {
 
         /* -- SETTING MATERIAL UNIFORMS -- */
-        setUniform("entityMaterial", entity.getMaterial());
+        this.materialUniform.set(material);
 
         /* -- SETTING MATRIX UNIFORMS -- */
-        setUniform("modelViewMatrix",
-                Matrix4f.newModelViewMatrix(camera, entity));
+        this.modelViewMatrixUniform.set(viewMatrix.mulInto(modelMatrix, this.modelViewMatrix));
+
+    }
 
+
+    /**
+     * Destroys the shader program and the buffer of its lights
+     */
+    @Override
+    public void terminate() {
+        super.terminate();
+        this.lightBlock.terminate();
     }
     /*--------------------*/
 
@@ -150,6 +124,7 @@ public final class PhongShader extends ShaderProgram {
     public PhongShader(final float aspectRatio) throws Exception {
         super(VERTEX_SHADER_PATH, FRAGMENT_SHADER_PATH);
         this.aspectRatio = aspectRatio;
+        this.projectionMatrix.perspective(aspectRatio, FIELD_OF_VIEW, Z_NEAR, Z_FAR);
     }
     /*--------------------*/
 }
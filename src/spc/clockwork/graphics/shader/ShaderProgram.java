@@ -1,21 +1,17 @@
 package spc.clockwork.graphics.shader;
 
-import org.lwjgl.opengl.GL20;
-import spc.clockwork.gameobject.Camera;
-import spc.clockwork.gameobject.light.DirectionalLight;
-import spc.clockwork.gameobject.light.PointLight;
-import spc.clockwork.gameobject.light.SpotLight;
-import spc.clockwork.graphics.Material;
-import spc.clockwork.util.math.matrix.Matrix4f;
-import spc.clockwork.util.math.vector.Vector3f;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.util.HashMap;
-import java.util.Map;
 
 import static org.lwjgl.opengl.GL11.GL_FALSE;
-import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL20.GL_COMPILE_STATUS;
+import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
+import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
+import static org.lwjgl.opengl.GL20.GL_VALIDATE_STATUS;
+import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
 
 
 /**
@@ -38,6 +34,9 @@ public abstract class ShaderProgram {
             "/spc/clockwork/graphics/shader_sources/";
 
     /* -- MESSAGES -- */
+    /** An error message text, if the program is created by a thread, which does not own the GL context */
+    private static final String ERROR_NOT_CONTEXT_THREAD =
+            "Error: a shader program must be created by the thread of the GL context (the render thread). ";
     /** An error message text, if we could not create ShaderProgram in GL */
     private static final String ERROR_COULD_NOT_CREATE_PROGRAM =
             "Error: could not create shader program. ";
@@ -47,9 +46,12 @@ public abstract class ShaderProgram {
     /** An error message text, if we could not create Shader in GL */
     private static final String ERROR_COULD_NOT_COMPILE_SHADER =
             "Error: could not compile shader of type ";
-    /** An error message text, if we could not create Shader in GL */
+    /** An error message text, if a uniform is not active in the program */
     private static final String ERROR_COULD_NOT_CREATE_UNIFORM =
             "Error: could not create uniform. Most likely, it is not used in shader. Uniform type: ";
+    /** An error message text, if a uniform block is not active in the program */
+    private static final String ERROR_COULD_NOT_CREATE_UNIFORM_BLOCK =
+            "Error: could not create uniform block. Most likely, it is not used in shader. Block name: ";
     /** An error message text, if we could not create Shader in GL */
     private static final String ERROR_COULD_NOT_LINK_SHADER_PROGRAM =
             "Error: could not link shader program. \n";
@@ -62,14 +64,14 @@ public abstract class ShaderProgram {
 
 
     /* -- FIELDS -- */
+    /** The device, which the program was created on */
+    protected final GraphicsDevice device;
     /** A pointer to instance of this ShaderProgram in the GL system */
     protected final int id;
     /** A pointer to the vertex shader of this ShaderProgram in the GL system */
     protected final int vertexShaderID;
     /** A pointer to the fragment shader of this ShaderProgram in the GL system */
     protected final int fragmentShaderID;
-    /** A {@link java.util.Map} of uniforms -- public variables that we use to insert data into GPU */
-    protected Map<String, Integer> uniformMap;
 
     /*--------------------*/
 
@@ -79,9 +81,9 @@ public abstract class ShaderProgram {
     /*--------------------*/
 
     /**
-     * Creates uniforms
-     * You have to use the static methods glUniform..() from org.lwjgl.opengl.GL20
-     * in order to set the uniforms
+     * Creates the handles of the uniforms (is called once, after the program is linked).
+     * You have to use the methods create..Uniform() of this class
+     * and keep the handles in order to set the uniforms
      */
     protected abstract void createUniforms();
 
@@ -103,255 +105,108 @@ public abstract class ShaderProgram {
             sourceCode.append(line + "\n");
 
         /* ---- CREATING EMPTY SHADER ---- */
-        int shaderID = glCreateShader(type);
+        int shaderID = this.device.createShader(type);
         if (shaderID == GL_FALSE)
             throw new Exception(ERROR_COULD_NOT_CREATE_SHADER + type);
 
         /* ---- COMPILING SHADER FROM SOURCE AND ATTACHING IT TO PROGRAM ---- */
-        glShaderSource(shaderID, sourceCode);
-        glCompileShader(shaderID);
-        if(glGetShaderi(shaderID, GL_COMPILE_STATUS) == GL_FALSE) {
-            throw new Exception(ERROR_COULD_NOT_COMPILE_SHADER + type + "\n" + glGetShaderInfoLog(shaderID, 1024));
+        this.device.shaderSource(shaderID, sourceCode);
+        this.device.compileShader(shaderID);
+        if(this.device.getShaderi(shaderID, GL_COMPILE_STATUS) == GL_FALSE) {
+            throw new Exception(ERROR_COULD_NOT_COMPILE_SHADER + type + "\n" + this.device.getShaderInfoLog(shaderID));
         }
-        glAttachShader(this.id, shaderID);
+        this.device.attachShader(this.id, shaderID);
         return shaderID;
     }
 
 
     /**
-     * Creates an empty uniform and attaches it to this shader program
-     * @param name name of the uniform
-     */
-    protected final void createUniform(String name) throws Exception {
-        int pointerToUniform = glGetUniformLocation(this.id, name);
-        if (pointerToUniform < 0)
-            throw new Exception(ERROR_COULD_NOT_CREATE_UNIFORM + name);
-        this.uniformMap.put(name, pointerToUniform);
-    }
-
-
-    /**
-     * Creates an empty complex uniform to store {@link spc.clockwork.graphics.Material}
-     * @param name a uniform name
-     * @throws Exception if a uniform creation was failed
-     */
-    protected final void createMaterialUniform(String name) throws Exception {
-        createUniform(name + ".ambientColor");
-        createUniform(name + ".diffuseColor");
-        createUniform(name + ".specularColor");
-        createUniform(name + ".specularPower");
-        createUniform(name + ".reflectance");
-        createUniform(name + ".textureSampler");
-        createUniform(name + ".hasTexture");
-    }
-
-
-    /**
-     * Creates an empty super complex uniform to store a {@link PointLight} array
-     * @param name a uniform name
-     * @param arraySize a maximum amount of lights that was declared in the shader
-     * @throws Exception if a uniform creation was failed
-     */
-    protected final void createPointLightUniformsArray(String name, int arraySize) throws Exception {
-        for (int i = 0; i < arraySize; i++) {
-            createUniform(name + "[" + i + "].position");
-            createUniform(name + "[" + i + "].color");
-            createUniform(name + "[" + i + "].intensity");
-            createUniform(name + "[" + i + "].attenuation.constant");
-            createUniform(name + "[" + i + "].attenuation.linear");
-            createUniform(name + "[" + i + "].attenuation.exponent");
-        }
-    }
-
-
-    /**
-     * Creates an empty super complex uniform to store a {@link DirectionalLight}
-     * @param name a uniform name
-     * @param arraySize a maximum amount of lights that was declared in the shader
-     * @throws Exception if a uniform creation was failed
-     */
-    protected final void createDirLightUniformsArray(String name, int arraySize) throws Exception {
-        for (int i = 0; i < arraySize; i++) {
-            createUniform(name + "[" + i + "].color");
-            createUniform(name + "[" + i + "].intensity");
-            createUniform(name + "[" + i + "].direction");
-        }
-    }
-
-
-    /**
-     * Creates an empty super complex uniform to store a {@link SpotLight} array
-     * @param name a uniform name
-     * @param arraySize a maximum amount of lights that was declared in the shader
-     * @throws Exception if a uniform creation was failed
-     */
-    protected final void createSpotLightUniformArray(String name, int arraySize) throws Exception {
-        for (int i = 0; i < arraySize; i++) {
-            createUniform(name + "[" + i + "].position");
-            createUniform(name + "[" + i + "].coneDirection");
-            createUniform(name + "[" + i + "].cosOfConeAngle");
-            createUniform(name + "[" + i + "].color");
-            createUniform(name + "[" + i + "].intensity");
-            createUniform(name + "[" + i + "].attenuation.constant");
-            createUniform(name + "[" + i + "].attenuation.linear");
-            createUniform(name + "[" + i + "].attenuation.exponent");
-        }
-    }
-
-    /**
-     * Sets the 3d float vector uniform
-     * @param name uniform name
-     * @param value uniform value
+     * Resolves the location of a uniform of this program.
+     * A uniform, which is not active (most likely, it is not used in the shader), has the location -1,
+     *      and the values uploaded into it are ignored
+     * @param name the name of the uniform
+     * @return the location of the uniform or -1, if it is not active
      */
-    protected final void setUniform(String name, Vector3f value) {
-        glUniform3f(
-                this.uniformMap.get(name),
-                value.x(),
-                value.y(),
-                value.z()
-        );
+    final int locationOf(String name) {
+        final int location = this.device.getUniformLocation(this.id, name);
+        if (location < 0) System.err.println(ERROR_COULD_NOT_CREATE_UNIFORM + name);
+        return location;
     }
 
 
     /**
-     * Sets the 4*4 float matrix uniform
-     * @param name uniform name
-     * @param value uniform value
+     * Resolves the index of a uniform block of this program
+     * @param name the name of the block
+     * @return the index of the block or -1 (GL_INVALID_INDEX), if it is not active
      */
-    protected void setUniform(String name, Matrix4f value) {
-        glUniformMatrix4fv(
-                this.uniformMap.get(name),
-                false,
-                value.dumpColumnMajor()
-        );
+    final int blockIndexOf(String name) {
+        final int index = this.device.getUniformBlockIndex(this.id, name);
+        if (index < 0) System.err.println(ERROR_COULD_NOT_CREATE_UNIFORM_BLOCK + name);
+        return index;
     }
 
 
     /**
-     * Sets the boolean uniform (the function casts false into 0 and true into 1).
-     * ATTENTION: In the shader part the zero and one are casted to false and true back.
+     * Creates the handle of a 4*4 float matrix uniform
      * @param name name of the uniform
-     * @param value value of the uniform
+     * @return the handle
      */
-    protected void setUniform(String name, boolean value) {
-        glUniform1i(this.uniformMap.get(name), value ? 1 : 0);
+    protected final Mat4Uniform createMat4Uniform(String name) {
+        return new Mat4Uniform(this, name);
     }
 
 
     /**
-     * Sets a float uniform
+     * Creates the handle of a 3d float vector uniform
      * @param name name of the uniform
-     * @param value value of the uniform
-     */
-    protected void setUniform(String name, float value) {
-        glUniform1f(this.uniformMap.get(name), value);
-    }
-
-
-    /**
-     * Sets a complex {@link Material} uniform
-     * @param name uniform name
-     * @param value value of the uniform
-     */
-    protected void setUniform(String name, Material value) {
-       setUniform(name + ".ambientColor", value.getAmbientColor());
-       setUniform(name + ".diffuseColor", value.getDiffuseColor());
-       setUniform(name + ".specularColor", value.getSpecularColor());
-       setUniform(name + ".specularPower", value.getSpecularPower());
-       setUniform(name + ".reflectance", value.getReflectance());
-       //todo: the system does not support several textures, fix this
-       setUniform(name + ".textureSampler", false);
-       setUniform(name + ".hasTexture", value.hasTexture());
-    }
-
-
-    /**
-     * Sets a complex {@link DirectionalLight} uniform
-     * WARNING: THE DIRECTION OF THE LIGHT IS PASSED IN VIEW ROTATION
-     * @param name uniform name
-     * @param camera camera
-     * @param light value of the uniform
+     * @return the handle
      */
-    protected void setUniform(String name, Camera camera, DirectionalLight light) {
-        setUniform(name + ".direction", camera.getAbsoluteViewMatrix().mul(light.getAbsoluteDirection(), 0f));
-        setUniform(name + ".color", light.getColor());
-        setUniform(name + ".intensity", light.getIntensity());
+    protected final Vec3Uniform createVec3Uniform(String name) {
+        return new Vec3Uniform(this, name);
     }
 
 
     /**
-     * Sets a complex {@link PointLight} uniform
-     * WARNING: THE POSITION OF THE LIGHT IS PASSED IN VIEW COORDINATES
+     * Creates the handle of a float uniform
      * @param name name of the uniform
-     * @param camera camera
-     * @param light the light
+     * @return the handle
      */
-    protected void setUniform(String name, Camera camera, PointLight light) {
-        setUniform(name + ".position", camera.getAbsoluteViewMatrix().mul(light.getAbsolutePosition(), 1f));
-        setUniform(name + ".color", light.getColor());
-        setUniform(name + ".intensity", light.getIntensity());
-        setUniform(name + ".attenuation.constant", light.getConstAttenuation());
-        setUniform(name + ".attenuation.linear", light.getLinAttenuation());
-        setUniform(name + ".attenuation.exponent", light.getExptAttenuation());
+    protected final FloatUniform createFloatUniform(String name) {
+        return new FloatUniform(this, name);
     }
 
 
     /**
-     * Sets a complex {@link SpotLight} uniform
-     * WARNING: THE POSITION OF THE LIGHT IS PASSED IN VIEW COORDINATES
-     * WARNING: THE DIRECTION OF THE LIGHT IS PASSED IN VIEW COORDINATES
+     * Creates the handle of an integer uniform (an int, a bool or a sampler)
      * @param name name of the uniform
-     * @param camera camera
-     * @param light the light
+     * @return the handle
      */
-    protected void setUniform(String name, Camera camera, SpotLight light) {
-        setUniform(name + ".position", camera.getAbsoluteViewMatrix().mul(light.getAbsolutePosition(),1f));
-        setUniform(name + ".coneDirection", camera.getAbsoluteViewMatrix().mul(light.getAbsoluteDirection(), 0f));
-        setUniform(name + ".cosOfConeAngle", (float)Math.cos(Math.toRadians(light.getConeAngle())));
-        setUniform(name + ".color", light.getColor());
-        setUniform(name + ".intensity", light.getIntensity());
-        setUniform(name + ".attenuation.constant", light.getConstAttenuation());
-        setUniform(name + ".attenuation.linear", light.getLinAttenuation());
-        setUniform(name + ".attenuation.exponent", light.getExptAttenuation());
+    protected final IntUniform createIntUniform(String name) {
+        return new IntUniform(this, name);
     }
 
 
     /**
-     * Sets a super complex {@link PointLight} array uniform
-     * @param name uniform name
-     * @param camera camera
-     * @param lights values of the uniform
-     */
-    protected void setUniform(String name, Camera camera, PointLight[] lights) {
-        for (int i = 0; i < lights.length && lights[i] != null; i++) {
-            setUniform(name + "[" + i + "]", camera, lights[i]);
-        }
-    }
-
-
-    /**
-     * Sets a super complex {@link DirectionalLight} array uniform
-     * @param name uniform name
-     * @param camera camera
-     * @param lights values of the uniform
+     * Creates the handle of a complex uniform to store {@link spc.clockwork.graphics.Material}
+     * @param name a uniform name
+     * @return the handle
      */
-    protected void setUniform(String name, Camera camera, DirectionalLight[] lights) {
-        for (int i = 0; i < lights.length && lights[i] != null; i++) {
-            setUniform(name + "[" + i + "]", camera, lights[i]);
-        }
+    protected final MaterialUniform createMaterialUniform(String name) {
+        return new MaterialUniform(this, name);
     }
 
 
     /**
-     * Sets a super complex {@link SpotLight} array uniform
-     * @param name uniform name
-     * @param camera camera
-     * @param lights values of the uniform
+     * Creates the handle of a uniform block to store the lights of a layer (see {@link LightBlock})
+     * @param name a block name
+     * @param maxDirectionalLights a maximum amount of directional lights that was declared in the shader
+     * @param maxPointLights a maximum amount of point lights that was declared in the shader
+     * @param maxSpotLights a maximum amount of spot lights that was declared in the shader
+     * @return the handle
      */
-    protected void setUniform(String name, Camera camera, SpotLight[] lights) {
-        for (int i = 0; i < lights.length && lights[i] != null; i++) {
-            setUniform(name + "[" + i + "]", camera, lights[i]);
-        }
+    protected final LightBlock createLightBlock(String name,
+                                                int maxDirectionalLights, int maxPointLights, int maxSpotLights) {
+        return new LightBlock(this, name, maxDirectionalLights, maxPointLights, maxSpotLights);
     }
 
     /*--------------------*/
@@ -367,11 +222,11 @@ public abstract class ShaderProgram {
      */
     public void link() throws Exception {
         /* ---- LINKING PROGRAM ---- */
-        glLinkProgram(this.id);
-        if (glGetProgrami(this.id, GL_LINK_STATUS) == GL_FALSE)
-            throw new Exception(ERROR_COULD_NOT_LINK_SHADER_PROGRAM + glGetProgramInfoLog(this.id));
-        glDetachShader(this.id, vertexShaderID);
-        glDetachShader(this.id, fragmentShaderID);
+        this.device.linkProgram(this.id);
+        if (this.device.getProgrami(this.id, GL_LINK_STATUS) == GL_FALSE)
+            throw new Exception(ERROR_COULD_NOT_LINK_SHADER_PROGRAM + this.device.getProgramInfoLog(this.id));
+        this.device.detachShader(this.id, vertexShaderID);
+        this.device.detachShader(this.id, fragmentShaderID);
     }
 
     /**
@@ -379,7 +234,7 @@ public abstract class ShaderProgram {
      * This is done before the single renderLayer
      */
     public void bind() {
-        glUseProgram(this.id);
+        this.device.useProgram(this.id);
     }
 
 
@@ -388,7 +243,7 @@ public abstract class ShaderProgram {
      * This is done after the single renderLayer
      */
     public void unbind() {
-        glUseProgram(GL_FALSE);
+        this.device.useProgram(GL_FALSE);
     }
 
 
@@ -399,7 +254,7 @@ public abstract class ShaderProgram {
     public void terminate() {
         this.unbind();
         if (this.id != GL_FALSE)
-            glDeleteProgram(this.id);
+            this.device.deleteProgram(this.id);
 
     }
 
@@ -408,9 +263,9 @@ public abstract class ShaderProgram {
      * Validates the ShaderProgram and prints the warning, if the validation was failed
      */
     public void validate() {
-        glValidateProgram(this.id);
-        if (glGetProgrami(this.id, GL_VALIDATE_STATUS) == GL_FALSE)
-            System.err.println(WARNING_COULD_NOT_VALIDATE_SHADER+ "\n" + glGetProgramInfoLog(id, 1024));
+        this.device.validateProgram(this.id);
+        if (this.device.getProgrami(this.id, GL_VALIDATE_STATUS) == GL_FALSE)
+            System.err.println(WARNING_COULD_NOT_VALIDATE_SHADER+ "\n" + this.device.getProgramInfoLog(this.id));
     }
 
 
@@ -431,11 +286,13 @@ public abstract class ShaderProgram {
      * @param vertexPath a path to vertex shader source file
      * @param fragmentPath a path to fragment shader source file
      * @throws Exception if something is gone wrong with GL (most cases provide additional info)
+     * @throws IllegalStateException if the program is created off the thread of the GL context
      */
     public ShaderProgram(String vertexPath, String fragmentPath) throws Exception {
-        if((this.id = GL20.glCreateProgram()) == GL_FALSE)
+        if (!GraphicsDevices.isContextThread()) throw new IllegalStateException(ERROR_NOT_CONTEXT_THREAD);
+        this.device = GraphicsDevices.get();
+        if((this.id = this.device.createProgram()) == GL_FALSE)
             throw new Exception(ERROR_COULD_NOT_CREATE_PROGRAM);
-        this.uniformMap = new HashMap<>();
         this.vertexShaderID = this.buildShader(vertexPath, GL_VERTEX_SHADER);
         this.fragmentShaderID = this.buildShader(fragmentPath, GL_FRAGMENT_SHADER);
         this.link();
@@ -0,0 +1,84 @@
+package spc.clockwork.graphics.shader;
+
+
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.util.math.vector.Vec3;
+import spc.clockwork.util.math.vector.Vector3f;
+
+/**
+ * A handle of a 3d float vector uniform of a {@link ShaderProgram}, whose location is resolved, when it is created.
+ * The handle keeps the last vector uploaded, and a vector equal to it is not uploaded again
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Vec3Uniform {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The device of the program */
+    private final GraphicsDevice device;
+    /** The location of the uniform in the program */
+    private final int location;
+    /** The last vector uploaded */
+    private float x, y, z;
+    /** Whether a vector has been uploaded */
+    private boolean isUploaded;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Uploads the vector into the uniform (the program must be bound)
+     * @param x the first component
+     * @param y the second component
+     * @param z the third component
+     */
+    public void set(final float x, final float y, final float z) {
+        if (this.isUploaded && x == this.x && y == this.y && z == this.z) return;
+        this.device.uniform3f(this.location, x, y, z);
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.isUploaded = true;
+    }
+
+
+    /**
+     * Uploads the vector into the uniform (the program must be bound)
+     * @param value the vector
+     */
+    public void set(final Vec3 value) {
+        this.set(value.x, value.y, value.z);
+    }
+
+
+    /**
+     * Uploads the vector into the uniform (the program must be bound)
+     * @param value the vector
+     */
+    public void set(final Vector3f value) {
+        this.set(value.x(), value.y(), value.z());
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Resolves the uniform of a program
+     * @param program the program
+     * @param name the name of the uniform
+     */
+    Vec3Uniform(final ShaderProgram program, final String name) {
+        this.device = program.device;
+        this.location = program.locationOf(name);
+    }
+    /*--------------------*/
+}
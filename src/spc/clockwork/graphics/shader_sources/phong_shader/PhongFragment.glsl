@@ -23,32 +23,32 @@ struct Material {
     bool hasTexture;
 };
 
-struct LightAttenuation {
-    float constant;
-    float linear;
-    float exponent;
-};
-
+// the lights are declared in the std140 layout, in which the members are packed into the vec4 slots,
+// so the order of the members must match the offsets of the spc.clockwork.graphics.shader.LightBlock class
 struct DirectionalLight {
     vec3 direction; // a direction in view space
-    vec3 color;
     float intensity;
+    vec3 color;
 };
 
 struct PointLight {
-    vec3 position; // view matrix times the position of the light (preprocessed in ShaderProgram class)
-    vec3 color;
+    vec3 position; // view matrix times the position of the light (preprocessed in LightBlock class)
     float intensity;
-    LightAttenuation attenuation;
+    vec3 color;
+    float constantAttenuation;
+    float linearAttenuation;
+    float exponentAttenuation;
 };
 
 struct SpotLight {
-    vec3 position; // view matrix times the position of the light (preprocessed in ShaderProgram class)
+    vec3 position; // view matrix times the position of the light (preprocessed in LightBlock class)
+    float intensity;
+    vec3 color;
+    float constantAttenuation;
     vec3 coneDirection; // a direction of light
     float cosOfConeAngle; // a cos of cone angle
-    vec3 color;
-    float intensity;
-    LightAttenuation attenuation;
+    float linearAttenuation;
+    float exponentAttenuation;
 };
 
 /*--------------------*/
@@ -70,10 +70,15 @@ in vec3 fragmentNormal;
 /* UNIFORMS
 /*--------------------*/
 uniform Material entityMaterial;
-uniform DirectionalLight directionalLights[MAX_DIR_LIGHTS];
-uniform PointLight pointLights[MAX_POINT_LIGHTS];
-uniform SpotLight spotLights[MAX_SPOT_LIGHTS];
-uniform vec3 ambientLightColor;
+layout (std140) uniform LightBlock { // is uploaded once per layer
+    vec3 ambientLightColor;
+    int directionalLightCount;
+    int pointLightCount;
+    int spotLightCount;
+    DirectionalLight directionalLights[MAX_DIR_LIGHTS];
+    PointLight pointLights[MAX_POINT_LIGHTS];
+    SpotLight spotLights[MAX_SPOT_LIGHTS];
+};
 uniform mat4 projectionMatrix;
 uniform mat4 modelViewMatrix;
 /*--------------------*/
@@ -193,9 +198,9 @@ vec4 computePointLightInfluence(vec3 fragmentPosition,
                                               pointLight.intensity))
                / computeAttenuationFactor(fragmentPosition,
                                           pointLight.position,
-                                          pointLight.attenuation.constant,
-                                          pointLight.attenuation.linear,
-                                          pointLight.attenuation.exponent);
+                                          pointLight.constantAttenuation,
+                                          pointLight.linearAttenuation,
+                                          pointLight.exponentAttenuation);
     } else {
         return computeAmbientComponent(ambientLightColor, vec4(entityMaterial.ambientColor, 1.0))
                + (computeDiffuseComponent(vec4(entityMaterial.diffuseColor, 1.0),
@@ -214,9 +219,9 @@ vec4 computePointLightInfluence(vec3 fragmentPosition,
                                               pointLight.intensity))
                / computeAttenuationFactor(fragmentPosition,
                                           pointLight.position,
-                                          pointLight.attenuation.constant,
-                                          pointLight.attenuation.linear,
-                                          pointLight.attenuation.exponent);
+                                          pointLight.constantAttenuation,
+                                          pointLight.linearAttenuation,
+                                          pointLight.exponentAttenuation);
     }
 }
 
@@ -246,9 +251,9 @@ vec4 computeSpotLightInfluence(vec3 fragmentPosition,
                                                spotLight.intensity))
                / computeAttenuationFactor(fragmentPosition,
                                           spotLight.position,
-                                          spotLight.attenuation.constant,
-                                          spotLight.attenuation.linear,
-                                          spotLight.attenuation.exponent)
+                                          spotLight.constantAttenuation,
+                                          spotLight.linearAttenuation,
+                                          spotLight.exponentAttenuation)
                * (1 - (1 - cosine) / (1 - spotLight.cosOfConeAngle));
     } else {
         return (computeDiffuseComponent(vec4(entityMaterial.diffuseColor, 1.0),
@@ -267,9 +272,9 @@ vec4 computeSpotLightInfluence(vec3 fragmentPosition,
                                                spotLight.intensity))
                / computeAttenuationFactor(fragmentPosition,
                                           spotLight.position,
-                                          spotLight.attenuation.constant,
-                                          spotLight.attenuation.linear,
-                                          spotLight.attenuation.exponent)
+                                          spotLight.constantAttenuation,
+                                          spotLight.linearAttenuation,
+                                          spotLight.exponentAttenuation)
                * (1 - (1 - cosine) / (1 - spotLight.cosOfConeAngle));
     }
 }
@@ -292,9 +297,7 @@ void main() {
 
 
     /* -- ADDING THE INFLUENCE OF THE DIRECTIONAL LIGHTS -- */
-    for (int i = 0; i < MAX_DIR_LIGHTS; i++) {
-        if (directionalLights[i].intensity <= 0) break;
-
+    for (int i = 0; i < directionalLightCount; i++) {
         fragmentColor += computeDirLightInfluence(fragmentTextureCoordinate,
                                                   fragmentNormal,
                                                   entityMaterial,
@@ -303,9 +306,7 @@ void main() {
 
 
     /* -- ADDING THE INFLUENCE OF THE POINT LIGHTS -- */
-    for (int i = 0; i < MAX_POINT_LIGHTS; i++) {
-        if (pointLights[i].intensity <= 0) break;
-
+    for (int i = 0; i < pointLightCount; i++) {
         fragmentColor += computePointLightInfluence(
                 fragmentPosition,
                 fragmentTextureCoordinate,
@@ -316,9 +317,7 @@ void main() {
 
 
     /* -- ADDING THE INFLUENCE OF THE SPOT LIGHTS -- */
-    for (int i = 0; i < MAX_SPOT_LIGHTS; i++) {
-        if (spotLights[i].intensity <= 0) break;
-
+    for (int i = 0; i < spotLightCount; i++) {
         fragmentColor += computeSpotLightInfluence(
                 fragmentPosition,
                 fragmentTextureCoordinate,
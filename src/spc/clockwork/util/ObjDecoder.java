@@ -3,6 +3,8 @@ package spc.clockwork.util;
 import spc.clockwork.collections.GameWorld;
 import spc.clockwork.graphics.mesh.Mesh;
 import spc.clockwork.graphics.mesh.TriangleSetMesh;
+import spc.clockwork.util.jfr.AssetLoadEvent;
+import spc.clockwork.util.jfr.FlightRecording;
 import spc.clockwork.util.math.vector.Vector3f;
 
 import java.io.BufferedReader;
@@ -25,6 +27,9 @@ public class ObjDecoder {
     private static final String WARNING_MESH_WITHOUT_TRIANGLE_SET
             = "Warning: the mesh loaded does not contain the triangle set, because of some error occurred. \n" +
             "\tThe mesh \"%s\" can be rendered, but cannot be used for internal computations (such as collisions).";
+
+    /** The type of the assets, which are loaded by the decoder, as it is recorded by the {@link AssetLoadEvent} */
+    private static final String ASSET_TYPE_MESH = "mesh";
     /*--------------------*/
 
 
@@ -125,6 +130,9 @@ public class ObjDecoder {
                                 String description,
                                 Vector3f scale) throws IOException {
         /* ---- INITIALIZATION ---- */
+        final AssetLoadEvent event = FlightRecording.AVAILABLE ? new AssetLoadEvent() : null;
+        if (event != null) event.begin();
+        long bytesRead = 0;
         ArrayList<Vector3f> vertices = new ArrayList<>();
         ArrayList<Vector3f> textures = new ArrayList<>();
         ArrayList<Vector3f> normals = new ArrayList<>();
@@ -136,6 +144,7 @@ public class ObjDecoder {
         /* ---- SPLITTING OBJ INTO LISTS ---- */
         String line;
         while((line = sourceReader.readLine()) != null) {
+            bytesRead += line.length() + 1;
             String[] tokens = line.split("\\s+");
             switch (tokens[0]) {
                 case "v":
@@ -174,7 +183,9 @@ public class ObjDecoder {
                     break;
             }
         }
-        return reorderLists(gameWorld, classpath, filename, description, vertices, textures, normals, faces);
+        final Mesh mesh = reorderLists(gameWorld, classpath, filename, description, vertices, textures, normals, faces);
+        if (event != null) event.finish(ASSET_TYPE_MESH, filename, bytesRead);
+        return mesh;
     }
     /*--------------------*/
 
@@ -0,0 +1,60 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event of the loading and the decoding of an asset file (a mesh or a texture).
+ * The stack trace is recorded, so the code, which loads the assets in the middle of the game, can be found
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.AssetLoad")
+@Label("Asset Load")
+@Category({"Clockwork", "Asset"})
+@Description("The loading and the decoding of an asset file")
+public final class AssetLoadEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The kind of the asset */
+    @Label("Asset Type")
+    private String assetType;
+
+    /** The path to the file of the asset relative to its classpath */
+    @Label("File Path")
+    private String filePath;
+
+    /** The amount of bytes, which were read (a text file) or decoded (an image) */
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param assetType the kind of the asset (e.g. "mesh" or "texture")
+     * @param filePath the path to the file of the asset
+     * @param bytes the amount of bytes read or decoded
+     */
+    public void finish(final String assetType, final String filePath, final long bytes) {
+        if (!this.shouldCommit()) return;
+        this.assetType = assetType;
+        this.filePath = filePath;
+        this.bytes = bytes;
+        this.commit();
+    }
+    /*--------------------*/
+}
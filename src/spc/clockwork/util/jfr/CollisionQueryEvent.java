@@ -0,0 +1,63 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event of a collision query of a hit box against the meshes.
+ * The queries are run by the scripts, so only the slow ones are recorded by default (see the threshold),
+ *      the threshold may be lowered in the recording settings.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.CollisionQuery")
+@Label("Collision Query")
+@Category({"Clockwork", "Collision"})
+@Description("A collision query of a hit box against the triangles of the meshes")
+@Threshold("100 us")
+@StackTrace(false)
+public final class CollisionQueryEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The kind of the query */
+    @Label("Query")
+    private String query;
+
+    /** The amount of triangles, which were tested exactly (after the bounds check) */
+    @Label("Triangles Tested")
+    private int trianglesTested;
+
+    /** Whether a collision was found */
+    @Label("Collided")
+    private boolean collided;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param query the kind of the query (e.g. "collides" or "collideAndSlide")
+     * @param trianglesTested the amount of triangles tested exactly
+     * @param collided whether a collision was found
+     */
+    public void finish(final String query, final int trianglesTested, final boolean collided) {
+        if (!this.shouldCommit()) return;
+        this.query = query;
+        this.trianglesTested = trianglesTested;
+        this.collided = collided;
+        this.commit();
+    }
+    /*--------------------*/
+}
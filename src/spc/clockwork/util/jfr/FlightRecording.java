@@ -0,0 +1,60 @@
+package spc.clockwork.util.jfr;
+
+
+/**
+ * {@link FlightRecording} tells, whether the events of this package may be used by the running JVM.
+ *
+ * The events extend {@code jdk.jfr.Event}, which exists in Java 11 and in the builds of Java 8 since 8u262 only,
+ *      so on an older JVM the first use of an event class throws a {@link NoClassDefFoundError}.
+ * This class does not refer to {@code jdk.jfr} itself, so the callers check {@link #AVAILABLE} first
+ *      and create no event at all, when the recorder is missing:
+ *      {@code final TickEvent event = FlightRecording.AVAILABLE ? new TickEvent() : null;}
+ * An event class, which is never instantiated, is never resolved by the JVM, so the callers stay linkable.
+ * The flag is a constant, so the check costs nothing, once the caller is compiled.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class FlightRecording {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The name of the class, which all the events extend */
+    private static final String EVENT_CLASS_NAME = "jdk.jfr.Event";
+
+    /** Whether the Java Flight Recorder API is present in the running JVM */
+    public static final boolean AVAILABLE = isApiPresent();
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Looks up the base class of the events without initializing it
+     * @return true, if the class is found, else return false
+     */
+    private static boolean isApiPresent() {
+        try {
+            Class.forName(EVENT_CLASS_NAME, false, FlightRecording.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * A static class cannot be instantiated
+     */
+    private FlightRecording() {
+    }
+    /*--------------------*/
+}
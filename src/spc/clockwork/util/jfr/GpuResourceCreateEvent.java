@@ -0,0 +1,60 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import spc.clockwork.graphics.GpuResourceReclaimer;
+
+/**
+ * A Java Flight Recorder event of the creation of the GPU objects of an asset,
+ *      as they are registered with the {@link GpuResourceReclaimer}.
+ * The stack trace is recorded, so the code, which creates the GPU objects, can be found
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.GpuResourceCreate")
+@Label("GPU Resource Create")
+@Category({"Clockwork", "GPU"})
+@Description("The creation of the GPU objects (buffers, vertex arrays, textures) of an asset")
+public final class GpuResourceCreateEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The amount of buffers created */
+    @Label("Buffers")
+    private int buffers;
+
+    /** The amount of vertex arrays created */
+    @Label("Vertex Arrays")
+    private int vertexArrays;
+
+    /** The amount of textures created */
+    @Label("Textures")
+    private int textures;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param kinds the kinds of the GPU objects, as they are given to {@link GpuResourceReclaimer#track}
+     */
+    public void finish(final int[] kinds) {
+        if (!this.shouldCommit()) return;
+        for (final int kind : kinds) {
+            if (kind == GpuResourceReclaimer.BUFFER) this.buffers++;
+            else if (kind == GpuResourceReclaimer.VERTEX_ARRAY) this.vertexArrays++;
+            else if (kind == GpuResourceReclaimer.TEXTURE) this.textures++;
+        }
+        this.commit();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,60 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event of the deletion of a batch of the released GPU objects
+ *      by the {@link spc.clockwork.graphics.GpuResourceReclaimer}
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.GpuResourceDelete")
+@Label("GPU Resource Delete")
+@Category({"Clockwork", "GPU"})
+@Description("The deletion of a batch of the released GPU objects (buffers, vertex arrays, textures)")
+@StackTrace(false)
+public final class GpuResourceDeleteEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The amount of buffers deleted */
+    @Label("Buffers")
+    private int buffers;
+
+    /** The amount of vertex arrays deleted */
+    @Label("Vertex Arrays")
+    private int vertexArrays;
+
+    /** The amount of textures deleted */
+    @Label("Textures")
+    private int textures;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param buffers the amount of buffers deleted
+     * @param vertexArrays the amount of vertex arrays deleted
+     * @param textures the amount of textures deleted
+     */
+    public void finish(final int buffers, final int vertexArrays, final int textures) {
+        if (!this.shouldCommit()) return;
+        this.buffers = buffers;
+        this.vertexArrays = vertexArrays;
+        this.textures = textures;
+        this.commit();
+    }
+    /*--------------------*/
+}
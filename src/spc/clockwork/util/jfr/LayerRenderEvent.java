@@ -0,0 +1,65 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event of the rendering of a single layer into a window
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.LayerRender")
+@Label("Layer Render")
+@Category({"Clockwork", "Frame"})
+@Description("The rendering of the captured entities of a layer into a window")
+@StackTrace(false)
+public final class LayerRenderEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The name of the layer in its world */
+    @Label("Layer")
+    private String layer;
+
+    /** The position of the window in its manager */
+    @Label("Window")
+    private int window;
+
+    /** The amount of entities, which were captured in the layer */
+    @Label("Entities")
+    private int entities;
+
+    /** The amount of draw calls, which were issued */
+    @Label("Draws")
+    private int draws;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param layer the name of the layer
+     * @param window the position of the window in its manager
+     * @param entities the amount of entities in the layer
+     * @param draws the amount of draw calls
+     */
+    public void finish(final String layer, final int window, final int entities, final int draws) {
+        if (!this.shouldCommit()) return;
+        this.layer = layer;
+        this.window = window;
+        this.entities = entities;
+        this.draws = draws;
+        this.commit();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,57 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event of the execution of a single script by the {@link spc.clockwork.core.ScriptScheduler}.
+ * There are many scripts in a tick, so only the slow ones are recorded by default (see the threshold),
+ *      the threshold may be lowered in the recording settings.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.Script")
+@Label("Script")
+@Category({"Clockwork", "Tick"})
+@Description("A single execution of the onTick method of a scripted object")
+@Threshold("100 us")
+@StackTrace(false)
+public final class ScriptEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The class of the script */
+    @Label("Script Class")
+    private Class<?> scriptClass;
+
+    /** The index of the phase of the tick, which the script belongs to */
+    @Label("Phase")
+    private int phase;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param script the script, which has been executed
+     * @param phase the index of the phase of the tick
+     */
+    public void finish(final Object script, final int phase) {
+        if (!this.shouldCommit()) return;
+        this.scriptClass = script.getClass();
+        this.phase = phase;
+        this.commit();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,59 @@
+package spc.clockwork.util.jfr;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event of a single tick of {@link spc.clockwork.core.Clockwork}.
+ *
+ * The events of this package are the usual {@link jdk.jfr.Event}s, so their cost is decided by the recorder itself:
+ *      when no recording is running (or the event type is disabled in the recording settings),
+ *      the event classes are not instrumented, {@code begin()} and {@code shouldCommit()} do nothing,
+ *      and the short-lived event objects are eliminated by the escape analysis.
+ * The fields of an event are filled in by its {@code finish} method only after {@code shouldCommit()},
+ *      so the values, which cost something to get, are not even read, unless the event is going to be recorded.
+ *
+ * All the events belong to the "Clockwork" category and are recorded together with the events of the JVM,
+ *      so a recording (e.g. {@code -XX:StartFlightRecording=filename=clockwork.jfr}) shows the pauses of the GC
+ *      on the same timeline with the ticks, the scripts and the frames, which they have delayed.
+ * The events are created only if {@link FlightRecording#AVAILABLE}, so Clockwork still runs on a JVM without the API.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+@Name("spc.clockwork.Tick")
+@Label("Tick")
+@Category({"Clockwork", "Tick"})
+@Description("A single update of the game world: the game logic, the scripts, the commands and the transformations")
+@StackTrace(false)
+public final class TickEvent extends Event {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The number of the tick since the clock was set */
+    @Label("Tick")
+    private long tick;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Ends the event and commits it, if it is recorded
+     * @param tick the number of the tick since the clock was set
+     */
+    public void finish(final long tick) {
+        if (!this.shouldCommit()) return;
+        this.tick = tick;
+        this.commit();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,327 @@
+package spc.clockwork.util.math;
+
+
+import com.sun.istack.internal.NotNull;
+import spc.clockwork.util.math.matrix.FloatMatrix;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.matrix.Matrix4f;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.Arrays;
+
+/**
+ * {@link PointBatch} is a growable batch of 3d points, stored as a structure of arrays (xs, ys, zs).
+ * It provides the batch operations (transformation, bounds), which process thousands of points at once
+ *      instead of constructing a {@link Vector3f} per point.
+ *
+ * The batch transformation is performed by a {@link PointBatchKernel}.
+ * If the vectorized kernel (built with the jdk.incubator.vector module) is on the class path
+ *      and the module is resolved at runtime, the SIMD kernel is used, otherwise the scalar loop is.
+ * Both kernels perform the same operations in the same order, so the results are identical.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class PointBatch {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** An error message, if the batch arrays are of insufficient length */
+    private static final String ERROR_ARRAYS_ARE_TOO_SHORT =
+            "Error: The arrays given are shorter than the amount of points to process";
+    /** An error message, if the bounds are requested for an empty range */
+    private static final String ERROR_EMPTY_RANGE =
+            "Error: Cannot compute the bounds of an empty range of points";
+
+    /** The name of the vectorized kernel class, which is compiled separately on JDK 16+ */
+    private static final String VECTOR_KERNEL_CLASS_NAME = "spc.clockwork.util.math.PointBatchVectorKernel";
+
+    /** The kernel, which performs the batch operations */
+    private static final PointBatchKernel KERNEL = loadKernel();
+
+
+    /** The x-coordinates of the points */
+    private float[] xs;
+    /** The y-coordinates of the points */
+    private float[] ys;
+    /** The z-coordinates of the points */
+    private float[] zs;
+    /** The amount of points in this batch */
+    private int size;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Loads the vectorized kernel, if it is available, or falls back to the scalar one
+     * @return the kernel to be used by all of the batches
+     */
+    private static PointBatchKernel loadKernel() {
+        try {
+            return (PointBatchKernel) Class.forName(VECTOR_KERNEL_CLASS_NAME).getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            /* THE KERNEL IS NOT BUILT OR THE jdk.incubator.vector MODULE IS NOT RESOLVED */
+            return new ScalarKernel();
+        }
+    }
+
+    /**
+     * Makes sure the batch can hold the amount of points given, growing the arrays if required
+     * @param capacity the required capacity
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= this.xs.length) return;
+        final int newCapacity = Math.max(capacity, this.xs.length * 2);
+        this.xs = Arrays.copyOf(this.xs, newCapacity);
+        this.ys = Arrays.copyOf(this.ys, newCapacity);
+        this.zs = Arrays.copyOf(this.zs, newCapacity);
+    }
+
+    /**
+     * Throws an exception, if any of the arrays is shorter than the amount of points to process
+     */
+    private static void checkLength(final int count, final float[]... arrays) {
+        for (float[] array : arrays)
+            if (array.length < count) throw new IndexOutOfBoundsException(ERROR_ARRAYS_ARE_TOO_SHORT);
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- BATCH OPERATIONS ---- */
+
+    /**
+     * Transforms the points (xs[i], ys[i], zs[i], 1) by the matrix given and writes them into the output arrays.
+     * The output arrays may be the input ones.
+     * A {@link Matrix4f} is copied by the caller into a {@link Mat4}, which it reuses ({@link Mat4#set(FloatMatrix)}),
+     *      so the batches do not allocate a matrix per call.
+     * @param matrix the transformation matrix
+     * @param xs the x-coordinates of the points
+     * @param ys the y-coordinates of the points
+     * @param zs the z-coordinates of the points
+     * @param outXs the x-coordinates of the transformed points
+     * @param outYs the y-coordinates of the transformed points
+     * @param outZs the z-coordinates of the transformed points
+     * @param count the amount of points to transform
+     */
+    public static void transform(@NotNull final Mat4 matrix,
+                                 @NotNull final float[] xs, @NotNull final float[] ys, @NotNull final float[] zs,
+                                 @NotNull final float[] outXs, @NotNull final float[] outYs, @NotNull final float[] outZs,
+                                 final int count) {
+        checkLength(count, xs, ys, zs, outXs, outYs, outZs);
+        KERNEL.transform(matrix, xs, ys, zs, outXs, outYs, outZs, count);
+    }
+
+    /**
+     * Computes the axis-aligned bounds of a range of points
+     * @param xs the x-coordinates of the points
+     * @param ys the y-coordinates of the points
+     * @param zs the z-coordinates of the points
+     * @param from the index of the first point of the range
+     * @param count the amount of points in the range (at least one)
+     * @param destination the array of six elements to write {minX, minY, minZ, maxX, maxY, maxZ} into
+     * @return destination
+     */
+    public static float[] bounds(@NotNull final float[] xs, @NotNull final float[] ys, @NotNull final float[] zs,
+                                 final int from, final int count, @NotNull final float[] destination) {
+        if (count <= 0) throw new IllegalArgumentException(ERROR_EMPTY_RANGE);
+        checkLength(from + count, xs, ys, zs);
+        KERNEL.bounds(xs, ys, zs, from, count, destination);
+        return destination;
+    }
+
+    /**
+     * Transforms all points of this batch and writes them into the destination batch (which may be this)
+     * @param matrix the transformation matrix
+     * @param destination the batch to write the transformed points into
+     * @return destination
+     */
+    public PointBatch transformInto(@NotNull final Mat4 matrix, @NotNull final PointBatch destination) {
+        destination.ensureCapacity(this.size);
+        destination.size = this.size;
+        KERNEL.transform(matrix, this.xs, this.ys, this.zs, destination.xs, destination.ys, destination.zs, this.size);
+        return destination;
+    }
+
+    /**
+     * Computes the axis-aligned bounds of a range of the points of this batch
+     * @param from the index of the first point of the range
+     * @param count the amount of points in the range (at least one)
+     * @param destination the array of six elements to write {minX, minY, minZ, maxX, maxY, maxZ} into
+     * @return destination
+     */
+    public float[] bounds(final int from, final int count, @NotNull final float[] destination) {
+        if (from + count > this.size) throw new IndexOutOfBoundsException(ERROR_ARRAYS_ARE_TOO_SHORT);
+        return bounds(this.xs, this.ys, this.zs, from, count, destination);
+    }
+
+
+    /* ---- BATCH CONTENT ---- */
+
+    /**
+     * Adds a point to the end of this batch
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param z the z-coordinate of the point
+     */
+    public void add(final float x, final float y, final float z) {
+        this.ensureCapacity(this.size + 1);
+        this.xs[this.size] = x;
+        this.ys[this.size] = y;
+        this.zs[this.size] = z;
+        this.size++;
+    }
+
+    /**
+     * Adds a point to the end of this batch
+     * @param point the point to add
+     */
+    public void add(@NotNull final Vector3f point) {
+        this.add(point.x(), point.y(), point.z());
+    }
+
+    /**
+     * Removes all the points from this batch, keeping the arrays
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Gets the amount of points in this batch
+     * @return the amount of points in this batch
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the x-coordinate of the point with the index given
+     * @param index the index of the point
+     * @return the x-coordinate
+     */
+    public float getX(final int index) {
+        return this.xs[index];
+    }
+
+    /**
+     * Gets the y-coordinate of the point with the index given
+     * @param index the index of the point
+     * @return the y-coordinate
+     */
+    public float getY(final int index) {
+        return this.ys[index];
+    }
+
+    /**
+     * Gets the z-coordinate of the point with the index given
+     * @param index the index of the point
+     * @return the z-coordinate
+     */
+    public float getZ(final int index) {
+        return this.zs[index];
+    }
+
+    /**
+     * Creates an immutable vector of the point with the index given
+     * @param index the index of the point
+     * @return a new vector
+     */
+    public Vector3f toVector3f(final int index) {
+        return new Vector3f(this.xs[index], this.ys[index], this.zs[index]);
+    }
+
+    /**
+     * Tells whether the batch operations are performed with the SIMD instructions
+     * @return true, if the vectorized kernel is in use, else return false
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarKernel);
+    }
+    /*--------------------*/
+
+
+
+    /* KERNELS
+    /*--------------------*/
+
+    /**
+     * The scalar implementation of the batch operations.
+     * The loops are simple counted loops over primitive arrays, so the JIT is still free to unroll them.
+     */
+    static final class ScalarKernel implements PointBatchKernel {
+
+        @Override
+        public void transform(final Mat4 m,
+                              final float[] xs, final float[] ys, final float[] zs,
+                              final float[] outXs, final float[] outYs, final float[] outZs,
+                              final int count) {
+            this.transformRange(m, xs, ys, zs, outXs, outYs, outZs, 0, count);
+        }
+
+        /**
+         * Transforms the points from the first index given to the last one (exclusive),
+         *      e.g. the tail of the arrays, which the vectorized kernel leaves
+         */
+        void transformRange(final Mat4 m,
+                            final float[] xs, final float[] ys, final float[] zs,
+                            final float[] outXs, final float[] outYs, final float[] outZs,
+                            final int from, final int to) {
+            final float m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+            final float m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+            final float m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+            for (int i = from; i < to; i++) {
+                final float x = xs[i], y = ys[i], z = zs[i];
+                outXs[i] = m00 * x + m01 * y + m02 * z + m03;
+                outYs[i] = m10 * x + m11 * y + m12 * z + m13;
+                outZs[i] = m20 * x + m21 * y + m22 * z + m23;
+            }
+        }
+
+        @Override
+        public void bounds(final float[] xs, final float[] ys, final float[] zs,
+                           final int from, final int count, final float[] destination) {
+            float minX = xs[from], minY = ys[from], minZ = zs[from];
+            float maxX = minX, maxY = minY, maxZ = minZ;
+            for (int i = from + 1; i < from + count; i++) {
+                minX = Math.min(minX, xs[i]); maxX = Math.max(maxX, xs[i]);
+                minY = Math.min(minY, ys[i]); maxY = Math.max(maxY, ys[i]);
+                minZ = Math.min(minZ, zs[i]); maxZ = Math.max(maxZ, zs[i]);
+            }
+            destination[0] = minX; destination[1] = minY; destination[2] = minZ;
+            destination[3] = maxX; destination[4] = maxY; destination[5] = maxZ;
+        }
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty batch with the initial capacity given
+     * @param capacity the initial capacity
+     */
+    public PointBatch(final int capacity) {
+        this.xs = new float[capacity];
+        this.ys = new float[capacity];
+        this.zs = new float[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Creates an empty batch
+     */
+    public PointBatch() {
+        this(16);
+    }
+    /*--------------------*/
+}
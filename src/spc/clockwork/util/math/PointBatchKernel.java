@@ -0,0 +1,27 @@
+package spc.clockwork.util.math;
+
+
+import spc.clockwork.util.math.matrix.Mat4;
+
+/**
+ * The implementation of the {@link PointBatch} operations over the structure-of-arrays buffers.
+ * The arguments are validated by the {@link PointBatch} before being passed to the kernel.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+interface PointBatchKernel {
+
+    /**
+     * Transforms the points (xs[i], ys[i], zs[i], 1) by the matrix given and writes them into the output arrays
+     */
+    void transform(Mat4 matrix,
+                   float[] xs, float[] ys, float[] zs,
+                   float[] outXs, float[] outYs, float[] outZs,
+                   int count);
+
+    /**
+     * Computes the axis-aligned bounds {minX, minY, minZ, maxX, maxY, maxZ} of a non-empty range of points
+     */
+    void bounds(float[] xs, float[] ys, float[] zs, int from, int count, float[] destination);
+}
@@ -1,7 +1,7 @@
 package spc.clockwork.util.math;
 
 
-import spc.clockwork.util.TemporaryStorage;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.util.math.matrix.Matrix4f;
 import spc.clockwork.util.math.vector.Quaternion;
 import spc.clockwork.util.math.vector.Vector3f;
@@ -9,6 +9,7 @@ import spc.clockwork.util.math.vector.Vector3f;
 /**
  * {@link Transformation} is a mutable structure that encapsulates position, rotation and scale of an object.
  * The class also provides methods to modify and getConst those fields in different forms.
+ * The derived matrices and directions are computed on demand and cached; a single bitmask tells which are outdated.
  *
  * @author wize
  * @version 1 (4 July 2018)
@@ -17,6 +18,39 @@ public final class Transformation {
 
     /* ATTRIBUTES
     /*--------------------*/
+    /* ---- OUTDATED MASK BITS ---- */
+    /* EVERY VALUE DERIVED FROM THE POSITION, ROTATION AND SCALE HAS A BIT, WHICH IS SET WHILE IT IS OUTDATED */
+    private static final int TRANSLATION_MATRIX = 1;
+    private static final int ANTI_TRANSLATION_MATRIX = 1 << 1;
+    private static final int ROTATION_MATRIX = 1 << 2;
+    private static final int ANTI_ROTATION_MATRIX = 1 << 3;
+    private static final int SCALE_MATRIX = 1 << 4;
+    private static final int MODEL_MATRIX = 1 << 5;
+    private static final int ANTI_MODEL_MATRIX = 1 << 6;
+    private static final int VIEW_MATRIX = 1 << 7;
+    private static final int ANTI_VIEW_MATRIX = 1 << 8;
+    private static final int MODEL_MAT4 = 1 << 9;
+    private static final int ANTI_MODEL_MAT4 = 1 << 10;
+    private static final int VIEW_MAT4 = 1 << 11;
+    private static final int ANTI_VIEW_MAT4 = 1 << 12;
+    private static final int DIRECTIONS = 1 << 13;
+
+    /** The values, which depend on the position */
+    private static final int POSITION_DEPENDENT = TRANSLATION_MATRIX | ANTI_TRANSLATION_MATRIX
+            | MODEL_MATRIX | ANTI_MODEL_MATRIX | VIEW_MATRIX | ANTI_VIEW_MATRIX
+            | MODEL_MAT4 | ANTI_MODEL_MAT4 | VIEW_MAT4 | ANTI_VIEW_MAT4;
+    /** The values, which depend on the rotation */
+    private static final int ROTATION_DEPENDENT = ROTATION_MATRIX | ANTI_ROTATION_MATRIX
+            | MODEL_MATRIX | ANTI_MODEL_MATRIX | VIEW_MATRIX | ANTI_VIEW_MATRIX
+            | MODEL_MAT4 | ANTI_MODEL_MAT4 | VIEW_MAT4 | ANTI_VIEW_MAT4 | DIRECTIONS;
+    /** The values, which depend on the scale (the view matrices do not) */
+    private static final int SCALE_DEPENDENT = SCALE_MATRIX
+            | MODEL_MATRIX | ANTI_MODEL_MATRIX | MODEL_MAT4 | ANTI_MODEL_MAT4;
+
+    /** The amount of the immutable matrices (the bits from TRANSLATION_MATRIX to ANTI_VIEW_MATRIX) */
+    private static final int MATRIX_COUNT = 9;
+
+
     /* ---- MAIN TRANSFORMATION FIELDS ---- */
     /** The position vector of this transformation */
     private Vector3f position;
@@ -27,7 +61,10 @@ public final class Transformation {
     /** The scale of this transformation */
     private float scale;
 
-    /* ---- LOCAL SPACE DIRECTIONS ---- */
+    /** The mask of the outdated derived values */
+    private int outdated = ~0;
+
+    /* ---- LOCAL SPACE DIRECTIONS (THE COLUMNS OF THE ROTATION MATRIX, COMPUTED ON DEMAND) ---- */
     /** The direction vector of the object's 'forward' */
     private Vector3f localForwardDirection;
     /** The direction vector of the object's 'upward' */
@@ -35,66 +72,14 @@ public final class Transformation {
     /** The direction vector of the object's 'rightward' */
     private Vector3f localRightwardDirection;
 
-    /* ---- SIMPLE MATRIX TEMPORARY STORAGE ---- */
-    private final TemporaryStorage<Matrix4f> translationMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Matrix4f.newTranslationMatrix(Transformation.this.getPosition());
-        }
-    };
-    private final TemporaryStorage<Matrix4f> antiTranslationMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Matrix4f.newTranslationMatrix(Transformation.this.getPosition().negate());
-        }
-    };
-    private final TemporaryStorage<Matrix4f> rotationMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getRotation().toRotationMatrix();
-        }
-    };
-    private final TemporaryStorage<Matrix4f> antiRotationMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getRotation().conjugate().toRotationMatrix();
-        }
-    };
-    private final TemporaryStorage<Matrix4f> scaleMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Matrix4f.newScaleMatrix(Transformation.this.getScale());
-        }
-    };
-
-    /* ---- COMPLEX MATRIX TEMPORARY STORAGE ---- */
-    private final TemporaryStorage<Matrix4f> modelMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getTranslationMatrix()
-                    .mul(Transformation.this.getRotationMatrix())
-                    .mul(Transformation.this.getScaleMatrix());
-        }
-    };
-    private final TemporaryStorage<Matrix4f> antiModelMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getModelMatrix().invert();
-        }
-    };
-    private final TemporaryStorage<Matrix4f> viewMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getAntiRotationMatrix()
-                    .mul(Transformation.this.getAntiTranslationMatrix());
-        }
-    };
-    private final TemporaryStorage<Matrix4f> antiViewMatrixStorage = new TemporaryStorage<Matrix4f>() {
-        @Override
-        protected Matrix4f getUpdatedElement() {
-            return Transformation.this.getViewMatrix().invert();
-        }
-    };
+    /* ---- IMMUTABLE MATRICES (ALLOCATED ON DEMAND, INDEXED BY THE BIT NUMBER) ---- */
+    private Matrix4f[] matrices;
+
+    /* ---- MUTABLE MATRICES (ALLOCATED ON DEMAND, RECOMPUTED IN PLACE) ---- */
+    private Mat4 modelMat4;
+    private Mat4 antiModelMat4;
+    private Mat4 viewMat4;
+    private Mat4 antiViewMat4;
     /*--------------------*/
 
 
@@ -103,22 +88,69 @@ public final class Transformation {
     /*--------------------*/
 
     /**
-     * Sets all the instances of complex matrix storage as outdated
+     * Marks the derived values given as outdated
+     * @param mask the mask of the values
      */
-    private void setComplexMatrixStorageInstancesOutdated() {
-        this.modelMatrixStorage.setOutdated();
-        this.viewMatrixStorage.setOutdated();
-        this.antiModelMatrixStorage.setOutdated();
-        this.antiViewMatrixStorage.setOutdated();
+    private void setOutdated(final int mask) {
+        this.outdated |= mask;
     }
 
     /**
-     * Updates the Local Space Direction vectors
+     * Marks the derived value given as up-to-date
+     * @param bit the bit of the value
+     * @return true, if the value was outdated (and must be recomputed now), else return false
+     */
+    private boolean refresh(final int bit) {
+        if ((this.outdated & bit) == 0) return false;
+        this.outdated &= ~bit;
+        return true;
+    }
+
+    /**
+     * Gets one of the immutable matrices, recomputing it, if it is outdated
+     * @param bit the bit of the matrix
+     * @return the matrix
+     */
+    private Matrix4f getMatrix(final int bit) {
+        if (this.matrices == null) this.matrices = new Matrix4f[MATRIX_COUNT];
+        final int index = Integer.numberOfTrailingZeros(bit);
+        if (this.refresh(bit) || this.matrices[index] == null) this.matrices[index] = this.computeMatrix(bit);
+        return this.matrices[index];
+    }
+
+    /**
+     * Computes one of the immutable matrices
+     * @param bit the bit of the matrix
+     * @return a new matrix
+     */
+    private Matrix4f computeMatrix(final int bit) {
+        switch (bit) {
+            case TRANSLATION_MATRIX: return Matrix4f.newTranslationMatrix(this.getPosition());
+            case ANTI_TRANSLATION_MATRIX: return Matrix4f.newTranslationMatrix(this.getPosition().negate());
+            case ROTATION_MATRIX: return this.getRotation().toRotationMatrix();
+            case ANTI_ROTATION_MATRIX: return this.getRotation().conjugate().toRotationMatrix();
+            case SCALE_MATRIX: return Matrix4f.newScaleMatrix(this.getScale());
+            case MODEL_MATRIX: return this.getModelMat4().toMatrix4f();
+            case ANTI_MODEL_MATRIX: return this.getAntiModelMat4().toMatrix4f();
+            case VIEW_MATRIX: return this.getViewMat4().toMatrix4f();
+            default: return this.getAntiViewMat4().toMatrix4f();
+        }
+    }
+
+    /**
+     * Updates the Local Space Direction vectors out of the columns of the rotation matrix, if they are outdated
      */
     private void updateLocalSpaceDirections() {
-        this.localForwardDirection = Vector3f.FORWARD_VECTOR.rotate(this.getRotation());
-        this.localRightwardDirection = Vector3f.RIGHT_VECTOR.rotate(this.getRotation());
-        this.localUpwardDirection = Vector3f.UP_VECTOR.rotate(this.getRotation());
+        if (!this.refresh(DIRECTIONS)) return;
+        final Quaternion q = this.getRotation();
+        final float x = q.x(), y = q.y(), z = q.z(), w = q.w();
+        final float xx = x * x, yy = y * y, zz = z * z;
+        final float xy = x * y, xz = x * z, yz = y * z;
+        final float xw = x * w, yw = y * w, zw = z * w;
+        /* RIGHT IS +X, UP IS +Y AND FORWARD IS -Z */
+        this.localRightwardDirection = new Vector3f(1f - 2f * (yy + zz), 2f * (xy + zw), 2f * (xz - yw));
+        this.localUpwardDirection = new Vector3f(2f * (xy - zw), 1f - 2f * (xx + zz), 2f * (yz + xw));
+        this.localForwardDirection = new Vector3f(-2f * (xz + yw), -2f * (yz - xw), -(1f - 2f * (xx + yy)));
     }
     /*--------------------*/
 
@@ -161,7 +193,7 @@ public final class Transformation {
      * @return the translation matrix of this transformation
      */
     public final Matrix4f getTranslationMatrix() {
-        return this.translationMatrixStorage.getElement();
+        return this.getMatrix(TRANSLATION_MATRIX);
     }
 
     /**
@@ -169,7 +201,7 @@ public final class Transformation {
      * @return the anti translation matrix of this transformation
      */
     public final Matrix4f getAntiTranslationMatrix() {
-        return this.antiTranslationMatrixStorage.getElement();
+        return this.getMatrix(ANTI_TRANSLATION_MATRIX);
     }
 
     /**
@@ -177,7 +209,7 @@ public final class Transformation {
      * @return the rotation matrix of this transformation
      */
     public final Matrix4f getRotationMatrix() {
-        return this.rotationMatrixStorage.getElement();
+        return this.getMatrix(ROTATION_MATRIX);
     }
 
     /**
@@ -185,7 +217,7 @@ public final class Transformation {
      * @return the anti rotation matrix of this transformation
      */
     public final Matrix4f getAntiRotationMatrix() {
-        return this.antiRotationMatrixStorage.getElement();
+        return this.getMatrix(ANTI_ROTATION_MATRIX);
     }
 
     /**
@@ -193,7 +225,7 @@ public final class Transformation {
      * @return the scale matrix of this transformation
      */
     public final Matrix4f getScaleMatrix() {
-        return this.scaleMatrixStorage.getElement();
+        return this.getMatrix(SCALE_MATRIX);
     }
 
     /**
@@ -201,7 +233,7 @@ public final class Transformation {
      * @return the model matrix of this transformation
      */
     public final Matrix4f getModelMatrix() {
-        return this.modelMatrixStorage.getElement();
+        return this.getMatrix(MODEL_MATRIX);
     }
 
     /**
@@ -209,7 +241,7 @@ public final class Transformation {
      * @return the inverse of a model matrix of this transformation
      */
     public final Matrix4f getAntiModelMatrix() {
-        return this.antiModelMatrixStorage.getElement();
+        return this.getMatrix(ANTI_MODEL_MATRIX);
     }
 
     /**
@@ -217,7 +249,7 @@ public final class Transformation {
      * @return the view matrix of this transformation
      */
     public final Matrix4f getViewMatrix() {
-        return this.viewMatrixStorage.getElement();
+        return this.getMatrix(VIEW_MATRIX);
     }
 
     /**
@@ -225,7 +257,56 @@ public final class Transformation {
      * @return the inverse of a view matrix of this transformation
      */
     public final Matrix4f getAntiViewMatrix() {
-        return this.antiViewMatrixStorage.getElement();
+        return this.getMatrix(ANTI_VIEW_MATRIX);
+    }
+
+
+    /* ---- MUTABLE MATRIX ACCESSOR METHODS ---- */
+    /* THE MATRICES RETURNED ARE OWNED BY THIS TRANSFORMATION AND ARE UPDATED IN PLACE, DO NOT MODIFY THEM */
+
+    /**
+     * Gets the model matrix of this transformation without producing any garbage
+     * @return the model matrix of this transformation
+     */
+    public final Mat4 getModelMat4() {
+        if (this.modelMat4 == null) this.modelMat4 = new Mat4();
+        if (this.refresh(MODEL_MAT4))
+            this.modelMat4.translationRotateScale(this.getPosition(), this.getRotation(), this.getScale());
+        return this.modelMat4;
+    }
+
+    /**
+     * Gets the inverse of a model matrix of this transformation
+     * @return the inverse of a model matrix of this transformation
+     */
+    public final Mat4 getAntiModelMat4() {
+        if (this.antiModelMat4 == null) this.antiModelMat4 = new Mat4();
+        if (this.refresh(ANTI_MODEL_MAT4))
+            this.antiModelMat4.inverseTranslationRotateScale(this.getPosition(), this.getRotation(), this.getScale());
+        return this.antiModelMat4;
+    }
+
+    /**
+     * Gets the view matrix of this transformation without producing any garbage
+     * @return the view matrix of this transformation
+     */
+    public final Mat4 getViewMat4() {
+        if (this.viewMat4 == null) this.viewMat4 = new Mat4();
+        if (this.refresh(VIEW_MAT4))
+            this.viewMat4.inverseTranslationRotation(this.getPosition(), this.getRotation());
+        return this.viewMat4;
+    }
+
+    /**
+     * Gets the inverse of a view matrix of this transformation
+     * @return the inverse of a view matrix of this transformation
+     */
+    public final Mat4 getAntiViewMat4() {
+        if (this.antiViewMat4 == null) this.antiViewMat4 = new Mat4();
+        /* THE INVERSE OF THE VIEW MATRIX IS THE MODEL MATRIX WITHOUT SCALING */
+        if (this.refresh(ANTI_VIEW_MAT4))
+            this.antiViewMat4.translationRotateScale(this.getPosition(), this.getRotation(), 1f);
+        return this.antiViewMat4;
     }
 
 
@@ -236,6 +317,7 @@ public final class Transformation {
      * @return the local forward direction vector
      */
     public final Vector3f getLocalForwardDirection() {
+        this.updateLocalSpaceDirections();
         return this.localForwardDirection;
     }
 
@@ -244,6 +326,7 @@ public final class Transformation {
      * @return the local forward direction vector
      */
     public final Vector3f getLocalUpwardDirection() {
+        this.updateLocalSpaceDirections();
         return this.localUpwardDirection;
     }
 
@@ -252,6 +335,7 @@ public final class Transformation {
      * @return the local forward direction vector
      */
     public final Vector3f getLocalRightwardDirection() {
+        this.updateLocalSpaceDirections();
         return this.localRightwardDirection;
     }
 
@@ -265,9 +349,7 @@ public final class Transformation {
      */
     public final void setPosition(final Vector3f position) {
         this.position = position;
-        this.translationMatrixStorage.setOutdated();
-        this.antiTranslationMatrixStorage.setOutdated();
-        this.setComplexMatrixStorageInstancesOutdated();
+        this.setOutdated(POSITION_DEPENDENT);
     }
 
     /**
@@ -276,10 +358,7 @@ public final class Transformation {
      */
     public final void setRotation(final Quaternion rotation) {
         this.rotation = rotation.normalize();
-        this.rotationMatrixStorage.setOutdated();
-        this.antiRotationMatrixStorage.setOutdated();
-        this.setComplexMatrixStorageInstancesOutdated();
-        this.updateLocalSpaceDirections();
+        this.setOutdated(ROTATION_DEPENDENT);
     }
 
     /**
@@ -288,8 +367,21 @@ public final class Transformation {
      */
     public final void setScale(float scale) {
         this.scale = scale;
-        this.scaleMatrixStorage.setOutdated();
-        this.setComplexMatrixStorageInstancesOutdated();
+        this.setOutdated(SCALE_DEPENDENT);
+    }
+
+    /**
+     * Sets all of the values of the Transformation at once.
+     * Unlike {@link #setRotation(Quaternion)}, the rotation is not normalized again, so it must be a unit one.
+     * @param position new transformation's position
+     * @param rotation new transformation's (unit) rotation
+     * @param scale new transformation's scale
+     */
+    public final void set(final Vector3f position, final Quaternion rotation, final float scale) {
+        this.position = position;
+        this.rotation = rotation;
+        this.scale = scale;
+        this.setOutdated(POSITION_DEPENDENT | ROTATION_DEPENDENT | SCALE_DEPENDENT);
     }
 
     /**
@@ -388,7 +480,13 @@ public final class Transformation {
     public final Transformation combine(final Transformation transformation) {
         Transformation result = new Transformation();
 
-        result.setPosition(this.getModelMatrix().mul(transformation.getPosition(), 1f));
+        final Mat4 model = this.getModelMat4();
+        final Vector3f position = transformation.getPosition();
+        result.setPosition(new Vector3f(
+                model.m00 * position.x() + model.m01 * position.y() + model.m02 * position.z() + model.m03,
+                model.m10 * position.x() + model.m11 * position.y() + model.m12 * position.z() + model.m13,
+                model.m20 * position.x() + model.m21 * position.y() + model.m22 * position.z() + model.m23
+        ));
         result.setRotation(this.getRotation());
         result.rotate(transformation.getRotation());
 
@@ -407,16 +505,6 @@ public final class Transformation {
      * Default constructor that creates a default transformation
      */
     public Transformation() {
-        // this.translationMatrixStorage = new MatrixTemporaryStorage();
-        // this.antiTranslationMatrixStorage = new MatrixTemporaryStorage();
-        // this.rotationMatrixStorage = new MatrixTemporaryStorage();
-        // this.antiRotationMatrixStorage = new MatrixTemporaryStorage();
-        // this.scaleMatrixStorage = new MatrixTemporaryStorage();
-        // this.modelMatrixStorage = new MatrixTemporaryStorage();
-        // this.antiModelMatrixStorage = new MatrixTemporaryStorage();
-        // this.viewMatrixStorage = new MatrixTemporaryStorage();
-        // this.antiViewMatrixStorage = new MatrixTemporaryStorage();
-
         this.reset();
     }
     /*--------------------*/
@@ -5,6 +5,7 @@ import com.sun.istack.internal.NotNull;
 import spc.clockwork.util.TemporaryStorage;
 import spc.clockwork.util.math.MathUtils;
 import spc.clockwork.util.math.matrix.FloatMatrix;
+import spc.clockwork.util.math.matrix.Mat4;
 import spc.clockwork.util.math.matrix.Matrix4f;
 import spc.clockwork.util.math.vector.Vector3f;
 
@@ -83,6 +84,21 @@ public final class Triangle3D {
 
     /* PRIVATE METHODS
     /*--------------------*/
+
+    /**
+     * Transforms a point by the matrix given
+     * @param transformation the transformation matrix
+     * @param point the point
+     * @return a new transformed point
+     */
+    private static Vector3f transformPoint(final Mat4 transformation, final Vector3f point) {
+        final float x = point.x(), y = point.y(), z = point.z();
+        return new Vector3f(
+                transformation.m00 * x + transformation.m01 * y + transformation.m02 * z + transformation.m03,
+                transformation.m10 * x + transformation.m11 * y + transformation.m12 * z + transformation.m13,
+                transformation.m20 * x + transformation.m21 * y + transformation.m22 * z + transformation.m23
+        );
+    }
     /*--------------------*/
 
 
@@ -127,6 +143,19 @@ public final class Triangle3D {
         );
     }
 
+    /**
+     * Transforms the triangle points by means of using the transformation, defined by {@link Mat4}
+     * @param transformation the transformation to be applied to triangles
+     * @return new triangle, which is the transformed version of this one
+     */
+    public final Triangle3D transform(Mat4 transformation) {
+        return new Triangle3D(
+                transformPoint(transformation, this.a()),
+                transformPoint(transformation, this.b()),
+                transformPoint(transformation, this.c())
+        );
+    }
+
     /**
      * Creates and returns an iterator over the sides of this triangle
      * @return the triangle side iterator
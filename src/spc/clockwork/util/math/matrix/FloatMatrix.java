@@ -121,28 +121,6 @@ public class FloatMatrix {
         return this.width() != vector.size();
     }
 
-    /**
-     * Turns row of a matrix into a vector
-     * @param row the row number from 0 (top) to this.depth()-1 (bottom)
-     * @return returns new vector that that has an array, which is row of a matrix
-     */
-    private FloatVector turnRowIntoVector(int row) {
-        return new FloatVector(this.elements[row]);
-    }
-
-    /**
-     * Turns a column of a matrix into a vector
-     * @param column the column number from 0 (left) to this.width()-1 (right)
-     * @return returns new vector that has an array, which was constructed from matrix column
-     */
-    private FloatVector turnColumnIntoVector(int column) {
-        float[] temporaryArray = new float[this.depth()];
-        for (int i = 0; i < this.depth(); i++) {
-            temporaryArray[i] = this.getElement(i, column);
-        }
-        return new FloatVector(temporaryArray);
-    }
-
     /**
      * Gets the 'lower' matrix -- a matrix with a particular combination of row and column deleted from it
      * @param rowToRemove the row to be deleted
@@ -225,7 +203,10 @@ public class FloatMatrix {
         float[][] array = new float[this.depth()][matrix.width()];
         for (int i = 0; i < this.depth(); i++) {
             for (int j = 0; j < matrix.width(); j++) {
-                array[i][j] = this.turnRowIntoVector(i).dot(matrix.turnColumnIntoVector(j));
+                float sum = 0f;
+                for (int k = 0; k < this.width(); k++)
+                    sum += this.elements[i][k] * matrix.elements[k][j];
+                array[i][j] = sum;
             }
         }
         return new FloatMatrix(array);
@@ -240,7 +221,10 @@ public class FloatMatrix {
         checkIfMultiplicationPossible(vector);
         float[] array = new float[vector.size()];
         for (int i = 0; i < vector.size(); i++) {
-            array[i] = this.turnRowIntoVector(i).dot(vector);
+            float sum = 0f;
+            for (int k = 0; k < this.width(); k++)
+                sum += this.elements[i][k] * vector.getElement(k);
+            array[i] = sum;
         }
         return new FloatVector(array);
     }
@@ -360,6 +344,22 @@ public class FloatMatrix {
         return array;
     }
 
+
+    /**
+     * Dumps matrix into an existing array in column-major format, so no garbage is produced
+     * @param destination the array to write into, which must hold at least width*depth elements
+     * @return destination
+     */
+    public float[] dumpColumnMajor(final float[] destination) {
+        int i = 0;
+        for (int j = 0; j < this.width(); j++) {
+            for (int k = 0; k < this.depth(); k++) {
+                destination[i++] = this.elements[k][j];
+            }
+        }
+        return destination;
+    }
+
     /*--------------------*/
 
 
@@ -0,0 +1,607 @@
+package spc.clockwork.util.math.matrix;
+
+
+import spc.clockwork.util.math.vector.Quat;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vec3;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.nio.FloatBuffer;
+
+/**
+ * {@link Mat4} is a mutable 4x4 matrix, which stores its elements in sixteen flat scalar fields.
+ * The element mRC is the one in the row R and the column C, so the layout matches {@link Matrix4f#getElement(int, int)}.
+ * All of the operations write either into this or into the destination given instead of constructing new objects,
+ * so {@link Mat4} is the type to be used in the tick and render loops, whereas {@link Matrix4f} stays for the rest.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Mat4 {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    private static final String ERROR_INVALID_MATRIX_SIZE =
+            "Error: Invalid matrix size in Mat4 assignment (4x4 matrix is required)";
+    private static final String ERROR_INVALID_ARRAY_SIZE =
+            "Error: The array given is too small to hold a 4x4 matrix";
+    private static final String ERROR_DET_IS_ZERO_NO_INVERSE =
+            "Error: The matrix given has a determinant equal to zero and thus has no inverse";
+
+
+    public float m00, m01, m02, m03;
+    public float m10, m11, m12, m13;
+    public float m20, m21, m22, m23;
+    public float m30, m31, m32, m33;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- SETTERS ---- */
+
+    /**
+     * Sets all elements of this matrix (in the row-major order)
+     * @return this
+     */
+    public Mat4 set(final float m00, final float m01, final float m02, final float m03,
+                    final float m10, final float m11, final float m12, final float m13,
+                    final float m20, final float m21, final float m22, final float m23,
+                    final float m30, final float m31, final float m32, final float m33) {
+        this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+        this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+        this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+        this.m30 = m30; this.m31 = m31; this.m32 = m32; this.m33 = m33;
+        return this;
+    }
+
+    /**
+     * Copies another matrix into this
+     * @param matrix the matrix to copy
+     * @return this
+     */
+    public Mat4 set(final Mat4 matrix) {
+        return this.set(
+                matrix.m00, matrix.m01, matrix.m02, matrix.m03,
+                matrix.m10, matrix.m11, matrix.m12, matrix.m13,
+                matrix.m20, matrix.m21, matrix.m22, matrix.m23,
+                matrix.m30, matrix.m31, matrix.m32, matrix.m33
+        );
+    }
+
+    /**
+     * Copies an immutable 4x4 matrix into this
+     * @param matrix the matrix to copy
+     * @return this
+     */
+    public Mat4 set(final FloatMatrix matrix) {
+        if (matrix.depth() != 4 || matrix.width() != 4)
+            throw new IndexOutOfBoundsException(ERROR_INVALID_MATRIX_SIZE);
+        final float[][] e = matrix.elements;
+        return this.set(
+                e[0][0], e[0][1], e[0][2], e[0][3],
+                e[1][0], e[1][1], e[1][2], e[1][3],
+                e[2][0], e[2][1], e[2][2], e[2][3],
+                e[3][0], e[3][1], e[3][2], e[3][3]
+        );
+    }
+
+    /**
+     * Resets this to the identity matrix
+     * @return this
+     */
+    public Mat4 identity() {
+        return this.set(
+                1f, 0f, 0f, 0f,
+                0f, 1f, 0f, 0f,
+                0f, 0f, 1f, 0f,
+                0f, 0f, 0f, 1f
+        );
+    }
+
+    /**
+     * Sets this to a translation matrix
+     * @return this
+     */
+    public Mat4 translation(final float x, final float y, final float z) {
+        return this.set(
+                1f, 0f, 0f,  x,
+                0f, 1f, 0f,  y,
+                0f, 0f, 1f,  z,
+                0f, 0f, 0f, 1f
+        );
+    }
+
+    /**
+     * Sets this to a scale matrix
+     * @return this
+     */
+    public Mat4 scaling(final float x, final float y, final float z) {
+        return this.set(
+                 x, 0f, 0f, 0f,
+                0f,  y, 0f, 0f,
+                0f, 0f,  z, 0f,
+                0f, 0f, 0f, 1f
+        );
+    }
+
+    /**
+     * Sets this to the rotation matrix of a unit quaternion
+     * @param quaternion the rotation
+     * @return this
+     */
+    public Mat4 rotation(final Quat quaternion) {
+        return this.translationRotateScale(0f, 0f, 0f,
+                quaternion.x, quaternion.y, quaternion.z, quaternion.w,
+                1f, 1f, 1f);
+    }
+
+    /**
+     * Sets this to the rotation matrix of a unit quaternion
+     * @param quaternion the rotation
+     * @return this
+     */
+    public Mat4 rotation(final Quaternion quaternion) {
+        return this.translationRotateScale(0f, 0f, 0f,
+                quaternion.x(), quaternion.y(), quaternion.z(), quaternion.w(),
+                1f, 1f, 1f);
+    }
+
+    /**
+     * Sets this to T * R * S, where T is a translation, R is a rotation of a unit quaternion and S is a scale.
+     * The product is written directly, without any intermediate matrices.
+     * @return this
+     */
+    public Mat4 translationRotateScale(final float px, final float py, final float pz,
+                                       final float qx, final float qy, final float qz, final float qw,
+                                       final float sx, final float sy, final float sz) {
+        final float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+        final float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+        final float xw = qx * qw, yw = qy * qw, zw = qz * qw;
+        return this.set(
+                (1f - 2f * (yy + zz)) * sx, 2f * (xy - zw) * sy,        2f * (xz + yw) * sz,        px,
+                2f * (xy + zw) * sx,        (1f - 2f * (xx + zz)) * sy, 2f * (yz - xw) * sz,        py,
+                2f * (xz - yw) * sx,        2f * (yz + xw) * sy,        (1f - 2f * (xx + yy)) * sz, pz,
+                0f,                         0f,                         0f,                         1f
+        );
+    }
+
+    /**
+     * Sets this to T * R * S, where T is a translation, R is a rotation and S is a uniform scale
+     * @param position the translation
+     * @param rotation the unit rotation quaternion
+     * @param scale the uniform scale
+     * @return this
+     */
+    public Mat4 translationRotateScale(final Vector3f position, final Quaternion rotation, final float scale) {
+        return this.translationRotateScale(
+                position.x(), position.y(), position.z(),
+                rotation.x(), rotation.y(), rotation.z(), rotation.w(),
+                scale, scale, scale
+        );
+    }
+
+    /**
+     * Sets this to the inverse of T * R, i.e. R^-1 * T^-1, where T is a translation
+     * and R is a rotation of a unit quaternion. This is what a camera view matrix is.
+     * @return this
+     */
+    public Mat4 inverseTranslationRotation(final float px, final float py, final float pz,
+                                           final float qx, final float qy, final float qz, final float qw) {
+        /* THE ROTATION PART IS TRANSPOSED, THE TRANSLATION IS ROTATED BACK AND NEGATED */
+        this.translationRotateScale(0f, 0f, 0f, qx, qy, qz, qw, 1f, 1f, 1f).transpose3x3();
+        this.m03 = -(this.m00 * px + this.m01 * py + this.m02 * pz);
+        this.m13 = -(this.m10 * px + this.m11 * py + this.m12 * pz);
+        this.m23 = -(this.m20 * px + this.m21 * py + this.m22 * pz);
+        return this;
+    }
+
+    /**
+     * Sets this to the inverse of T * R, i.e. R^-1 * T^-1
+     * @param position the translation
+     * @param rotation the unit rotation quaternion
+     * @return this
+     */
+    public Mat4 inverseTranslationRotation(final Vector3f position, final Quaternion rotation) {
+        return this.inverseTranslationRotation(
+                position.x(), position.y(), position.z(),
+                rotation.x(), rotation.y(), rotation.z(), rotation.w()
+        );
+    }
+
+    /**
+     * Sets this to the inverse of T * R * S, i.e. S^-1 * R^-1 * T^-1, where T is a translation,
+     * R is a rotation of a unit quaternion and S is a scale.
+     * The inverse is built from the conjugate rotation and the reciprocal scale, so no general inversion is required.
+     * @return this
+     */
+    public Mat4 inverseTranslationRotateScale(final float px, final float py, final float pz,
+                                              final float qx, final float qy, final float qz, final float qw,
+                                              final float sx, final float sy, final float sz) {
+        /* THE ROWS OF R^T ARE SCALED BY 1/S, THE TRANSLATION IS ROTATED BACK, SCALED AND NEGATED */
+        this.inverseTranslationRotation(px, py, pz, qx, qy, qz, qw);
+        final float ix = 1f / sx, iy = 1f / sy, iz = 1f / sz;
+        this.m00 *= ix; this.m01 *= ix; this.m02 *= ix; this.m03 *= ix;
+        this.m10 *= iy; this.m11 *= iy; this.m12 *= iy; this.m13 *= iy;
+        this.m20 *= iz; this.m21 *= iz; this.m22 *= iz; this.m23 *= iz;
+        return this;
+    }
+
+    /**
+     * Sets this to the inverse of T * R * S, where S is a uniform scale
+     * @param position the translation
+     * @param rotation the unit rotation quaternion
+     * @param scale the uniform scale
+     * @return this
+     */
+    public Mat4 inverseTranslationRotateScale(final Vector3f position, final Quaternion rotation, final float scale) {
+        return this.inverseTranslationRotateScale(
+                position.x(), position.y(), position.z(),
+                rotation.x(), rotation.y(), rotation.z(), rotation.w(),
+                scale, scale, scale
+        );
+    }
+
+    /**
+     * Sets this to a perspective projection matrix (same layout as {@link Matrix4f#newPerspectiveProjectionMatrix})
+     * @return this
+     */
+    public Mat4 perspective(final float aspectRatio, final float fieldOfView, final float zNear, final float zFar) {
+        float tanHalfFOV = (float) Math.tan(fieldOfView / 2);
+        float zRange = zFar - zNear;
+        float zSum = zFar + zNear;
+        return this.set(
+                (1f / tanHalfFOV) / aspectRatio, 0f,              0f,               0f,
+                0f,                              1f / tanHalfFOV, 0f,               0f,
+                0f,                              0f,              -zRange / zSum,   -(2 * zFar * zNear) / zRange,
+                0f,                              0f,              -1f,              0f
+        );
+    }
+
+    /**
+     * Sets this to an orthographic projection matrix (same layout as {@link Matrix4f#newOrthographicProjectionMatrix})
+     * @return this
+     */
+    public Mat4 orthographic(final float left, final float right,
+                             final float bottom, final float top,
+                             final float zFar, final float zNear) {
+        return this.set(
+                2 / (right - left), 0f,                 0f,                  -(right + left) / (right - left),
+                0f,                 2 / (top - bottom), 0f,                  -(top + bottom) / (top - bottom),
+                0f,                 0f,                 -2 / (zFar - zNear), -(zFar + zNear) / (zFar - zNear),
+                0f,                 0f,                 0f,                  1f
+        );
+    }
+
+
+    /* ---- ARITHMETIC ---- */
+
+    /**
+     * Element accessor
+     * @param row    the row number from 0 (top) to 3 (bottom)
+     * @param column the column number from 0 (left) to 3 (right)
+     * @return the value of the element of the matrix
+     */
+    public float getElement(final int row, final int column) {
+        switch (row * 4 + column) {
+            case 0: return this.m00;
+            case 1: return this.m01;
+            case 2: return this.m02;
+            case 3: return this.m03;
+            case 4: return this.m10;
+            case 5: return this.m11;
+            case 6: return this.m12;
+            case 7: return this.m13;
+            case 8: return this.m20;
+            case 9: return this.m21;
+            case 10: return this.m22;
+            case 11: return this.m23;
+            case 12: return this.m30;
+            case 13: return this.m31;
+            case 14: return this.m32;
+            case 15: return this.m33;
+            default: throw new IndexOutOfBoundsException(ERROR_INVALID_MATRIX_SIZE);
+        }
+    }
+
+    /**
+     * Writes the product of this and the argument (this * matrix) into the destination given.
+     * The destination may be this or the argument.
+     * @param matrix the right operand
+     * @param destination the matrix to write the product into
+     * @return destination
+     */
+    public Mat4 mulInto(final Mat4 matrix, final Mat4 destination) {
+        final Mat4 a = this, b = matrix;
+        return destination.set(
+                a.m00 * b.m00 + a.m01 * b.m10 + a.m02 * b.m20 + a.m03 * b.m30,
+                a.m00 * b.m01 + a.m01 * b.m11 + a.m02 * b.m21 + a.m03 * b.m31,
+                a.m00 * b.m02 + a.m01 * b.m12 + a.m02 * b.m22 + a.m03 * b.m32,
+                a.m00 * b.m03 + a.m01 * b.m13 + a.m02 * b.m23 + a.m03 * b.m33,
+
+                a.m10 * b.m00 + a.m11 * b.m10 + a.m12 * b.m20 + a.m13 * b.m30,
+                a.m10 * b.m01 + a.m11 * b.m11 + a.m12 * b.m21 + a.m13 * b.m31,
+                a.m10 * b.m02 + a.m11 * b.m12 + a.m12 * b.m22 + a.m13 * b.m32,
+                a.m10 * b.m03 + a.m11 * b.m13 + a.m12 * b.m23 + a.m13 * b.m33,
+
+                a.m20 * b.m00 + a.m21 * b.m10 + a.m22 * b.m20 + a.m23 * b.m30,
+                a.m20 * b.m01 + a.m21 * b.m11 + a.m22 * b.m21 + a.m23 * b.m31,
+                a.m20 * b.m02 + a.m21 * b.m12 + a.m22 * b.m22 + a.m23 * b.m32,
+                a.m20 * b.m03 + a.m21 * b.m13 + a.m22 * b.m23 + a.m23 * b.m33,
+
+                a.m30 * b.m00 + a.m31 * b.m10 + a.m32 * b.m20 + a.m33 * b.m30,
+                a.m30 * b.m01 + a.m31 * b.m11 + a.m32 * b.m21 + a.m33 * b.m31,
+                a.m30 * b.m02 + a.m31 * b.m12 + a.m32 * b.m22 + a.m33 * b.m32,
+                a.m30 * b.m03 + a.m31 * b.m13 + a.m32 * b.m23 + a.m33 * b.m33
+        );
+    }
+
+    /**
+     * Multiplies this by the argument from the right side (this = this * matrix)
+     * @param matrix the right operand
+     * @return this
+     */
+    public Mat4 mul(final Mat4 matrix) {
+        return this.mulInto(matrix, this);
+    }
+
+    /**
+     * Computes the determinant of this by the closed-form expansion over the 2x2 sub-determinants
+     * @return the determinant of this
+     */
+    public float det() {
+        final float s0 = this.m00 * this.m11 - this.m10 * this.m01;
+        final float s1 = this.m00 * this.m12 - this.m10 * this.m02;
+        final float s2 = this.m00 * this.m13 - this.m10 * this.m03;
+        final float s3 = this.m01 * this.m12 - this.m11 * this.m02;
+        final float s4 = this.m01 * this.m13 - this.m11 * this.m03;
+        final float s5 = this.m02 * this.m13 - this.m12 * this.m03;
+        final float c5 = this.m22 * this.m33 - this.m32 * this.m23;
+        final float c4 = this.m21 * this.m33 - this.m31 * this.m23;
+        final float c3 = this.m21 * this.m32 - this.m31 * this.m22;
+        final float c2 = this.m20 * this.m33 - this.m30 * this.m23;
+        final float c1 = this.m20 * this.m32 - this.m30 * this.m22;
+        final float c0 = this.m20 * this.m31 - this.m30 * this.m21;
+        return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+    }
+
+    /**
+     * Inverts this by the closed-form expansion over the 2x2 sub-determinants
+     * (about two hundred flops, without any allocations)
+     * @return this
+     * @throws RuntimeException if the determinant of this is zero
+     */
+    public Mat4 invert() {
+        return this.invertInto(this);
+    }
+
+    /**
+     * Writes the inverse of this into the destination given. The destination may be this.
+     * @param destination the matrix to write the inverse into
+     * @return destination
+     * @throws RuntimeException if the determinant of this is zero
+     */
+    public Mat4 invertInto(final Mat4 destination) {
+        /* THE 2X2 SUB-DETERMINANTS OF THE TOP TWO ROWS (S) AND THE BOTTOM TWO ROWS (C) */
+        final float s0 = this.m00 * this.m11 - this.m10 * this.m01;
+        final float s1 = this.m00 * this.m12 - this.m10 * this.m02;
+        final float s2 = this.m00 * this.m13 - this.m10 * this.m03;
+        final float s3 = this.m01 * this.m12 - this.m11 * this.m02;
+        final float s4 = this.m01 * this.m13 - this.m11 * this.m03;
+        final float s5 = this.m02 * this.m13 - this.m12 * this.m03;
+        final float c5 = this.m22 * this.m33 - this.m32 * this.m23;
+        final float c4 = this.m21 * this.m33 - this.m31 * this.m23;
+        final float c3 = this.m21 * this.m32 - this.m31 * this.m22;
+        final float c2 = this.m20 * this.m33 - this.m30 * this.m23;
+        final float c1 = this.m20 * this.m32 - this.m30 * this.m22;
+        final float c0 = this.m20 * this.m31 - this.m30 * this.m21;
+
+        final float determinant = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        if (determinant == 0f) throw new RuntimeException(ERROR_DET_IS_ZERO_NO_INVERSE);
+        final float inverse = 1f / determinant;
+
+        return destination.set(
+                ( this.m11 * c5 - this.m12 * c4 + this.m13 * c3) * inverse,
+                (-this.m01 * c5 + this.m02 * c4 - this.m03 * c3) * inverse,
+                ( this.m31 * s5 - this.m32 * s4 + this.m33 * s3) * inverse,
+                (-this.m21 * s5 + this.m22 * s4 - this.m23 * s3) * inverse,
+
+                (-this.m10 * c5 + this.m12 * c2 - this.m13 * c1) * inverse,
+                ( this.m00 * c5 - this.m02 * c2 + this.m03 * c1) * inverse,
+                (-this.m30 * s5 + this.m32 * s2 - this.m33 * s1) * inverse,
+                ( this.m20 * s5 - this.m22 * s2 + this.m23 * s1) * inverse,
+
+                ( this.m10 * c4 - this.m11 * c2 + this.m13 * c0) * inverse,
+                (-this.m00 * c4 + this.m01 * c2 - this.m03 * c0) * inverse,
+                ( this.m30 * s4 - this.m31 * s2 + this.m33 * s0) * inverse,
+                (-this.m20 * s4 + this.m21 * s2 - this.m23 * s0) * inverse,
+
+                (-this.m10 * c3 + this.m11 * c1 - this.m12 * c0) * inverse,
+                ( this.m00 * c3 - this.m01 * c1 + this.m02 * c0) * inverse,
+                (-this.m30 * s3 + this.m31 * s1 - this.m32 * s0) * inverse,
+                ( this.m20 * s3 - this.m21 * s1 + this.m22 * s0) * inverse
+        );
+    }
+
+    /**
+     * Transposes this
+     * @return this
+     */
+    public Mat4 transpose() {
+        return this.set(
+                this.m00, this.m10, this.m20, this.m30,
+                this.m01, this.m11, this.m21, this.m31,
+                this.m02, this.m12, this.m22, this.m32,
+                this.m03, this.m13, this.m23, this.m33
+        );
+    }
+
+    /**
+     * Transposes the upper-left 3x3 block of this, leaving the rest untouched
+     * @return this
+     */
+    public Mat4 transpose3x3() {
+        float swap;
+        swap = this.m01; this.m01 = this.m10; this.m10 = swap;
+        swap = this.m02; this.m02 = this.m20; this.m20 = swap;
+        swap = this.m12; this.m12 = this.m21; this.m21 = swap;
+        return this;
+    }
+
+    /**
+     * Multiplies this by the vector (x, y, z, w) and writes the first three coordinates
+     * of the result into the destination given
+     * @param destination the vector to write the result into
+     * @return destination
+     */
+    public Vec3 transform(final float x, final float y, final float z, final float w, final Vec3 destination) {
+        return destination.set(
+                this.m00 * x + this.m01 * y + this.m02 * z + this.m03 * w,
+                this.m10 * x + this.m11 * y + this.m12 * z + this.m13 * w,
+                this.m20 * x + this.m21 * y + this.m22 * z + this.m23 * w
+        );
+    }
+
+    /**
+     * Multiplies this by the vector (x, y, z, w) and returns the first three coordinates of the result
+     * as a new immutable vector (same as {@link Matrix4f#mul(Vector3f, float)})
+     * @param vector the vector to multiply
+     * @param w the fourth coordinate of the vector
+     * @return a new vector
+     */
+    public Vector3f mul(final Vector3f vector, final float w) {
+        final float x = vector.x(), y = vector.y(), z = vector.z();
+        return new Vector3f(
+                this.m00 * x + this.m01 * y + this.m02 * z + this.m03 * w,
+                this.m10 * x + this.m11 * y + this.m12 * z + this.m13 * w,
+                this.m20 * x + this.m21 * y + this.m22 * z + this.m23 * w
+        );
+    }
+
+    /**
+     * Transforms a point (w = 1) and writes the result into the destination given
+     * @param point the point to transform
+     * @param destination the vector to write the result into (may be the argument)
+     * @return destination
+     */
+    public Vec3 transformPosition(final Vec3 point, final Vec3 destination) {
+        return this.transform(point.x, point.y, point.z, 1f, destination);
+    }
+
+    /**
+     * Transforms a point (w = 1) and writes the result into the destination given
+     * @param point the point to transform
+     * @param destination the vector to write the result into
+     * @return destination
+     */
+    public Vec3 transformPosition(final Vector3f point, final Vec3 destination) {
+        return this.transform(point.x(), point.y(), point.z(), 1f, destination);
+    }
+
+    /**
+     * Transforms a direction (w = 0) and writes the result into the destination given
+     * @param direction the direction to transform
+     * @param destination the vector to write the result into (may be the argument)
+     * @return destination
+     */
+    public Vec3 transformDirection(final Vec3 direction, final Vec3 destination) {
+        return this.transform(direction.x, direction.y, direction.z, 0f, destination);
+    }
+
+    /**
+     * Transforms a direction (w = 0) and writes the result into the destination given
+     * @param direction the direction to transform
+     * @param destination the vector to write the result into
+     * @return destination
+     */
+    public Vec3 transformDirection(final Vector3f direction, final Vec3 destination) {
+        return this.transform(direction.x(), direction.y(), direction.z(), 0f, destination);
+    }
+
+
+    /* ---- CONVERSIONS ---- */
+
+    /**
+     * Dumps this into an array in the column-major order (as OpenGL expects it)
+     * @param destination the array of at least 16 elements
+     * @return destination
+     */
+    public float[] dumpColumnMajor(final float[] destination) {
+        if (destination.length < 16) throw new IndexOutOfBoundsException(ERROR_INVALID_ARRAY_SIZE);
+        destination[0] = this.m00;  destination[1] = this.m10;  destination[2] = this.m20;  destination[3] = this.m30;
+        destination[4] = this.m01;  destination[5] = this.m11;  destination[6] = this.m21;  destination[7] = this.m31;
+        destination[8] = this.m02;  destination[9] = this.m12;  destination[10] = this.m22; destination[11] = this.m32;
+        destination[12] = this.m03; destination[13] = this.m13; destination[14] = this.m23; destination[15] = this.m33;
+        return destination;
+    }
+
+    /**
+     * Dumps this into a buffer in the column-major order (as OpenGL expects it), starting at the position of the buffer.
+     * The position of the buffer is not changed
+     * @param destination the buffer of at least 16 remaining elements
+     * @return destination
+     */
+    public FloatBuffer dumpColumnMajor(final FloatBuffer destination) {
+        final int i = destination.position();
+        if (destination.remaining() < 16) throw new IndexOutOfBoundsException(ERROR_INVALID_ARRAY_SIZE);
+        destination.put(i, this.m00).put(i + 1, this.m10).put(i + 2, this.m20).put(i + 3, this.m30);
+        destination.put(i + 4, this.m01).put(i + 5, this.m11).put(i + 6, this.m21).put(i + 7, this.m31);
+        destination.put(i + 8, this.m02).put(i + 9, this.m12).put(i + 10, this.m22).put(i + 11, this.m32);
+        destination.put(i + 12, this.m03).put(i + 13, this.m13).put(i + 14, this.m23).put(i + 15, this.m33);
+        return destination;
+    }
+
+    /**
+     * Creates an immutable copy of this
+     * @return a new {@link Matrix4f} with the elements of this
+     */
+    public Matrix4f toMatrix4f() {
+        return new Matrix4f(new float[][] {
+                {this.m00, this.m01, this.m02, this.m03},
+                {this.m10, this.m11, this.m12, this.m13},
+                {this.m20, this.m21, this.m22, this.m23},
+                {this.m30, this.m31, this.m32, this.m33}
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "mat4[" + this.m00 + "\t" + this.m01 + "\t" + this.m02 + "\t" + this.m03 + "]\n" +
+                "    [" + this.m10 + "\t" + this.m11 + "\t" + this.m12 + "\t" + this.m13 + "]\n" +
+                "    [" + this.m20 + "\t" + this.m21 + "\t" + this.m22 + "\t" + this.m23 + "]\n" +
+                "    [" + this.m30 + "\t" + this.m31 + "\t" + this.m32 + "\t" + this.m33 + "]\n";
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an identity matrix
+     */
+    public Mat4() {
+        this.identity();
+    }
+
+    /**
+     * Creates a mutable copy of the matrix given
+     * @param matrix the matrix to copy
+     */
+    public Mat4(final Mat4 matrix) {
+        this.set(matrix);
+    }
+
+    /**
+     * Creates a mutable copy of the immutable 4x4 matrix given
+     * @param matrix the matrix to copy
+     */
+    public Mat4(final FloatMatrix matrix) {
+        this.set(matrix);
+    }
+    /*--------------------*/
+}
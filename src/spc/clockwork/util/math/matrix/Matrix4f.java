@@ -3,7 +3,6 @@ package spc.clockwork.util.math.matrix;
 
 import spc.clockwork.gameobject.Camera;
 import spc.clockwork.gameobject.GameObject;
-import spc.clockwork.util.math.vector.FloatVector;
 import spc.clockwork.util.math.vector.Vector3f;
 
 /**
@@ -369,7 +368,19 @@ public final class Matrix4f extends FloatMatrix {
 
     @Override
     public Matrix4f mul(FloatMatrix matrix) {
-        return new Matrix4f(super.mul(matrix));
+        if (matrix.depth() != 4 || matrix.width() != 4) return new Matrix4f(super.mul(matrix));
+        /* 4X4 BY 4X4 PRODUCT IS UNROLLED TO AVOID THE GENERAL LOOP */
+        final float[][] a = this.elements;
+        final float[][] b = matrix.elements;
+        final float[][] product = new float[4][4];
+        for (int row = 0; row < 4; row++) {
+            final float[] r = a[row];
+            product[row][0] = r[0] * b[0][0] + r[1] * b[1][0] + r[2] * b[2][0] + r[3] * b[3][0];
+            product[row][1] = r[0] * b[0][1] + r[1] * b[1][1] + r[2] * b[2][1] + r[3] * b[3][1];
+            product[row][2] = r[0] * b[0][2] + r[1] * b[1][2] + r[2] * b[2][2] + r[3] * b[3][2];
+            product[row][3] = r[0] * b[0][3] + r[1] * b[1][3] + r[2] * b[2][3] + r[3] * b[3][3];
+        }
+        return new Matrix4f(product);
     }
 
     @Override
@@ -377,9 +388,23 @@ public final class Matrix4f extends FloatMatrix {
         return new Matrix4f(super.transpose());
     }
 
+    /**
+     * Computes the determinant of this by the closed-form 4x4 expansion
+     * @return the determinant of this
+     */
+    @Override
+    public float det() {
+        return new Mat4(this).det();
+    }
+
+    /**
+     * Inverts this by the closed-form 4x4 expansion instead of the general recursive co-factor one
+     * @return new matrix, which is an inverse matrix of this
+     * @throws RuntimeException if the determinant of this is zero
+     */
     @Override
     public Matrix4f invert() {
-        return new Matrix4f(super.invert());
+        return new Mat4(this).invert().toMatrix4f();
     }
 
     @Override
@@ -440,8 +465,13 @@ public final class Matrix4f extends FloatMatrix {
      * @return the xyz components of the 4d result
      */
     public Vector3f mul(Vector3f vector, float w) {
-        FloatVector vec = super.mul(new FloatVector(new float[] {vector.x(), vector.y(), vector.z(), w}));
-        return new Vector3f(vec.getElement(0), vec.getElement(1), vec.getElement(2));
+        final float x = vector.x(), y = vector.y(), z = vector.z();
+        final float[][] e = this.elements;
+        return new Vector3f(
+                e[0][0] * x + e[0][1] * y + e[0][2] * z + e[0][3] * w,
+                e[1][0] * x + e[1][1] * y + e[1][2] * z + e[1][3] * w,
+                e[2][0] * x + e[2][1] * y + e[2][2] * z + e[2][3] * w
+        );
     }
 
     /*--------------------*/
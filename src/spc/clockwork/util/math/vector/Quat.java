@@ -0,0 +1,231 @@
+package spc.clockwork.util.math.vector;
+
+
+/**
+ * {@link Quat} is a mutable rotation quaternion with flat scalar fields.
+ * It follows the same conventions as {@link Quaternion}, but every operation is performed in place,
+ * so it can be reused in the hot loops of the engine without producing garbage.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Quat {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The x-component of the vector part */
+    public float x;
+    /** The y-component of the vector part */
+    public float y;
+    /** The z-component of the vector part */
+    public float z;
+    /** The scalar part */
+    public float w;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- SETTERS ---- */
+
+    /**
+     * Sets the components of this quaternion
+     * @param x the x-component
+     * @param y the y-component
+     * @param z the z-component
+     * @param w the scalar part
+     * @return this
+     */
+    public Quat set(final float x, final float y, final float z, final float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Copies another quaternion into this
+     * @param quaternion the quaternion to copy
+     * @return this
+     */
+    public Quat set(final Quat quaternion) {
+        return this.set(quaternion.x, quaternion.y, quaternion.z, quaternion.w);
+    }
+
+    /**
+     * Copies an immutable quaternion into this
+     * @param quaternion the quaternion to copy
+     * @return this
+     */
+    public Quat set(final Quaternion quaternion) {
+        return this.set(quaternion.x(), quaternion.y(), quaternion.z(), quaternion.w());
+    }
+
+    /**
+     * Resets this to the identity rotation
+     * @return this
+     */
+    public Quat identity() {
+        return this.set(0f, 0f, 0f, 1f);
+    }
+
+    /**
+     * Sets this to a rotation around an axis
+     * @param angle the angle in degrees
+     * @param axis the unit rotation axis
+     * @return this
+     */
+    public Quat rotation(final float angle, final Vec3 axis) {
+        float halfAngle = (float) Math.toRadians(angle) / 2f;
+        float sin = (float) Math.sin(halfAngle);
+        return this.set(axis.x * sin, axis.y * sin, axis.z * sin, (float) Math.cos(halfAngle));
+    }
+
+
+    /* ---- ARITHMETIC ---- */
+
+    /**
+     * Conjugates this
+     * @return this
+     */
+    public Quat conjugate() {
+        return this.set(-this.x, -this.y, -this.z, this.w);
+    }
+
+    /**
+     * Multiplies this by the argument from the right side (this = this * quaternion)
+     * @param quaternion the right operand
+     * @return this
+     */
+    public Quat mul(final Quat quaternion) {
+        return this.mulInto(quaternion, this);
+    }
+
+    /**
+     * Writes the product of this and the argument into the destination given.
+     * The destination may be this or the argument.
+     * @param quaternion the right operand
+     * @param destination the quaternion to write the result into
+     * @return destination
+     */
+    public Quat mulInto(final Quat quaternion, final Quat destination) {
+        return destination.set(
+                this.x * quaternion.w + this.w * quaternion.x + this.y * quaternion.z - this.z * quaternion.y,
+                this.y * quaternion.w + this.w * quaternion.y + this.z * quaternion.x - this.x * quaternion.z,
+                this.z * quaternion.w + this.w * quaternion.z + this.x * quaternion.y - this.y * quaternion.x,
+                this.w * quaternion.w - this.x * quaternion.x - this.y * quaternion.y - this.z * quaternion.z
+        );
+    }
+
+    /**
+     * Length of this quaternion
+     * @return the length
+     */
+    public float length() {
+        return (float) Math.sqrt(this.x * this.x + this.y * this.y + this.z * this.z + this.w * this.w);
+    }
+
+    /**
+     * Turns this into a unit quaternion. A zero quaternion is left untouched.
+     * @return this
+     */
+    public Quat normalize() {
+        float length = this.length();
+        if (length == 0f || length == 1f) return this;
+        float inverse = 1f / length;
+        return this.set(this.x * inverse, this.y * inverse, this.z * inverse, this.w * inverse);
+    }
+
+    /**
+     * Rotates a vector by this (q * v * q^-1, this is expected to be a unit quaternion)
+     * and writes it into the destination given. The destination may be the argument.
+     * @param vector the vector to rotate
+     * @param destination the vector to write the result into
+     * @return destination
+     */
+    public Vec3 transform(final Vec3 vector, final Vec3 destination) {
+        return this.transform(vector.x, vector.y, vector.z, destination);
+    }
+
+    /**
+     * Rotates a vector by this (q * v * q^-1, this is expected to be a unit quaternion)
+     * and writes it into the destination given
+     * @param vx the x-coordinate of the vector
+     * @param vy the y-coordinate of the vector
+     * @param vz the z-coordinate of the vector
+     * @param destination the vector to write the result into
+     * @return destination
+     */
+    public Vec3 transform(final float vx, final float vy, final float vz, final Vec3 destination) {
+        // t = 2 * cross(q.xyz, v); v' = v + w * t + cross(q.xyz, t)
+        float tx = 2f * (this.y * vz - this.z * vy);
+        float ty = 2f * (this.z * vx - this.x * vz);
+        float tz = 2f * (this.x * vy - this.y * vx);
+        return destination.set(
+                vx + this.w * tx + (this.y * tz - this.z * ty),
+                vy + this.w * ty + (this.z * tx - this.x * tz),
+                vz + this.w * tz + (this.x * ty - this.y * tx)
+        );
+    }
+
+
+    /* ---- CONVERSIONS ---- */
+
+    /**
+     * Creates an immutable copy of this
+     * @return a new {@link Quaternion} with the components of this
+     */
+    public Quaternion toQuaternion() {
+        return new Quaternion(this.x, this.y, this.z, this.w);
+    }
+
+    @Override
+    public String toString() {
+        return "quat[" +
+                "x: " + this.x
+                + "|" +
+                "y: " + this.y
+                + "|" +
+                "z: " + this.z
+                + "|" +
+                "w: " + this.w
+                + "]";
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an identity quaternion
+     */
+    public Quat() {
+        this.identity();
+    }
+
+    /**
+     * Creates a quaternion with the components given
+     * @param x the x-component
+     * @param y the y-component
+     * @param z the z-component
+     * @param w the scalar part
+     */
+    public Quat(final float x, final float y, final float z, final float w) {
+        this.set(x, y, z, w);
+    }
+
+    /**
+     * Creates a mutable copy of the immutable quaternion given
+     * @param quaternion the quaternion to copy
+     */
+    public Quat(final Quaternion quaternion) {
+        this.set(quaternion);
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,231 @@
+package spc.clockwork.util.math.vector;
+
+
+/**
+ * {@link Vec3} is a mutable 3d vector with flat scalar fields.
+ * Unlike {@link Vector3f}, all of its operations write into this (or into a destination given)
+ * instead of constructing new instances, so it can be reused in the tick and render loops without producing garbage.
+ * Every mutator returns this, so the calls can be chained.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class Vec3 {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The x-coordinate of the vector */
+    public float x;
+    /** The y-coordinate of the vector */
+    public float y;
+    /** The z-coordinate of the vector */
+    public float z;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /* ---- SETTERS ---- */
+
+    /**
+     * Sets the coordinates of this vector
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @param z the third coordinate
+     * @return this
+     */
+    public Vec3 set(final float x, final float y, final float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the coordinates of another vector into this
+     * @param vector the vector to copy
+     * @return this
+     */
+    public Vec3 set(final Vec3 vector) {
+        return this.set(vector.x, vector.y, vector.z);
+    }
+
+    /**
+     * Copies the coordinates of an immutable vector into this
+     * @param vector the vector to copy
+     * @return this
+     */
+    public Vec3 set(final Vector3f vector) {
+        return this.set(vector.x(), vector.y(), vector.z());
+    }
+
+    /**
+     * Sets all coordinates to zero
+     * @return this
+     */
+    public Vec3 zero() {
+        return this.set(0f, 0f, 0f);
+    }
+
+
+    /* ---- ARITHMETIC ---- */
+
+    /**
+     * Adds the vector given to this
+     * @param vector the second operand of addition
+     * @return this
+     */
+    public Vec3 add(final Vec3 vector) {
+        return this.set(this.x + vector.x, this.y + vector.y, this.z + vector.z);
+    }
+
+    /**
+     * Adds the coordinates given to this
+     * @param x the x-offset
+     * @param y the y-offset
+     * @param z the z-offset
+     * @return this
+     */
+    public Vec3 add(final float x, final float y, final float z) {
+        return this.set(this.x + x, this.y + y, this.z + z);
+    }
+
+    /**
+     * Subtracts the vector given from this
+     * @param vector the second operand of subtraction
+     * @return this
+     */
+    public Vec3 sub(final Vec3 vector) {
+        return this.set(this.x - vector.x, this.y - vector.y, this.z - vector.z);
+    }
+
+    /**
+     * Multiplies this by a scalar
+     * @param scalar the scalar multiplier
+     * @return this
+     */
+    public Vec3 scale(final float scalar) {
+        return this.set(this.x * scalar, this.y * scalar, this.z * scalar);
+    }
+
+    /**
+     * Negates this
+     * @return this
+     */
+    public Vec3 negate() {
+        return this.set(-this.x, -this.y, -this.z);
+    }
+
+    /**
+     * Computes the cross product of this and the argument and writes it into this
+     * @param vector the second operand of the cross product
+     * @return this
+     */
+    public Vec3 cross(final Vec3 vector) {
+        return this.set(
+                this.y * vector.z - this.z * vector.y,
+                this.z * vector.x - this.x * vector.z,
+                this.x * vector.y - this.y * vector.x
+        );
+    }
+
+    /**
+     * Computes the dot product of this and the argument
+     * @param vector the second operand of the dot product
+     * @return the dot product
+     */
+    public float dot(final Vec3 vector) {
+        return this.x * vector.x + this.y * vector.y + this.z * vector.z;
+    }
+
+    /**
+     * Squared vector length
+     * @return the squared length of this
+     */
+    public float lengthSquared() {
+        return this.x * this.x + this.y * this.y + this.z * this.z;
+    }
+
+    /**
+     * Vector length
+     * @return the length of this
+     */
+    public float length() {
+        return (float) Math.sqrt(this.lengthSquared());
+    }
+
+    /**
+     * Turns this into a unit vector. A zero vector is left untouched.
+     * @return this
+     */
+    public Vec3 normalize() {
+        float length = this.length();
+        if (length == 0f || length == 1f) return this;
+        return this.scale(1f / length);
+    }
+
+    /**
+     * Rotates this by the quaternion given
+     * @param quaternion the rotation
+     * @return this
+     */
+    public Vec3 rotate(final Quat quaternion) {
+        return quaternion.transform(this, this);
+    }
+
+
+    /* ---- CONVERSIONS ---- */
+
+    /**
+     * Creates an immutable copy of this
+     * @return a new {@link Vector3f} with the coordinates of this
+     */
+    public Vector3f toVector3f() {
+        return new Vector3f(this.x, this.y, this.z);
+    }
+
+    @Override
+    public String toString() {
+        return "vec3[" +
+                "x: " + this.x
+                + " |" +
+                "y: " + this.y
+                + " |" +
+                "z: " + this.z
+                + "]";
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a zero vector
+     */
+    public Vec3() {
+    }
+
+    /**
+     * Creates a vector with the coordinates given
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @param z the third coordinate
+     */
+    public Vec3(final float x, final float y, final float z) {
+        this.set(x, y, z);
+    }
+
+    /**
+     * Creates a mutable copy of the immutable vector given
+     * @param vector the vector to copy
+     */
+    public Vec3(final Vector3f vector) {
+        this.set(vector);
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,233 @@
+package spc.clockwork.util.timer;
+
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fixed time step clock, which counts the ticks due with a nanosecond accumulator.
+ *
+ * The time passed since the previous {@link #advance()} is added to the accumulator,
+ *      and every whole tick period in it is a tick due. The remainder stays in the accumulator,
+ *      so the tick rate is kept constant over time without any rounding drift.
+ * If the ticks fall behind (a tick takes longer than its period), at most {@link #getMaxCatchUpTicks()} ticks
+ *      are run per advance, and the rest of the backlog is dropped, so the loop never spirals.
+ *
+ * The clock is measured by {@link System#nanoTime()} and does not allocate.
+ * The clock is advanced by a single thread, while the tick rate and the catch-up limit may be set by any thread.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class FixedStepClock {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The amount of nanoseconds in a second */
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+    /** The default maximum amount of ticks, that are run per advance to catch up */
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+    /** The tail of a wait, which is spun instead of parked (the parking is not precise enough for it) */
+    private static final long SPIN_NANOS = 100_000L;
+
+    /** An error message, if the rate given is not positive */
+    private static final String ERROR_ILLEGAL_RATE =
+            "Error: The tick rate must be positive";
+    /** An error message, if the catch-up limit given is not positive */
+    private static final String ERROR_ILLEGAL_CATCH_UP =
+            "Error: The maximum amount of catch-up ticks must be positive";
+
+    /** The tick period in nanoseconds */
+    private volatile long tickPeriod;
+    /** The maximum amount of ticks per advance */
+    private volatile int maxCatchUpTicks;
+
+    /** The time, which has been accumulated, but has not been ticked yet, in nanoseconds */
+    private long accumulator;
+    /** The time of the last advance */
+    private long lastTime;
+    /** The amount of ticks, which have been dropped to catch up */
+    private volatile long droppedTicks;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Converts a rate into a period
+     * @param perSecond the amount of events per second (positive)
+     * @return the period in nanoseconds
+     */
+    public static long periodOf(final float perSecond) {
+        return Math.max(1L, (long) (NANOS_PER_SECOND / (double) perSecond));
+    }
+
+
+    /**
+     * Waits until the time given: parks the thread for the most of the wait and spins through its tail.
+     * Returns immediately, if the time has already come
+     * @param deadline the time to wait for (as measured by {@link System#nanoTime()})
+     */
+    public static void waitUntil(final long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) LockSupport.parkNanos(remaining - SPIN_NANOS);
+        while (deadline - System.nanoTime() > 0) {
+            /* SPINNING */
+        }
+    }
+
+
+    /**
+     * Gets the earlier of two times (as measured by {@link System#nanoTime()})
+     * @param time0 a time
+     * @param time1 another time
+     * @return the earlier time
+     */
+    public static long earlier(final long time0, final long time1) {
+        return time0 - time1 < 0 ? time0 : time1;
+    }
+
+
+    /**
+     * Restarts the clock: empties the accumulator and starts measuring the time from now
+     */
+    public void reset() {
+        this.reset(System.nanoTime());
+    }
+
+
+    /**
+     * Restarts the clock at the time given
+     * @param now the current time (as measured by {@link System#nanoTime()})
+     */
+    void reset(final long now) {
+        this.accumulator = 0L;
+        this.lastTime = now;
+    }
+
+
+    /**
+     * Accumulates the time passed since the previous advance and takes the ticks due out of the accumulator
+     * @return the amount of ticks to run now (at most {@link #getMaxCatchUpTicks()})
+     */
+    public int advance() {
+        return this.advance(System.nanoTime());
+    }
+
+
+    /**
+     * Advances the clock to the time given
+     * @param now the current time (as measured by {@link System#nanoTime()})
+     * @return the amount of ticks to run now (at most {@link #getMaxCatchUpTicks()})
+     */
+    int advance(final long now) {
+        final long period = this.tickPeriod;
+        final int maxTicks = this.maxCatchUpTicks;
+        this.accumulator += now - this.lastTime;
+        this.lastTime = now;
+
+        final long ticks = this.accumulator / period;
+        if (ticks > maxTicks) {
+            /* ---- DROPPING THE BACKLOG, WHICH CANNOT BE CAUGHT UP ---- */
+            this.droppedTicks += ticks - maxTicks;
+            this.accumulator %= period;
+            return maxTicks;
+        }
+        this.accumulator -= ticks * period;
+        return (int) ticks;
+    }
+
+
+    /**
+     * Gets the time, when the next tick is due
+     * @return the time as measured by {@link System#nanoTime()}
+     */
+    public long getNextTickTime() {
+        return this.lastTime + this.tickPeriod - this.accumulator;
+    }
+
+
+    /**
+     * Gets the time, when the last tick taken out of the accumulator was due.
+     * The part of the tick period, which has passed since then, is the blend factor of the interpolation
+     * @return the time as measured by {@link System#nanoTime()}
+     */
+    public long getLastTickTime() {
+        return this.lastTime - this.accumulator;
+    }
+
+
+    /**
+     * Gets the tick period
+     * @return the tick period in nanoseconds
+     */
+    public long getTickPeriod() {
+        return this.tickPeriod;
+    }
+
+
+    /**
+     * Gets the amount of ticks, which have been dropped, because the ticks fell too far behind
+     * @return the amount of dropped ticks
+     */
+    public long getDroppedTicks() {
+        return this.droppedTicks;
+    }
+
+
+    /**
+     * Gets the tick rate
+     * @return the amount of ticks per second
+     */
+    public float getTickRate() {
+        return (float) ((double) NANOS_PER_SECOND / this.tickPeriod);
+    }
+
+
+    /**
+     * Sets the tick rate
+     * @param ticksPerSecond the amount of ticks per second (positive)
+     */
+    public void setTickRate(final float ticksPerSecond) {
+        if (!(ticksPerSecond > 0f)) throw new IllegalArgumentException(ERROR_ILLEGAL_RATE);
+        this.tickPeriod = periodOf(ticksPerSecond);
+    }
+
+
+    /**
+     * Gets the maximum amount of ticks, which are run per advance to catch up
+     * @return the catch-up limit
+     */
+    public int getMaxCatchUpTicks() {
+        return this.maxCatchUpTicks;
+    }
+
+
+    /**
+     * Sets the maximum amount of ticks, which are run per advance to catch up
+     * @param maxCatchUpTicks the catch-up limit (positive)
+     */
+    public void setMaxCatchUpTicks(final int maxCatchUpTicks) {
+        if (maxCatchUpTicks <= 0) throw new IllegalArgumentException(ERROR_ILLEGAL_CATCH_UP);
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates a clock with the default catch-up limit
+     * @param ticksPerSecond the amount of ticks per second (positive)
+     */
+    public FixedStepClock(final float ticksPerSecond) {
+        this.setTickRate(ticksPerSecond);
+        this.maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+        this.reset();
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,157 @@
+package spc.clockwork.util.timer;
+
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative samples (e.g. durations in nanoseconds) with log-linear buckets,
+ *      which answers the percentile queries of the tail latencies.
+ *
+ * The values below {@value #SUB_BUCKETS} have their own buckets, and every larger power of two is split
+ *      into {@value #SUB_BUCKETS} equal buckets, so a percentile is overestimated by at most 1/{@value #SUB_BUCKETS}
+ *      of its value (and never exceeds the exact maximum). The whole range of long values takes 960 buckets.
+ *
+ * The histogram does not allocate after its construction and is not thread safe.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class LatencyHistogram {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The amount of bits of a value, which select its bucket within its power of two */
+    private static final int SUB_BUCKET_BITS = 4;
+    /** The amount of buckets per power of two */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** The amount of buckets, which covers all the non-negative long values */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** The amount of samples in every bucket */
+    private final long[] counts;
+    /** The amount of samples */
+    private long count;
+    /** The sum of the samples */
+    private long sum;
+    /** The largest sample */
+    private long max;
+    /*--------------------*/
+
+
+
+    /* PRIVATE METHODS
+    /*--------------------*/
+
+    /**
+     * Gets the bucket of a value
+     * @param value the non-negative value
+     * @return the index of the bucket
+     */
+    private static int bucketOf(final long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+
+    /**
+     * Gets the largest value of a bucket
+     * @param bucket the index of the bucket
+     * @return the largest value, which falls into the bucket
+     */
+    private static long highestValueOf(final int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        final int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        final long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Records a sample
+     * @param sample the sample (the negative ones are recorded as zero)
+     */
+    public void record(final long sample) {
+        final long value = Math.max(sample, 0L);
+        this.counts[bucketOf(value)]++;
+        this.count++;
+        this.sum += value;
+        if (value > this.max) this.max = value;
+    }
+
+
+    /**
+     * Removes all of the samples
+     */
+    public void clear() {
+        if (this.count == 0) return;
+        Arrays.fill(this.counts, 0L);
+        this.count = 0;
+        this.sum = 0;
+        this.max = 0;
+    }
+
+
+    /**
+     * Gets the value, which is not exceeded by the percentage of the samples given
+     * @param percentile the percentage from 0 to 100
+     * @return the value at the percentile (the upper bound of its bucket) or zero, if there are no samples
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (this.count == 0) return 0L;
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * this.count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= rank) return Math.min(highestValueOf(bucket), this.max);
+        }
+        return this.max;
+    }
+
+
+    /**
+     * Gets the amount of samples
+     * @return the amount of samples
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+
+    /**
+     * Gets the largest sample
+     * @return the exact largest sample or zero, if there are no samples
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+
+    /**
+     * Gets the mean of the samples
+     * @return the exact mean or zero, if there are no samples
+     */
+    public long getMean() {
+        return this.count == 0 ? 0L : this.sum / this.count;
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty histogram
+     */
+    public LatencyHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+    }
+    /*--------------------*/
+}
@@ -0,0 +1,139 @@
+package spc.clockwork.util.timer;
+
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free ring buffer of samples (e.g. durations in nanoseconds) with a single producer and a single consumer.
+ *
+ * The producer never waits: if the consumer falls behind by more than the capacity of the ring,
+ *      the oldest samples are overwritten, and the consumer skips them and counts them as lost.
+ * The consumer drains the samples, which have been added since the previous drain, into a {@link LatencyHistogram}.
+ * The samples, which are overwritten while being drained, are detected and counted as lost too.
+ * A sample is stored before the count is published, so the oldest slot of an overrun ring might be being overwritten
+ *      and is counted as lost too: an overrun ring keeps one sample less than its capacity.
+ *
+ * Adding a sample does not allocate and costs a single ordered store of the sample and of the count.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+public final class SampleRing {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The default capacity of a ring */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** An error message, if the capacity given is not a positive power of two */
+    private static final String ERROR_ILLEGAL_CAPACITY =
+            "Error: The capacity of the ring must be a positive power of two";
+
+    /** The samples */
+    private final AtomicLongArray samples;
+    /** The mask of the index of a sample in the ring */
+    private final int mask;
+    /** The amount of samples ever added (is published by the producer) */
+    private final AtomicLong written;
+    /** The amount of samples ever added (the producer only) */
+    private long producerCount;
+    /** The amount of samples ever drained or lost (the consumer only) */
+    private long consumerCount;
+    /** The amount of samples, which have been overwritten before they were drained (the consumer only) */
+    private long lostCount;
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    /**
+     * Adds a sample. Must be called by the producer only
+     * @param sample the sample
+     */
+    public void add(final long sample) {
+        final long index = this.producerCount;
+        this.samples.lazySet((int) index & this.mask, sample);
+        this.producerCount = index + 1;
+        this.written.lazySet(index + 1);
+    }
+
+
+    /**
+     * Records the samples, which have been added since the previous drain, into the histogram.
+     * Must be called by the consumer only
+     * @param histogram the histogram to record into
+     * @return the amount of samples recorded
+     */
+    public int drainTo(final LatencyHistogram histogram) {
+        final int capacity = this.samples.length();
+        final long end = this.written.get();
+        long from = this.consumerCount;
+        if (end - from > capacity) {
+            this.lostCount += end - from - capacity;
+            from = end - capacity;
+        }
+
+        int drained = 0;
+        for (long i = from; i < end; i++) {
+            final long sample = this.samples.get((int) i & this.mask);
+            /* THE SLOT MIGHT HAVE BEEN OVERWRITTEN BY A LATER SAMPLE, WHILE IT WAS BEING READ */
+            if (this.written.get() - i >= capacity) {
+                this.lostCount++;
+                continue;
+            }
+            histogram.record(sample);
+            drained++;
+        }
+        this.consumerCount = end;
+        return drained;
+    }
+
+
+    /**
+     * Gets the amount of samples, which have been overwritten before they were drained.
+     * Must be called by the consumer only
+     * @return the amount of lost samples
+     */
+    public long getLostCount() {
+        return this.lostCount;
+    }
+
+
+    /**
+     * Gets the capacity of the ring
+     * @return the maximum amount of samples, which are kept between the drains (one less, once the ring is overrun)
+     */
+    public int getCapacity() {
+        return this.samples.length();
+    }
+    /*--------------------*/
+
+
+
+    /* CLASS CONSTRUCTORS
+    /*--------------------*/
+
+    /**
+     * Creates an empty ring
+     * @param capacity the capacity of the ring (a positive power of two)
+     */
+    public SampleRing(final int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) throw new IllegalArgumentException(ERROR_ILLEGAL_CAPACITY);
+        this.samples = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.written = new AtomicLong();
+    }
+
+
+    /**
+     * Creates an empty ring of the default capacity
+     */
+    public SampleRing() {
+        this(DEFAULT_CAPACITY);
+    }
+    /*--------------------*/
+}
@@ -3,8 +3,11 @@ package spc.clockwork.window;
 import com.sun.istack.internal.NotNull;
 import org.lwjgl.glfw.GLFW;
 import spc.clockwork.collections.GameWorld;
-
-import java.util.Iterator;
+import spc.clockwork.core.Profiler;
+import spc.clockwork.graphics.RenderSnapshot;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.util.jfr.FlightRecording;
+import spc.clockwork.util.jfr.LayerRenderEvent;
 
 import static org.lwjgl.glfw.GLFW.*;
 
@@ -18,6 +21,8 @@ public class Window {
     /*--------------------*/
     private static final String ERROR_WINDOW_ID_IS_NULL =
             "Error: the window was not properly initialized";
+    private static final String ERROR_MANAGER_IS_HEADLESS =
+            "Error: the windows cannot be created in the headless mode";
 
     /** A default window width in pixels */
     private static final int DEFAULT_WINDOW_WIDTH = 1024;
@@ -117,19 +122,28 @@ public class Window {
 
     /**
      * Renders an image in the window
-     * @param gameWorld the {@link GameWorld} instance
+     * @param snapshot the captured state of the {@link GameWorld}
+     * @param profiler the profiler, which times every layer and the buffer swap
      */
-    public void render(GameWorld gameWorld) {
+    public void render(RenderSnapshot snapshot, Profiler profiler) {
 
         /* ---- MAKING CONTEXT CURRENT ---- */
-        if (GLFW.glfwGetCurrentContext() != this.id)
-            GLFW.glfwMakeContextCurrent(this.id);
+        GraphicsDevices.get().makeContextCurrent(this.id);
 
         /* ---- RENDERING ---- */
-        Iterator<String> renderingQueue = gameWorld.layerQueueIterator(this.positionInManager);
-        while(renderingQueue.hasNext())
-            gameWorld.getLayer(renderingQueue.next()).render();
+        long time = System.nanoTime();
+        final int layerCount = snapshot.layerCount(this.positionInManager);
+        for (int i = 0; i < layerCount; i++) {
+            final RenderSnapshot.LayerView layer = snapshot.getLayer(this.positionInManager, i);
+            final LayerRenderEvent event = FlightRecording.AVAILABLE ? new LayerRenderEvent() : null;
+            if (event != null) event.begin();
+            final int draws = layer.getLayer().render(layer);
+            if (event != null)
+                event.finish(layer.getLayerName(), this.positionInManager, layer.entityCount(), draws);
+            time = profiler.lap(profiler.layerSection(layer.getLayerName()), time);
+        }
         this.drawRenderedImage();
+        profiler.lap(profiler.swapSection(this.positionInManager), time);
     }
 
 
@@ -139,6 +153,7 @@ public class Window {
     public void terminate() {
         //TODO: IMPLEMENT WINDOW CLEANUP
         this.hide();
+        GraphicsDevices.get().forgetContext(this.id);
         GLFW.glfwDestroyWindow(this.id);
     }
 
@@ -201,6 +216,8 @@ public class Window {
      * Default window constructor
      */
     public Window(@NotNull final WindowManager manager) {
+        if (manager.isHeadless())
+            throw new IllegalStateException(ERROR_MANAGER_IS_HEADLESS);
 
         /* ---- CREATING GLFW WINDOW ---- */
         this.id = GLFW.glfwCreateWindow(
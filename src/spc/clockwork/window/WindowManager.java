@@ -2,6 +2,7 @@ package spc.clockwork.window;
 
 import org.lwjgl.opengl.GL;
 import spc.clockwork.core.Input;
+import spc.clockwork.graphics.device.GraphicsDevices;
 
 import java.util.ArrayList;
 
@@ -31,6 +32,8 @@ public class WindowManager {
     private ArrayList<Window> windows;
     /** Inputs of windows. There must be 1to1 index correspondence between windows and inputs */
     private ArrayList<Input> inputs;
+    /** Whether the manager runs without a display (GLFW is not initialized and no windows are created) */
+    private final boolean isHeadless;
 
     /*--------------------*/
 
@@ -92,6 +95,7 @@ public class WindowManager {
      * Polls events of inputs and draws windows
      */
     public void pollEvents() {
+        if (this.isHeadless) return;
         glfwPollEvents();
     }
 
@@ -103,7 +107,16 @@ public class WindowManager {
         for (int i = 0; i < windows.size(); i++) {
             this.destroyWindow(i);
         }
-        org.lwjgl.glfw.GLFW.glfwTerminate();
+        if (!this.isHeadless) org.lwjgl.glfw.GLFW.glfwTerminate();
+    }
+
+
+    /**
+     * Checks, whether the manager runs without a display
+     * @return true, if there are no windows and no GL, else return false
+     */
+    public boolean isHeadless() {
+        return this.isHeadless;
     }
 
 
@@ -134,9 +147,20 @@ public class WindowManager {
      * Default WindowManager constructor
      */
     public WindowManager() {
+        this(false);
+    }
+
+
+    /**
+     * WindowManager constructor
+     * @param isHeadless true to run without a display: neither GLFW nor the first window are initialized
+     */
+    public WindowManager(final boolean isHeadless) {
         /* INITIALIZATION OF FIELDS */
         this.windows = new ArrayList<>();
         this.inputs = new ArrayList<>();
+        this.isHeadless = isHeadless;
+        if (isHeadless) return;
 
         /* INITIALIZATION OF GLFW */
         if (!glfwInit()) throw new IllegalStateException(ERROR_CANNOT_INIT_GLFW);
@@ -153,9 +177,10 @@ public class WindowManager {
         new Window(this); // Addition to a window manager happens in the window constructor
 
         /* INITIAL RENDERING SETUP */
-        glfwMakeContextCurrent(this.getWindow(0).id);
+        GraphicsDevices.get().makeContextCurrent(this.getWindow(0).id);
         GL.createCapabilities();
-        glEnable(GL_DEPTH_TEST);
+        GraphicsDevices.setContextThread(Thread.currentThread());
+        GraphicsDevices.get().enable(GL_DEPTH_TEST);
     }
     /*--------------------*/
 
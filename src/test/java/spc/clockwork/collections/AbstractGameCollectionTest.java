@@ -0,0 +1,55 @@
+package spc.clockwork.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.core.Identifiable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+public class AbstractGameCollectionTest {
+
+    private static final class Item extends Identifiable {
+        private Item() {
+            super(null, null);
+        }
+
+        @Override
+        protected void onTerminate() {
+        }
+    }
+
+    private static final class ItemCollection extends AbstractGameCollection<Item> {
+        @Override
+        protected int getSubsetCount() {
+            return 0;
+        }
+
+        @Override
+        protected int getSubsetMask(Item element) {
+            return 0;
+        }
+    }
+
+    @Test
+    @DisplayName("Adding an element under a taken name rebinds the name to the new element")
+    public void rebindsTakenName() {
+        ItemCollection collection = new ItemCollection();
+        Item first = new Item();
+        Item second = new Item();
+
+        collection.add("player", first);
+        collection.add("player", second);
+        assertSame(second, collection.getElement("player"));
+        assertEquals("player", collection.getNameOf(second));
+        assertEquals(first.getObjectIdentifier().toString(), collection.getNameOf(first));
+        assertSame(first, collection.getElement(first.getObjectIdentifier().toString()));
+        assertEquals(2, collection.size());
+
+        collection.remove("player");
+        assertNull(collection.getElement("player"));
+        assertEquals(1, collection.size());
+    }
+}
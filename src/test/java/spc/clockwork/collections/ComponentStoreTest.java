@@ -0,0 +1,206 @@
+package spc.clockwork.collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.gameobject.light.PointLight;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.graphics.RenderSystem;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.util.math.vector.Vector3f;
+import spc.clockwork.window.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class ComponentStoreTest {
+
+    private static final int LAYER_COUNT = Long.SIZE + 6;
+
+    private final ComponentStore store = ComponentStore.get();
+    private GraphicsDevice previousDevice;
+    private GameWorld world;
+    private List<Identifiable> created;
+
+    private <T extends Identifiable> T track(T object) {
+        this.created.add(object);
+        return object;
+    }
+
+    private Material material(String name) {
+        return this.track(new Material(this.world, new Vector3f(1f, 1f, 1f), Material.PolygonMode.FILL, name));
+    }
+
+    private GameLayer layer() {
+        return this.track(new GameLayer(this.world) {
+            @Override
+            protected RenderSystem constructDefaultRenderSystem() {
+                return null;
+            }
+        });
+    }
+
+    private Entity entity(Material material) {
+        Entity entity = this.track(new Entity(this.world));
+        entity.setMaterial(material);
+        return entity;
+    }
+
+    @BeforeEach
+    public void createWorld() {
+        /* ---- THE DEFAULT ASSETS OF THE ENTITIES ARE CREATED WITHOUT A GPU ---- */
+        this.previousDevice = GraphicsDevices.get();
+        GraphicsDevices.set(new RecordingGraphicsDevice());
+        this.world = new GameWorld(new WindowManager(true));
+        this.created = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void removeWorld() {
+        try {
+            for (int i = this.created.size() - 1; i >= 0; i--) this.created.get(i).terminate();
+            TransformHierarchy.get().update();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The handle of the row, which is swapped into the place of a removed one, still resolves to its data")
+    public void resolvesHandleAfterSwapRemove() {
+        Material red = this.material("red");
+        Material green = this.material("green");
+        Material blue = this.material("blue");
+        Entity first = this.entity(red);
+        Entity middle = this.entity(green);
+        Entity last = this.entity(blue);
+        last.setVisible(false);
+        int lastHandle = last.getComponentHandle();
+        int size = this.store.size();
+
+        first.terminate();
+        assertEquals(size - 1, this.store.size());
+        assertEquals(lastHandle, last.getComponentHandle());
+        assertSame(blue, this.store.getMaterial(lastHandle));
+        assertFalse(this.store.isVisible(lastHandle));
+        assertSame(green, middle.getMaterial());
+        assertTrue(this.store.isVisible(middle.getComponentHandle()));
+
+        middle.terminate();
+        assertSame(blue, last.getMaterial());
+        assertEquals(1, this.store.count(ComponentStore.Query.entities().withMaterial(blue)));
+    }
+
+    @Test
+    @DisplayName("The id of an asset is released with its last user, so a reused id does not match the old asset")
+    public void releasesAssetIdWithLastUser() {
+        Material shared = this.material("shared");
+        Entity first = this.entity(shared);
+        Entity second = this.entity(shared);
+        ComponentStore.Query<Entity> withShared = ComponentStore.Query.entities().withMaterial(shared);
+        assertEquals(2, this.store.count(withShared));
+
+        first.terminate();
+        assertEquals(1, this.store.count(withShared));
+        second.setMaterial(null);
+        assertEquals(0, this.store.count(withShared));
+
+        /* ---- THE FREED ID IS TAKEN BY THE NEXT NEW ASSET ---- */
+        Material other = this.material("other");
+        Entity third = this.entity(other);
+        assertEquals(0, this.store.count(withShared));
+        assertEquals(1, this.store.count(ComponentStore.Query.entities().withMaterial(other)));
+        assertSame(other, third.getMaterial());
+    }
+
+    @Test
+    @DisplayName("The layers past the 64 bits of the mask behave like the others and forget the removed objects")
+    public void overflowLayersBehaveLikeBitLayers() {
+        GameLayer[] layers = new GameLayer[LAYER_COUNT];
+        for (int i = 0; i < LAYER_COUNT; i++) layers[i] = this.layer();
+        Entity entity = this.entity(null);
+        PointLight light = this.track(new PointLight(this.world));
+
+        for (GameLayer layer : layers) {
+            layer.add(entity);
+            layer.add(light);
+        }
+        for (GameLayer layer : layers) {
+            assertEquals(2, this.store.count(ComponentStore.Query.all().inLayer(layer)));
+            assertEquals(1, this.store.count(ComponentStore.Query.lights().inLayer(layer)));
+        }
+
+        GameLayer firstLayer = layers[0];
+        GameLayer lastLayer = layers[LAYER_COUNT - 1];
+        lastLayer.remove(light);
+        firstLayer.remove(light);
+        assertEquals(1, this.store.count(ComponentStore.Query.all().inLayer(lastLayer)));
+        assertEquals(1, this.store.count(ComponentStore.Query.all().inLayer(firstLayer)));
+        assertEquals(0, this.store.count(ComponentStore.Query.lights().inLayer(lastLayer)));
+
+        /* ---- THE HANDLE OF A REMOVED OBJECT IS REUSED BY THE NEXT ONE, WHICH IS IN NO LAYER ---- */
+        int handle = entity.getComponentHandle();
+        entity.terminate();
+        Entity next = this.entity(null);
+        assertEquals(handle, next.getComponentHandle());
+        for (GameLayer layer : layers)
+            assertEquals(layer == firstLayer || layer == lastLayer ? 0 : 1,
+                    this.store.count(ComponentStore.Query.all().inLayer(layer)));
+
+        lastLayer.terminate();
+        assertEquals(0, this.store.count(ComponentStore.Query.all().inLayer(lastLayer)));
+    }
+
+    @Test
+    @DisplayName("The filters of a query match the components, the visibility, the assets and the layers as specified")
+    public void filtersMatchAsSpecified() {
+        GameLayer layer = this.layer();
+        GameLayer otherLayer = this.layer();
+        Material red = this.material("red");
+        Material blue = this.material("blue");
+        Entity visibleRed = this.entity(red);
+        Entity hiddenRed = this.entity(red);
+        Entity visibleBlue = this.entity(blue);
+        PointLight light = this.track(new PointLight(this.world));
+        hiddenRed.setVisible(false);
+        for (Entity entity : new Entity[]{visibleRed, hiddenRed, visibleBlue}) layer.add(entity);
+        layer.add(light);
+        otherLayer.add(visibleBlue);
+
+        assertEquals(4, this.store.count(ComponentStore.Query.all().inLayer(layer)));
+        assertEquals(3, this.store.count(ComponentStore.Query.entities().inLayer(layer)));
+        assertEquals(1, this.store.count(ComponentStore.Query.lights().inLayer(layer)));
+        assertEquals(3, this.store.count(ComponentStore.Query.all().inLayer(layer).visible()));
+        assertEquals(2, this.store.count(ComponentStore.Query.entities().withMaterial(red)));
+        assertEquals(1, this.store.count(ComponentStore.Query.entities().withMaterial(red).visible()));
+        assertEquals(1, this.store.count(ComponentStore.Query.entities().withMaterial(blue).inLayer(otherLayer)));
+        assertEquals(0, this.store.count(ComponentStore.Query.entities().withMaterial(red).inLayer(otherLayer)));
+
+        /* ---- A FILTER BY AN ASSET OR A LAYER, WHICH NOBODY USES, MATCHES NOTHING ---- */
+        Material unused = this.material("unused");
+        GameLayer emptyLayer = this.layer();
+        assertEquals(0, this.store.count(ComponentStore.Query.all().withMaterial(unused)));
+        assertEquals(0, this.store.count(ComponentStore.Query.all().inLayer(emptyLayer)));
+
+        /* ---- THE QUERY YIELDS THE OBJECTS THEMSELVES, AND A REMOVED FILTER MATCHES NOTHING OUT ---- */
+        List<Entity> found = new ArrayList<>();
+        ComponentStore.Query<Entity> query = ComponentStore.Query.entities().inLayer(layer).withMaterial(blue);
+        this.store.forEach(query, found::add);
+        assertEquals(1, found.size());
+        assertSame(visibleBlue, found.get(0));
+        assertEquals(3, this.store.count(query.withMaterial(null)));
+    }
+}
@@ -0,0 +1,136 @@
+package spc.clockwork.collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.window.WindowManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class WorldCommandBufferTest {
+
+    private GraphicsDevice previousDevice;
+    private GameWorld world;
+    private WorldCommandBuffer buffer;
+    private Entity parent;
+    private Entity child;
+    private List<String> log;
+
+    private Supplier<Identifiable> logging(String message) {
+        return () -> {
+            this.log.add(message);
+            return null;
+        };
+    }
+
+    @BeforeEach
+    public void createWorld() {
+        /* ---- THE DEFAULT ASSETS OF THE ENTITIES ARE CREATED WITHOUT A GPU ---- */
+        this.previousDevice = GraphicsDevices.get();
+        GraphicsDevices.set(new RecordingGraphicsDevice());
+        this.world = new GameWorld(new WindowManager(true));
+        this.buffer = new WorldCommandBuffer();
+        this.parent = new Entity(this.world);
+        this.child = new Entity(this.world);
+        this.log = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void removeWorld() {
+        try {
+            WorldCommandBuffer.endOrderedRecording();
+            if (this.child != null) this.child.terminate();
+            if (this.parent != null) this.parent.terminate();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The commands are applied kind by kind: spawns, parents and removals, whatever the recording order")
+    public void appliesKindByKind() {
+        this.buffer.remove(this.child);
+        this.buffer.setParent(this.child, this.parent);
+        this.buffer.spawn(() -> {
+            this.log.add("spawn " + this.child.isTerminated() + " " + (this.child.getParent() == this.parent));
+            return null;
+        });
+        assertEquals(3, this.buffer.size());
+
+        assertEquals(3, this.buffer.apply());
+        assertEquals(Arrays.asList("spawn false false"), this.log);
+        assertTrue(this.child.isTerminated());
+        assertFalse(this.parent.isTerminated());
+        assertEquals(0, this.buffer.size());
+    }
+
+    @Test
+    @DisplayName("A removal wins over the other commands of the batch, even the ones recorded after it")
+    public void removalWins() {
+        Entity[] spawnedEntity = new Entity[1];
+        this.buffer.spawn(() -> new Entity(this.world), spawned -> {
+            spawnedEntity[0] = spawned;
+            this.buffer.remove(spawned);
+            this.buffer.setParent(spawned, this.parent);
+            this.log.add("spawned");
+        });
+        this.buffer.setParent(this.child, this.parent);
+
+        assertEquals(4, this.buffer.apply());
+        assertEquals(Arrays.asList("spawned"), this.log);
+        assertTrue(spawnedEntity[0].isTerminated());
+        assertSame(this.parent, this.child.getParent());
+        assertFalse(this.child.isTerminated());
+    }
+
+    @Test
+    @DisplayName("The ordered commands are applied by the key of their scope, then by recording, then the unordered ones")
+    public void appliesOrderedScopesByKey() {
+        this.buffer.spawn(this.logging("unordered 1"));
+        WorldCommandBuffer.beginOrderedRecording(2);
+        this.buffer.spawn(this.logging("scope 2, first"));
+        this.buffer.spawn(this.logging("scope 2, second"));
+        WorldCommandBuffer.endOrderedRecording();
+        this.buffer.spawn(this.logging("unordered 2"));
+        WorldCommandBuffer.beginOrderedRecording(1);
+        this.buffer.spawn(this.logging("scope 1"));
+        WorldCommandBuffer.endOrderedRecording();
+
+        assertEquals(5, this.buffer.apply());
+        assertEquals(Arrays.asList("scope 1", "scope 2, first", "scope 2, second", "unordered 1", "unordered 2"),
+                this.log);
+    }
+
+    @Test
+    @DisplayName("An ordered scope rejects the key and the command, which would not fit into the order of a command")
+    public void guardsTheOrderBits() {
+        assertThrows(IllegalArgumentException.class, () -> WorldCommandBuffer.beginOrderedRecording(-1));
+        assertThrows(IllegalArgumentException.class, () -> WorldCommandBuffer.beginOrderedRecording(1L << 43));
+
+        Supplier<Identifiable> nothing = () -> null;
+        WorldCommandBuffer.beginOrderedRecording((1L << 43) - 1);
+        for (int i = 0; i < 1 << 20; i++) this.buffer.spawn(nothing);
+        assertThrows(IllegalStateException.class, () -> this.buffer.spawn(nothing));
+        WorldCommandBuffer.endOrderedRecording();
+
+        this.buffer.spawn(this.logging("unordered"));
+        assertEquals((1 << 20) + 1, this.buffer.apply());
+        assertEquals(Arrays.asList("unordered"), this.log);
+    }
+}
@@ -0,0 +1,173 @@
+package spc.clockwork.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.gameobject.ScriptedObject;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.window.WindowManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class ScriptSchedulerTest {
+
+    private final class Script extends Entity implements ScriptedObject {
+        private final int phase;
+        private final Access access;
+        private final Runnable action;
+
+        private Script(int phase, Access access, Runnable action) {
+            super(ScriptSchedulerTest.this.world);
+            this.phase = phase;
+            this.access = access;
+            this.action = action;
+            ScriptSchedulerTest.this.scripts.add(this);
+        }
+
+        @Override
+        public void onTick() {
+            this.action.run();
+        }
+
+        @Override
+        public void onTerminate() {
+            super.onTerminate();
+        }
+
+        @Override
+        public boolean isActive() {
+            return true;
+        }
+
+        @Override
+        public int getScriptPhase() {
+            return this.phase;
+        }
+
+        @Override
+        public Access getScriptAccess() {
+            return this.access;
+        }
+    }
+
+    private GraphicsDevice previousDevice;
+    private GameWorld world;
+    private ScriptScheduler scheduler;
+    private ForkJoinPool pool;
+    private List<Script> scripts;
+    private List<String> log;
+
+    @BeforeEach
+    public void createWorld() {
+        /* ---- THE DEFAULT ASSETS OF THE ENTITIES ARE CREATED WITHOUT A GPU ---- */
+        this.previousDevice = GraphicsDevices.get();
+        GraphicsDevices.set(new RecordingGraphicsDevice());
+        this.world = new GameWorld(new WindowManager(true));
+        this.scheduler = new ScriptScheduler();
+        this.pool = new ForkJoinPool(4);
+        this.scripts = new ArrayList<>();
+        this.log = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    public void removeWorld() {
+        try {
+            this.pool.shutdown();
+            for (Script script : this.scripts) script.terminate();
+            TransformHierarchy.get().update();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The phases are executed in ascending order, whatever the order of the scripts in the world")
+    public void runsPhasesInAscendingOrder() {
+        int[] phases = {2, -1, 0, 7, 2, 0, -1};
+        for (int phase : phases)
+            new Script(phase, ScriptedObject.Access.MUTATING, () -> this.log.add(Integer.toString(phase)));
+
+        this.scheduler.tick(this.world);
+        assertEquals(Arrays.asList("-1", "-1", "0", "0", "2", "2", "7"), this.log);
+        assertEquals(4, this.scheduler.getPhaseCount());
+        assertEquals(-1, this.scheduler.getPhase(0));
+        assertEquals(7, this.scheduler.getPhase(3));
+    }
+
+    @Test
+    @DisplayName("Within a phase the read-only scripts run before the mutating ones, and only they see a frozen hierarchy")
+    public void runsReadOnlyBeforeMutating() {
+        for (int i = 0; i < 6; i++) {
+            ScriptedObject.Access access = i % 2 == 0 ? ScriptedObject.Access.MUTATING : ScriptedObject.Access.READ_ONLY;
+            new Script(0, access, () -> this.log.add(access + " " + TransformHierarchy.get().isFrozen()));
+        }
+        new Script(1, ScriptedObject.Access.READ_ONLY, () -> this.log.add("next phase"));
+
+        this.scheduler.tick(this.world);
+        assertEquals(Arrays.asList(
+                "READ_ONLY true", "READ_ONLY true", "READ_ONLY true",
+                "MUTATING false", "MUTATING false", "MUTATING false",
+                "next phase"), this.log);
+        assertFalse(TransformHierarchy.get().isFrozen());
+    }
+
+    @Test
+    @DisplayName("In the deterministic mode the commands of the parallel read-only scripts are applied in script order")
+    public void appliesParallelCommandsInScriptOrder() {
+        this.scheduler.setDeterministic(true);
+        this.scheduler.setPool(this.pool);
+        this.scheduler.setParallelThreshold(1);
+        this.scheduler.setPartitionSize(2);
+        List<String> applied = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            String name = Integer.toString(i);
+            new Script(0, ScriptedObject.Access.READ_ONLY, () -> {
+                this.log.add(name);
+                this.world.getCommandBuffer().spawn(() -> {
+                    applied.add(name);
+                    return null;
+                });
+            });
+        }
+        List<String> expected = new ArrayList<>();
+        List<Script> byHandle = new ArrayList<>(this.scripts);
+        byHandle.sort((a, b) -> Long.compareUnsigned(a.getHandle(), b.getHandle()));
+        for (Script script : byHandle) expected.add(Integer.toString(this.scripts.indexOf(script)));
+
+        for (int tick = 0; tick < 3; tick++) {
+            this.log.clear();
+            applied.clear();
+            this.scheduler.tick(this.world);
+            this.world.getCommandBuffer().apply();
+            assertEquals(64, this.log.size());
+            assertEquals(expected, applied);
+        }
+    }
+
+    @Test
+    @DisplayName("In the deterministic mode a phase, whose ordering keys would overlap the next one, is rejected")
+    public void rejectsTooManyPhases() {
+        this.scheduler.setDeterministic(true);
+        for (int phase = 0; phase <= 1 << 15; phase++) new Script(phase, ScriptedObject.Access.MUTATING, () -> {});
+        assertThrows(IllegalArgumentException.class, () -> this.scheduler.tick(this.world));
+
+        this.scripts.remove(this.scripts.size() - 1).terminate();
+        this.scheduler.tick(this.world);
+        assertEquals(1 << 15, this.scheduler.getPhaseCount());
+    }
+}
@@ -0,0 +1,184 @@
+package spc.clockwork.gameobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.util.math.Transformation;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class TransformHierarchyTest {
+
+    private static int addNode(TransformHierarchy hierarchy, float x) {
+        int node = hierarchy.addNode();
+        Transformation transformation = new Transformation();
+        transformation.set(new Vector3f(x, 0f, 0f), new Quaternion(), 1f);
+        hierarchy.setLocal(node, transformation);
+        return node;
+    }
+
+    private static Transformation randomLocal(Random random) {
+        Transformation transformation = new Transformation();
+        transformation.set(
+                new Vector3f(random.nextFloat() * 4f - 2f, random.nextFloat() * 4f - 2f, random.nextFloat() * 4f - 2f),
+                Quaternion.rotation(random.nextFloat() * 360f,
+                        new Vector3f(random.nextFloat() + 0.1f, random.nextFloat(), random.nextFloat()).normalize()),
+                0.5f + random.nextFloat());
+        return transformation;
+    }
+
+    /**
+     * Builds a forest of the roots with the random subtrees, the same for the same seed
+     * @return the nodes in the order of their creation
+     */
+    private static int[] buildForest(TransformHierarchy hierarchy, long seed, int rootCount, int depth) {
+        Random random = new Random(seed);
+        int[] nodes = new int[1 << 16];
+        int count = 0;
+        for (int root = 0; root < rootCount; root++) {
+            int levelStart = count;
+            nodes[count] = hierarchy.addNode();
+            hierarchy.setLocal(nodes[count++], randomLocal(random));
+            for (int level = 1; level < depth; level++) {
+                int levelEnd = count;
+                for (int i = levelStart; i < levelEnd; i++) {
+                    for (int child = random.nextInt(3) + 1; child > 0 && count < nodes.length; child--) {
+                        nodes[count] = hierarchy.addNode();
+                        hierarchy.setLocal(nodes[count], randomLocal(random));
+                        hierarchy.setParent(nodes[count++], nodes[i]);
+                    }
+                }
+                levelStart = levelEnd;
+            }
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    private static float worldX(TransformHierarchy hierarchy, int node) {
+        return hierarchy.getWorldMatrix(node, new Mat4()).m03;
+    }
+
+    @Test
+    @DisplayName("Spawning and despawning roots does not reorder the slots, until the tombstones are compacted")
+    public void spawnsAndDespawnsWithoutReordering() {
+        TransformHierarchy hierarchy = new TransformHierarchy(4);
+        int parent = addNode(hierarchy, 1f);
+        int child = addNode(hierarchy, 2f);
+        hierarchy.setParent(child, parent);
+        hierarchy.update();
+        int rebuilds = hierarchy.getRebuildCount();
+
+        for (int tick = 0; tick < 32; tick++) {
+            int projectile = addNode(hierarchy, tick);
+            hierarchy.update();
+            assertEquals(tick, worldX(hierarchy, projectile), 0f);
+            hierarchy.removeNode(projectile);
+        }
+        hierarchy.update();
+        assertEquals(rebuilds, hierarchy.getRebuildCount());
+        assertEquals(3f, worldX(hierarchy, child), 0f);
+
+        for (int i = 0; i < 256; i++) hierarchy.removeNode(addNode(hierarchy, i));
+        hierarchy.update();
+        assertEquals(rebuilds + 1, hierarchy.getRebuildCount());
+        assertEquals(2, hierarchy.size());
+        assertEquals(3f, worldX(hierarchy, child), 0f);
+    }
+
+    @Test
+    @DisplayName("A reparenting, which breaks the topological order, reorders the slots")
+    public void reordersAfterReparenting() {
+        TransformHierarchy hierarchy = new TransformHierarchy(4);
+        int child = addNode(hierarchy, 2f);
+        int parent = addNode(hierarchy, 1f);
+        hierarchy.update();
+        int rebuilds = hierarchy.getRebuildCount();
+
+        hierarchy.setParent(child, parent);
+        hierarchy.update();
+        assertEquals(rebuilds + 1, hierarchy.getRebuildCount());
+        assertEquals(3f, worldX(hierarchy, child), 0f);
+
+        int grandChild = addNode(hierarchy, 4f);
+        hierarchy.setParent(grandChild, child);
+        hierarchy.update();
+        assertEquals(rebuilds + 1, hierarchy.getRebuildCount());
+        assertEquals(7f, worldX(hierarchy, grandChild), 0f);
+    }
+
+    @Test
+    @DisplayName("A frozen hierarchy keeps the world transformations of the freeze and rejects the structural changes")
+    public void freezesWorldTransformations() {
+        TransformHierarchy hierarchy = new TransformHierarchy(4);
+        int parent = addNode(hierarchy, 1f);
+        int child = addNode(hierarchy, 2f);
+        hierarchy.setParent(child, parent);
+        hierarchy.update();
+        addNode(hierarchy, 5f);
+        hierarchy.setLocal(parent, new Transformation());
+
+        hierarchy.freeze();
+        long stamp = hierarchy.resolve(child);
+        assertEquals(2f, worldX(hierarchy, child), 0f);
+        Transformation moved = new Transformation();
+        moved.set(new Vector3f(10f, 0f, 0f), new Quaternion(), 1f);
+        hierarchy.setLocal(child, moved);
+        assertEquals(stamp, hierarchy.resolve(child));
+        assertEquals(2f, worldX(hierarchy, child), 0f);
+        assertThrows(IllegalStateException.class, hierarchy::addNode);
+        assertThrows(IllegalStateException.class, () -> hierarchy.setParent(child, TransformHierarchy.NO_NODE));
+        hierarchy.thaw();
+
+        hierarchy.update();
+        assertEquals(10f, worldX(hierarchy, child), 0f);
+        assertEquals(3, hierarchy.size());
+    }
+
+    @Test
+    @DisplayName("The parallel pass computes the same world transformations as the serial one, bit by bit")
+    public void parallelPassIsBitIdentical() {
+        TransformHierarchy serial = new TransformHierarchy(16);
+        TransformHierarchy parallel = new TransformHierarchy(16);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        serial.setParallelThreshold(Integer.MAX_VALUE);
+        parallel.setPool(pool);
+        parallel.setParallelThreshold(1);
+        try {
+            int[] serialNodes = buildForest(serial, 7L, 48, 8);
+            int[] parallelNodes = buildForest(parallel, 7L, 48, 8);
+            assertTrue(serialNodes.length > 4096);
+
+            Random moves = new Random(11L);
+            float[] serialStates = new float[TransformHierarchy.TICK_STATES_LENGTH];
+            float[] parallelStates = new float[TransformHierarchy.TICK_STATES_LENGTH];
+            for (int tick = 0; tick < 3; tick++) {
+                serial.update();
+                parallel.update();
+                for (int i = 0; i < serialNodes.length; i++) {
+                    serial.copyTickStates(serialNodes[i], serialStates, 0);
+                    parallel.copyTickStates(parallelNodes[i], parallelStates, 0);
+                    for (int j = 0; j < serialStates.length; j++)
+                        assertEquals(Float.floatToRawIntBits(serialStates[j]),
+                                Float.floatToRawIntBits(parallelStates[j]));
+                }
+                /* ---- MOVING A RANDOM THIRD OF THE NODES, SO THE NEXT PASS UPDATES A PART OF THE SUBTREES ---- */
+                for (int i = 0; i < serialNodes.length; i += 1 + moves.nextInt(5)) {
+                    Transformation local = randomLocal(moves);
+                    serial.setLocal(serialNodes[i], local);
+                    parallel.setLocal(parallelNodes[i], local);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package spc.clockwork.graphics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class GpuResourceReclaimerTest {
+
+    private final GpuResourceReclaimer reclaimer = GpuResourceReclaimer.get();
+    private GraphicsDevice previousDevice;
+    private RecordingGraphicsDevice device;
+    private int previousBudget;
+
+    private boolean deleted(String call, int... names) {
+        StringBuilder expected = new StringBuilder(call).append("[[");
+        for (int i = 0; i < names.length; i++) expected.append(i == 0 ? "" : ", ").append(names[i]);
+        return this.device.getLog().contains(expected.append("]]").toString());
+    }
+
+    @BeforeEach
+    public void installDevice() {
+        this.previousDevice = GraphicsDevices.get();
+        this.device = new RecordingGraphicsDevice();
+        GraphicsDevices.set(this.device);
+        this.previousBudget = this.reclaimer.getBudget();
+        /* ---- THE OBJECTS RELEASED BY THE OTHER TESTS ARE DELETED BEFORE THE LOG STARTS ---- */
+        this.reclaimer.drainAll();
+        this.device.setLogging(true);
+    }
+
+    @AfterEach
+    public void restoreDevice() {
+        try {
+            this.reclaimer.setBudget(this.previousBudget);
+            this.reclaimer.drainAll();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The objects released after a snapshot was captured are kept, until a later snapshot is rendered")
+    public void keepsObjectsOfRenderedEpoch() {
+        Object texture = new Object(), mesh = new Object();
+        GpuResourceReclaimer.Tracker textureTracker = this.reclaimer.trackTexture(texture, 1_000_011);
+        GpuResourceReclaimer.Tracker meshTracker = this.reclaimer.track(mesh,
+                new int[]{GpuResourceReclaimer.BUFFER, GpuResourceReclaimer.VERTEX_ARRAY}, new int[]{1_000_021, 1_000_022});
+
+        /* ---- THE SNAPSHOT OF THIS EPOCH MAY STILL DRAW THE TEXTURE, WHICH IS RELEASED AFTER ITS CAPTURE ---- */
+        long captured = this.reclaimer.advanceEpoch();
+        assertTrue(textureTracker.release());
+        assertFalse(textureTracker.release());
+        assertEquals(0, this.reclaimer.drain(captured));
+        assertFalse(this.deleted("DELETE_TEXTURES", 1_000_011));
+
+        long next = this.reclaimer.advanceEpoch();
+        assertTrue(meshTracker.release());
+        this.reclaimer.drain(next);
+        assertTrue(this.deleted("DELETE_TEXTURES", 1_000_011));
+        assertFalse(this.deleted("DELETE_BUFFERS", 1_000_021));
+        assertFalse(this.deleted("DELETE_VERTEX_ARRAYS", 1_000_022));
+        assertTrue(this.reclaimer.getPendingCount() >= 2);
+
+        this.reclaimer.drain(this.reclaimer.advanceEpoch());
+        assertTrue(this.deleted("DELETE_BUFFERS", 1_000_021));
+        assertTrue(this.deleted("DELETE_VERTEX_ARRAYS", 1_000_022));
+        assertTrue(textureTracker.isReleased() && meshTracker.isReleased());
+    }
+
+    @Test
+    @DisplayName("A drain deletes whole trackers in the order of release, until the budget is reached")
+    public void drainsWithinBudget() {
+        Object[] owners = new Object[3];
+        GpuResourceReclaimer.Tracker[] trackers = new GpuResourceReclaimer.Tracker[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new Object();
+            trackers[i] = this.reclaimer.track(owners[i],
+                    new int[]{GpuResourceReclaimer.BUFFER, GpuResourceReclaimer.BUFFER},
+                    new int[]{1_000_100 + 2 * i, 1_000_101 + 2 * i});
+        }
+        for (GpuResourceReclaimer.Tracker tracker : trackers) tracker.release();
+        this.reclaimer.setBudget(3);
+
+        /* ---- THE SECOND TRACKER IS DELETED WHOLE, THOUGH IT EXCEEDS THE BUDGET ---- */
+        assertEquals(4, this.reclaimer.drain());
+        assertTrue(this.deleted("DELETE_BUFFERS", 1_000_100, 1_000_101, 1_000_102, 1_000_103));
+        assertFalse(this.deleted("DELETE_BUFFERS", 1_000_104, 1_000_105));
+        this.reclaimer.drain();
+        assertTrue(this.deleted("DELETE_BUFFERS", 1_000_104, 1_000_105));
+
+        assertThrows(IllegalArgumentException.class, () -> this.reclaimer.setBudget(0));
+    }
+}
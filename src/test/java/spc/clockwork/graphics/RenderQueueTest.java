@@ -0,0 +1,186 @@
+package spc.clockwork.graphics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.util.math.vector.Vector3f;
+import spc.clockwork.window.WindowManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class RenderQueueTest {
+
+    private static final String LAYER_NAME = "main";
+
+    private GraphicsDevice previousDevice;
+    private GameWorld world;
+    private List<Identifiable> created;
+    private final RenderSnapshot snapshot = new RenderSnapshot();
+    private final RenderQueue queue = new RenderQueue();
+
+    private <T extends Identifiable> T track(T object) {
+        this.created.add(object);
+        return object;
+    }
+
+    private Material opaque(String name) {
+        return this.track(new Material(this.world, new Vector3f(1f, 1f, 1f), Material.PolygonMode.FILL, name));
+    }
+
+    private Material transparent(String name) throws IOException {
+        /* ---- A PNG WITH AN ALPHA CHANNEL, WHICH IS NEVER SENT TO THE GPU ---- */
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB), "png", png);
+        Texture texture = this.track(new Texture(this.world, new ByteArrayInputStream(png.toByteArray()),
+                RenderQueueTest.class, name + ".png", name));
+        return this.track(new Material(this.world, texture));
+    }
+
+    private void entity(Material material, float depth) {
+        Entity entity = this.track(new Entity(this.world));
+        entity.setMaterial(material);
+        entity.setPosition(new Vector3f(0f, 0f, -depth));
+        this.world.addToLayer(entity, LAYER_NAME);
+    }
+
+    private RenderSnapshot.LayerView capture() {
+        TransformHierarchy.get().update();
+        this.snapshot.capture(this.world, 1, 0L, 1L);
+        this.snapshot.interpolate(1f);
+        return this.snapshot.getLayer(0, 0);
+    }
+
+    private static float depthOf(RenderSnapshot.LayerView view, int entity) {
+        return -view.getModelMatrix(entity).getElement(2, 3);
+    }
+
+    @BeforeEach
+    public void createWorld() {
+        /* ---- THE DEFAULT ASSETS OF THE ENTITIES ARE CREATED WITHOUT A GPU ---- */
+        this.previousDevice = GraphicsDevices.get();
+        GraphicsDevices.set(new RecordingGraphicsDevice());
+        this.world = new GameWorld(new WindowManager(true));
+        this.created = new ArrayList<>();
+        GameLayer layer = this.track(new GameLayer(this.world) {
+            @Override
+            protected RenderSystem constructDefaultRenderSystem() {
+                return null;
+            }
+        });
+        layer.setName(LAYER_NAME);
+        this.world.setLayerRenderQueue(0, new String[]{LAYER_NAME});
+    }
+
+    @AfterEach
+    public void removeWorld() {
+        try {
+            for (int i = this.created.size() - 1; i >= 0; i--) this.created.get(i).terminate();
+            TransformHierarchy.get().update();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The opaque entities are grouped by material and drawn front to back, then the transparent ones back to front")
+    public void ordersOpaqueThenTransparent() throws IOException {
+        Material red = this.opaque("red"), green = this.opaque("green"), blue = this.opaque("blue");
+        Material glass = this.transparent("glass"), smoke = this.transparent("smoke");
+        Material[] opaque = {red, green, blue};
+        float[] depths = {7f, 2f, 9f, 4f, 1f, 8f, 5f, 3f, 6f};
+        for (int i = 0; i < depths.length; i++) {
+            this.entity(opaque[i % opaque.length], depths[i]);
+            this.entity(i % 2 == 0 ? glass : smoke, depths[i] + 0.5f);
+        }
+        RenderSnapshot.LayerView view = this.capture();
+        this.queue.build(view, 0, true);
+        assertEquals(2 * depths.length, this.queue.size());
+
+        /* ---- THE OPAQUE RUNS: EACH MATERIAL ONCE, FRONT TO BACK WITHIN IT ---- */
+        Set<Material> finished = new HashSet<>();
+        int position = 0;
+        while (position < depths.length) {
+            Material material = view.getMaterial(this.queue.entityAt(position));
+            assertFalse(material.isTransparent());
+            assertTrue(finished.add(material), "the run of " + material + " is split");
+            float depth = -1f;
+            for (; position < depths.length && view.getMaterial(this.queue.entityAt(position)) == material; position++) {
+                float next = depthOf(view, this.queue.entityAt(position));
+                assertTrue(next > depth, next + " is drawn after " + depth);
+                depth = next;
+            }
+        }
+        assertEquals(opaque.length, finished.size());
+
+        /* ---- THE TRANSPARENT ENTITIES: BACK TO FRONT, WHATEVER THEIR MATERIALS ---- */
+        float depth = Float.MAX_VALUE;
+        for (; position < this.queue.size(); position++) {
+            int entity = this.queue.entityAt(position);
+            assertTrue(view.getMaterial(entity).isTransparent());
+            assertTrue(depthOf(view, entity) < depth);
+            depth = depthOf(view, entity);
+        }
+    }
+
+    @Test
+    @DisplayName("The shader kind is compared before anything else, so the layers of a program are drawn together")
+    public void groupsByShaderFirst() {
+        Material near = this.opaque("near"), far = this.opaque("far");
+        this.entity(near, 1f);
+        this.entity(far, 100f);
+        RenderSnapshot.LayerView view = this.capture();
+
+        long[] firstKeys = new long[2];
+        this.queue.build(view, 1, true);
+        for (int i = 0; i < 2; i++) firstKeys[i] = this.queue.keyAt(i);
+        this.queue.build(view, 2, true);
+        for (long first : firstKeys)
+            for (int i = 0; i < 2; i++) assertTrue(Long.compareUnsigned(first, this.queue.keyAt(i)) < 0);
+    }
+
+    @Test
+    @DisplayName("The entities with equal keys keep their submission order, and an unsorted queue keeps the layer order")
+    public void equalKeysKeepSubmissionOrder() {
+        Material stone = this.opaque("stone"), wood = this.opaque("wood");
+        for (int i = 0; i < 13; i++) this.entity(i % 3 == 0 ? wood : stone, 5f);
+        RenderSnapshot.LayerView view = this.capture();
+
+        this.queue.build(view, 0, true);
+        int previous = -1;
+        Material material = null;
+        for (int position = 0; position < this.queue.size(); position++) {
+            int entity = this.queue.entityAt(position);
+            if (view.getMaterial(entity) != material) {
+                material = view.getMaterial(entity);
+                previous = -1;
+            }
+            assertTrue(entity > previous, entity + " is drawn after " + previous);
+            previous = entity;
+        }
+
+        this.queue.build(view, 0, false);
+        for (int position = 0; position < this.queue.size(); position++) assertEquals(position, this.queue.entityAt(position));
+    }
+}
@@ -0,0 +1,89 @@
+package spc.clockwork.graphics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.window.WindowManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class RenderSnapshotBufferTest {
+
+    private final GameWorld world = new GameWorld(new WindowManager(true));
+
+    private RenderSnapshot captureAndPublish(RenderSnapshotBuffer buffer) {
+        RenderSnapshot back = buffer.getBack();
+        back.capture(this.world, 0, 0L, 1L);
+        buffer.publish();
+        return back;
+    }
+
+    @Test
+    @DisplayName("A published snapshot is acquired once it is fresh, and the front one is kept until a newer one comes")
+    public void acquiresLatestPublished() {
+        RenderSnapshotBuffer buffer = new RenderSnapshotBuffer();
+        RenderSnapshot empty = buffer.acquire();
+        assertFalse(buffer.hasFresh());
+        assertEquals(0L, empty.getEpoch());
+        assertSame(empty, buffer.acquire());
+
+        RenderSnapshot first = this.captureAndPublish(buffer);
+        assertNotSame(empty, first);
+        assertNotSame(first, buffer.getBack());
+        assertTrue(buffer.hasFresh());
+        assertSame(first, buffer.acquire());
+        assertFalse(buffer.hasFresh());
+        assertSame(first, buffer.acquire());
+
+        /* ---- A SNAPSHOT, WHICH HAS NOT BEEN ACQUIRED, IS OVERWRITTEN BY THE PRODUCER ---- */
+        RenderSnapshot second = this.captureAndPublish(buffer);
+        RenderSnapshot third = this.captureAndPublish(buffer);
+        assertSame(second, buffer.getBack());
+        assertTrue(buffer.hasFresh());
+        assertSame(third, buffer.acquire());
+        assertFalse(buffer.hasFresh());
+        assertTrue(third.getEpoch() > first.getEpoch());
+
+        /* ---- THE FRONT SNAPSHOT GOES BACK TO THE PRODUCER ONLY AFTER THE CONSUMER HAS LEFT IT ---- */
+        assertSame(second, this.captureAndPublish(buffer));
+        assertNotSame(third, buffer.getBack());
+        assertSame(second, buffer.acquire());
+        assertSame(first, this.captureAndPublish(buffer));
+        assertSame(third, buffer.getBack());
+    }
+
+    @Test
+    @DisplayName("A racing consumer never sees its front snapshot change and never goes back to an older one")
+    public void consumerNeverSeesProducerWrites() throws InterruptedException {
+        RenderSnapshotBuffer buffer = new RenderSnapshotBuffer();
+        AtomicBoolean isProducing = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            while (isProducing.get()) this.captureAndPublish(buffer);
+        });
+
+        producer.start();
+        long lastEpoch = 0L;
+        int freshCount = 0;
+        try {
+            for (int frame = 0; frame < 200_000; frame++) {
+                if (buffer.hasFresh()) freshCount++;
+                RenderSnapshot front = buffer.acquire();
+                long epoch = front.getEpoch();
+                assertTrue(epoch >= lastEpoch, epoch + " < " + lastEpoch);
+                for (int spin = 0; spin < 16; spin++) assertEquals(epoch, front.getEpoch());
+                lastEpoch = epoch;
+            }
+        } finally {
+            isProducing.set(false);
+            producer.join();
+        }
+        assertTrue(freshCount > 0);
+    }
+}
@@ -0,0 +1,143 @@
+package spc.clockwork.graphics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+import spc.clockwork.window.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class RenderSnapshotTest {
+
+    private static final String LAYER_NAME = "main";
+    private static final Vector3f UP = new Vector3f(0f, 1f, 0f);
+    private static final float DELTA = 1e-5f;
+
+    private GraphicsDevice previousDevice;
+    private GameWorld world;
+    private List<Identifiable> created;
+
+    private <T extends Identifiable> T track(T object) {
+        this.created.add(object);
+        return object;
+    }
+
+    private Entity entity() {
+        Entity entity = this.track(new Entity(this.world));
+        this.world.addToLayer(entity, LAYER_NAME);
+        return entity;
+    }
+
+    private RenderSnapshot.LayerView capture(RenderSnapshot snapshot, float alpha) {
+        snapshot.capture(this.world, 1, 0L, 1L);
+        snapshot.interpolate(alpha);
+        return snapshot.getLayer(0, 0);
+    }
+
+    private static void assertMatrix(Mat4 expected, Mat4 actual) {
+        for (int row = 0; row < 4; row++)
+            for (int column = 0; column < 4; column++)
+                assertEquals(expected.getElement(row, column), actual.getElement(row, column), DELTA,
+                        "(" + row + ", " + column + ")");
+    }
+
+    @BeforeEach
+    public void createWorld() {
+        /* ---- THE DEFAULT ASSETS OF THE ENTITIES ARE CREATED WITHOUT A GPU ---- */
+        this.previousDevice = GraphicsDevices.get();
+        GraphicsDevices.set(new RecordingGraphicsDevice());
+        this.world = new GameWorld(new WindowManager(true));
+        this.created = new ArrayList<>();
+        GameLayer layer = this.track(new GameLayer(this.world) {
+            @Override
+            protected RenderSystem constructDefaultRenderSystem() {
+                return null;
+            }
+        });
+        layer.setName(LAYER_NAME);
+        this.world.setLayerRenderQueue(0, new String[]{LAYER_NAME});
+    }
+
+    @AfterEach
+    public void removeWorld() {
+        try {
+            for (int i = this.created.size() - 1; i >= 0; i--) this.created.get(i).terminate();
+            TransformHierarchy.get().update();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The positions and the scales are lerped and the rotations are slerped between the last two ticks")
+    public void blendsBetweenTicks() {
+        Entity entity = this.entity();
+        TransformHierarchy.get().update();
+        entity.setPosition(new Vector3f(2f, 4f, -6f));
+        entity.setScale(3f);
+        entity.rotate(90f, UP);
+        TransformHierarchy.get().update();
+
+        RenderSnapshot snapshot = new RenderSnapshot();
+        assertMatrix(new Mat4(), this.capture(snapshot, 0f).getModelMatrix(0));
+        assertMatrix(new Mat4().translationRotateScale(new Vector3f(2f, 4f, -6f), Quaternion.rotation(90f, UP), 3f),
+                this.capture(snapshot, 1f).getModelMatrix(0));
+
+        /* ---- A QUARTER OF A RIGHT ANGLE IS FAR FROM THE NLERP, SO ONLY A SLERP MATCHES IT ---- */
+        assertMatrix(new Mat4().translationRotateScale(new Vector3f(0.5f, 1f, -1.5f), Quaternion.rotation(22.5f, UP), 1.5f),
+                this.capture(snapshot, 0.25f).getModelMatrix(0));
+    }
+
+    @Test
+    @DisplayName("A snapped object is drawn in its current state for both halves of the blend, the others keep sweeping")
+    public void snappedObjectTakesCurrentState() {
+        Entity snapped = this.entity();
+        Entity moving = this.entity();
+        TransformHierarchy.get().update();
+        snapped.setPosition(new Vector3f(8f, 0f, 0f));
+        snapped.resetInterpolation();
+        moving.setPosition(new Vector3f(8f, 0f, 0f));
+        TransformHierarchy.get().update();
+
+        RenderSnapshot snapshot = new RenderSnapshot();
+        Mat4 current = new Mat4().translation(8f, 0f, 0f);
+        for (float alpha : new float[]{0f, 0.5f, 1f}) {
+            RenderSnapshot.LayerView view = this.capture(snapshot, alpha);
+            assertMatrix(current, view.getModelMatrix(0));
+            assertMatrix(new Mat4().translation(8f * alpha, 0f, 0f), view.getModelMatrix(1));
+        }
+
+        /* ---- THE SNAP LASTS A SINGLE TICK ---- */
+        snapped.setPosition(new Vector3f(0f, 0f, 0f));
+        TransformHierarchy.get().update();
+        assertMatrix(new Mat4().translation(4f, 0f, 0f), this.capture(snapshot, 0.5f).getModelMatrix(0));
+    }
+
+    @Test
+    @DisplayName("The blend factor is the part of the tick period, which has passed since the captured tick, clamped")
+    public void computesAlphaFromTickTime() {
+        RenderSnapshot snapshot = new RenderSnapshot();
+        assertEquals(1f, snapshot.getAlpha(123L), 0f);
+        snapshot.capture(this.world, 1, 1_000L, 400L);
+        assertEquals(0f, snapshot.getAlpha(900L), 0f);
+        assertEquals(0f, snapshot.getAlpha(1_000L), 0f);
+        assertEquals(0.25f, snapshot.getAlpha(1_100L), DELTA);
+        assertEquals(1f, snapshot.getAlpha(2_000L), 0f);
+    }
+}
@@ -0,0 +1,119 @@
+package spc.clockwork.graphics.device;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.core.Identifiable;
+import spc.clockwork.gameobject.TransformHierarchy;
+import spc.clockwork.gameobject.entity.Entity;
+import spc.clockwork.gameobject.light.PointLight;
+import spc.clockwork.graphics.RenderSnapshot;
+import spc.clockwork.graphics.RenderSystem;
+import spc.clockwork.graphics.layer.GameLayer;
+import spc.clockwork.graphics.shader.PhongShader;
+import spc.clockwork.window.WindowManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.lwjgl.opengl.GL11.GL_CULL_FACE;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+
+
+public class RecordingGraphicsDeviceTest {
+
+    private static final String LAYER_NAME = "main";
+    private static final int ENTITY_COUNT = 100;
+    private static final int LIGHT_COUNT = 4;
+
+    private GraphicsDevice previousDevice;
+    private List<Identifiable> created;
+
+    @BeforeEach
+    public void saveDevice() {
+        this.previousDevice = GraphicsDevices.get();
+        this.created = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void restoreDeviceAndWorld() {
+        /* ---- THE ENTITIES AND THE LAYER LEAVE THE GLOBAL TRANSFORM HIERARCHY AND COMPONENT STORE ---- */
+        for (int i = this.created.size() - 1; i >= 0; i--) this.created.get(i).terminate();
+        TransformHierarchy.get().update();
+        GraphicsDevices.set(this.previousDevice);
+    }
+
+    private <T extends Identifiable> T track(T object) {
+        this.created.add(object);
+        return object;
+    }
+
+    private RenderSnapshot captureScene(RecordingGraphicsDevice device) {
+        GraphicsDevices.set(device);
+        GameWorld world = new GameWorld(new WindowManager(true));
+        GameLayer layer = this.track(new GameLayer(world) {
+            @Override
+            protected RenderSystem constructDefaultRenderSystem() {
+                try {
+                    return new RenderSystem(new PhongShader(1f));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        layer.setName(LAYER_NAME);
+        world.setLayerRenderQueue(0, new String[]{LAYER_NAME});
+        for (int i = 0; i < ENTITY_COUNT; i++) world.addToLayer(this.track(new Entity(world)), LAYER_NAME);
+        for (int i = 0; i < LIGHT_COUNT; i++) world.addToLayer(this.track(new PointLight(world)), LAYER_NAME);
+        TransformHierarchy.get().update();
+
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.capture(world, 1, 0L, 1L);
+        snapshot.interpolate(1f);
+        return snapshot;
+    }
+
+    private static void render(RenderSnapshot snapshot) {
+        for (int i = 0; i < snapshot.layerCount(0); i++) {
+            RenderSnapshot.LayerView view = snapshot.getLayer(0, i);
+            view.getLayer().render(view);
+        }
+    }
+
+    @Test
+    @DisplayName("A scene is rendered without a GPU: one draw per entity, one mesh bind and one light upload per layer")
+    public void rendersSceneWithoutGpu() {
+        RecordingGraphicsDevice device = new RecordingGraphicsDevice();
+        RenderSnapshot snapshot = this.captureScene(device);
+
+        device.beginFrame();
+        render(snapshot);
+        assertEquals(ENTITY_COUNT, device.getDrawCount());
+        assertEquals(2, device.getCount(RecordingGraphicsDevice.Call.USE_PROGRAM));
+        assertEquals(2, device.getCount(RecordingGraphicsDevice.Call.BIND_VERTEX_ARRAY));
+        assertEquals(1, device.getCount(RecordingGraphicsDevice.Call.BIND_BUFFER_BASE));
+        assertEquals(1, device.getCount(RecordingGraphicsDevice.Call.BUFFER_DATA));
+
+        device.beginFrame();
+        assertEquals(0, device.getDrawCount());
+        assertEquals(2, device.getFrameCount());
+    }
+
+    @Test
+    @DisplayName("The state changes, which set the value already set, are counted as redundant")
+    public void countsRedundantStateChanges() {
+        RecordingGraphicsDevice device = new RecordingGraphicsDevice();
+        device.beginFrame();
+        device.bindTexture(GL_TEXTURE_2D, 1);
+        device.bindTexture(GL_TEXTURE_2D, 1);
+        device.enable(GL_CULL_FACE);
+        device.disable(GL_CULL_FACE);
+        device.enable(GL_CULL_FACE);
+        device.enable(GL_CULL_FACE);
+        assertEquals(6, device.getStateChangeCount());
+        assertEquals(2, device.getRedundantStateChangeCount());
+    }
+}
@@ -0,0 +1,104 @@
+package spc.clockwork.graphics.device;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+
+
+public class StateCachingGraphicsDeviceTest {
+
+    @Test
+    @DisplayName("The state changes, which set the value already set, are not forwarded")
+    public void elidesRedundantStateChanges() {
+        RecordingGraphicsDevice recorder = new RecordingGraphicsDevice();
+        StateCachingGraphicsDevice device = new StateCachingGraphicsDevice(recorder);
+        device.beginFrame();
+        for (int i = 0; i < 3; i++) {
+            device.useProgram(1);
+            device.bindVertexArray(2);
+            device.bindTexture(GL_TEXTURE_2D, 3);
+            device.polygonMode(GL_FRONT_AND_BACK, GL_FILL);
+            device.enable(GL_CULL_FACE);
+            device.cullFace(GL_BACK);
+            device.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        }
+        assertEquals(7, device.getIssuedCount());
+        assertEquals(14, device.getElidedCount());
+        assertEquals(7, recorder.getStateChangeCount());
+        assertEquals(0, recorder.getRedundantStateChangeCount());
+
+        device.beginFrame();
+        assertEquals(0, device.getIssuedCount());
+        assertEquals(0, device.getElidedCount());
+        assertEquals(14, device.getTotalElidedCount());
+    }
+
+    @Test
+    @DisplayName("The textures are shadowed per unit, and a deleted texture is unbound")
+    public void shadowsTextureUnits() {
+        RecordingGraphicsDevice recorder = new RecordingGraphicsDevice();
+        StateCachingGraphicsDevice device = new StateCachingGraphicsDevice(recorder);
+        device.bindTexture(GL_TEXTURE_2D, 5);
+        device.activeTexture(GL_TEXTURE0 + 1);
+        device.bindTexture(GL_TEXTURE_2D, 5);
+        device.activeTexture(GL_TEXTURE0);
+        device.bindTexture(GL_TEXTURE_2D, 5);
+        assertEquals(2, recorder.getCount(RecordingGraphicsDevice.Call.BIND_TEXTURE));
+
+        device.deleteTextures(new int[]{5});
+        device.bindTexture(GL_TEXTURE_2D, 5);
+        assertEquals(3, recorder.getCount(RecordingGraphicsDevice.Call.BIND_TEXTURE));
+    }
+
+    @Test
+    @DisplayName("Every context has its own shadow")
+    public void shadowsEveryContext() {
+        RecordingGraphicsDevice recorder = new RecordingGraphicsDevice();
+        StateCachingGraphicsDevice device = new StateCachingGraphicsDevice(recorder);
+        device.makeContextCurrent(1L);
+        device.useProgram(3);
+        device.makeContextCurrent(2L);
+        device.useProgram(3);
+        device.makeContextCurrent(1L);
+        device.makeContextCurrent(1L);
+        device.useProgram(3);
+        assertEquals(2, recorder.getCount(RecordingGraphicsDevice.Call.USE_PROGRAM));
+        assertEquals(3, recorder.getCount(RecordingGraphicsDevice.Call.MAKE_CONTEXT_CURRENT));
+
+        device.invalidate();
+        device.useProgram(3);
+        assertEquals(3, recorder.getCount(RecordingGraphicsDevice.Call.USE_PROGRAM));
+    }
+
+    @Test
+    @DisplayName("A forgotten context leaves no shadow, so a new context with the same handle starts unknown")
+    public void forgetsDestroyedContext() {
+        RecordingGraphicsDevice recorder = new RecordingGraphicsDevice();
+        StateCachingGraphicsDevice device = new StateCachingGraphicsDevice(recorder);
+        device.makeContextCurrent(1L);
+        device.useProgram(3);
+        device.bindVertexArray(4);
+        device.enable(GL_BLEND);
+        device.makeContextCurrent(2L);
+        device.useProgram(3);
+
+        device.forgetContext(1L);
+        device.makeContextCurrent(1L);
+        device.useProgram(3);
+        device.bindVertexArray(4);
+        device.enable(GL_BLEND);
+        assertEquals(3, recorder.getCount(RecordingGraphicsDevice.Call.USE_PROGRAM));
+        assertEquals(2, recorder.getCount(RecordingGraphicsDevice.Call.BIND_VERTEX_ARRAY));
+        assertEquals(2, recorder.getCount(RecordingGraphicsDevice.Call.ENABLE));
+
+        device.forgetContext(1L);
+        device.makeContextCurrent(1L);
+        device.useProgram(3);
+        assertEquals(4, recorder.getCount(RecordingGraphicsDevice.Call.MAKE_CONTEXT_CURRENT));
+        assertEquals(4, recorder.getCount(RecordingGraphicsDevice.Call.USE_PROGRAM));
+        assertEquals(2, recorder.getCount(RecordingGraphicsDevice.Call.FORGET_CONTEXT));
+    }
+}
@@ -0,0 +1,75 @@
+package spc.clockwork.graphics.shader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.collections.GameWorld;
+import spc.clockwork.graphics.Material;
+import spc.clockwork.graphics.device.GraphicsDevice;
+import spc.clockwork.graphics.device.GraphicsDevices;
+import spc.clockwork.graphics.device.RecordingGraphicsDevice;
+import spc.clockwork.util.math.matrix.Mat4;
+import spc.clockwork.util.math.vector.Vector3f;
+import spc.clockwork.window.WindowManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+public class PhongShaderTest {
+
+    private GraphicsDevice previousDevice;
+    private RecordingGraphicsDevice device;
+    private GameWorld world;
+    private Material red;
+    private Material blue;
+    private PhongShader shader;
+
+    @BeforeEach
+    public void createShader() throws Exception {
+        this.previousDevice = GraphicsDevices.get();
+        this.device = new RecordingGraphicsDevice();
+        GraphicsDevices.set(this.device);
+        this.world = new GameWorld(new WindowManager(true));
+        this.red = new Material(this.world, new Vector3f(1f, 0f, 0f), Material.PolygonMode.FILL, "red");
+        this.blue = new Material(this.world, new Vector3f(0f, 0f, 1f), Material.PolygonMode.FILL, "blue");
+        this.shader = new PhongShader(1f);
+    }
+
+    @AfterEach
+    public void restoreDevice() {
+        /* ---- A FAILED SETUP LEAVES SOME OF THEM NULL, BUT THE DEVICE IS RESTORED ANYWAY ---- */
+        try {
+            if (this.shader != null) this.shader.terminate();
+            if (this.blue != null) this.blue.terminate();
+            if (this.red != null) this.red.terminate();
+            /* THE TERMINATED MATERIALS HAVE LEFT THE WORLD, SO ONLY ITS HEADLESS WINDOW MANAGER REMAINS */
+            if (this.world != null) this.world.getWindowManager().terminate();
+        } finally {
+            GraphicsDevices.set(this.previousDevice);
+        }
+    }
+
+    @Test
+    @DisplayName("The uniforms, which hold the values given already, are not uploaded again")
+    public void skipsUnchangedUniforms() {
+        Mat4 view = new Mat4().identity();
+        Mat4 model = new Mat4().translation(1f, 2f, 3f);
+
+        this.device.beginFrame();
+        this.shader.setGlobalUniforms();
+        this.shader.setLocalUniforms(view, model, this.red);
+        assertEquals(9, this.device.getCount(RecordingGraphicsDevice.Category.UNIFORM));
+
+        this.device.beginFrame();
+        this.shader.setGlobalUniforms();
+        this.shader.setLocalUniforms(view, model, this.red);
+        assertEquals(0, this.device.getCount(RecordingGraphicsDevice.Category.UNIFORM));
+
+        this.device.beginFrame();
+        this.shader.setLocalUniforms(view, model.translation(3f, 2f, 1f), this.blue);
+        assertEquals(1, this.device.getCount(RecordingGraphicsDevice.Call.UNIFORM_MATRIX_4FV));
+        assertEquals(3, this.device.getCount(RecordingGraphicsDevice.Call.UNIFORM_3F));
+        assertEquals(0, this.device.getCount(RecordingGraphicsDevice.Call.UNIFORM_1F));
+    }
+}
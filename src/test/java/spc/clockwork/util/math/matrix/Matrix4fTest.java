@@ -0,0 +1,69 @@
+package spc.clockwork.util.math.matrix;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import spc.clockwork.util.math.vector.Quaternion;
+import spc.clockwork.util.math.vector.Vector3f;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class Matrix4fTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    private static final Vector3f POSITION = new Vector3f(1.5f, -2f, 3.25f);
+    private static final Quaternion ROTATION =
+            Quaternion.rotation(37f, new Vector3f(0.3f, 0.8f, -0.2f).normalize()).normalize();
+    private static final float SCALE = 2.5f;
+
+    private static Matrix4f trs() {
+        return Matrix4f.newTranslationMatrix(POSITION)
+                .mul(ROTATION.toRotationMatrix())
+                .mul(Matrix4f.newScaleMatrix(SCALE));
+    }
+
+    private static void assertMatrixEquals(FloatMatrix expected, Mat4 actual) {
+        for (int row = 0; row < 4; row++)
+            for (int column = 0; column < 4; column++)
+                assertEquals(expected.getElement(row, column), actual.getElement(row, column), EPSILON,
+                        "element [" + row + "][" + column + "]");
+    }
+
+    @Test
+    @DisplayName("closed-form inverse matches the co-factor inverse")
+    public void closedFormInverse() {
+        Matrix4f matrix = new Matrix4f(new float[][] {
+                {2f, 0f, 1f, 3f},
+                {1f, 3f, 0f, -1f},
+                {0f, 1f, 4f, 2f},
+                {1f, 0f, 0f, 1f}
+        });
+        FloatMatrix expected = new FloatMatrix(matrix.elements).invert();
+        assertMatrixEquals(expected, new Mat4(matrix.invert()));
+        assertEquals(new FloatMatrix(matrix.elements).det(), matrix.det(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("inverse times matrix is identity")
+    public void inverseTimesMatrix() {
+        Mat4 matrix = new Mat4(trs());
+        Mat4 product = new Mat4(matrix).invert().mul(matrix);
+        assertMatrixEquals(Matrix4f.IDENTITY_MATRIX, product);
+    }
+
+    @Test
+    @DisplayName("TRS inverse matches the general inverse")
+    public void translationRotateScaleInverse() {
+        Mat4 expected = new Mat4(trs()).invert();
+        Mat4 actual = new Mat4().inverseTranslationRotateScale(POSITION, ROTATION, SCALE);
+        assertMatrixEquals(expected.toMatrix4f(), actual);
+    }
+
+    @Test
+    @DisplayName("singular matrix has no inverse")
+    public void singularMatrix() {
+        assertThrows(RuntimeException.class, () -> Matrix4f.newScalarMatrix(0f).invert());
+    }
+}
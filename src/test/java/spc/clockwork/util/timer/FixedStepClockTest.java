@@ -0,0 +1,65 @@
+package spc.clockwork.util.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+public class FixedStepClockTest {
+
+    /** 100 ticks per second: a period of 10 ms */
+    private static final long PERIOD = 10_000_000L;
+
+    @Test
+    @DisplayName("The whole periods are ticked and the remainder is carried over to the next advance without drift")
+    public void accumulatesRemainder() {
+        FixedStepClock clock = new FixedStepClock(100f);
+        assertEquals(PERIOD, clock.getTickPeriod());
+        clock.reset(0L);
+
+        assertEquals(0, clock.advance(PERIOD * 3 / 4));
+        assertEquals(PERIOD, clock.getNextTickTime());
+        assertEquals(1, clock.advance(PERIOD * 6 / 4));
+        assertEquals(PERIOD, clock.getLastTickTime());
+        assertEquals(2 * PERIOD, clock.getNextTickTime());
+        assertEquals(2, clock.advance(PERIOD * 13 / 4));
+        assertEquals(3 * PERIOD, clock.getLastTickTime());
+
+        /* ---- A THOUSAND ODD STEPS ADD UP TO EXACTLY ONE TICK PER PERIOD ---- */
+        long now = PERIOD * 13 / 4;
+        int ticks = 0;
+        for (int step = 0; step < 1_000; step++) {
+            now += PERIOD / 3 + 1;
+            ticks += clock.advance(now);
+        }
+        assertEquals((int) (now / PERIOD) - 3, ticks);
+        assertEquals(now / PERIOD * PERIOD, clock.getLastTickTime());
+        assertEquals(0L, clock.getDroppedTicks());
+    }
+
+    @Test
+    @DisplayName("A backlog past the catch-up limit is dropped, while the remainder of the period is kept")
+    public void dropsBacklogPastLimit() {
+        FixedStepClock clock = new FixedStepClock(100f);
+        clock.setMaxCatchUpTicks(3);
+        clock.reset(0L);
+
+        assertEquals(3, clock.advance(PERIOD * 3));
+        assertEquals(0L, clock.getDroppedTicks());
+        assertEquals(3, clock.advance(PERIOD * 10 + PERIOD / 2));
+        assertEquals(4L, clock.getDroppedTicks());
+        assertEquals(PERIOD * 10, clock.getLastTickTime());
+        assertEquals(PERIOD * 11, clock.getNextTickTime());
+        assertEquals(1, clock.advance(PERIOD * 11));
+
+        clock.reset(PERIOD * 100 + 1);
+        assertEquals(0, clock.advance(PERIOD * 101));
+        assertEquals(PERIOD * 101 + 1, clock.getNextTickTime());
+
+        assertThrows(IllegalArgumentException.class, () -> clock.setMaxCatchUpTicks(0));
+        assertThrows(IllegalArgumentException.class, () -> clock.setTickRate(0f));
+        assertThrows(IllegalArgumentException.class, () -> new FixedStepClock(Float.NaN));
+    }
+}
@@ -0,0 +1,66 @@
+package spc.clockwork.util.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class LatencyHistogramTest {
+
+    private static final double[] PERCENTILES = {0.0, 1.0, 25.0, 50.0, 75.0, 90.0, 99.0, 99.9, 99.99, 100.0};
+
+    private static long exactValueAtPercentile(long[] sorted, double percentile) {
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * sorted.length));
+        return sorted[(int) rank - 1];
+    }
+
+    @Test
+    @DisplayName("A percentile is never below the exact one and overestimates it by at most 1/16 of its value")
+    public void percentilesWithinErrorBound() {
+        Random random = new Random(42L);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            /* ---- THE SAMPLES SPAN FROM THE SINGLE NANOSECONDS TO THE SECONDS ---- */
+            samples[i] = (long) Math.pow(2.0, random.nextDouble() * 31.0) - 1;
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double percentile : PERCENTILES) {
+            long exact = exactValueAtPercentile(samples, percentile);
+            long estimate = histogram.getValueAtPercentile(percentile);
+            assertTrue(estimate >= exact, "p" + percentile + ": " + estimate + " < " + exact);
+            assertTrue(estimate <= exact + exact / 16, "p" + percentile + ": " + estimate + " > " + exact + " + 1/16");
+        }
+        assertEquals(samples[samples.length - 1], histogram.getValueAtPercentile(100.0));
+        assertEquals(samples[samples.length - 1], histogram.getMax());
+        assertEquals(samples.length, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("The small samples have exact buckets, the largest long value fits, the negative ones are zero")
+    public void coversTheWholeRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 16; value++) histogram.record(value);
+        for (long value = 0; value < 16; value++)
+            assertEquals(value, histogram.getValueAtPercentile((value + 1) * 100.0 / 16));
+
+        histogram.clear();
+        histogram.record(-5L);
+        assertEquals(0L, histogram.getMax());
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100.0));
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+
+        histogram.clear();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+        assertEquals(0L, histogram.getMean());
+    }
+}
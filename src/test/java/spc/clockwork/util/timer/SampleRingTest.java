@@ -0,0 +1,56 @@
+package spc.clockwork.util.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+public class SampleRingTest {
+
+    @Test
+    @DisplayName("The samples within the capacity are drained once, the older ones and the oldest slot are lost")
+    public void drainsAndLosesInOrder() {
+        SampleRing ring = new SampleRing(8);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long sample = 1; sample <= 5; sample++) ring.add(sample);
+        assertEquals(5, ring.drainTo(histogram));
+        assertEquals(0, ring.drainTo(histogram));
+        assertEquals(0L, ring.getLostCount());
+
+        histogram.clear();
+        for (long sample = 1; sample <= 20; sample++) ring.add(sample * 1000);
+        /* ---- THE OLDEST SLOT OF AN OVERRUN RING MIGHT BE BEING OVERWRITTEN, SO IT IS COUNTED AS LOST ---- */
+        assertEquals(7, ring.drainTo(histogram));
+        assertEquals(13L, ring.getLostCount());
+        assertEquals(20_000L, histogram.getMax());
+        assertEquals(17_000L, histogram.getMean());
+
+        assertThrows(IllegalArgumentException.class, () -> new SampleRing(6));
+        assertThrows(IllegalArgumentException.class, () -> new SampleRing(0));
+    }
+
+    @Test
+    @DisplayName("Every sample written by a racing producer is either drained or counted as lost, never both")
+    public void accountsForEverySample() throws InterruptedException {
+        final int written = 2_000_000;
+        SampleRing ring = new SampleRing(64);
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread producer = new Thread(() -> {
+            for (int sample = 0; sample < written; sample++) ring.add(sample);
+        });
+
+        long drained = 0;
+        producer.start();
+        while (producer.isAlive()) drained += ring.drainTo(histogram);
+        producer.join();
+        drained += ring.drainTo(histogram);
+
+        assertEquals((long) written, drained + ring.getLostCount());
+        assertEquals(drained, histogram.getCount());
+        assertTrue(histogram.getMax() < written);
+        assertEquals(0, ring.drainTo(histogram));
+    }
+}
@@ -0,0 +1,86 @@
+package spc.clockwork.util.math;
+
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import spc.clockwork.util.math.matrix.Mat4;
+
+/**
+ * The SIMD implementation of the {@link PointBatch} operations, built on the jdk.incubator.vector API.
+ * This source root requires JDK 16+ and is compiled (and run) with --add-modules jdk.incubator.vector.
+ * The operations are performed in the same order as in the scalar kernel, so the results are identical.
+ *
+ * @author wize
+ * @version 0 (16 October 2026)
+ */
+final class PointBatchVectorKernel implements PointBatchKernel {
+
+    /* ATTRIBUTES
+    /*--------------------*/
+
+    /** The widest float species supported by the hardware */
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /** The scalar kernel, which processes the tails of the arrays */
+    private final PointBatch.ScalarKernel tailKernel = new PointBatch.ScalarKernel();
+    /*--------------------*/
+
+
+
+    /* PUBLIC METHODS
+    /*--------------------*/
+
+    @Override
+    public void transform(final Mat4 m,
+                          final float[] xs, final float[] ys, final float[] zs,
+                          final float[] outXs, final float[] outYs, final float[] outZs,
+                          final int count) {
+        final int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final FloatVector x = FloatVector.fromArray(SPECIES, xs, i);
+            final FloatVector y = FloatVector.fromArray(SPECIES, ys, i);
+            final FloatVector z = FloatVector.fromArray(SPECIES, zs, i);
+            x.mul(m.m00).add(y.mul(m.m01)).add(z.mul(m.m02)).add(m.m03).intoArray(outXs, i);
+            x.mul(m.m10).add(y.mul(m.m11)).add(z.mul(m.m12)).add(m.m13).intoArray(outYs, i);
+            x.mul(m.m20).add(y.mul(m.m21)).add(z.mul(m.m22)).add(m.m23).intoArray(outZs, i);
+        }
+        if (i < count) this.tailKernel.transformRange(m, xs, ys, zs, outXs, outYs, outZs, i, count);
+    }
+
+    @Override
+    public void bounds(final float[] xs, final float[] ys, final float[] zs,
+                       final int from, final int count, final float[] destination) {
+        if (count < SPECIES.length()) {
+            this.tailKernel.bounds(xs, ys, zs, from, count, destination);
+            return;
+        }
+        FloatVector minX = FloatVector.fromArray(SPECIES, xs, from), maxX = minX;
+        FloatVector minY = FloatVector.fromArray(SPECIES, ys, from), maxY = minY;
+        FloatVector minZ = FloatVector.fromArray(SPECIES, zs, from), maxZ = minZ;
+        final int bound = from + SPECIES.loopBound(count);
+        int i = from + SPECIES.length();
+        for (; i < bound; i += SPECIES.length()) {
+            final FloatVector x = FloatVector.fromArray(SPECIES, xs, i);
+            final FloatVector y = FloatVector.fromArray(SPECIES, ys, i);
+            final FloatVector z = FloatVector.fromArray(SPECIES, zs, i);
+            minX = minX.min(x); maxX = maxX.max(x);
+            minY = minY.min(y); maxY = maxY.max(y);
+            minZ = minZ.min(z); maxZ = maxZ.max(z);
+        }
+        destination[0] = minX.reduceLanes(VectorOperators.MIN);
+        destination[1] = minY.reduceLanes(VectorOperators.MIN);
+        destination[2] = minZ.reduceLanes(VectorOperators.MIN);
+        destination[3] = maxX.reduceLanes(VectorOperators.MAX);
+        destination[4] = maxY.reduceLanes(VectorOperators.MAX);
+        destination[5] = maxZ.reduceLanes(VectorOperators.MAX);
+        /* THE TAIL IS FOLDED IN WITH THE SCALAR LOOP */
+        for (; i < from + count; i++) {
+            destination[0] = Math.min(destination[0], xs[i]); destination[3] = Math.max(destination[3], xs[i]);
+            destination[1] = Math.min(destination[1], ys[i]); destination[4] = Math.max(destination[4], ys[i]);
+            destination[2] = Math.min(destination[2], zs[i]); destination[5] = Math.max(destination[5], zs[i]);
+        }
+    }
+    /*--------------------*/
+}